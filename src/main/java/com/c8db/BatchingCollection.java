@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+
+import com.c8db.entity.DocumentCreateEntity;
+import com.c8db.entity.DocumentDeleteEntity;
+import com.c8db.entity.DocumentUpdateEntity;
+
+/**
+ * Collects single document writes of many threads and sends them as multi document requests. A batch is sent once
+ * it is full or once its first write has waited for the linger time, see
+ * {@link com.c8db.model.BatchingOptions}. The returned futures complete with the matching element of the response,
+ * or with a {@link C8DBException} if the document or the whole request failed.
+ * <p>
+ * The writes reach the server in the order they were made: a batch holds writes of one operation and document type
+ * only, a write of another one starts the next batch, and only one batch is sent at a time. Interleaved inserts,
+ * updates and deletes therefore result in smaller batches.
+ *
+ */
+public interface BatchingCollection extends Closeable {
+
+    /**
+     * @return the collection the documents are written to
+     */
+    C8Collection collection();
+
+    /**
+     * Creates a new document with the next batch of inserts.
+     *
+     * @param value A representation of a single document (POJO, VPackSlice or
+     *              String for JSON)
+     * @return information about the document
+     */
+    <T> CompletableFuture<DocumentCreateEntity<T>> insertDocument(T value);
+
+    /**
+     * Partially updates a document with the next batch of updates. The document
+     * to update is specified by the _key attribute of the value.
+     *
+     * @param value A representation of a single document (POJO, VPackSlice or
+     *              String for JSON)
+     * @return information about the document
+     */
+    <T> CompletableFuture<DocumentUpdateEntity<T>> updateDocument(T value);
+
+    /**
+     * Deletes the document with the given {@code key} with the next batch of
+     * deletes.
+     *
+     * @param key The key of the document
+     * @return information about the document
+     */
+    CompletableFuture<DocumentDeleteEntity<Void>> deleteDocument(String key);
+
+    /**
+     * Deletes the document with the given {@code key} with the next batch of
+     * deletes.
+     *
+     * @param key  The key of the document
+     * @param type The type of the document (POJO class, VPackSlice or String for
+     *             JSON). Only necessary if returnOld is set in the delete options.
+     * @return information about the document
+     */
+    <T> CompletableFuture<DocumentDeleteEntity<T>> deleteDocument(String key, Class<T> type);
+
+    /**
+     * Sends all collected writes and waits until all sent batches are done.
+     */
+    void flush();
+
+    /**
+     * Sends all collected writes, waits until they are done and rejects further
+     * writes.
+     */
+    @Override
+    void close();
+
+}
@@ -19,16 +19,20 @@
 
 package com.c8db;
 
+import java.io.InputStream;
 import java.util.Collection;
+import java.util.stream.Stream;
 
 import com.c8db.entity.CollectionEntity;
 import com.c8db.entity.CollectionPropertiesEntity;
 import com.c8db.entity.DocumentCreateEntity;
 import com.c8db.entity.DocumentDeleteEntity;
+import com.c8db.entity.DocumentImportEntity;
 import com.c8db.entity.DocumentUpdateEntity;
 import com.c8db.entity.IndexEntity;
 import com.c8db.entity.MultiDocumentEntity;
 import com.c8db.entity.Permissions;
+import com.c8db.model.BatchingOptions;
 import com.c8db.model.CollectionCountOptions;
 import com.c8db.model.CollectionCreateOptions;
 import com.c8db.model.CollectionPropertiesOptions;
@@ -36,6 +40,7 @@ import com.c8db.model.CollectionTruncateOptions;
 import com.c8db.model.DocumentCreateOptions;
 import com.c8db.model.DocumentDeleteOptions;
 import com.c8db.model.DocumentExistsOptions;
+import com.c8db.model.DocumentImportOptions;
 import com.c8db.model.DocumentReadOptions;
 import com.c8db.model.DocumentReplaceOptions;
 import com.c8db.model.DocumentUpdateOptions;
@@ -43,6 +48,7 @@ import com.c8db.model.FulltextIndexOptions;
 import com.c8db.model.GeoIndexOptions;
 import com.c8db.model.HashIndexOptions;
 import com.c8db.model.PersistentIndexOptions;
+import com.c8db.model.ReadCacheOptions;
 import com.c8db.model.SkiplistIndexOptions;
 import com.c8db.model.TTLIndexOptions;
 
@@ -127,6 +133,91 @@ public interface C8Collection extends C8SerializationAccessor {
     <T> MultiDocumentEntity<DocumentCreateEntity<T>> insertDocuments(Collection<T> values,
             DocumentCreateOptions options) throws C8DBException;
 
+    /**
+     * Bulk imports the given documents. The documents are sent as JSON in
+     * batches, several batches at the same time, and only the counts of the
+     * import are returned. Each batch is imported on its own, so
+     * {@link DocumentImportOptions#complete(Boolean)} applies per batch.
+     *
+     * @param values A list of documents (POJO, VPackSlice or String for JSON)
+     * @return the counts of all batches
+     * @throws C8DBException
+     * @see <a href=
+     *      "https://docs.arangodb.com/current/HTTP/BulkImports/ImportingSelfContained.html">API
+     *      Documentation</a>
+     */
+    DocumentImportEntity importDocuments(Iterable<?> values) throws C8DBException;
+
+    /**
+     * Bulk imports the given documents. The documents are sent as JSON in
+     * batches, several batches at the same time, and only the counts of the
+     * import are returned. Each batch is imported on its own, so
+     * {@link DocumentImportOptions#complete(Boolean)} applies per batch.
+     *
+     * @param values  A list of documents (POJO, VPackSlice or String for JSON)
+     * @param options Additional options, can be null
+     * @return the counts of all batches
+     * @throws C8DBException
+     * @see <a href=
+     *      "https://docs.arangodb.com/current/HTTP/BulkImports/ImportingSelfContained.html">API
+     *      Documentation</a>
+     */
+    DocumentImportEntity importDocuments(Iterable<?> values, DocumentImportOptions options)
+            throws C8DBException;
+
+    /**
+     * Bulk imports the documents of the given stream, see
+     * {@link #importDocuments(Iterable, DocumentImportOptions)}.
+     *
+     * @param values  A stream of documents (POJO, VPackSlice or String for JSON)
+     * @param options Additional options, can be null
+     * @return the counts of all batches
+     * @throws C8DBException
+     */
+    DocumentImportEntity importDocuments(Stream<?> values, DocumentImportOptions options)
+            throws C8DBException;
+
+    /**
+     * Bulk imports JSON documents, one document per line. The lines are sent as
+     * they are, without being parsed by the driver, see
+     * {@link #importDocuments(Iterable, DocumentImportOptions)}. The stream is
+     * not closed.
+     *
+     * @param values  UTF-8 encoded JSON lines
+     * @param options Additional options, can be null
+     * @return the counts of all batches
+     * @throws C8DBException
+     */
+    DocumentImportEntity importDocuments(InputStream values, DocumentImportOptions options)
+            throws C8DBException;
+
+    /**
+     * Returns a view of this collection which sends single document inserts,
+     * updates and deletes of all threads as multi document requests. The view
+     * has to be closed to send the remaining writes.
+     *
+     * @param options Additional options, can be null
+     * @return the batching view
+     */
+    BatchingCollection batching(BatchingOptions options);
+
+    /**
+     * Caches the documents read with {@link #getDocument(String, Class)} and
+     * {@link #getDocuments(Collection, Class)} in the driver. Cached documents are
+     * revalidated with their revision, so that unchanged documents are not
+     * transferred again. Writes through this driver invalidate the cached
+     * documents. Reads with revision or transaction options bypass the cache.
+     * The cache is shared by all instances of this collection of the driver.
+     *
+     * @param options Additional options, can be null
+     */
+    void enableReadCache(ReadCacheOptions options);
+
+    /**
+     * Drops the read cache of this collection.
+     */
+    void disableReadCache();
+
     /**
      * Retrieves the document with the given {@code key} from the collection.
      *
@@ -20,6 +20,7 @@ package com.c8db;
 import java.io.Closeable;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import com.c8db.entity.CursorEntity.Stats;
 import com.c8db.entity.CursorEntity.Warning;
@@ -67,4 +68,19 @@ public interface C8Cursor<T> extends C8Iterable<T>, C8Iterator<T>, Closeable {
 	 */
 	List<T> asListRemaining();
 
+	/**
+	 * Returns a sequential {@code Stream} of the remaining results. Closing the stream closes the cursor.
+	 *
+	 * @return the remaining results as a {@code Stream}
+	 */
+	Stream<T> stream();
+
+	/**
+	 * Returns a parallel {@code Stream} of the remaining results. The batches are fetched one after another, the
+	 * results of each batch are deserialized in parallel. Closing the stream closes the cursor.
+	 *
+	 * @return the remaining results as a parallel {@code Stream}
+	 */
+	Stream<T> parallelStream();
+
 }
@@ -18,6 +18,7 @@ import com.arangodb.velocypack.ValueType;
 import com.c8db.entity.C8DBVersion;
 import com.c8db.entity.DataCenterEntity;
 import com.c8db.entity.DcInfoEntity;
+import com.c8db.entity.DocumentField;
 import com.c8db.entity.GeoFabricEntity;
 import com.c8db.entity.LoadBalancingStrategy;
 import com.c8db.entity.LogEntity;
@@ -25,11 +26,12 @@ import com.c8db.entity.LogLevelEntity;
 import com.c8db.entity.Permissions;
 import com.c8db.entity.ServerRole;
 import com.c8db.entity.UserEntity;
-import com.c8db.internal.C8Context;
+import com.c8db.internal.C8DBAsyncImpl;
 import com.c8db.internal.C8DBImpl;
 import com.c8db.internal.C8Defaults;
 import com.c8db.internal.InternalC8DBBuilder;
 import com.c8db.internal.http.HttpCommunication;
+import com.c8db.internal.http.HttpCommunicationAsync;
 import com.c8db.internal.http.HttpConnectionFactory;
 import com.c8db.internal.net.ConnectionFactory;
 import com.c8db.internal.net.Host;
@@ -37,10 +39,13 @@ import com.c8db.internal.net.HostDescription;
 import com.c8db.internal.net.HostHandle;
 import com.c8db.internal.net.HostHandler;
 import com.c8db.internal.net.HostResolver;
+import com.c8db.internal.net.SimpleHostResolver;
 import com.c8db.internal.util.C8DeserializerImpl;
 import com.c8db.internal.util.C8SerializationFactory;
 import com.c8db.internal.util.C8SerializerImpl;
 import com.c8db.internal.util.DefaultC8Serialization;
+import com.c8db.internal.util.HostUtils;
+import com.c8db.internal.velocypack.VPackCodecs;
 import com.c8db.internal.velocystream.VstCommunicationSync;
 import com.c8db.internal.velocystream.VstConnectionFactorySync;
 import com.c8db.model.LogOptions;
@@ -48,8 +53,10 @@ import com.c8db.model.UserCreateOptions;
 import com.c8db.model.UserUpdateOptions;
 import com.c8db.util.C8CursorInitializer;
 import com.c8db.util.C8Deserializer;
+import com.c8db.util.C8JsonSerialization;
 import com.c8db.util.C8Serialization;
 import com.c8db.util.C8Serializer;
+import com.c8db.util.HistogramMetricsListener;
 import com.c8db.velocystream.Request;
 import com.c8db.velocystream.Response;
 
@@ -59,6 +66,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Executor;
 import javax.net.ssl.SSLContext;
 
 /**
@@ -266,6 +274,30 @@ public interface C8DB extends C8SerializationAccessor {
             return this;
         }
 
+        /**
+         * Sets the time after which idle HTTP connections are closed by the pool of a host.
+         *
+         * @param connectionMaxIdleTime the maximum idle time of a connection in milliseconds (default: 60000)
+         * @return {@link C8DB.Builder}
+         */
+        public Builder connectionMaxIdleTime(final Long connectionMaxIdleTime) {
+            setConnectionMaxIdleTime(connectionMaxIdleTime);
+            return this;
+        }
+
+        /**
+         * Sets the time after which an idle HTTP connection is checked before it is leased again, so that
+         * connections closed by the server are not used.
+         *
+         * @param connectionValidateAfterInactivity the inactivity in milliseconds before a connection is checked, a
+         *                                          negative value disables the check (default: 2000)
+         * @return {@link C8DB.Builder}
+         */
+        public Builder connectionValidateAfterInactivity(final Integer connectionValidateAfterInactivity) {
+            setConnectionValidateAfterInactivity(connectionValidateAfterInactivity);
+            return this;
+        }
+
         /**
          * Whether or not the driver should acquire a list of available coordinators in
          * an ArangoDB cluster or a single server with active failover.
@@ -318,6 +350,82 @@ public interface C8DB extends C8SerializationAccessor {
             return this;
         }
 
+        /**
+         * Sets the policy deciding whether and when failed HTTP requests are sent again. Retries end at the latest
+         * when the total time of a request exceeds {@link #timeout(Integer)}.
+         *
+         * @param retryPolicy the retry policy to be used. (default: {@link ExponentialBackoffRetryPolicy})
+         * @return {@link C8DB.Builder}
+         */
+        public Builder retryPolicy(final RetryPolicy retryPolicy) {
+            setRetryPolicy(retryPolicy);
+            return this;
+        }
+
+        /**
+         * Sets the listener which receives the response times, body sizes, retries, redirects, JWT refreshes,
+         * connection pool occupancy and cursor batches of the driver. The response times are keyed by service,
+         * request type and path template.
+         *
+         * @param metrics the listener, e.g. a {@link HistogramMetricsListener} (default: none)
+         * @return {@link C8DB.Builder}
+         */
+        public Builder metrics(final MetricsListener metrics) {
+            setMetrics(metrics);
+            return this;
+        }
+
+        /**
+         * Sets the executor which runs the background work of the driver: {@link C8DBAsync} deserializes the
+         * responses and completes its futures on it, cursors prefetch their batches and imports send their batches
+         * on it. The I/O threads of the HTTP client only hand the responses over, so callbacks may block, e.g. while
+         * iterating a {@link C8Cursor}, without stalling other requests. An executor set here is not shut down with
+         * the driver.
+         *
+         * @param executor the executor (default: a bounded pool of daemon threads per driver, which runs tasks on
+         *                 the submitting thread when all of them are busy)
+         * @return {@link C8DB.Builder}
+         */
+        public Builder executor(final Executor executor) {
+            setExecutor(executor);
+            return this;
+        }
+
+        /**
+         * Whether plain Java objects are serialized and deserialized through codecs, which are built once per class
+         * on first use, instead of looking up and accessing their fields by reflection for every document. The
+         * codecs follow the same rules as the reflective serialization, including {@link DocumentField} and
+         * {@link #annotationFieldNaming(Class, VPackAnnotationFieldNaming)}. Classes with a registered serializer,
+         * deserializer or instance creator are not affected.
+         *
+         * <p>
+         * <strong>Attention:</strong>can not be used together with
+         * {@link #serializer(C8Serialization)}
+         * </p>
+         *
+         * @param precompiledCodecs whether to use the codecs (default: {@code false})
+         * @return {@link C8DB.Builder}
+         */
+        public Builder precompiledCodecs(final Boolean precompiledCodecs) {
+            setPrecompiledCodecs(precompiledCodecs);
+            return this;
+        }
+
+        /**
+         * Whether documents are serialized to and deserialized from JSON directly, without converting them to
+         * VelocyPack in between. Applies to the bodies of single documents and of multi document writes as well as
+         * to all results which are deserialized as a whole, like {@link C8Collection#getDocument(String, Class)}.
+         * Requires {@link Protocol#HTTP_JSON} and a {@link #serializer(C8Serialization)} which implements
+         * {@link C8JsonSerialization}, like {@link VelocyJack}, otherwise it has no effect.
+         *
+         * @param jsonNative whether to skip VelocyPack for documents (default: {@code false})
+         * @return {@link C8DB.Builder}
+         */
+        public Builder jsonNative(final Boolean jsonNative) {
+            setJsonNative(jsonNative);
+            return this;
+        }
+
         /**
          * Register a custom {@link VPackSerializer} for a specific type to be used
          * within the internal serialization process.
@@ -332,7 +440,7 @@ public interface C8DB extends C8SerializationAccessor {
          * @return {@link C8DB.Builder}
          */
         public <T> Builder registerSerializer(final Class<T> clazz, final VPackSerializer<T> serializer) {
-            vpackBuilder.registerSerializer(clazz, serializer);
+            vpackSetup.registerSerializer(clazz, serializer);
             return this;
         }
 
@@ -350,7 +458,7 @@ public interface C8DB extends C8SerializationAccessor {
          * @return {@link C8DB.Builder}
          */
         public <T> Builder registerEnclosingSerializer(final Class<T> clazz, final VPackSerializer<T> serializer) {
-            vpackBuilder.registerEnclosingSerializer(clazz, serializer);
+            vpackSetup.registerEnclosingSerializer(clazz, serializer);
             return this;
         }
 
@@ -368,7 +476,7 @@ public interface C8DB extends C8SerializationAccessor {
          * @return {@link C8DB.Builder}
          */
         public <T> Builder registerDeserializer(final Class<T> clazz, final VPackDeserializer<T> deserializer) {
-            vpackBuilder.registerDeserializer(clazz, deserializer);
+            vpackSetup.registerDeserializer(clazz, deserializer);
             return this;
         }
 
@@ -386,7 +494,7 @@ public interface C8DB extends C8SerializationAccessor {
          * @return {@link C8DB.Builder}
          */
         public <T> Builder registerInstanceCreator(final Class<T> clazz, final VPackInstanceCreator<T> creator) {
-            vpackBuilder.registerInstanceCreator(clazz, creator);
+            vpackSetup.registerInstanceCreator(clazz, creator);
             return this;
         }
 
@@ -443,6 +551,7 @@ public interface C8DB extends C8SerializationAccessor {
          */
         public <T> Builder registerJsonSerializer(final Class<T> clazz, final VPackJsonSerializer<T> serializer) {
             vpackParserBuilder.registerSerializer(clazz, serializer);
+            customJsonParsing = true;
             return this;
         }
 
@@ -463,6 +572,7 @@ public interface C8DB extends C8SerializationAccessor {
         public <T> Builder registerJsonSerializer(final String attribute, final Class<T> clazz,
                 final VPackJsonSerializer<T> serializer) {
             vpackParserBuilder.registerSerializer(attribute, clazz, serializer);
+            customJsonParsing = true;
             return this;
         }
 
@@ -481,7 +591,7 @@ public interface C8DB extends C8SerializationAccessor {
          */
         public <A extends Annotation> Builder annotationFieldFilter(final Class<A> type,
                 final VPackAnnotationFieldFilter<A> fieldFilter) {
-            vpackBuilder.annotationFieldFilter(type, fieldFilter);
+            vpackSetup.annotationFieldFilter(type, fieldFilter);
             return this;
         }
 
@@ -500,7 +610,7 @@ public interface C8DB extends C8SerializationAccessor {
          */
         public <A extends Annotation> Builder annotationFieldNaming(final Class<A> type,
                 final VPackAnnotationFieldNaming<A> fieldNaming) {
-            vpackBuilder.annotationFieldNaming(type, fieldNaming);
+            vpackSetup.annotationFieldNaming(type, fieldNaming);
             return this;
         }
 
@@ -517,7 +627,7 @@ public interface C8DB extends C8SerializationAccessor {
          * @return {@link C8DB.Builder}
          */
         public Builder registerModule(final VPackModule module) {
-            vpackBuilder.registerModule(module);
+            vpackSetup.registerModule(module);
             return this;
         }
 
@@ -534,7 +644,7 @@ public interface C8DB extends C8SerializationAccessor {
          * @return {@link C8DB.Builder}
          */
         public Builder registerModules(final VPackModule... modules) {
-            vpackBuilder.registerModules(modules);
+            vpackSetup.registerModules(modules);
             return this;
         }
 
@@ -552,6 +662,7 @@ public interface C8DB extends C8SerializationAccessor {
          */
         public Builder registerJsonModule(final VPackParserModule module) {
             vpackParserBuilder.registerModule(module);
+            customJsonParsing = true;
             return this;
         }
 
@@ -569,6 +680,7 @@ public interface C8DB extends C8SerializationAccessor {
          */
         public Builder registerJsonModules(final VPackParserModule... modules) {
             vpackParserBuilder.registerModules(modules);
+            customJsonParsing = true;
             return this;
         }
 
@@ -625,6 +737,71 @@ public interface C8DB extends C8SerializationAccessor {
          * @return {@link C8DB}
          */
         public synchronized C8DB build() {
+            prepareHosts();
+            final HostDescription auxHost = hosts.get(Service.C8DB).get(0);
+            final C8SerializationFactory util = createSerializationFactory();
+            final C8Serialization custom = util.get(C8SerializationFactory.Serializer.CUSTOM);
+
+            int protocolMaxConnections = protocol == Protocol.VST ? C8Defaults.MAX_CONNECTIONS_VST_DEFAULT
+                    : C8Defaults.MAX_CONNECTIONS_HTTP_DEFAULT;
+            final int max = maxConnections != null ? Math.max(1, maxConnections) : protocolMaxConnections;
+
+            final ConnectionFactory connectionFactory;
+            final int connectionsPerHost;
+            if (protocol == null || Protocol.VST == protocol) {
+                connectionFactory = new VstConnectionFactorySync(timeout, connectionTtl, useSsl, sslContext);
+                connectionsPerHost = max;
+            } else {
+                // a single pooled client per host, which leases up to max connections
+                connectionFactory = new HttpConnectionFactory(timeout, responseSizeLimit, user, password, secretProvider, email, jwtAuth, jwtToken, useSsl,
+                    sslContext, custom, protocol, connectionTtl, httpCookieSpec, apiKey, auxHost)
+                    .jsonStreaming(isJsonStreamingSupported()).maxConnections(max).maxIdleTime(connectionMaxIdleTime)
+                    .validateAfterInactivity(connectionValidateAfterInactivity).retryPolicy(retryPolicy)
+                    .metrics(metrics).jsonNative(isJsonNative());
+                connectionsPerHost = 1;
+            }
+            final Map<Service, Collection<Host>> hostsMatrix = createHostMatrix(connectionsPerHost, connectionFactory);
+            final HostResolver hostResolver = createHostResolver(hostsMatrix, connectionsPerHost, connectionFactory);
+            final Map<Service, HostHandler> hostHandlerMatrix = createHostHandlerMatrix(hostResolver);
+            return new C8DBImpl(
+                    new VstCommunicationSync.Builder(hostHandlerMatrix).timeout(timeout).user(user).password(password)
+                            .useSsl(useSsl).sslContext(sslContext).chunksize(chunksize).maxConnections(maxConnections)
+                            .connectionTtl(connectionTtl).metrics(metrics),
+                    new HttpCommunication.Builder(hostHandlerMatrix).metrics(metrics), util, protocol, hostResolver,
+                    createContext());
+        }
+
+        /**
+         * Returns an instance of {@link C8DBAsync}, which executes the requests on a non-blocking HTTP client. Each
+         * host gets a single client multiplexing the requests over up to {@link #maxConnections(Integer)}
+         * connections. Requires {@link Protocol#HTTP_JSON} or {@link Protocol#HTTP_VPACK}, the host list is not
+         * acquired from the server.
+         *
+         * @return {@link C8DBAsync}
+         */
+        public synchronized C8DBAsync buildAsync() {
+            if (protocol == null || Protocol.VST == protocol) {
+                throw new C8DBException("C8DBAsync requires the protocol HTTP_JSON or HTTP_VPACK");
+            }
+            prepareHosts();
+            final HostDescription auxHost = hosts.get(Service.C8DB).get(0);
+            final C8SerializationFactory util = createSerializationFactory();
+            final C8Serialization custom = util.get(C8SerializationFactory.Serializer.CUSTOM);
+            final int max = maxConnections != null ? Math.max(1, maxConnections)
+                    : C8Defaults.MAX_CONNECTIONS_HTTP_DEFAULT;
+
+            final ConnectionFactory connectionFactory = new HttpConnectionFactory(timeout, responseSizeLimit, user,
+                    password, secretProvider, email, jwtAuth, jwtToken, useSsl, sslContext, custom, protocol,
+                    connectionTtl, httpCookieSpec, apiKey, auxHost).jsonStreaming(isJsonStreamingSupported())
+                    .maxIdleTime(connectionMaxIdleTime).validateAfterInactivity(connectionValidateAfterInactivity)
+                    .retryPolicy(retryPolicy).metrics(metrics).jsonNative(isJsonNative()).async(max);
+            final Map<Service, Collection<Host>> hostsMatrix = createHostMatrix(1, connectionFactory);
+            final HostResolver hostResolver = new SimpleHostResolver(HostUtils.cloneHostMatrix(hostsMatrix));
+            final Map<Service, HostHandler> hostHandlerMatrix = createHostHandlerMatrix(hostResolver);
+            return new C8DBAsyncImpl(new HttpCommunicationAsync(hostHandlerMatrix, metrics), util, createContext());
+        }
+
+        private void prepareHosts() {
             if (hosts.get(Service.C8DB).isEmpty()) {
                 hosts.get(Service.C8DB).add(host);
             }
@@ -635,38 +812,29 @@ public interface C8DB extends C8SerializationAccessor {
             if (hosts.get(Service.C8FUNCTION).isEmpty()) {
                 hosts.get(Service.C8FUNCTION).addAll(hosts.get(Service.C8DB));
             }
-            final HostDescription auxHost = hosts.get(Service.C8DB).get(0);
+        }
+
+        private C8SerializationFactory createSerializationFactory() {
             final VPack vpacker = vpackBuilder.serializeNullValues(false).build();
             final VPack vpackerNull = vpackBuilder.serializeNullValues(true).build();
             final VPackParser vpackParser = vpackParserBuilder.build();
+            final boolean codecs = Boolean.TRUE.equals(precompiledCodecs);
+            final VPackCodecs codecsNull = codecs ? vpackSetup.codecs(vpackerNull, true) : null;
             final C8Serializer serializerTemp = serializer != null ? serializer
-                    : new C8SerializerImpl(vpacker, vpackerNull, vpackParser);
+                    : new C8SerializerImpl(vpacker, vpackerNull, vpackParser,
+                            codecs ? vpackSetup.codecs(vpacker, false) : null, codecsNull);
             final C8Deserializer deserializerTemp = deserializer != null ? deserializer
-                    : new C8DeserializerImpl(vpackerNull, vpackParser);
+                    : new C8DeserializerImpl(vpackerNull, vpackParser, codecsNull);
             final DefaultC8Serialization internal = new DefaultC8Serialization(serializerTemp,
                     deserializerTemp);
             final C8Serialization custom = customSerializer != null ? customSerializer : internal;
-            final C8SerializationFactory util = new C8SerializationFactory(internal, custom);
-
-            int protocolMaxConnections = protocol == Protocol.VST ? C8Defaults.MAX_CONNECTIONS_VST_DEFAULT
-                    : C8Defaults.MAX_CONNECTIONS_HTTP_DEFAULT;
-            final int max = maxConnections != null ? Math.max(1, maxConnections) : protocolMaxConnections;
+            return new C8SerializationFactory(internal, custom,
+                    isJsonNative() ? (C8JsonSerialization) customSerializer : null);
+        }
 
-            final ConnectionFactory connectionFactory;
-            if (protocol == null || Protocol.VST == protocol) {
-                connectionFactory = new VstConnectionFactorySync(timeout, connectionTtl, useSsl, sslContext);
-            } else {
-                connectionFactory = new HttpConnectionFactory(timeout, responseSizeLimit, user, password, secretProvider, email, jwtAuth, jwtToken, useSsl,
-                    sslContext, custom, protocol, connectionTtl, httpCookieSpec, apiKey, auxHost);
-            }
-            final Map<Service, Collection<Host>> hostsMatrix = createHostMatrix(max, connectionFactory);
-            final HostResolver hostResolver = createHostResolver(hostsMatrix, max, connectionFactory);
-            final Map<Service, HostHandler> hostHandlerMatrix = createHostHandlerMatrix(hostResolver);
-            return new C8DBImpl(
-                    new VstCommunicationSync.Builder(hostHandlerMatrix).timeout(timeout).user(user).password(password)
-                            .useSsl(useSsl).sslContext(sslContext).chunksize(chunksize).maxConnections(maxConnections)
-                            .connectionTtl(connectionTtl),
-                    new HttpCommunication.Builder(hostHandlerMatrix), util, protocol, hostResolver, new C8Context());
+        private boolean isJsonNative() {
+            return Boolean.TRUE.equals(jsonNative) && protocol == Protocol.HTTP_JSON
+                    && customSerializer instanceof C8JsonSerialization;
         }
 
     }
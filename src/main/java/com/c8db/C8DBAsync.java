@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db;
+
+/**
+ * Non-blocking entry point of the driver, created with {@link C8DB.Builder#buildAsync()}. All operations return a
+ * {@link java.util.concurrent.CompletableFuture} which fails with a {@link C8DBException}.
+ *
+ * <p>
+ * Only the HTTP protocols are supported. The futures are completed on the I/O threads of the client, dependent
+ * stages which block should therefore use one of the {@code *Async} methods of the future.
+ * </p>
+ */
+public interface C8DBAsync extends C8SerializationAccessor {
+
+    /**
+     * Releases all connections to the server and clear the connection pool.
+     *
+     * @throws C8DBException
+     */
+    void shutdown() throws C8DBException;
+
+    /**
+     * Returns a {@code C8DatabaseAsync} instance for the {@code _system} database.
+     *
+     * @return database handler
+     */
+    C8DatabaseAsync db();
+
+    /**
+     * Returns a {@code C8DatabaseAsync} instance for the given database name and tenant.
+     *
+     * @param tenant Name of the tenant
+     * @param name   Name of the database
+     * @return database handler
+     */
+    C8DatabaseAsync db(String tenant, String name);
+
+}
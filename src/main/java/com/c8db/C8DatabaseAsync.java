@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.c8db.entity.C8DBVersion;
+import com.c8db.entity.CollectionEntity;
+import com.c8db.model.C8qlQueryOptions;
+import com.c8db.model.CollectionCreateOptions;
+import com.c8db.model.CollectionsReadOptions;
+
+/**
+ * Interface for non-blocking operations on C8DB database level.
+ *
+ * @see C8Database
+ */
+public interface C8DatabaseAsync extends C8SerializationAccessor {
+
+    /**
+     * Return the main entry point for the C8DB driver
+     *
+     * @return main entry point
+     */
+    C8DBAsync c8db();
+
+    /**
+     * Returns the name of the tenant
+     *
+     * @return tenant name
+     */
+    String tenant();
+
+    /**
+     * Returns the name of the database
+     *
+     * @return database name
+     */
+    String name();
+
+    /**
+     * Returns the server name and version number.
+     *
+     * @return the server version, number
+     */
+    CompletableFuture<C8DBVersion> getVersion();
+
+    /**
+     * Checks whether the database exists
+     *
+     * @return true if the database exists, otherwise false
+     */
+    CompletableFuture<Boolean> exists();
+
+    /**
+     * Returns a {@code C8CollectionAsync} instance for the given collection name.
+     *
+     * @param name Name of the collection
+     * @return collection handler
+     */
+    C8CollectionAsync collection(String name);
+
+    /**
+     * Creates a collection for the given collection's name, then returns collection
+     * information from the server.
+     *
+     * @param name The name of the collection
+     * @return information about the collection
+     */
+    CompletableFuture<CollectionEntity> createCollection(String name);
+
+    /**
+     * Creates a collection with the given {@code options} for this collection's
+     * name, then returns collection information from the server.
+     *
+     * @param name    The name of the collection
+     * @param options Additional options, can be null
+     * @return information about the collection
+     */
+    CompletableFuture<CollectionEntity> createCollection(String name, CollectionCreateOptions options);
+
+    /**
+     * Fetches all collections from the database and returns an list of collection
+     * descriptions.
+     *
+     * @return list of information about all collections
+     */
+    CompletableFuture<Collection<CollectionEntity>> getCollections();
+
+    /**
+     * Fetches all collections from the database and returns an list of collection
+     * descriptions.
+     *
+     * @param options Additional options, can be null
+     * @return list of information about all collections
+     */
+    CompletableFuture<Collection<CollectionEntity>> getCollections(CollectionsReadOptions options);
+
+    /**
+     * Performs a database query using the given {@code query} and
+     * {@code bindVars}, then returns a new {@code C8Cursor} instance for the
+     * result list. The future completes with the first batch, further batches are
+     * fetched while iterating the cursor, which blocks the iterating thread.
+     *
+     * @param query    An C8QL query string
+     * @param bindVars key/value pairs defining the variables to bind the query to
+     * @param options  Additional options that will be passed to the query API, can
+     *                 be null
+     * @param type     The type of the result (POJO class, VPackSlice, String for
+     *                 JSON, or Collection/List/Map)
+     * @return cursor of the results
+     */
+    <T> CompletableFuture<C8Cursor<T>> query(String query, Map<String, Object> bindVars, C8qlQueryOptions options,
+            Class<T> type);
+
+    /**
+     * Performs a database query using the given {@code query} and
+     * {@code bindVars}, then returns a new {@code C8Cursor} instance for the
+     * result list.
+     *
+     * @param query    An C8QL query string
+     * @param bindVars key/value pairs defining the variables to bind the query to
+     * @param type     The type of the result (POJO class, VPackSlice, String for
+     *                 JSON, or Collection/List/Map)
+     * @return cursor of the results
+     */
+    <T> CompletableFuture<C8Cursor<T>> query(String query, Map<String, Object> bindVars, Class<T> type);
+
+    /**
+     * Performs a database query using the given {@code query}, then returns a new
+     * {@code C8Cursor} instance for the result list.
+     *
+     * @param query An C8QL query string
+     * @param type  The type of the result (POJO class, VPackSlice, String for
+     *              JSON, or Collection/List/Map)
+     * @return cursor of the results
+     */
+    <T> CompletableFuture<C8Cursor<T>> query(String query, Class<T> type);
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db;
+
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.http.NoHttpResponseException;
+
+import com.c8db.velocystream.Request;
+
+/**
+ * Retries with exponentially growing, jittered delays. By default server errors ({@code 5xx}) are retried for
+ * requests which have retries enabled, unknown hosts and dropped connections for all requests. A request is tried at
+ * most 7 times, starting with a delay of 4 seconds which doubles up to 128 seconds, within 5 minutes.
+ */
+public class ExponentialBackoffRetryPolicy implements RetryPolicy {
+
+    private final int maxAttempts;
+    private final long maxElapsedTime;
+    private final long initialDelay;
+    private final double multiplier;
+    private final long maxDelay;
+    private final double jitter;
+    private final Set<Integer> retryableStatusCodes;
+    private final Collection<Class<? extends Throwable>> retryableExceptions;
+
+    private ExponentialBackoffRetryPolicy(final Builder builder) {
+        super();
+        maxAttempts = builder.maxAttempts;
+        maxElapsedTime = builder.maxElapsedTime;
+        initialDelay = builder.initialDelay;
+        multiplier = builder.multiplier;
+        maxDelay = builder.maxDelay;
+        jitter = builder.jitter;
+        retryableStatusCodes = builder.retryableStatusCodes;
+        retryableExceptions = builder.retryableExceptions;
+    }
+
+    @Override
+    public long retryDelay(final Request request, final int attempt, final long elapsed, final Integer responseCode,
+        final Throwable error) {
+        if (attempt >= maxAttempts || !isRetryable(request, responseCode, error)) {
+            return -1L;
+        }
+        final double backoff = Math.min(maxDelay, initialDelay * Math.pow(multiplier, attempt - 1));
+        final double factor = 1.0 - jitter + 2.0 * jitter * ThreadLocalRandom.current().nextDouble();
+        final long delay = Math.min(maxDelay, Math.round(backoff * factor));
+        if (maxElapsedTime > 0 && elapsed + delay > maxElapsedTime) {
+            return -1L;
+        }
+        return delay;
+    }
+
+    private boolean isRetryable(final Request request, final Integer responseCode, final Throwable error) {
+        if (error != null) {
+            for (final Class<? extends Throwable> type : retryableExceptions) {
+                if (type.isInstance(error)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (responseCode == null || !request.isRetryEnabled()) {
+            return false;
+        }
+        return retryableStatusCodes != null ? retryableStatusCodes.contains(responseCode) : responseCode >= 500;
+    }
+
+    public static class Builder {
+
+        private int maxAttempts = 7;
+        private long maxElapsedTime = 5L * 60L * 1000L;
+        private long initialDelay = 4L * 1000L;
+        private double multiplier = 2.0;
+        private long maxDelay = 128L * 1000L;
+        private double jitter = 0.2;
+        private Set<Integer> retryableStatusCodes;
+        private Collection<Class<? extends Throwable>> retryableExceptions = new ArrayList<Class<? extends Throwable>>(
+                Arrays.<Class<? extends Throwable>>asList(UnknownHostException.class,
+                        NoHttpResponseException.class));
+
+        /**
+         * @param maxAttempts max number of attempts including the first one
+         */
+        public Builder maxAttempts(final int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * @param maxElapsedTime max milliseconds after the first failure in which a request is retried, {@code 0} for
+         *                       no limit
+         */
+        public Builder maxElapsedTime(final long maxElapsedTime) {
+            this.maxElapsedTime = maxElapsedTime;
+            return this;
+        }
+
+        /**
+         * @param initialDelay milliseconds to wait before the first retry
+         */
+        public Builder initialDelay(final long initialDelay) {
+            this.initialDelay = initialDelay;
+            return this;
+        }
+
+        /**
+         * @param multiplier factor the delay grows with for each attempt
+         */
+        public Builder multiplier(final double multiplier) {
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * @param maxDelay max milliseconds to wait between two attempts
+         */
+        public Builder maxDelay(final long maxDelay) {
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * @param jitter relative amount, between 0 and 1, by which each delay is randomly shortened or prolonged
+         */
+        public Builder jitter(final double jitter) {
+            this.jitter = Math.max(0.0, Math.min(1.0, jitter));
+            return this;
+        }
+
+        /**
+         * @param statusCodes status codes which are retried instead of all server errors
+         */
+        public Builder retryOnStatus(final Integer... statusCodes) {
+            retryableStatusCodes = new HashSet<Integer>(Arrays.asList(statusCodes));
+            return this;
+        }
+
+        /**
+         * @param exceptions exceptions which are retried, replaces the default ones
+         */
+        @SafeVarargs
+        public final Builder retryOnExceptions(final Class<? extends Throwable>... exceptions) {
+            final List<Class<? extends Throwable>> types = new ArrayList<Class<? extends Throwable>>();
+            for (final Class<? extends Throwable> exception : exceptions) {
+                types.add(exception);
+            }
+            retryableExceptions = types;
+            return this;
+        }
+
+        public ExponentialBackoffRetryPolicy build() {
+            return new ExponentialBackoffRetryPolicy(this);
+        }
+    }
+
+}
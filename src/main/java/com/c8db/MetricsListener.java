@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db;
+
+import com.c8db.velocystream.RequestType;
+
+/**
+ * Receives the metrics of the driver. The methods are called on the threads executing the requests, so they have to
+ * be cheap and must not block. All methods do nothing by default.
+ *
+ * @see com.c8db.util.HistogramMetricsListener
+ */
+public interface MetricsListener {
+
+    /**
+     * Called once per request after the response was received or the request failed, including all retries and
+     * redirects.
+     *
+     * @param service       service the request was sent to
+     * @param requestType   method of the request
+     * @param pathTemplate  path of the request with {@code {}} for every variable segment, like
+     *                      {@code /_api/document/{}/{}}
+     * @param responseCode  status code of the response, or {@code 0} if no response was received
+     * @param durationNanos time from sending the request until the response was received
+     * @param requestBytes  size of the request body, or {@code -1} if unknown
+     * @param responseBytes size of the response body
+     */
+    default void onRequest(final Service service, final RequestType requestType, final String pathTemplate,
+            final int responseCode, final long durationNanos, final long requestBytes, final long responseBytes) {
+    }
+
+    /**
+     * Called before a failed request is sent again.
+     *
+     * @param service      service the request was sent to
+     * @param requestType  method of the request
+     * @param pathTemplate path of the request, see {@link #onRequest}
+     */
+    default void onRetry(final Service service, final RequestType requestType, final String pathTemplate) {
+    }
+
+    /**
+     * Called when a request is redirected to another host.
+     *
+     * @param service service the request was sent to
+     */
+    default void onRedirect(final Service service) {
+    }
+
+    /**
+     * Called when an expired or rejected JWT was replaced with a new one.
+     *
+     * @param service service the request was sent to
+     */
+    default void onAuthRefresh(final Service service) {
+    }
+
+    /**
+     * Called whenever a HTTP request takes or returns a pooled connection. Every connection to a host has a pool of
+     * its own, so the numbers of a service are the sum of the deltas of all its pools.
+     *
+     * @param service        service of the connection pool
+     * @param delta          {@code 1} when a request takes a connection, {@code -1} when it returns it
+     * @param inUse          number of requests using or waiting for a connection of this pool
+     * @param maxConnections size of this pool
+     */
+    default void onConnectionPool(final Service service, final int delta, final int inUse,
+            final int maxConnections) {
+    }
+
+    /**
+     * Called for every batch of a query result received by a cursor, including the first one.
+     *
+     * @param documents number of documents in the batch
+     * @param hasMore   whether the server holds more batches
+     */
+    default void onCursorBatch(final int documents, final boolean hasMore) {
+    }
+
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db;
+
+import com.c8db.velocystream.Request;
+
+/**
+ * Decides whether and when a failed HTTP request is sent again. The driver waits for the returned delay without
+ * blocking a thread of its own, a request is given up as soon as its total time would exceed the configured timeout.
+ *
+ * @see ExponentialBackoffRetryPolicy
+ */
+public interface RetryPolicy {
+
+    /**
+     * @param request      the failed request
+     * @param attempt      number of failed attempts so far, starting with 1
+     * @param elapsed      milliseconds since the first attempt failed
+     * @param responseCode status code of the failed attempt, or {@code null} if no response was received
+     * @param error        exception of the failed attempt, or {@code null} if a response was received
+     * @return milliseconds to wait before the next attempt, or a negative value to give up
+     */
+    long retryDelay(Request request, int attempt, long elapsed, Integer responseCode, Throwable error);
+
+}
@@ -19,24 +19,27 @@
 package com.c8db;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.Iterator;
 
 import com.c8db.jackson.dataformat.velocypack.VPackMapper;
-import com.c8db.util.C8Serialization;
+import com.c8db.util.C8JsonSerialization;
 import com.c8db.util.C8Serializer;
 import com.arangodb.velocypack.VPackParser;
 import com.arangodb.velocypack.VPackSlice;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
- *
+ * Serialization based on Jackson. Besides VelocyPack it maps objects to and from JSON directly, with the same
+ * settings, which is used by {@link C8DB.Builder#jsonNative(Boolean)}.
  */
-public class VelocyJack implements C8Serialization {
+public class VelocyJack implements C8JsonSerialization {
 
     public interface ConfigureFunction {
         void configure(ObjectMapper mapper);
@@ -45,13 +48,18 @@ public class VelocyJack implements C8Serialization {
     private final ObjectMapper vpackMapper;
     private final ObjectMapper vpackMapperNull;
     private final ObjectMapper jsonMapper;
+    private final ObjectMapper jsonMapperNull;
     private final VPackParser vpackParser;
 
     public VelocyJack() {
         super();
         vpackMapper = new VPackMapper().setSerializationInclusion(Include.NON_NULL);
         vpackMapperNull = new VPackMapper().setSerializationInclusion(Include.ALWAYS);
-        jsonMapper = new ObjectMapper().setSerializationInclusion(Include.NON_NULL);
+        jsonMapper = VPackMapper.configureMapper(new ObjectMapper()).setSerializationInclusion(Include.NON_NULL);
+        jsonMapperNull = VPackMapper.configureMapper(new ObjectMapper()).setSerializationInclusion(Include.ALWAYS);
+        // the stream belongs to the caller
+        jsonMapper.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        jsonMapperNull.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
         vpackParser = new VPackParser.Builder().build();
     }
 
@@ -59,6 +67,7 @@ public class VelocyJack implements C8Serialization {
         f.configure(vpackMapper);
         f.configure(vpackMapperNull);
         f.configure(jsonMapper);
+        f.configure(jsonMapperNull);
     }
 
     @Override
@@ -115,4 +124,23 @@ public class VelocyJack implements C8Serialization {
         }
     }
 
+    @Override
+    public void serializeJson(final Object entity, final Options options, final OutputStream out)
+            throws C8DBException {
+        try {
+            (options.isSerializeNullValues() ? jsonMapperNull : jsonMapper).writeValue(out, entity);
+        } catch (final IOException e) {
+            throw new C8DBException(e);
+        }
+    }
+
+    @Override
+    public <T> T deserializeJson(final byte[] json, final Type type) throws C8DBException {
+        try {
+            return jsonMapper.readValue(json, jsonMapper.constructType(type));
+        } catch (final IOException e) {
+            throw new C8DBException(e);
+        }
+    }
+
 }
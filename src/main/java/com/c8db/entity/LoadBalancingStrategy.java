@@ -21,5 +21,5 @@ package com.c8db.entity;
  *
  */
 public enum LoadBalancingStrategy {
-    NONE, ROUND_ROBIN, ONE_RANDOM
+    NONE, ROUND_ROBIN, ONE_RANDOM, LEAST_LATENCY
 }
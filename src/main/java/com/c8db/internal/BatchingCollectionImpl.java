@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.c8db.BatchingCollection;
+import com.c8db.C8Collection;
+import com.c8db.C8DBException;
+import com.c8db.entity.DocumentCreateEntity;
+import com.c8db.entity.DocumentDeleteEntity;
+import com.c8db.entity.DocumentUpdateEntity;
+import com.c8db.entity.ErrorEntity;
+import com.c8db.entity.MultiDocumentEntity;
+import com.c8db.internal.util.DocumentUtil;
+import com.c8db.model.BatchingOptions;
+
+/**
+ * Collects the writes in one open batch per operation and document type. A write of another operation or type, a
+ * full batch or the linger timer seal the open batch. Sealed batches are sent one after another in the order they
+ * were sealed, so the writes reach the server in the order they were made. The linger timers run on one shared
+ * thread, the batches are sent on the executor of the driver. Writes which are not done yet are counted, beyond the
+ * configured maximum they fail right away.
+ *
+ */
+public class BatchingCollectionImpl implements BatchingCollection {
+
+    static final int DEFAULT_BATCH_SIZE = 500;
+    static final int DEFAULT_LINGER_MILLIS = 5;
+
+    private static final ScheduledThreadPoolExecutor LINGER_EXECUTOR;
+
+    static {
+        LINGER_EXECUTOR = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable r) {
+                final Thread thread = new Thread(r, "c8db-batching-linger");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        // most batches are sent before they linger out
+        LINGER_EXECUTOR.setRemoveOnCancelPolicy(true);
+    }
+
+    private enum Operation {
+        INSERT, UPDATE, DELETE
+    }
+
+    private final C8Collection collection;
+    private final BatchingOptions options;
+    private final int batchSize;
+    private final long lingerMillis;
+    private final int maxPendingWrites;
+    private final Executor sendExecutor;
+
+    private Batch open;
+    private final Deque<Batch> sealed;
+    private Batch last;
+    private boolean sending;
+    private int pending;
+    private boolean closed;
+
+    /**
+     * @param sendExecutor executor of the driver on which the batches are sent
+     */
+    public BatchingCollectionImpl(final C8Collection collection, final BatchingOptions options,
+            final Executor sendExecutor) {
+        super();
+        this.collection = collection;
+        this.sendExecutor = sendExecutor;
+        this.options = options != null ? options : new BatchingOptions();
+        batchSize = this.options.getBatchSize() != null && this.options.getBatchSize() > 0
+                ? this.options.getBatchSize() : DEFAULT_BATCH_SIZE;
+        lingerMillis = this.options.getLingerMillis() != null && this.options.getLingerMillis() >= 0
+                ? this.options.getLingerMillis() : DEFAULT_LINGER_MILLIS;
+        maxPendingWrites = this.options.getMaxPendingWrites() != null && this.options.getMaxPendingWrites() > 0
+                ? this.options.getMaxPendingWrites() : Integer.MAX_VALUE;
+        sealed = new ArrayDeque<Batch>();
+    }
+
+    @Override
+    public C8Collection collection() {
+        return collection;
+    }
+
+    @Override
+    public <T> CompletableFuture<DocumentCreateEntity<T>> insertDocument(final T value) {
+        if (value == null) {
+            return failed(new C8DBException("Document must not be null"));
+        }
+        return add(new BatchKey(Operation.INSERT, value.getClass()), value);
+    }
+
+    @Override
+    public <T> CompletableFuture<DocumentUpdateEntity<T>> updateDocument(final T value) {
+        if (value == null) {
+            return failed(new C8DBException("Document must not be null"));
+        }
+        return add(new BatchKey(Operation.UPDATE, value.getClass()), value);
+    }
+
+    @Override
+    public CompletableFuture<DocumentDeleteEntity<Void>> deleteDocument(final String key) {
+        return deleteDocument(key, Void.class);
+    }
+
+    @Override
+    public <T> CompletableFuture<DocumentDeleteEntity<T>> deleteDocument(final String key, final Class<T> type) {
+        if (key == null) {
+            return failed(new C8DBException("Document key must not be null"));
+        }
+        try {
+            DocumentUtil.validateDocumentKey(key);
+        } catch (final C8DBException e) {
+            return failed(e);
+        }
+        return add(new BatchKey(Operation.DELETE, type), key);
+    }
+
+    private static <R> CompletableFuture<R> failed(final C8DBException e) {
+        final CompletableFuture<R> future = new CompletableFuture<R>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> CompletableFuture<R> add(final BatchKey key, final Object value) {
+        final CompletableFuture<Object> future = new CompletableFuture<Object>();
+        synchronized (this) {
+            if (closed) {
+                future.completeExceptionally(new C8DBException("BatchingCollection is closed"));
+                return (CompletableFuture<R>) future;
+            }
+            if (pending >= maxPendingWrites) {
+                future.completeExceptionally(new C8DBException(
+                    "BatchingCollection has reached the maximum of " + maxPendingWrites + " pending writes"));
+                return (CompletableFuture<R>) future;
+            }
+            pending++;
+            if (open != null && !open.key.equals(key)) {
+                // the writes before must be sent first
+                seal(open);
+            }
+            if (open == null) {
+                final Batch batch = new Batch(key);
+                batch.linger = LINGER_EXECUTOR.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        send(batch);
+                    }
+                }, lingerMillis, TimeUnit.MILLISECONDS);
+                open = batch;
+            }
+            open.values.add(value);
+            open.futures.add(future);
+            if (open.values.size() >= batchSize) {
+                seal(open);
+            }
+        }
+        drain();
+        return (CompletableFuture<R>) future;
+    }
+
+    /**
+     * Queues the batch for sending, if it is still open.
+     */
+    private void seal(final Batch batch) {
+        if (open != batch) {
+            return;
+        }
+        open = null;
+        batch.linger.cancel(false);
+        sealed.add(batch);
+        last = batch;
+    }
+
+    private void send(final Batch batch) {
+        synchronized (this) {
+            seal(batch);
+        }
+        drain();
+    }
+
+    /**
+     * Starts sending the sealed batches, unless they are sent already.
+     */
+    private void drain() {
+        synchronized (this) {
+            if (sending || sealed.isEmpty()) {
+                return;
+            }
+            sending = true;
+        }
+        sendExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                while (true) {
+                    final Batch batch;
+                    synchronized (BatchingCollectionImpl.this) {
+                        batch = sealed.poll();
+                        if (batch == null) {
+                            sending = false;
+                            return;
+                        }
+                    }
+                    MultiDocumentEntity<?> result = null;
+                    RuntimeException failure = null;
+                    try {
+                        result = execute(batch);
+                    } catch (final RuntimeException e) {
+                        failure = e;
+                    }
+                    synchronized (BatchingCollectionImpl.this) {
+                        // before the futures complete, so that their callbacks may write again
+                        pending -= batch.values.size();
+                    }
+                    try {
+                        if (failure != null) {
+                            for (final CompletableFuture<Object> future : batch.futures) {
+                                future.completeExceptionally(failure);
+                            }
+                        } else {
+                            complete(batch, result);
+                        }
+                    } finally {
+                        batch.done.complete(null);
+                    }
+                }
+            }
+        });
+    }
+
+    private MultiDocumentEntity<?> execute(final Batch batch) {
+        switch (batch.key.operation) {
+        case INSERT:
+            return collection.insertDocuments(batch.values, options.getInsertOptions());
+        case UPDATE:
+            return collection.updateDocuments(batch.values, options.getUpdateOptions());
+        case DELETE:
+        default:
+            return collection.deleteDocuments(batch.values, batch.key.type, options.getDeleteOptions());
+        }
+    }
+
+    private static void complete(final Batch batch, final MultiDocumentEntity<?> result) {
+        final Iterator<CompletableFuture<Object>> futures = batch.futures.iterator();
+        final Collection<Object> documentsAndErrors = result != null ? result.getDocumentsAndErrors() : null;
+        if (documentsAndErrors != null) {
+            // the response holds one element per document in the order of the request
+            for (final Iterator<Object> elements = documentsAndErrors.iterator(); elements.hasNext()
+                    && futures.hasNext();) {
+                final Object element = elements.next();
+                final CompletableFuture<Object> future = futures.next();
+                if (element instanceof ErrorEntity) {
+                    future.completeExceptionally(new C8DBException((ErrorEntity) element));
+                } else {
+                    future.complete(element);
+                }
+            }
+        }
+        // silent writes have no response elements
+        while (futures.hasNext()) {
+            futures.next().complete(null);
+        }
+    }
+
+    @Override
+    public void flush() {
+        final Batch pending;
+        synchronized (this) {
+            if (open != null) {
+                seal(open);
+            }
+            pending = last;
+        }
+        drain();
+        // the batches are sent in order, the last one is done after all others
+        if (pending != null) {
+            pending.done.join();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+    }
+
+    private static final class BatchKey {
+
+        private final Operation operation;
+        private final Class<?> type;
+
+        BatchKey(final Operation operation, final Class<?> type) {
+            this.operation = operation;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof BatchKey)) {
+                return false;
+            }
+            final BatchKey other = (BatchKey) obj;
+            return operation == other.operation && type == other.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * operation.hashCode() + (type != null ? type.hashCode() : 0);
+        }
+    }
+
+    private static final class Batch {
+
+        private final BatchKey key;
+        private final List<Object> values = new ArrayList<Object>();
+        private final List<CompletableFuture<Object>> futures = new ArrayList<CompletableFuture<Object>>();
+        private final CompletableFuture<Void> done = new CompletableFuture<Void>();
+        private ScheduledFuture<?> linger;
+
+        Batch(final BatchKey key) {
+            this.key = key;
+        }
+    }
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+
+import com.arangodb.velocypack.VPackSlice;
+import com.c8db.C8CollectionAsync;
+import com.c8db.C8DBException;
+import com.c8db.entity.CollectionEntity;
+import com.c8db.entity.CollectionPropertiesEntity;
+import com.c8db.entity.DocumentCreateEntity;
+import com.c8db.entity.DocumentDeleteEntity;
+import com.c8db.entity.DocumentUpdateEntity;
+import com.c8db.entity.MultiDocumentEntity;
+import com.c8db.internal.util.DocumentUtil;
+import com.c8db.model.DocumentCreateOptions;
+import com.c8db.model.DocumentDeleteOptions;
+import com.c8db.model.DocumentExistsOptions;
+import com.c8db.model.DocumentReadOptions;
+import com.c8db.model.DocumentReplaceOptions;
+import com.c8db.model.DocumentUpdateOptions;
+
+/**
+ *
+ */
+public class C8CollectionAsyncImpl extends InternalC8Collection<C8DBAsyncImpl, C8DatabaseAsyncImpl, C8ExecutorAsync>
+        implements C8CollectionAsync {
+
+    protected C8CollectionAsyncImpl(final C8DatabaseAsyncImpl db, final String name) {
+        super(db, name);
+    }
+
+    @Override
+    public <T> CompletableFuture<DocumentCreateEntity<T>> insertDocument(final T value) {
+        return insertDocument(value, new DocumentCreateOptions());
+    }
+
+    @Override
+    public <T> CompletableFuture<DocumentCreateEntity<T>> insertDocument(final T value,
+            final DocumentCreateOptions options) {
+        return executor.execute(insertDocumentRequest(value, options),
+                insertDocumentResponseDeserializer(value, options));
+    }
+
+    @Override
+    public <T> CompletableFuture<MultiDocumentEntity<DocumentCreateEntity<T>>> insertDocuments(
+            final Collection<T> values) {
+        return insertDocuments(values, new DocumentCreateOptions());
+    }
+
+    @Override
+    public <T> CompletableFuture<MultiDocumentEntity<DocumentCreateEntity<T>>> insertDocuments(
+            final Collection<T> values, final DocumentCreateOptions options) {
+        final DocumentCreateOptions params = (options != null ? options : new DocumentCreateOptions());
+        return executor.execute(insertDocumentsRequest(values, params),
+                insertDocumentsResponseDeserializer(values, params));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getDocument(final String key, final Class<T> type) {
+        return getDocument(key, type, new DocumentReadOptions());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getDocument(final String key, final Class<T> type,
+            final DocumentReadOptions options) {
+        DocumentUtil.validateDocumentKey(key);
+        return executor.<T>execute(getDocumentRequest(key, options), type)
+                .handle(new BiFunction<T, Throwable, T>() {
+                    @Override
+                    public T apply(final T result, final Throwable error) {
+                        if (error == null) {
+                            return result;
+                        }
+                        final C8DBException e = C8DatabaseAsyncImpl.unwrap(error);
+                        if (isNotFound(e) && (options == null || options.isCatchException())) {
+                            return null;
+                        }
+                        throw e;
+                    }
+                });
+    }
+
+    @Override
+    public <T> CompletableFuture<MultiDocumentEntity<T>> getDocuments(final Collection<String> keys,
+            final Class<T> type) {
+        return getDocuments(keys, type, new DocumentReadOptions());
+    }
+
+    @Override
+    public <T> CompletableFuture<MultiDocumentEntity<T>> getDocuments(final Collection<String> keys,
+            final Class<T> type, final DocumentReadOptions options) {
+        return executor.execute(getDocumentsRequest(keys, options), getDocumentsResponseDeserializer(type, options));
+    }
+
+    @Override
+    public <T> CompletableFuture<DocumentUpdateEntity<T>> replaceDocument(final String key, final T value) {
+        return replaceDocument(key, value, new DocumentReplaceOptions());
+    }
+
+    @Override
+    public <T> CompletableFuture<DocumentUpdateEntity<T>> replaceDocument(final String key, final T value,
+            final DocumentReplaceOptions options) {
+        return executor.execute(replaceDocumentRequest(key, value, options),
+                replaceDocumentResponseDeserializer(value, options));
+    }
+
+    @Override
+    public <T> CompletableFuture<MultiDocumentEntity<DocumentUpdateEntity<T>>> replaceDocuments(
+            final Collection<T> values, final DocumentReplaceOptions options) {
+        final DocumentReplaceOptions params = (options != null ? options : new DocumentReplaceOptions());
+        return executor.execute(replaceDocumentsRequest(values, params),
+                replaceDocumentsResponseDeserializer(values, params));
+    }
+
+    @Override
+    public <T> CompletableFuture<DocumentUpdateEntity<T>> updateDocument(final String key, final T value,
+            final DocumentUpdateOptions options) {
+        return executor.execute(updateDocumentRequest(key, value, options),
+                updateDocumentResponseDeserializer(value, options));
+    }
+
+    @Override
+    public <T> CompletableFuture<MultiDocumentEntity<DocumentUpdateEntity<T>>> updateDocuments(
+            final Collection<T> values, final DocumentUpdateOptions options) {
+        final DocumentUpdateOptions params = (options != null ? options : new DocumentUpdateOptions());
+        return executor.execute(updateDocumentsRequest(values, params),
+                updateDocumentsResponseDeserializer(values, params));
+    }
+
+    @Override
+    public CompletableFuture<DocumentDeleteEntity<Void>> deleteDocument(final String key) {
+        return executor.execute(deleteDocumentRequest(key, new DocumentDeleteOptions()),
+                deleteDocumentResponseDeserializer(Void.class));
+    }
+
+    @Override
+    public <T> CompletableFuture<DocumentDeleteEntity<T>> deleteDocument(final String key, final Class<T> type,
+            final DocumentDeleteOptions options) {
+        return executor.execute(deleteDocumentRequest(key, options), deleteDocumentResponseDeserializer(type));
+    }
+
+    @Override
+    public <T> CompletableFuture<MultiDocumentEntity<DocumentDeleteEntity<T>>> deleteDocuments(
+            final Collection<?> values, final Class<T> type, final DocumentDeleteOptions options) {
+        return executor.execute(deleteDocumentsRequest(values, options), deleteDocumentsResponseDeserializer(type));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> documentExists(final String key) {
+        return documentExists(key, new DocumentExistsOptions());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> documentExists(final String key, final DocumentExistsOptions options) {
+        return executor.<VPackSlice>execute(documentExistsRequest(key, options), VPackSlice.class)
+                .handle(new BiFunction<VPackSlice, Throwable, Boolean>() {
+                    @Override
+                    public Boolean apply(final VPackSlice result, final Throwable error) {
+                        if (error == null) {
+                            return true;
+                        }
+                        final C8DBException e = C8DatabaseAsyncImpl.unwrap(error);
+                        if (isNotFound(e) && (options == null || options.isCatchException())) {
+                            return false;
+                        }
+                        throw e;
+                    }
+                });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists() {
+        return getInfo().handle(new BiFunction<CollectionEntity, Throwable, Boolean>() {
+            @Override
+            public Boolean apply(final CollectionEntity result, final Throwable error) {
+                if (error == null) {
+                    return true;
+                }
+                final C8DBException e = C8DatabaseAsyncImpl.unwrap(error);
+                if (C8Errors.ERROR_C8_DATA_SOURCE_NOT_FOUND.equals(e.getErrorNum())) {
+                    return false;
+                }
+                throw e;
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<CollectionEntity> getInfo() {
+        return executor.execute(getInfoRequest(), CollectionEntity.class);
+    }
+
+    @Override
+    public CompletableFuture<CollectionPropertiesEntity> count() {
+        return executor.execute(countRequest(null), CollectionPropertiesEntity.class);
+    }
+
+    @Override
+    public CompletableFuture<CollectionEntity> truncate() {
+        return executor.execute(truncateRequest(null), CollectionEntity.class);
+    }
+
+    @Override
+    public CompletableFuture<Void> drop() {
+        return executor.execute(dropRequest(null), Void.class);
+    }
+
+    /**
+     * Same conditions as {@link C8CollectionImpl#getDocument(String, Class, DocumentReadOptions)}, error 1655
+     * (transaction not found) is always reported.
+     */
+    private static boolean isNotFound(final C8DBException e) {
+        if (e.getErrorNum() != null && e.getErrorNum() == 1655) {
+            return false;
+        }
+        return e.getResponseCode() != null
+                && (e.getResponseCode() == 404 || e.getResponseCode() == 304 || e.getResponseCode() == 412);
+    }
+
+}
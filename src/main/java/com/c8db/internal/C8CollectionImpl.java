@@ -19,24 +19,41 @@
 
 package com.c8db.internal;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import com.c8db.model.TTLIndexOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.exception.VPackException;
+import com.c8db.BatchingCollection;
 import com.c8db.C8Collection;
 import com.c8db.C8DBException;
 import com.c8db.entity.CollectionEntity;
 import com.c8db.entity.CollectionPropertiesEntity;
 import com.c8db.entity.DocumentCreateEntity;
 import com.c8db.entity.DocumentDeleteEntity;
+import com.c8db.entity.DocumentEntity;
+import com.c8db.entity.DocumentImportEntity;
 import com.c8db.entity.DocumentUpdateEntity;
+import com.c8db.entity.ErrorEntity;
 import com.c8db.entity.IndexEntity;
 import com.c8db.entity.MultiDocumentEntity;
 import com.c8db.entity.Permissions;
+import com.c8db.internal.C8Executor.ResponseDeserializer;
+import com.c8db.internal.util.C8SerializationFactory.Serializer;
 import com.c8db.internal.util.DocumentUtil;
+import com.c8db.model.BatchingOptions;
 import com.c8db.model.CollectionCountOptions;
 import com.c8db.model.CollectionCreateOptions;
 import com.c8db.model.CollectionPropertiesOptions;
@@ -44,6 +61,7 @@ import com.c8db.model.CollectionTruncateOptions;
 import com.c8db.model.DocumentCreateOptions;
 import com.c8db.model.DocumentDeleteOptions;
 import com.c8db.model.DocumentExistsOptions;
+import com.c8db.model.DocumentImportOptions;
 import com.c8db.model.DocumentReadOptions;
 import com.c8db.model.DocumentReplaceOptions;
 import com.c8db.model.DocumentUpdateOptions;
@@ -51,7 +69,11 @@ import com.c8db.model.FulltextIndexOptions;
 import com.c8db.model.GeoIndexOptions;
 import com.c8db.model.HashIndexOptions;
 import com.c8db.model.PersistentIndexOptions;
+import com.c8db.model.ReadCacheOptions;
 import com.c8db.model.SkiplistIndexOptions;
+import com.c8db.velocystream.Request;
+import com.c8db.velocystream.Response;
+import com.c8db.velocystream.StreamingBody;
 
 /**
  */
@@ -84,7 +106,11 @@ public class C8CollectionImpl extends InternalC8Collection<C8DBImpl, C8DatabaseI
 
     @Override
     public CollectionEntity truncate(CollectionTruncateOptions options) throws C8DBException {
-        return executor.execute(truncateRequest(options), CollectionEntity.class);
+        try {
+            return executor.execute(truncateRequest(options), CollectionEntity.class);
+        } finally {
+            clearReadCache();
+        }
     }
 
     @Override
@@ -110,11 +136,13 @@ public class C8CollectionImpl extends InternalC8Collection<C8DBImpl, C8DatabaseI
     @Override
     public void drop() throws C8DBException {
         executor.execute(dropRequest(null), Void.class);
+        clearReadCache();
     }
 
     @Override
     public void drop(final boolean isSystem) throws C8DBException {
         executor.execute(dropRequest(isSystem), Void.class);
+        clearReadCache();
     }
 
     @Override
@@ -136,6 +164,7 @@ public class C8CollectionImpl extends InternalC8Collection<C8DBImpl, C8DatabaseI
     @Override
     public synchronized CollectionEntity rename(final String newName) throws C8DBException {
         final CollectionEntity result = executor.execute(renameRequest(newName), CollectionEntity.class);
+        executor.disableReadCache(readCacheId());
         name = result.getName();
         return result;
     }
@@ -177,8 +206,15 @@ public class C8CollectionImpl extends InternalC8Collection<C8DBImpl, C8DatabaseI
     @Override
     public <T> DocumentCreateEntity<T> insertDocument(final T value, final DocumentCreateOptions options)
             throws C8DBException {
-        return executor.execute(insertDocumentRequest(value, options),
-                insertDocumentResponseDeserializer(value, options));
+        DocumentCreateEntity<T> result = null;
+        try {
+            result = executor.execute(insertDocumentRequest(value, options),
+                    insertDocumentResponseDeserializer(value, options));
+            return result;
+        } finally {
+            // an overwriting insert replaces a document which may be cached
+            invalidate(result != null ? result.getKey() : null);
+        }
     }
 
     @Override
@@ -191,8 +227,72 @@ public class C8CollectionImpl extends InternalC8Collection<C8DBImpl, C8DatabaseI
     public <T> MultiDocumentEntity<DocumentCreateEntity<T>> insertDocuments(final Collection<T> values,
             final DocumentCreateOptions options) throws C8DBException {
         final DocumentCreateOptions params = (options != null ? options : new DocumentCreateOptions());
-        return executor.execute(insertDocumentsRequest(values, params),
-                insertDocumentsResponseDeserializer(values, params));
+        MultiDocumentEntity<DocumentCreateEntity<T>> result = null;
+        try {
+            result = executor.execute(insertDocumentsRequest(values, params),
+                    insertDocumentsResponseDeserializer(values, params));
+            return result;
+        } finally {
+            invalidate(result);
+        }
+    }
+
+    @Override
+    public DocumentImportEntity importDocuments(final Iterable<?> values) throws C8DBException {
+        return importDocuments(values, new DocumentImportOptions());
+    }
+
+    @Override
+    public DocumentImportEntity importDocuments(final Iterable<?> values, final DocumentImportOptions options)
+            throws C8DBException {
+        return importDocuments(values.iterator(), options);
+    }
+
+    @Override
+    public DocumentImportEntity importDocuments(final Stream<?> values, final DocumentImportOptions options)
+            throws C8DBException {
+        return importDocuments(values.iterator(), options);
+    }
+
+    @Override
+    public DocumentImportEntity importDocuments(final InputStream values, final DocumentImportOptions options)
+            throws C8DBException {
+        final DocumentImporter importer = documentImporter(options);
+        try {
+            importer.addLines(values);
+            return importer.finish();
+        } catch (final IOException e) {
+            throw new C8DBException(e);
+        } finally {
+            clearReadCache();
+        }
+    }
+
+    private DocumentImportEntity importDocuments(final Iterator<?> values, final DocumentImportOptions options) {
+        final DocumentImporter importer = documentImporter(options);
+        try {
+            while (values.hasNext()) {
+                importer.add(importDocumentJson(values.next()));
+            }
+            return importer.finish();
+        } finally {
+            clearReadCache();
+        }
+    }
+
+    @Override
+    public BatchingCollection batching(final BatchingOptions options) {
+        return new BatchingCollectionImpl(this, options, context.getExecutor());
+    }
+
+    private DocumentImporter documentImporter(final DocumentImportOptions options) {
+        final DocumentImportOptions params = (options != null ? options : new DocumentImportOptions());
+        return new DocumentImporter(params, context.getExecutor()) {
+            @Override
+            protected DocumentImportEntity send(final StreamingBody body, final boolean first) {
+                return executor.execute(importDocumentsRequest(body, params, first), DocumentImportEntity.class);
+            }
+        };
     }
 
     @Override
@@ -204,7 +304,11 @@ public class C8CollectionImpl extends InternalC8Collection<C8DBImpl, C8DatabaseI
     public <T> T getDocument(final String key, final Class<T> type, final DocumentReadOptions options)
             throws C8DBException {
         DocumentUtil.validateDocumentKey(key);
+        final DocumentReadCache cache = readCache(options);
         try {
+            if (cache != null) {
+                return getCachedDocument(cache, key, type, options);
+            }
             return executor.execute(getDocumentRequest(key, options), type);
         } catch (final C8DBException e) {
             if (LOGGER.isDebugEnabled()) {
@@ -234,9 +338,179 @@ public class C8CollectionImpl extends InternalC8Collection<C8DBImpl, C8DatabaseI
     @Override
     public <T> MultiDocumentEntity<T> getDocuments(final Collection<String> keys, final Class<T> type,
             final DocumentReadOptions options) throws C8DBException {
+        final DocumentReadCache cache = readCache(options);
+        // without a TTL every cached document would be read again, there is no revalidation of several documents
+        if (cache != null && cache.hasTtl()) {
+            return getCachedDocuments(cache, keys, type, options);
+        }
         return executor.execute(getDocumentsRequest(keys, options), getDocumentsResponseDeserializer(type, options));
     }
 
+    /**
+     * Returns the cached document if it is fresh, otherwise asks the server for the document unless it still has the
+     * cached revision.
+     */
+    private <T> T getCachedDocument(final DocumentReadCache cache, final String key, final Class<T> type,
+            final DocumentReadOptions options) {
+        final DocumentReadCache.Entry entry = cache.get(key);
+        if (entry != null && cache.isFresh(entry)) {
+            return util(Serializer.CUSTOM).deserialize(entry.getDocument(), type);
+        }
+        final long sequence = cache.sequence();
+        final Request request = getDocumentRequest(key, options);
+        if (entry != null) {
+            request.putHeaderParam(C8RequestParam.IF_NONE_MATCH, entry.getRev());
+        }
+        try {
+            return executor.execute(request, new ResponseDeserializer<T>() {
+                @Override
+                public T deserialize(final Response response) throws VPackException {
+                    final VPackSlice document = cache.put(key, response.getBody(), sequence);
+                    final T result = util(Serializer.CUSTOM).deserialize(document, type);
+                    if (document != response.getBody()) {
+                        response.release();
+                    }
+                    return result;
+                }
+            });
+        } catch (final C8DBException e) {
+            if (entry != null && e.getResponseCode() != null && e.getResponseCode() == 304) {
+                entry.revalidated();
+                return util(Serializer.CUSTOM).deserialize(entry.getDocument(), type);
+            }
+            cache.invalidate(key);
+            throw e;
+        }
+    }
+
+    /**
+     * Takes the fresh documents from the cache and reads the others with one request. Only used with a TTL, as the
+     * documents of the request are not revalidated but read in full.
+     */
+    private <T> MultiDocumentEntity<T> getCachedDocuments(final DocumentReadCache cache,
+            final Collection<String> keys, final Class<T> type, final DocumentReadOptions options) {
+        final Map<String, VPackSlice> cached = new HashMap<String, VPackSlice>();
+        final List<String> missing = new ArrayList<String>();
+        for (final String key : keys) {
+            final DocumentReadCache.Entry entry = cache.get(key);
+            if (entry != null && cache.isFresh(entry)) {
+                cached.put(key, entry.getDocument());
+            } else {
+                missing.add(key);
+            }
+        }
+        final long sequence = cache.sequence();
+        final List<Object> fetched = missing.isEmpty() ? Collections.emptyList()
+                : executor.execute(getDocumentsRequest(missing, options), new ResponseDeserializer<List<Object>>() {
+                    @Override
+                    public List<Object> deserialize(final Response response) throws VPackException {
+                        final List<Object> result = new ArrayList<Object>();
+                        // the response holds one element per requested key in the same order
+                        final Iterator<String> requested = missing.iterator();
+                        for (final Iterator<VPackSlice> iterator = response.getBody().arrayIterator(); iterator
+                                .hasNext();) {
+                            final VPackSlice next = iterator.next();
+                            final String key = requested.hasNext() ? requested.next() : null;
+                            if (next.get(C8ResponseField.ERROR).isTrue()) {
+                                if (key != null) {
+                                    cache.invalidate(key);
+                                }
+                                result.add(util().deserialize(next, ErrorEntity.class));
+                            } else {
+                                final VPackSlice document = key != null ? cache.put(key, next, sequence) : next;
+                                result.add(util(Serializer.CUSTOM).deserialize(document, type));
+                            }
+                        }
+                        return result;
+                    }
+                });
+
+        final Collection<T> docs = new ArrayList<T>();
+        final Collection<ErrorEntity> errors = new ArrayList<ErrorEntity>();
+        final Collection<Object> documentsAndErrors = new ArrayList<Object>();
+        final Iterator<Object> next = fetched.iterator();
+        for (final String key : keys) {
+            final VPackSlice document = cached.get(key);
+            final Object element = document != null ? util(Serializer.CUSTOM).deserialize(document, type)
+                    : next.hasNext() ? next.next() : null;
+            if (element instanceof ErrorEntity) {
+                errors.add((ErrorEntity) element);
+            } else {
+                docs.add(type.cast(element));
+            }
+            documentsAndErrors.add(element);
+        }
+        final MultiDocumentEntity<T> multiDocument = new MultiDocumentEntity<T>();
+        multiDocument.setDocuments(docs);
+        multiDocument.setErrors(errors);
+        multiDocument.setDocumentsAndErrors(documentsAndErrors);
+        return multiDocument;
+    }
+
+    @Override
+    public void enableReadCache(final ReadCacheOptions options) {
+        executor.enableReadCache(readCacheId(), options);
+    }
+
+    @Override
+    public void disableReadCache() {
+        executor.disableReadCache(readCacheId());
+    }
+
+    private String readCacheId() {
+        return db().tenant() + "/" + db().name() + "/" + name;
+    }
+
+    /**
+     * @return the read cache of the collection, {@code null} if it is disabled or the options ask for a revision or a
+     *         transaction
+     */
+    private DocumentReadCache readCache(final DocumentReadOptions options) {
+        if (options != null && (options.getIfNoneMatch() != null || options.getIfMatch() != null
+                || options.getStreamTransactionId() != null)) {
+            return null;
+        }
+        return executor.readCache(readCacheId());
+    }
+
+    private void invalidate(final String key) {
+        final DocumentReadCache cache = executor.readCache(readCacheId());
+        if (cache != null) {
+            if (key != null) {
+                cache.invalidate(key);
+            } else {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * @param result the response of a multi document write, {@code null} if it failed
+     */
+    private void invalidate(final MultiDocumentEntity<? extends DocumentEntity> result) {
+        final DocumentReadCache cache = executor.readCache(readCacheId());
+        if (cache != null) {
+            if (result == null) {
+                // the server may have written some of the documents
+                cache.clear();
+            } else if (result.getDocuments() != null && !result.getDocuments().isEmpty()) {
+                for (final DocumentEntity document : result.getDocuments()) {
+                    cache.invalidate(document.getKey());
+                }
+            } else if (result.getErrors() == null || result.getErrors().isEmpty()) {
+                // silent writes do not tell the keys
+                cache.clear();
+            }
+        }
+    }
+
+    private void clearReadCache() {
+        final DocumentReadCache cache = executor.readCache(readCacheId());
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
     @Override
     public <T> DocumentUpdateEntity<T> replaceDocument(final String key, final T value) throws C8DBException {
         return replaceDocument(key, value, new DocumentReplaceOptions());
@@ -245,8 +519,12 @@ public class C8CollectionImpl extends InternalC8Collection<C8DBImpl, C8DatabaseI
     @Override
     public <T> DocumentUpdateEntity<T> replaceDocument(final String key, final T value,
             final DocumentReplaceOptions options) throws C8DBException {
-        return executor.execute(replaceDocumentRequest(key, value, options),
-                replaceDocumentResponseDeserializer(value, options));
+        try {
+            return executor.execute(replaceDocumentRequest(key, value, options),
+                    replaceDocumentResponseDeserializer(value, options));
+        } finally {
+            invalidate(key);
+        }
     }
 
     @Override
@@ -259,8 +537,14 @@ public class C8CollectionImpl extends InternalC8Collection<C8DBImpl, C8DatabaseI
     public <T> MultiDocumentEntity<DocumentUpdateEntity<T>> replaceDocuments(final Collection<T> values,
             final DocumentReplaceOptions options) throws C8DBException {
         final DocumentReplaceOptions params = (options != null ? options : new DocumentReplaceOptions());
-        return executor.execute(replaceDocumentsRequest(values, params),
-                replaceDocumentsResponseDeserializer(values, params));
+        MultiDocumentEntity<DocumentUpdateEntity<T>> result = null;
+        try {
+            result = executor.execute(replaceDocumentsRequest(values, params),
+                    replaceDocumentsResponseDeserializer(values, params));
+            return result;
+        } finally {
+            invalidate(result);
+        }
     }
 
     @Override
@@ -271,8 +555,12 @@ public class C8CollectionImpl extends InternalC8Collection<C8DBImpl, C8DatabaseI
     @Override
     public <T> DocumentUpdateEntity<T> updateDocument(final String key, final T value,
             final DocumentUpdateOptions options) throws C8DBException {
-        return executor.execute(updateDocumentRequest(key, value, options),
-                updateDocumentResponseDeserializer(value, options));
+        try {
+            return executor.execute(updateDocumentRequest(key, value, options),
+                    updateDocumentResponseDeserializer(value, options));
+        } finally {
+            invalidate(key);
+        }
     }
 
     @Override
@@ -285,33 +573,53 @@ public class C8CollectionImpl extends InternalC8Collection<C8DBImpl, C8DatabaseI
     public <T> MultiDocumentEntity<DocumentUpdateEntity<T>> updateDocuments(final Collection<T> values,
             final DocumentUpdateOptions options) throws C8DBException {
         final DocumentUpdateOptions params = (options != null ? options : new DocumentUpdateOptions());
-        return executor.execute(updateDocumentsRequest(values, params),
-                updateDocumentsResponseDeserializer(values, params));
+        MultiDocumentEntity<DocumentUpdateEntity<T>> result = null;
+        try {
+            result = executor.execute(updateDocumentsRequest(values, params),
+                    updateDocumentsResponseDeserializer(values, params));
+            return result;
+        } finally {
+            invalidate(result);
+        }
     }
 
     @Override
     public DocumentDeleteEntity<Void> deleteDocument(final String key) throws C8DBException {
-        return executor.execute(deleteDocumentRequest(key, new DocumentDeleteOptions()),
-                deleteDocumentResponseDeserializer(Void.class));
+        try {
+            return executor.execute(deleteDocumentRequest(key, new DocumentDeleteOptions()),
+                    deleteDocumentResponseDeserializer(Void.class));
+        } finally {
+            invalidate(key);
+        }
     }
 
     @Override
     public <T> DocumentDeleteEntity<T> deleteDocument(final String key, final Class<T> type,
             final DocumentDeleteOptions options) throws C8DBException {
-        return executor.execute(deleteDocumentRequest(key, options), deleteDocumentResponseDeserializer(type));
+        try {
+            return executor.execute(deleteDocumentRequest(key, options), deleteDocumentResponseDeserializer(type));
+        } finally {
+            invalidate(key);
+        }
     }
 
     @Override
     public MultiDocumentEntity<DocumentDeleteEntity<Void>> deleteDocuments(final Collection<?> values)
             throws C8DBException {
-        return executor.execute(deleteDocumentsRequest(values, new DocumentDeleteOptions()),
-                deleteDocumentsResponseDeserializer(Void.class));
+        return deleteDocuments(values, Void.class, new DocumentDeleteOptions());
     }
 
     @Override
     public <T> MultiDocumentEntity<DocumentDeleteEntity<T>> deleteDocuments(final Collection<?> values,
             final Class<T> type, final DocumentDeleteOptions options) throws C8DBException {
-        return executor.execute(deleteDocumentsRequest(values, options), deleteDocumentsResponseDeserializer(type));
+        MultiDocumentEntity<DocumentDeleteEntity<T>> result = null;
+        try {
+            result = executor.execute(deleteDocumentsRequest(values, options),
+                    deleteDocumentsResponseDeserializer(type));
+            return result;
+        } finally {
+            invalidate(result);
+        }
     }
 
     @Override
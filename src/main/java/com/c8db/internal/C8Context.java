@@ -18,6 +18,9 @@ package com.c8db.internal;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+
+import com.c8db.MetricsListener;
 
 /**
  *
@@ -25,6 +28,8 @@ import java.util.Map;
 public class C8Context {
 
     private final Map<String, String> headerParam;
+    private MetricsListener metrics;
+    private Executor executor;
 
     public C8Context() {
         super();
@@ -42,4 +47,28 @@ public class C8Context {
         return this;
     }
 
+    /**
+     * @return the listener of the driver metrics, {@code null} if no metrics are recorded
+     */
+    public MetricsListener getMetrics() {
+        return metrics;
+    }
+
+    public C8Context setMetrics(final MetricsListener metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * @return the executor which runs the background work of the driver
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public C8Context setExecutor(final Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal;
+
+import com.c8db.C8DBAsync;
+import com.c8db.C8DBException;
+import com.c8db.C8DatabaseAsync;
+import com.c8db.internal.http.HttpCommunicationAsync;
+import com.c8db.internal.util.C8SerializationFactory;
+import com.c8db.internal.util.DriverExecutor;
+
+/**
+ *
+ */
+public class C8DBAsyncImpl extends InternalC8DB<C8ExecutorAsync> implements C8DBAsync {
+
+    public C8DBAsyncImpl(final HttpCommunicationAsync communication, final C8SerializationFactory util,
+            final C8Context context) {
+        super(new C8ExecutorAsync(communication, util, new DocumentCache(), context.getExecutor()), util, context);
+    }
+
+    @Override
+    protected C8ExecutorAsync executor() {
+        return executor;
+    }
+
+    @Override
+    public void shutdown() throws C8DBException {
+        executor.disconnect();
+        // an executor passed to the builder belongs to the caller
+        if (context.getExecutor() instanceof DriverExecutor) {
+            ((DriverExecutor) context.getExecutor()).shutdown();
+        }
+    }
+
+    @Override
+    public C8DatabaseAsync db() {
+        return db(C8RequestParam.DEMO_TENANT, C8RequestParam.SYSTEM);
+    }
+
+    @Override
+    public C8DatabaseAsync db(final String tenant, final String name) {
+        return new C8DatabaseAsyncImpl(this, tenant, name, "", "");
+    }
+
+}
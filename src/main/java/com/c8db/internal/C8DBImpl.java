@@ -35,6 +35,7 @@ import com.c8db.internal.net.HostHandle;
 import com.c8db.internal.net.HostResolver;
 import com.c8db.internal.util.C8SerializationFactory;
 import com.c8db.internal.util.C8SerializationFactory.Serializer;
+import com.c8db.internal.util.DriverExecutor;
 import com.c8db.internal.velocystream.VstCommunicationSync;
 import com.c8db.internal.velocystream.VstProtocol;
 import com.c8db.model.LogOptions;
@@ -54,6 +55,7 @@ public class C8DBImpl extends InternalC8DB<C8ExecutorSync> implements C8DB {
 
     private C8CursorInitializer cursorInitializer;
     private CommunicationProtocol cp;
+    private final HostResolver hostResolver;
 
     public C8DBImpl(final VstCommunicationSync.Builder vstBuilder, final HttpCommunication.Builder httpBuilder,
             final C8SerializationFactory util, final Protocol protocol, final HostResolver hostResolver,
@@ -65,6 +67,7 @@ public class C8DBImpl extends InternalC8DB<C8ExecutorSync> implements C8DB {
         cp = createProtocol(new VstCommunicationSync.Builder(vstBuilder).maxConnections(1),
                 new HttpCommunication.Builder(httpBuilder), util.get(Serializer.INTERNAL), protocol);
 
+        this.hostResolver = hostResolver;
         hostResolver.init(this.executor(), util());
 
         LOGGER.debug("ArangoDB Client is ready to use");
@@ -96,10 +99,16 @@ public class C8DBImpl extends InternalC8DB<C8ExecutorSync> implements C8DB {
     @Override
     public void shutdown() throws C8DBException {
         try {
+            hostResolver.close();
             executor.disconnect();
             cp.close();
         } catch (final IOException e) {
             throw new C8DBException(e);
+        } finally {
+            // an executor passed to the builder belongs to the caller
+            if (context.getExecutor() instanceof DriverExecutor) {
+                ((DriverExecutor) context.getExecutor()).shutdown();
+            }
         }
     }
 
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.c8db.C8CollectionAsync;
+import com.c8db.C8Cursor;
+import com.c8db.C8DBException;
+import com.c8db.C8DatabaseAsync;
+import com.c8db.entity.C8DBVersion;
+import com.c8db.entity.CollectionEntity;
+import com.c8db.entity.CursorEntity;
+import com.c8db.internal.cursor.C8CursorImpl;
+import com.c8db.internal.net.HostHandle;
+import com.c8db.model.C8qlQueryOptions;
+import com.c8db.model.CollectionCreateOptions;
+import com.c8db.model.CollectionsReadOptions;
+
+/**
+ *
+ */
+public class C8DatabaseAsyncImpl extends InternalC8Database<C8DBAsyncImpl, C8ExecutorAsync>
+        implements C8DatabaseAsync {
+
+    protected C8DatabaseAsyncImpl(final C8DBAsyncImpl c8DB, final String tenant, final String name,
+                                  final String spotDc, final String dcList) {
+        super(c8DB, tenant, name, spotDc, dcList);
+    }
+
+    @Override
+    public CompletableFuture<C8DBVersion> getVersion() {
+        return executor.execute(getVersionRequest(), C8DBVersion.class);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists() {
+        return executor.execute(getInfoRequest(), Void.class).handle(new BiFunction<Object, Throwable, Boolean>() {
+            @Override
+            public Boolean apply(final Object result, final Throwable error) {
+                if (error == null) {
+                    return true;
+                }
+                final C8DBException e = unwrap(error);
+                if (C8Errors.ERROR_C8_DATABASE_NOT_FOUND.equals(e.getErrorNum())) {
+                    return false;
+                }
+                throw e;
+            }
+        });
+    }
+
+    @Override
+    public C8CollectionAsync collection(final String name) {
+        return new C8CollectionAsyncImpl(this, name);
+    }
+
+    @Override
+    public CompletableFuture<CollectionEntity> createCollection(final String name) {
+        return createCollection(name, new CollectionCreateOptions());
+    }
+
+    @Override
+    public CompletableFuture<CollectionEntity> createCollection(final String name,
+            final CollectionCreateOptions options) {
+        return executor.execute(createCollectionRequest(name, options), CollectionEntity.class);
+    }
+
+    @Override
+    public CompletableFuture<Collection<CollectionEntity>> getCollections() {
+        return getCollections(new CollectionsReadOptions());
+    }
+
+    @Override
+    public CompletableFuture<Collection<CollectionEntity>> getCollections(final CollectionsReadOptions options) {
+        return executor.execute(getCollectionsRequest(options), getCollectionsResponseDeserializer());
+    }
+
+    @Override
+    public <T> CompletableFuture<C8Cursor<T>> query(final String query, final Map<String, Object> bindVars,
+            final C8qlQueryOptions options, final Class<T> type) {
+        final HostHandle hostHandle = new HostHandle();
+        return executor.<CursorEntity>execute(queryRequest(query, bindVars, options), CursorEntity.class, hostHandle)
+                .thenApply(new Function<CursorEntity, C8Cursor<T>>() {
+                    @Override
+                    public C8Cursor<T> apply(final CursorEntity result) {
+                        return createCursor(result, type, options, hostHandle);
+                    }
+                });
+    }
+
+    @Override
+    public <T> CompletableFuture<C8Cursor<T>> query(final String query, final Map<String, Object> bindVars,
+            final Class<T> type) {
+        return query(query, bindVars, null, type);
+    }
+
+    @Override
+    public <T> CompletableFuture<C8Cursor<T>> query(final String query, final Class<T> type) {
+        return query(query, null, null, type);
+    }
+
+    private <T> C8Cursor<T> createCursor(final CursorEntity result, final Class<T> type,
+                                         final C8qlQueryOptions options, final HostHandle hostHandle) {
+        recordBatch(result);
+
+        final C8CursorExecute execute = new C8CursorExecute() {
+            @Override
+            public CursorEntity next(final String id, final Map<String, String> meta) {
+                return recordBatch(await(executor.<CursorEntity>execute(queryNextRequest(id, meta),
+                        CursorEntity.class, hostHandle)));
+            }
+
+            @Override
+            public void close(final String id, final Map<String, String> meta) {
+                await(executor.execute(queryCloseRequest(id, meta), Void.class, hostHandle));
+            }
+        };
+
+        return new C8CursorImpl<T>(this, execute, type, result,
+                options != null && options.getPrefetch() != null ? options.getPrefetch() : 0, context.getExecutor());
+    }
+
+    /**
+     * Waits for the given future, used where the synchronous API (e.g. {@link C8Cursor}) is reused. Futures of the
+     * executor complete on its completion executor, so this may be called in their callbacks.
+     */
+    static <T> T await(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    static C8DBException unwrap(final Throwable error) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause()
+                : error;
+        return cause instanceof C8DBException ? (C8DBException) cause : new C8DBException(cause);
+    }
+
+}
@@ -240,11 +240,12 @@ public class C8DatabaseImpl extends InternalC8Database<C8DBImpl, C8ExecutorSync>
 
     private <T> C8Cursor<T> createCursor(final CursorEntity result, final Class<T> type,
                                          final C8qlQueryOptions options, final HostHandle hostHandle) {
+        recordBatch(result);
 
         final C8CursorExecute execute = new C8CursorExecute() {
             @Override
             public CursorEntity next(final String id, Map<String, String> meta) {
-                return executor.execute(queryNextRequest(id, meta), CursorEntity.class, hostHandle);
+                return recordBatch(executor.execute(queryNextRequest(id, meta), CursorEntity.class, hostHandle));
             }
 
             @Override
@@ -254,7 +255,9 @@ public class C8DatabaseImpl extends InternalC8Database<C8DBImpl, C8ExecutorSync>
         };
 
         return cursorInitializer != null ? cursorInitializer.createInstance(this, execute, type, result)
-                : new C8CursorImpl<T>(this, execute, type, result);
+                : new C8CursorImpl<T>(this, execute, type, result,
+                        options != null && options.getPrefetch() != null ? options.getPrefetch() : 0,
+                        context.getExecutor());
     }
 
     @Override
@@ -48,6 +48,8 @@ public final class C8Defaults {
     public static final int MAX_CONNECTIONS_VST_DEFAULT = 1;
     public static final Integer CONNECTION_TTL_VST_DEFAULT = null;
     public static final int MAX_CONNECTIONS_HTTP_DEFAULT = 20;
+    public static final int HTTP_VALIDATE_AFTER_INACTIVITY = 2 * 1000;
+    public static final long HTTP_MAX_IDLE_TIME = 60L * 1000L;
     public static final Protocol DEFAULT_NETWORK_PROTOCOL = Protocol.HTTP_JSON;
     public static final boolean DEFAULT_ACQUIRE_HOST_LIST = false;
     public static final int DEFAULT_ACQUIRE_HOST_LIST_INTERVAL = 60 * 60 * 1000; // hour
@@ -32,8 +32,6 @@ import com.c8db.velocystream.RequestType;
  */
 public abstract class C8Executeable<E extends C8Executor> {
 
-    private static final String SLASH = "/";
-
     protected final E executor;
     protected final C8SerializationFactory util;
     protected final C8Context context;
@@ -57,39 +55,34 @@ public abstract class C8Executeable<E extends C8Executor> {
         return util.get(serializer);
     }
 
+    /**
+     * @param pathTemplate
+     *            the path of the request with {@code {}} for every name or key, e.g. {@code /_api/collection/{}/count}
+     *            or {@code /_api/document/{}/{}} for a document handle, which is used by the metrics
+     */
     protected Request request(final String tenant, final String database, final RequestType requestType,
-                              final String... path) {
-        return request(tenant, database, requestType, true, path);
+                              final String pathTemplate, final String... path) {
+        return request(tenant, database, requestType, true, pathTemplate, path);
     }
 
     protected Request request(final String tenant, final String database, final RequestType requestType,
-            final boolean retryEnabled, final String... path) {
-        final Request request = new Request(tenant, database, requestType, retryEnabled, createPath(path));
-        for (final Entry<String, String> header : context.getHeaderParam().entrySet()) {
-            request.putHeaderParam(header.getKey(), header.getValue());
+            final boolean retryEnabled, final String pathTemplate, final String... path) {
+        final Request request = new Request(tenant, database, requestType, retryEnabled, createPath(path))
+                .setPathTemplate(pathTemplate);
+        if (!context.getHeaderParam().isEmpty()) {
+            for (final Entry<String, String> header : context.getHeaderParam().entrySet()) {
+                request.putHeaderParam(header.getKey(), header.getValue());
+            }
         }
         return request;
     }
 
     protected static String createPath(final String... params) {
-        final StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < params.length; i++) {
-            if (i > 0) {
-                sb.append(SLASH);
-            }
-            try {
-                final String param;
-                if (params[i].contains(SLASH)) {
-                    param = createPath(params[i].split(SLASH));
-                } else {
-                    param = EncodeUtils.encodeURL(params[i]);
-                }
-                sb.append(param);
-            } catch (final UnsupportedEncodingException e) {
-                throw new C8DBException(e);
-            }
+        try {
+            return EncodeUtils.encodePath(params);
+        } catch (final UnsupportedEncodingException e) {
+            throw new C8DBException(e);
         }
-        return sb.toString();
     }
 
 }
@@ -16,12 +16,24 @@
 
 package com.c8db.internal;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.exception.VPackException;
 import com.c8db.entity.Entity;
 import com.c8db.internal.util.C8SerializationFactory;
 import com.c8db.internal.util.C8SerializationFactory.Serializer;
+import com.c8db.model.ReadCacheOptions;
+import com.c8db.util.C8JsonSerialization;
 import com.c8db.velocystream.Response;
 
 /**
@@ -32,21 +44,52 @@ public abstract class C8Executor {
         T deserialize(Response response) throws VPackException;
     }
 
+    private static final ClassValue<Boolean> DETACHED = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            return isDetached(type, new HashSet<Class<?>>());
+        }
+    };
+
     private final DocumentCache documentCache;
+    private final ConcurrentMap<String, DocumentReadCache> readCaches;
     private final C8SerializationFactory util;
 
     protected C8Executor(final C8SerializationFactory util, final DocumentCache documentCache) {
         super();
         this.documentCache = documentCache;
         this.util = util;
+        readCaches = new ConcurrentHashMap<String, DocumentReadCache>();
     }
 
     public DocumentCache documentCache() {
         return documentCache;
     }
 
+    /**
+     * @param collection
+     *            tenant, database and name of the collection
+     * @return the read cache of the collection, {@code null} if it is not enabled
+     */
+    public DocumentReadCache readCache(final String collection) {
+        return readCaches.isEmpty() ? null : readCaches.get(collection);
+    }
+
+    public void enableReadCache(final String collection, final ReadCacheOptions options) {
+        readCaches.put(collection, new DocumentReadCache(options));
+    }
+
+    public void disableReadCache(final String collection) {
+        readCaches.remove(collection);
+    }
+
     @SuppressWarnings("unchecked")
     protected <T> T createResult(final Type type, final Response response) {
+        final C8JsonSerialization json = util.getJson();
+        if (json != null && response.getJson() != null && isJsonResult(type)) {
+            // the body was kept as JSON, it is not converted to VelocyPack at all
+            return json.deserializeJson(response.getJson(), type);
+        }
         if (type != Void.class && response.getBody() != null) {
             if (type instanceof Class && Entity.class.isAssignableFrom((Class) type)  ) {
                 return (T) util.get(Serializer.INTERNAL).deserialize(response.getBody(), type);
@@ -58,4 +101,69 @@ public abstract class C8Executor {
         }
     }
 
+    private static boolean isJsonResult(final Type type) {
+        return type != Void.class && type != String.class && type != VPackSlice.class
+                && !(type instanceof Class && Entity.class.isAssignableFrom((Class<?>) type));
+    }
+
+    /**
+     * Checks whether results of the given type never share memory with the response body, so the body can be
+     * released after deserialization. Types which may hold a {@code VPackSlice} are not detached.
+     */
+    protected static boolean isDetached(final Type type) {
+        if (type instanceof Class) {
+            return DETACHED.get((Class<?>) type);
+        }
+        if (type instanceof ParameterizedType || type instanceof GenericArrayType) {
+            return isDetached(type, new HashSet<Class<?>>());
+        }
+        return false;
+    }
+
+    private static boolean isDetached(final Type type, final Set<Class<?>> visited) {
+        if (type instanceof TypeVariable) {
+            // resolved by the type arguments of the requested type
+            return true;
+        }
+        if (type instanceof GenericArrayType) {
+            return isDetached(((GenericArrayType) type).getGenericComponentType(), visited);
+        }
+        if (type instanceof ParameterizedType) {
+            final ParameterizedType parameterizedType = (ParameterizedType) type;
+            if (!isDetached(parameterizedType.getRawType(), visited)) {
+                return false;
+            }
+            for (final Type argument : parameterizedType.getActualTypeArguments()) {
+                if (!isDetached(argument, visited)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (!(type instanceof Class)) {
+            return false;
+        }
+        final Class<?> clazz = (Class<?>) type;
+        if (VPackSlice.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        if (clazz.isPrimitive() || clazz == Object.class || clazz.getName().startsWith("java.")) {
+            return true;
+        }
+        if (clazz.isArray()) {
+            return isDetached(clazz.getComponentType(), visited);
+        }
+        if (!visited.add(clazz)) {
+            return true;
+        }
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (final Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !isDetached(field.getGenericType(), visited)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+import com.arangodb.velocypack.exception.VPackException;
+import com.c8db.C8DBException;
+import com.c8db.Service;
+import com.c8db.entity.MetaAware;
+import com.c8db.internal.http.HttpCommunicationAsync;
+import com.c8db.internal.net.HostHandle;
+import com.c8db.internal.util.C8SerializationFactory;
+import com.c8db.velocystream.Request;
+import com.c8db.velocystream.Response;
+
+/**
+ * Executes requests without blocking the caller. The responses are deserialized and the returned futures completed
+ * on the given executor, not on the I/O dispatcher threads of the HTTP client. So callbacks of the caller may block,
+ * e.g. while iterating a cursor, without stalling other requests. The returned futures fail with a
+ * {@link C8DBException}.
+ */
+public class C8ExecutorAsync extends C8Executor {
+
+    private final HttpCommunicationAsync communication;
+    private final Executor completionExecutor;
+
+    /**
+     * @param completionExecutor executor which deserializes the responses and completes the futures
+     */
+    public C8ExecutorAsync(final HttpCommunicationAsync communication, final C8SerializationFactory util,
+            final DocumentCache documentCache, final Executor completionExecutor) {
+        super(util, documentCache);
+        this.communication = communication;
+        this.completionExecutor = completionExecutor;
+    }
+
+    public <T> CompletableFuture<T> execute(final Request request, final Type type) {
+        return execute(request, type, null);
+    }
+
+    public <T> CompletableFuture<T> execute(final Request request, final Type type, final HostHandle hostHandle) {
+        return execute(request, type, hostHandle, Service.C8DB);
+    }
+
+    public <T> CompletableFuture<T> execute(final Request request, final Type type, final HostHandle hostHandle,
+            final Service service) {
+        return execute(request, new ResponseDeserializer<T>() {
+            @Override
+            public T deserialize(final Response response) throws VPackException {
+                return createResult(type, response);
+            }
+        }, hostHandle, service);
+    }
+
+    public <T> CompletableFuture<T> execute(final Request request, final ResponseDeserializer<T> responseDeserializer) {
+        return execute(request, responseDeserializer, null);
+    }
+
+    public <T> CompletableFuture<T> execute(final Request request, final ResponseDeserializer<T> responseDeserializer,
+            final HostHandle hostHandle) {
+        return execute(request, responseDeserializer, hostHandle, Service.C8DB);
+    }
+
+    public <T> CompletableFuture<T> execute(final Request request, final ResponseDeserializer<T> responseDeserializer,
+            final HostHandle hostHandle, final Service service) {
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        communication.execute(request, hostHandle, service).whenCompleteAsync(new BiConsumer<Response, Throwable>() {
+            @Override
+            public void accept(final Response response, final Throwable error) {
+                if (error != null) {
+                    result.completeExceptionally(toC8DBException(error));
+                    return;
+                }
+                try {
+                    final T deserialize = responseDeserializer.deserialize(response);
+                    if (deserialize instanceof MetaAware) {
+                        ((MetaAware) deserialize).setMeta(response.getMeta());
+                    }
+                    result.complete(deserialize);
+                } catch (final RuntimeException e) {
+                    result.completeExceptionally(toC8DBException(e));
+                }
+            }
+        }, completionExecutor);
+        return result;
+    }
+
+    private static C8DBException toC8DBException(final Throwable error) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause()
+                : error;
+        return cause instanceof C8DBException ? (C8DBException) cause : new C8DBException(cause);
+    }
+
+    public void disconnect() {
+        try {
+            communication.close();
+        } catch (final IOException e) {
+            throw new C8DBException(e);
+        }
+    }
+
+}
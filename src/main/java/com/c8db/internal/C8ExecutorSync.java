@@ -60,6 +60,9 @@ public class C8ExecutorSync extends C8Executor {
             @Override
             public T deserialize(final Response response) throws VPackException {
                 T result = createResult(type, response);
+                if (isDetached(type)) {
+                    response.release();
+                }
                 return result;
             }
         }, hostHandle, service);
@@ -16,12 +16,12 @@
 
 package com.c8db.internal;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -30,75 +30,113 @@ import com.c8db.entity.DocumentField;
 import com.c8db.entity.DocumentField.Type;
 
 /**
+ * Writes the values of the {@link DocumentField} annotated fields. The setters are looked up once per class and kept
+ * as {@link MethodHandle}s in a {@link ClassValue}, so the cache can be shared by all threads.
  *
  */
 public class DocumentCache {
 
-    private final Map<Class<?>, Map<DocumentField.Type, Field>> cache;
+    private static final Type[] TYPES = DocumentField.Type.values();
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, String.class);
+    private static final MethodHandle FIELD_SET;
+
+    static {
+        try {
+            FIELD_SET = MethodHandles.lookup().findVirtual(Field.class, "set",
+                MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final ClassValue<MethodHandle[]> SETTERS = new ClassValue<MethodHandle[]>() {
+        @Override
+        protected MethodHandle[] computeValue(final Class<?> type) {
+            return createSetters(type);
+        }
+    };
 
     public DocumentCache() {
         super();
-        cache = new HashMap<Class<?>, Map<Type, Field>>();
     }
 
     public void setValues(final Object doc, final Map<DocumentField.Type, String> values) throws C8DBException {
-        try {
-            final Map<DocumentField.Type, Field> fields = getFields(doc.getClass());
-            for (final Entry<DocumentField.Type, String> value : values.entrySet()) {
-                final Field field = fields.get(value.getKey());
-                if (field != null) {
-                    field.set(doc, value.getValue());
-                }
-            }
-        } catch (final IllegalArgumentException e) {
-            throw new C8DBException(e);
-        } catch (final IllegalAccessException e) {
-            throw new C8DBException(e);
+        final MethodHandle[] setters = SETTERS.get(doc.getClass());
+        for (final Entry<DocumentField.Type, String> value : values.entrySet()) {
+            set(setters[value.getKey().ordinal()], doc, value.getValue());
         }
     }
 
-    private Map<DocumentField.Type, Field> getFields(final Class<?> clazz) {
-        Map<DocumentField.Type, Field> fields = new HashMap<DocumentField.Type, Field>();
-        if (!isTypeRestricted(clazz)) {
-            fields = cache.get(clazz);
-            if (fields == null) {
-                fields = createFields(clazz);
-                cache.put(clazz, fields);
-            }
+    /**
+     * Sets the id, key and revision of a created document.
+     */
+    public void setValues(final Object doc, final String id, final String key, final String rev)
+            throws C8DBException {
+        final MethodHandle[] setters = SETTERS.get(doc.getClass());
+        set(setters[Type.ID.ordinal()], doc, id);
+        set(setters[Type.KEY.ordinal()], doc, key);
+        set(setters[Type.REV.ordinal()], doc, rev);
+    }
+
+    /**
+     * Sets the revision of a replaced or updated document.
+     */
+    public void setRev(final Object doc, final String rev) throws C8DBException {
+        set(SETTERS.get(doc.getClass())[Type.REV.ordinal()], doc, rev);
+    }
+
+    private static void set(final MethodHandle setter, final Object doc, final String value) {
+        if (setter == null) {
+            return;
+        }
+        try {
+            setter.invokeExact(doc, value);
+        } catch (final RuntimeException e) {
+            throw new C8DBException(e);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable e) {
+            throw new C8DBException(e);
         }
-        return fields;
     }
 
-    private boolean isTypeRestricted(final Class<?> type) {
+    private static boolean isTypeRestricted(final Class<?> type) {
         return Map.class.isAssignableFrom(type) || Collection.class.isAssignableFrom(type);
     }
 
-    private Map<DocumentField.Type, Field> createFields(final Class<?> clazz) {
-        final Map<DocumentField.Type, Field> fields = new HashMap<DocumentField.Type, Field>();
+    private static MethodHandle[] createSetters(final Class<?> clazz) {
+        final MethodHandle[] setters = new MethodHandle[TYPES.length];
+        if (isTypeRestricted(clazz)) {
+            return setters;
+        }
+        int missing = TYPES.length;
         Class<?> tmp = clazz;
-        final Collection<DocumentField.Type> values = new ArrayList<DocumentField.Type>(
-                Arrays.asList(DocumentField.Type.values()));
-        while (tmp != null && tmp != Object.class && values.size() > 0) {
+        while (tmp != null && tmp != Object.class && missing > 0) {
             final Field[] declaredFields = tmp.getDeclaredFields();
-            for (int i = 0; i < declaredFields.length && values.size() > 0; i++) {
-                findAnnotation(values, fields, declaredFields[i]);
+            for (int i = 0; i < declaredFields.length && missing > 0; i++) {
+                final Field field = declaredFields[i];
+                final DocumentField annotation = field.getAnnotation(DocumentField.class);
+                if (annotation != null && !field.isSynthetic() && !Modifier.isStatic(field.getModifiers())
+                        && String.class.isAssignableFrom(field.getType())
+                        && setters[annotation.value().ordinal()] == null) {
+                    setters[annotation.value().ordinal()] = createSetter(field);
+                    missing--;
+                }
             }
             tmp = tmp.getSuperclass();
         }
-        return fields;
+        return setters;
     }
 
-    private void findAnnotation(final Collection<Type> values, final Map<DocumentField.Type, Field> fields,
-            final Field field) {
-        final DocumentField annotation = field.getAnnotation(DocumentField.class);
-        if (annotation != null && !field.isSynthetic() && !Modifier.isStatic(field.getModifiers())
-                && String.class.isAssignableFrom(field.getType())) {
-            final Type value = annotation.value();
-            if (values.contains(value)) {
-                field.setAccessible(true);
-                fields.put(value, field);
-                values.remove(value);
-            }
+    private static MethodHandle createSetter(final Field field) {
+        field.setAccessible(true);
+        MethodHandle setter;
+        try {
+            setter = MethodHandles.lookup().unreflectSetter(field);
+        } catch (final IllegalAccessException e) {
+            // final fields can only be written through the field itself
+            setter = FIELD_SET.bindTo(field);
         }
+        return setter.asType(SETTER_TYPE);
     }
 }
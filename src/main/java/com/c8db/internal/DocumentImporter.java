@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackParser;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.ValueType;
+import com.c8db.C8DBException;
+import com.c8db.entity.DocumentImportEntity;
+import com.c8db.model.DocumentImportOptions;
+import com.c8db.velocystream.StreamingBody;
+
+/**
+ * Splits the documents of an import into batches of JSON lines, bounded by number of documents and bytes, and sends
+ * up to the configured number of batches at the same time. Only the counts of the responses are kept. If the import
+ * overwrites the collection, the first batch is sent on its own so that the collection is emptied only once.
+ *
+ */
+abstract class DocumentImporter {
+
+    static final int DEFAULT_BATCH_SIZE = 10000;
+    static final int DEFAULT_BATCH_BYTES = 8 * 1024 * 1024;
+    static final int DEFAULT_PARALLELISM = 4;
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int INITIAL_BATCH_CAPACITY = 64 * 1024;
+
+    private final int batchSize;
+    private final int batchBytes;
+    private final int parallelism;
+    private final boolean overwrite;
+    private final Executor executor;
+    private final Semaphore inFlight;
+    private final DocumentImportEntity result;
+    private final AtomicReference<RuntimeException> failure;
+    private JsonLines batch;
+    private boolean first;
+
+    /**
+     * @param executor executor of the driver on which the batches are sent
+     */
+    DocumentImporter(final DocumentImportOptions options, final Executor executor) {
+        super();
+        final DocumentImportOptions params = options != null ? options : new DocumentImportOptions();
+        batchSize = positive(params.getBatchSize(), DEFAULT_BATCH_SIZE);
+        batchBytes = positive(params.getBatchBytes(), DEFAULT_BATCH_BYTES);
+        parallelism = positive(params.getParallelism(), DEFAULT_PARALLELISM);
+        overwrite = Boolean.TRUE.equals(params.getOverwrite());
+        this.executor = executor;
+        inFlight = new Semaphore(parallelism);
+        result = new DocumentImportEntity();
+        result.setCreated(0);
+        result.setErrors(0);
+        result.setEmpty(0);
+        result.setUpdated(0);
+        result.setIgnored(0);
+        failure = new AtomicReference<RuntimeException>();
+        first = true;
+    }
+
+    private static int positive(final Integer value, final int defaultValue) {
+        return value != null && value > 0 ? value : defaultValue;
+    }
+
+    /**
+     * Sends one batch.
+     *
+     * @param body
+     *            the documents of the batch as JSON lines
+     * @param first
+     *            whether this is the first batch of the import
+     * @return the counts of the batch
+     */
+    protected abstract DocumentImportEntity send(StreamingBody body, boolean first);
+
+    void add(final byte[] json) {
+        add(json, 0, json.length);
+    }
+
+    /**
+     * Adds a single document, given as JSON without line breaks.
+     */
+    void add(final byte[] json, final int offset, final int length) {
+        if (batch != null && (batch.count >= batchSize || batch.size + length + 1 > batchBytes)) {
+            flush();
+        }
+        if (batch == null) {
+            batch = new JsonLines(Math.max(Math.min(batchBytes, INITIAL_BATCH_CAPACITY), length + 1));
+        }
+        batch.add(json, offset, length);
+    }
+
+    /**
+     * Adds the documents of the given stream, one JSON document per line. The lines are copied into the batches
+     * without being parsed.
+     */
+    void addLines(final InputStream in) throws IOException {
+        final byte[] chunk = new byte[CHUNK_SIZE];
+        // the part of a line which continues in the next chunk
+        byte[] line = new byte[0];
+        int lineLength = 0;
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+                if (chunk[i] == '\n') {
+                    if (lineLength > 0) {
+                        line = append(line, lineLength, chunk, start, i - start);
+                        lineLength += i - start;
+                        addLine(line, 0, lineLength);
+                        lineLength = 0;
+                    } else {
+                        addLine(chunk, start, i - start);
+                    }
+                    start = i + 1;
+                }
+            }
+            if (start < read) {
+                line = append(line, lineLength, chunk, start, read - start);
+                lineLength += read - start;
+            }
+        }
+        addLine(line, 0, lineLength);
+    }
+
+    private static byte[] append(final byte[] line, final int lineLength, final byte[] bytes, final int offset,
+        final int length) {
+        final byte[] target = lineLength + length > line.length
+                ? Arrays.copyOf(line, Math.max(lineLength + length, line.length * 2))
+                : line;
+        System.arraycopy(bytes, offset, target, lineLength, length);
+        return target;
+    }
+
+    private void addLine(final byte[] bytes, final int offset, final int length) {
+        int from = offset;
+        int to = offset + length;
+        while (from < to && isWhitespace(bytes[from])) {
+            from++;
+        }
+        while (to > from && isWhitespace(bytes[to - 1])) {
+            to--;
+        }
+        if (to > from) {
+            add(bytes, from, to - from);
+        }
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    /**
+     * Sends the last batch and waits for all batches.
+     *
+     * @return the summed up counts of all batches
+     */
+    DocumentImportEntity finish() {
+        if (batch != null) {
+            flush();
+        }
+        awaitBatches();
+        return result;
+    }
+
+    private void flush() {
+        final JsonLines lines = batch;
+        batch = null;
+        final boolean isFirst = first;
+        first = false;
+        if (isFirst && overwrite) {
+            merge(send(lines, true));
+            return;
+        }
+        try {
+            inFlight.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new C8DBException(e);
+        }
+        if (failure.get() != null) {
+            inFlight.release();
+            // stop reading the documents, report the failure once the other batches are done
+            awaitBatches();
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    merge(send(lines, isFirst));
+                } catch (final RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    inFlight.release();
+                }
+            }
+        });
+    }
+
+    private void awaitBatches() {
+        try {
+            inFlight.acquire(parallelism);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new C8DBException(e);
+        }
+        inFlight.release(parallelism);
+        final RuntimeException e = failure.get();
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    private void merge(final DocumentImportEntity entity) {
+        if (entity == null) {
+            return;
+        }
+        synchronized (result) {
+            result.setCreated(result.getCreated() + count(entity.getCreated()));
+            result.setErrors(result.getErrors() + count(entity.getErrors()));
+            result.setEmpty(result.getEmpty() + count(entity.getEmpty()));
+            result.setUpdated(result.getUpdated() + count(entity.getUpdated()));
+            result.setIgnored(result.getIgnored() + count(entity.getIgnored()));
+            if (entity.getDetails() != null) {
+                result.getDetails().addAll(entity.getDetails());
+            }
+        }
+    }
+
+    private static int count(final Integer value) {
+        return value != null ? value : 0;
+    }
+
+    /**
+     * Documents of a batch, one JSON document per line.
+     */
+    private static class JsonLines implements StreamingBody {
+
+        private static final VPackParser PARSER = new VPackParser.Builder().build();
+
+        private byte[] buffer;
+        private int size;
+        private int count;
+
+        JsonLines(final int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        void add(final byte[] json, final int offset, final int length) {
+            if (size + length + 1 > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(size + length + 1, buffer.length * 2));
+            }
+            System.arraycopy(json, offset, buffer, size, length);
+            size += length;
+            buffer[size++] = '\n';
+            count++;
+        }
+
+        @Override
+        public long getContentLength() {
+            return size;
+        }
+
+        @Override
+        public void writeTo(final OutputStream out) throws IOException {
+            out.write(buffer, 0, size);
+        }
+
+        @Override
+        public VPackSlice toVPack() {
+            final VPackBuilder builder = new VPackBuilder();
+            builder.add(ValueType.ARRAY);
+            int start = 0;
+            for (int i = 0; i < size; i++) {
+                if (buffer[i] == '\n') {
+                    builder.add(PARSER.fromJson(new String(buffer, start, i - start, StandardCharsets.UTF_8)));
+                    start = i + 1;
+                }
+            }
+            builder.close();
+            return builder.slice();
+        }
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.arangodb.velocypack.VPackSlice;
+import com.c8db.model.ReadCacheOptions;
+
+/**
+ * Bounded cache of the documents read from one collection. The documents are kept as VelocyPack together with their
+ * revision, so that they can be revalidated with {@code If-None-Match} and deserialized into any type. The least
+ * recently read documents are evicted first.
+ * <p>
+ * A read captures the {@link #sequence()} before it asks the server and hands it to
+ * {@link #put(String, VPackSlice, long)}, which drops the document if the key was invalidated in the meantime. Otherwise
+ * a read that overlaps a local write could cache the revision from before the write.
+ *
+ */
+public class DocumentReadCache {
+
+    static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private static final String REV = "_rev";
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry> entries;
+    // sequence of the last invalidation of the recently invalidated keys
+    private final LinkedHashMap<String, Long> invalidations;
+    private long sequence;
+    // puts of reads started before are dropped for every key, raised by clear and evicted invalidations
+    private long floor;
+
+    public DocumentReadCache(final ReadCacheOptions options) {
+        super();
+        final ReadCacheOptions params = options != null ? options : new ReadCacheOptions();
+        maximumSize = params.getMaximumSize() != null && params.getMaximumSize() > 0 ? params.getMaximumSize()
+                : DEFAULT_MAXIMUM_SIZE;
+        ttlNanos = params.getTtlMillis() != null && params.getTtlMillis() > 0
+                ? TimeUnit.MILLISECONDS.toNanos(params.getTtlMillis())
+                : 0L;
+        entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+        invalidations = new LinkedHashMap<String, Long>(16, 0.75f, false) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Long> eldest) {
+                if (size() > maximumSize) {
+                    floor = Math.max(floor, eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return whether cached documents can be returned without revalidating them, {@code false} if the TTL is 0
+     */
+    public boolean hasTtl() {
+        return ttlNanos > 0;
+    }
+
+    /**
+     * @return the current invalidation sequence, to be captured before a read is sent to the server
+     */
+    public synchronized long sequence() {
+        return sequence;
+    }
+
+    public synchronized Entry get(final String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Caches a copy of the given document, if it has a revision and the key was not invalidated since the read started.
+     *
+     * @param sequence the {@link #sequence()} captured before the read was sent
+     * @return the cached copy, or the given document if it was not cached
+     */
+    public VPackSlice put(final String key, final VPackSlice document, final long sequence) {
+        if (document == null || !document.isObject()) {
+            return document;
+        }
+        final VPackSlice rev = document.get(REV);
+        if (!rev.isString()) {
+            return document;
+        }
+        final VPackSlice copy = new VPackSlice(Arrays.copyOfRange(document.getBuffer(), document.getStart(),
+            document.getStart() + document.getByteSize()));
+        final Entry entry = new Entry(rev.getAsString(), copy);
+        synchronized (this) {
+            if (sequence < floor) {
+                return document;
+            }
+            final Long invalidated = invalidations.get(key);
+            if (invalidated != null && sequence < invalidated) {
+                return document;
+            }
+            entries.put(key, entry);
+        }
+        return copy;
+    }
+
+    public synchronized void invalidate(final String key) {
+        entries.remove(key);
+        invalidations.remove(key);
+        invalidations.put(key, ++sequence);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        invalidations.clear();
+        floor = ++sequence;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return whether the entry can be returned without revalidating it
+     */
+    public boolean isFresh(final Entry entry) {
+        return ttlNanos > 0 && System.nanoTime() - entry.validated < ttlNanos;
+    }
+
+    public static class Entry {
+
+        private final String rev;
+        private final VPackSlice document;
+        private volatile long validated;
+
+        Entry(final String rev, final VPackSlice document) {
+            super();
+            this.rev = rev;
+            this.document = document;
+            validated = System.nanoTime();
+        }
+
+        public String getRev() {
+            return rev;
+        }
+
+        public VPackSlice getDocument() {
+            return document;
+        }
+
+        /**
+         * Marks the entry as confirmed by the server.
+         */
+        public void revalidated() {
+            validated = System.nanoTime();
+        }
+    }
+
+}
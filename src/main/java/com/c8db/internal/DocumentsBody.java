@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+
+import com.arangodb.velocypack.VPackSlice;
+import com.c8db.C8DBException;
+import com.c8db.internal.http.VPackJsonEntity;
+import com.c8db.internal.util.ChunkedBuffer;
+import com.c8db.util.C8JsonSerialization;
+import com.c8db.util.C8Serialization;
+import com.c8db.util.C8Serializer;
+import com.c8db.velocystream.StreamingBody;
+
+/**
+ * Documents of a multi document request as JSON array, serialized one document at a time into the pooled chunks of
+ * a {@link ChunkedBuffer}. Neither a {@code VPackSlice} of all documents nor one contiguous array of their JSON is
+ * built.
+ * <p>
+ * Every document is serialized once on first use. The chunks give the content length and are written by every
+ * attempt of the request, so documents changed while the request is sent do not corrupt the body. The chunks go
+ * back to the pool once the request is done, see {@link #release()}.
+ *
+ */
+class DocumentsBody implements StreamingBody {
+
+    private static final int OPEN_ARRAY = '[';
+    private static final int SEPARATOR = ',';
+    private static final int CLOSE_ARRAY = ']';
+
+    private final Collection<?> values;
+    private final C8Serialization util;
+    private final C8JsonSerialization json;
+    private final boolean serializeNullValues;
+    private ChunkedBuffer buffer;
+    private long contentLength = -1L;
+
+    /**
+     * @param json serialization which writes the documents as JSON directly, or {@code null} to write them through
+     *             VelocyPack
+     */
+    DocumentsBody(final Collection<?> values, final C8Serialization util, final C8JsonSerialization json,
+            final boolean serializeNullValues) {
+        super();
+        this.values = values;
+        this.util = util;
+        this.json = json;
+        this.serializeNullValues = serializeNullValues;
+    }
+
+    private C8Serializer.Options options() {
+        // the options take the type of the first serialized value, so they can not be shared
+        return new C8Serializer.Options().serializeNullValues(serializeNullValues).stringAsJson(true);
+    }
+
+    private ChunkedBuffer buffer() {
+        if (buffer == null) {
+            final ChunkedBuffer out = new ChunkedBuffer();
+            try {
+                out.write(OPEN_ARRAY);
+                boolean first = true;
+                for (final Object value : values) {
+                    if (!first) {
+                        out.write(SEPARATOR);
+                    }
+                    first = false;
+                    if (json != null && !(value instanceof String)) {
+                        json.serializeJson(value, options(), out);
+                    } else {
+                        VPackJsonEntity.write(util.serialize(value, options()), out);
+                    }
+                }
+                out.write(CLOSE_ARRAY);
+            } catch (final IOException e) {
+                // can not happen while writing to memory
+                out.release();
+                throw new C8DBException(e);
+            } catch (final RuntimeException e) {
+                out.release();
+                throw e;
+            }
+            buffer = out;
+            contentLength = out.length();
+        }
+        return buffer;
+    }
+
+    @Override
+    public long getContentLength() {
+        // still known after the release, e.g. for the metrics of the request
+        return contentLength >= 0L ? contentLength : buffer().length();
+    }
+
+    @Override
+    public void writeTo(final OutputStream out) throws IOException {
+        buffer().writeTo(out);
+    }
+
+    /**
+     * Hands the chunks back to the pool. The documents are serialized again if the body is written once more.
+     */
+    @Override
+    public void release() {
+        if (buffer != null) {
+            buffer.release();
+            buffer = null;
+        }
+    }
+
+    @Override
+    public VPackSlice toVPack() {
+        return util.serialize(values, options());
+    }
+
+}
@@ -113,30 +113,33 @@ public abstract class InternalC8Admin<A extends InternalC8DB<E>, D extends Inter
     }
 
     protected Request getTenantsRequest() {
-        return request(null, null, RequestType.GET, PATH_API_TENANTS);
+        return request(null, null, RequestType.GET, PATH_API_TENANTS, PATH_API_TENANTS);
     }
 
     protected Request getTenantRequest(final String tenant) {
-        return request(null, null, RequestType.GET, PATH_API_TENANT, tenant);
+        return request(null, null, RequestType.GET, PATH_API_TENANT + "/{}", PATH_API_TENANT, tenant);
     }
 
     protected Request getLimitsEnabledRequest() {
-        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_LIMITS, PATH_ENABLE);
+        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_LIMITS + "/enable", PATH_API_LIMITS,
+                PATH_ENABLE);
     }
     
     protected Request getTenantLimitsRequest(final String tenant) {
-        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_LIMITS, PATH_TENANT, tenant);
+        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_LIMITS + "/tenant/{}", PATH_API_LIMITS,
+                PATH_TENANT, tenant);
     }
     
     protected Request getTenantFeaturesRequest(final String tenant) {
-        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_FEATURES, PATH_TENANT, tenant);
+        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_FEATURES + "/tenant/{}", PATH_API_FEATURES,
+                PATH_TENANT, tenant);
     }
 
     protected Request getTenantMetricsRequest(TenantMetricsOption options){
         //TODO: Finalize default values
         VPackSlice body = util()
                 .serialize(options);
-        Request request= request(null,db.name(), RequestType.POST,PATH_API_METRICS).setBody(body);
+        Request request= request(null,db.name(), RequestType.POST,PATH_API_METRICS, PATH_API_METRICS).setBody(body);
         return request;
     }
 
@@ -37,19 +37,19 @@ public abstract class InternalC8Alerts<A extends InternalC8DB<E>, D extends Inte
     }
 
     protected Request getAlertRequest(final Map<String, String> queryParamMap) {
-        Request request = request(null, null, RequestType.GET, PATH_ALERT);
+        Request request = request(null, null, RequestType.GET, PATH_ALERT, PATH_ALERT);
         queryParamMap.forEach((key, value) -> request.putQueryParam(key, value));
         return request;
     }
 
     protected Request updateAlertRequest(String updateParam,  Map<String, String> queryParamMap) {
-        Request request = request(null, null, RequestType.PUT, PATH_ALERT, updateParam);
+        Request request = request(null, null, RequestType.PUT, PATH_ALERT + "/{}", PATH_ALERT, updateParam);
         queryParamMap.forEach((key, value) -> request.putQueryParam(key, value));
         return request;
     }
 
     protected Request createAlertRequest(AlertEntity entity) {
-        final Request request = request(null, null, RequestType.POST, PATH_ALERT);
+        final Request request = request(null, null, RequestType.POST, PATH_ALERT, PATH_ALERT);
         request.setBody(util(C8SerializationFactory.Serializer.CUSTOM).serialize(entity, new C8Serializer.Options()));
         return request;
     }
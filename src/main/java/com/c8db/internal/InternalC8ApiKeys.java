@@ -52,34 +52,35 @@ public abstract class InternalC8ApiKeys<A extends InternalC8DB<E>, D extends Int
     }
 
     protected Request validateApiKeyRequest(final String apikey) {
-        final Request request = request(null, null, RequestType.POST, PATH_API_KEY_VALIDATE);
+        final Request request = request(null, null, RequestType.POST, PATH_API_KEY_VALIDATE, PATH_API_KEY_VALIDATE);
         request.setBody(util(C8SerializationFactory.Serializer.CUSTOM).serialize(
                 OptionsBuilder.build(new ApiKeyOptions(), apikey)));
         return request;
     }
 
     protected Request validateJwtRequest(final String jwt) {
-        final Request request = request(null, null, RequestType.POST, PATH_API_KEY_VALIDATE);
+        final Request request = request(null, null, RequestType.POST, PATH_API_KEY_VALIDATE, PATH_API_KEY_VALIDATE);
         request.setBody(util(C8SerializationFactory.Serializer.CUSTOM).serialize(
             OptionsBuilder.build(new JwtOptions(), jwt)));
         return request;
     }
 
     protected Request geoFabricsAccessLevelRequest(final String keyId, boolean full) {
-        final Request request = request(null, null, RequestType.GET, PATH_API_KEY,
+        final Request request = request(null, null, RequestType.GET, PATH_API_KEY + "/{}/database", PATH_API_KEY,
             String.join("." ,db.tenant(), keyId), C8RequestParam.DATABASE);
         request.putQueryParam(QUERY_PARAM_FULL, full);
         return request;
     }
 
     protected Request geoFabricAccessLevelRequest(final String keyId) {
-        final Request request = request(null, null, RequestType.GET, PATH_API_KEY,
+        final Request request = request(null, null, RequestType.GET, PATH_API_KEY + "/{}/database/{}", PATH_API_KEY,
             String.join("." ,db.tenant(), keyId), C8RequestParam.DATABASE, String.join("." ,db.tenant(), db.name()));
         return request;
     }
 
     protected Request streamsAccessLevelRequest(final String keyId, final boolean full) {
-        final Request request = request(null, null, RequestType.GET, PATH_API_KEY,
+        final Request request = request(null, null, RequestType.GET, PATH_API_KEY + "/{}/database/{}/stream",
+                PATH_API_KEY,
             String.join("." ,db.tenant(), keyId), C8RequestParam.DATABASE, String.join("." ,db.tenant(), db.name()), C8RequestParam.STREAM);
         if (full) {
             request.putQueryParam(QUERY_PARAM_FULL, true);
@@ -88,20 +89,21 @@ public abstract class InternalC8ApiKeys<A extends InternalC8DB<E>, D extends Int
     }
 
     protected Request streamAccessLevelRequest(final String keyId, final String stream) {
-        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_KEY,
+        final Request request = request(db.tenant(), db.name(), RequestType.GET,
+                PATH_API_KEY + "/{}/database/{}/stream/{}", PATH_API_KEY,
             String.join("." ,db.tenant(), keyId), C8RequestParam.DATABASE, String.join("." ,db.tenant(), db.name()), C8RequestParam.STREAM, stream);
         return request;
     }
 
     protected Request createApiKeyRequest(final String keyId) {
-        final Request request = request(null, null, RequestType.POST, PATH_API_KEY);
+        final Request request = request(null, null, RequestType.POST, PATH_API_KEY, PATH_API_KEY);
         request.setBody(util(C8SerializationFactory.Serializer.CUSTOM).serialize(
                 OptionsBuilder.build(new ApiKeyCreateOptions(), keyId)));
         return request;
     }
 
     protected Request deleteApiKeyRequest(final String keyId) {
-        return request(null, null, RequestType.DELETE, PATH_API_KEY, keyId);
+        return request(null, null, RequestType.DELETE, PATH_API_KEY + "/{}", PATH_API_KEY, keyId);
     }
 
     protected ResponseDeserializer<Permissions> streamAccessLevelResponseDeserializer() {
@@ -19,11 +19,10 @@
 
 package com.c8db.internal;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Map;
 
 import com.arangodb.velocypack.Type;
 import com.arangodb.velocypack.VPackSlice;
@@ -31,7 +30,6 @@ import com.arangodb.velocypack.exception.VPackException;
 import com.c8db.C8DBException;
 import com.c8db.entity.DocumentCreateEntity;
 import com.c8db.entity.DocumentDeleteEntity;
-import com.c8db.entity.DocumentField;
 import com.c8db.entity.DocumentUpdateEntity;
 import com.c8db.entity.ErrorEntity;
 import com.c8db.entity.IndexEntity;
@@ -47,21 +45,25 @@ import com.c8db.model.CollectionTruncateOptions;
 import com.c8db.model.DocumentCreateOptions;
 import com.c8db.model.DocumentDeleteOptions;
 import com.c8db.model.DocumentExistsOptions;
+import com.c8db.model.DocumentImportOptions;
 import com.c8db.model.DocumentReadOptions;
 import com.c8db.model.DocumentReplaceOptions;
 import com.c8db.model.DocumentUpdateOptions;
 import com.c8db.model.FulltextIndexOptions;
 import com.c8db.model.GeoIndexOptions;
 import com.c8db.model.HashIndexOptions;
+import com.c8db.model.ImportType;
 import com.c8db.model.OptionsBuilder;
 import com.c8db.model.PersistentIndexOptions;
 import com.c8db.model.SkiplistIndexOptions;
 import com.c8db.model.TTLIndexOptions;
 import com.c8db.model.UserAccessOptions;
+import com.c8db.util.C8JsonSerialization;
 import com.c8db.util.C8Serializer;
 import com.c8db.velocystream.Request;
 import com.c8db.velocystream.RequestType;
 import com.c8db.velocystream.Response;
+import com.c8db.velocystream.StreamingBody;
 
 import static com.c8db.internal.InternalC8Database.PATH_API_USER;
 
@@ -75,6 +77,13 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     protected static final String PATH_API_COLLECTION = "/_api/collection";
     protected static final String PATH_API_DOCUMENT = "/_api/document";
     protected static final String PATH_API_INDEX = "/_api/index";
+    protected static final String PATH_API_IMPORT = "/_api/import";
+    protected static final String PATH_TRUNCATE = "truncate";
+    protected static final String PATH_COUNT = "count";
+    protected static final String PATH_PROPERTIES = "properties";
+    protected static final String PATH_RENAME = "rename";
+    protected static final String PATH_RESPONSIBLE_SHARD = "responsibleShard";
+    protected static final String PATH_REVISION = "revision";
 
     private static final String MERGE_OBJECTS = "mergeObjects";
     private static final String IGNORE_REVS = "ignoreRevs";
@@ -84,6 +93,12 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     private static final String OVERWRITE = "overwrite";
     private static final String OLD = "old";
     private static final String SILENT = "silent";
+    private static final String TYPE = "type";
+    private static final String FROM_PREFIX = "fromPrefix";
+    private static final String TO_PREFIX = "toPrefix";
+    private static final String ON_DUPLICATE = "onDuplicate";
+    private static final String COMPLETE = "complete";
+    private static final String DETAILS = "details";
 
     private static final String TRANSACTION_ID = "x-arango-trx-id";
 
@@ -105,7 +120,8 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     }
 
     protected <T> Request insertDocumentRequest(final T value, final DocumentCreateOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_DOCUMENT, name);
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_DOCUMENT + "/{}",
+                PATH_API_DOCUMENT, name);
         final DocumentCreateOptions params = (options != null ? options : new DocumentCreateOptions());
         request.putQueryParam(C8RequestParam.WAIT_FOR_SYNC, params.getWaitForSync());
         request.putQueryParam(RETURN_NEW, params.getReturnNew());
@@ -113,7 +129,7 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
         request.putQueryParam(SILENT, params.getSilent());
         request.putQueryParam(OVERWRITE, params.getOverwrite());
         request.putHeaderParam(TRANSACTION_ID, params.getStreamTransactionId());
-        request.setBody(util(Serializer.CUSTOM).serialize(value));
+        setDocumentBody(request, value, false);
         return request;
     }
 
@@ -134,11 +150,7 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
                     doc.setOld((T) util(Serializer.CUSTOM).deserialize(oldDoc, value.getClass()));
                 }
                 if (options == null || Boolean.TRUE != options.getSilent()) {
-                    final Map<DocumentField.Type, String> values = new HashMap<DocumentField.Type, String>();
-                    values.put(DocumentField.Type.ID, doc.getId());
-                    values.put(DocumentField.Type.KEY, doc.getKey());
-                    values.put(DocumentField.Type.REV, doc.getRev());
-                    executor.documentCache().setValues(value, values);
+                    executor.documentCache().setValues(value, doc.getId(), doc.getKey(), doc.getRev());
                 }
                 return doc;
             }
@@ -146,18 +158,46 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     }
 
     protected <T> Request insertDocumentsRequest(final Collection<T> values, final DocumentCreateOptions params) {
-        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_DOCUMENT, name);
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_DOCUMENT + "/{}",
+                PATH_API_DOCUMENT, name);
         request.putQueryParam(C8RequestParam.WAIT_FOR_SYNC, params.getWaitForSync());
         request.putQueryParam(RETURN_NEW, params.getReturnNew());
         request.putQueryParam(RETURN_OLD, params.getReturnOld());
         request.putQueryParam(SILENT, params.getSilent());
         request.putQueryParam(OVERWRITE, params.getOverwrite());
         request.putHeaderParam(TRANSACTION_ID, params.getStreamTransactionId());
-        request.setBody(util(Serializer.CUSTOM).serialize(values,
-                new C8Serializer.Options().serializeNullValues(false).stringAsJson(true)));
+        setDocumentsBody(request, values, false, params.getStreamBody());
+        return request;
+    }
+
+    protected Request importDocumentsRequest(final StreamingBody body, final DocumentImportOptions params,
+            final boolean first) {
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_IMPORT, PATH_API_IMPORT);
+        request.putQueryParam(COLLECTION_QUERY_PARAM, name);
+        // JSON lines are imported as documents, the VelocyPack of protocols without streaming bodies as list
+        request.putQueryParam(TYPE, ImportType.auto);
+        request.putQueryParam(FROM_PREFIX, params.getFromPrefix());
+        request.putQueryParam(TO_PREFIX, params.getToPrefix());
+        request.putQueryParam(OVERWRITE, first ? params.getOverwrite() : null);
+        request.putQueryParam(C8RequestParam.WAIT_FOR_SYNC, params.getWaitForSync());
+        request.putQueryParam(ON_DUPLICATE, params.getOnDuplicate());
+        request.putQueryParam(COMPLETE, params.getComplete());
+        request.putQueryParam(DETAILS, params.getDetails());
+        request.setStreamingBody(body);
         return request;
     }
 
+    protected byte[] importDocumentJson(final Object value) {
+        final String json;
+        if (value instanceof String) {
+            json = (String) value;
+        } else {
+            json = util(Serializer.CUSTOM).deserialize(util(Serializer.CUSTOM).serialize(value,
+                    new C8Serializer.Options().serializeNullValues(false)), String.class);
+        }
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
     @SuppressWarnings("unchecked")
     protected <T> ResponseDeserializer<MultiDocumentEntity<DocumentCreateEntity<T>>> insertDocumentsResponseDeserializer(
             final Collection<T> values, final DocumentCreateOptions params) {
@@ -207,8 +247,8 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     }
 
     protected Request getDocumentRequest(final String key, final DocumentReadOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_DOCUMENT,
-                DocumentUtil.createDocumentHandle(name, key));
+        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_DOCUMENT + "/{}/{}",
+                PATH_API_DOCUMENT, DocumentUtil.createDocumentHandle(name, key));
         final DocumentReadOptions params = (options != null ? options : new DocumentReadOptions());
         request.putHeaderParam(C8RequestParam.IF_NONE_MATCH, params.getIfNoneMatch());
         request.putHeaderParam(C8RequestParam.IF_MATCH, params.getIfMatch());
@@ -218,7 +258,8 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
 
     protected Request getDocumentsRequest(final Collection<String> keys, final DocumentReadOptions options) {
         final DocumentReadOptions params = (options != null ? options : new DocumentReadOptions());
-        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_DOCUMENT, name)
+        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_DOCUMENT + "/{}",
+                PATH_API_DOCUMENT, name)
                 .putQueryParam("onlyget", true)
                 .putHeaderParam(C8RequestParam.IF_NONE_MATCH, params.getIfNoneMatch())
                 .putHeaderParam(C8RequestParam.IF_MATCH, params.getIfMatch()).setBody(util().serialize(keys))
@@ -259,8 +300,8 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
 
     protected <T> Request replaceDocumentRequest(final String key, final T value,
             final DocumentReplaceOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_DOCUMENT,
-                DocumentUtil.createDocumentHandle(name, key));
+        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_DOCUMENT + "/{}/{}",
+                PATH_API_DOCUMENT, DocumentUtil.createDocumentHandle(name, key));
         final DocumentReplaceOptions params = (options != null ? options : new DocumentReplaceOptions());
         request.putHeaderParam(C8RequestParam.IF_MATCH, params.getIfMatch());
         request.putHeaderParam(TRANSACTION_ID, params.getStreamTransactionId());
@@ -269,7 +310,7 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
         request.putQueryParam(RETURN_NEW, params.getReturnNew());
         request.putQueryParam(RETURN_OLD, params.getReturnOld());
         request.putQueryParam(SILENT, params.getSilent());
-        request.setBody(util(Serializer.CUSTOM).serialize(value));
+        setDocumentBody(request, value, false);
         return request;
     }
 
@@ -290,9 +331,7 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
                     doc.setOld((T) util(Serializer.CUSTOM).deserialize(oldDoc, value.getClass()));
                 }
                 if (options == null || Boolean.TRUE != options.getSilent()) {
-                    final Map<DocumentField.Type, String> values = new HashMap<DocumentField.Type, String>();
-                    values.put(DocumentField.Type.REV, doc.getRev());
-                    executor.documentCache().setValues(value, values);
+                    executor.documentCache().setRev(value, doc.getRev());
                 }
                 return doc;
             }
@@ -300,7 +339,8 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     }
 
     protected <T> Request replaceDocumentsRequest(final Collection<T> values, final DocumentReplaceOptions params) {
-        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_DOCUMENT, name);
+        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_DOCUMENT + "/{}",
+                PATH_API_DOCUMENT, name);
         request.putHeaderParam(C8RequestParam.IF_MATCH, params.getIfMatch());
         request.putHeaderParam(TRANSACTION_ID, params.getStreamTransactionId());
         request.putQueryParam(C8RequestParam.WAIT_FOR_SYNC, params.getWaitForSync());
@@ -308,8 +348,7 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
         request.putQueryParam(RETURN_NEW, params.getReturnNew());
         request.putQueryParam(RETURN_OLD, params.getReturnOld());
         request.putQueryParam(SILENT, params.getSilent());
-        request.setBody(util(Serializer.CUSTOM).serialize(values,
-                new C8Serializer.Options().serializeNullValues(false).stringAsJson(true)));
+        setDocumentsBody(request, values, false, params.getStreamBody());
         return request;
     }
 
@@ -362,8 +401,8 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     }
 
     protected <T> Request updateDocumentRequest(final String key, final T value, final DocumentUpdateOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.PATCH, PATH_API_DOCUMENT,
-                DocumentUtil.createDocumentHandle(name, key));
+        final Request request = request(db.tenant(), db.name(), RequestType.PATCH, PATH_API_DOCUMENT + "/{}/{}",
+                PATH_API_DOCUMENT, DocumentUtil.createDocumentHandle(name, key));
         final DocumentUpdateOptions params = (options != null ? options : new DocumentUpdateOptions());
         request.putHeaderParam(C8RequestParam.IF_MATCH, params.getIfMatch());
         request.putHeaderParam(TRANSACTION_ID, params.getStreamTransactionId());
@@ -374,8 +413,7 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
         request.putQueryParam(RETURN_NEW, params.getReturnNew());
         request.putQueryParam(RETURN_OLD, params.getReturnOld());
         request.putQueryParam(SILENT, params.getSilent());
-        request.setBody(util(Serializer.CUSTOM).serialize(value, new C8Serializer.Options()
-                .serializeNullValues(params.getSerializeNull() == null || params.getSerializeNull())));
+        setDocumentBody(request, value, params.getSerializeNull() == null || params.getSerializeNull());
         return request;
     }
 
@@ -396,9 +434,7 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
                     doc.setOld((T) util(Serializer.CUSTOM).deserialize(oldDoc, value.getClass()));
                 }
                 if (options == null || Boolean.TRUE != options.getSilent()) {
-                    final Map<DocumentField.Type, String> values = new HashMap<DocumentField.Type, String>();
-                    values.put(DocumentField.Type.REV, doc.getRev());
-                    executor.documentCache().setValues(value, values);
+                    executor.documentCache().setRev(value, doc.getRev());
                 }
                 return doc;
             }
@@ -406,7 +442,8 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     }
 
     protected <T> Request updateDocumentsRequest(final Collection<T> values, final DocumentUpdateOptions params) {
-        final Request request = request(db.tenant(), db.name(), RequestType.PATCH, PATH_API_DOCUMENT, name);
+        final Request request = request(db.tenant(), db.name(), RequestType.PATCH, PATH_API_DOCUMENT + "/{}",
+                PATH_API_DOCUMENT, name);
         final Boolean keepNull = params.getKeepNull();
         request.putHeaderParam(C8RequestParam.IF_MATCH, params.getIfMatch());
         request.putHeaderParam(TRANSACTION_ID, params.getStreamTransactionId());
@@ -417,13 +454,35 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
         request.putQueryParam(RETURN_NEW, params.getReturnNew());
         request.putQueryParam(RETURN_OLD, params.getReturnOld());
         request.putQueryParam(SILENT, params.getSilent());
-        request.setBody(util(Serializer.CUSTOM).serialize(values,
-                new C8Serializer.Options()
-                        .serializeNullValues(params.getSerializeNull() == null || params.getSerializeNull())
-                        .stringAsJson(true)));
+        setDocumentsBody(request, values, params.getSerializeNull() == null || params.getSerializeNull(),
+                params.getStreamBody());
         return request;
     }
 
+    private void setDocumentBody(final Request request, final Object value, final boolean serializeNullValues) {
+        final C8JsonSerialization json = util.getJson();
+        if (json != null && JsonBody.isSupported(value)) {
+            request.setStreamingBody(new JsonBody(value, json, serializeNullValues));
+        } else {
+            request.setBody(util(Serializer.CUSTOM).serialize(value,
+                    new C8Serializer.Options().serializeNullValues(serializeNullValues)));
+        }
+    }
+
+    private void setDocumentsBody(final Request request, final Collection<?> values,
+            final boolean serializeNullValues, final Boolean streamBody) {
+        final C8JsonSerialization json = util.getJson();
+        if (Boolean.TRUE.equals(streamBody)) {
+            request.setStreamingBody(
+                    new DocumentsBody(values, util(Serializer.CUSTOM), json, serializeNullValues));
+        } else if (json != null && JsonBody.isSupported(values)) {
+            request.setStreamingBody(new JsonBody(values, json, serializeNullValues));
+        } else {
+            request.setBody(util(Serializer.CUSTOM).serialize(values,
+                    new C8Serializer.Options().serializeNullValues(serializeNullValues).stringAsJson(true)));
+        }
+    }
+
     @SuppressWarnings("unchecked")
     protected <T> ResponseDeserializer<MultiDocumentEntity<DocumentUpdateEntity<T>>> updateDocumentsResponseDeserializer(
             final Collection<T> values, final DocumentUpdateOptions params) {
@@ -473,8 +532,8 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     }
 
     protected Request deleteDocumentRequest(final String key, final DocumentDeleteOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_DOCUMENT,
-                DocumentUtil.createDocumentHandle(name, key));
+        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_DOCUMENT + "/{}/{}",
+                PATH_API_DOCUMENT, DocumentUtil.createDocumentHandle(name, key));
         final DocumentDeleteOptions params = (options != null ? options : new DocumentDeleteOptions());
         request.putHeaderParam(C8RequestParam.IF_MATCH, params.getIfMatch());
         request.putHeaderParam(TRANSACTION_ID, params.getStreamTransactionId());
@@ -502,7 +561,8 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     }
 
     protected <T> Request deleteDocumentsRequest(final Collection<T> keys, final DocumentDeleteOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_DOCUMENT, name);
+        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_DOCUMENT + "/{}",
+                PATH_API_DOCUMENT, name);
         final DocumentDeleteOptions params = (options != null ? options : new DocumentDeleteOptions());
         request.putHeaderParam(TRANSACTION_ID, params.getStreamTransactionId());
         request.putQueryParam(C8RequestParam.WAIT_FOR_SYNC, params.getWaitForSync());
@@ -551,8 +611,8 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     }
 
     protected Request documentExistsRequest(final String key, final DocumentExistsOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.HEAD, PATH_API_DOCUMENT,
-                DocumentUtil.createDocumentHandle(name, key));
+        final Request request = request(db.tenant(), db.name(), RequestType.HEAD, PATH_API_DOCUMENT + "/{}/{}",
+                PATH_API_DOCUMENT, DocumentUtil.createDocumentHandle(name, key));
         final DocumentExistsOptions params = (options != null ? options : new DocumentExistsOptions());
         request.putHeaderParam(TRANSACTION_ID, params.getStreamTransactionId());
         request.putHeaderParam(C8RequestParam.IF_MATCH, params.getIfMatch());
@@ -561,11 +621,13 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     }
 
     protected Request getIndexRequest(final String id) {
-        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_INDEX, createIndexId(id));
+        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_INDEX + "/{}/{}", PATH_API_INDEX,
+                createIndexId(id));
     }
 
     protected Request deleteIndexRequest(final String id) {
-        return request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_INDEX, createIndexId(id));
+        return request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_INDEX + "/{}/{}", PATH_API_INDEX,
+                createIndexId(id));
     }
 
     protected ResponseDeserializer<String> deleteIndexResponseDeserializer() {
@@ -590,7 +652,7 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     }
 
     protected Request createHashIndexRequest(final Iterable<String> fields, final HashIndexOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_INDEX);
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_INDEX, PATH_API_INDEX);
         request.putQueryParam(COLLECTION_QUERY_PARAM, name);
         request.setBody(
                 util().serialize(OptionsBuilder.build(options != null ? options : new HashIndexOptions(), fields)));
@@ -598,7 +660,7 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     }
 
     protected Request createSkiplistIndexRequest(final Iterable<String> fields, final SkiplistIndexOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_INDEX);
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_INDEX, PATH_API_INDEX);
         request.putQueryParam(COLLECTION_QUERY_PARAM, name);
         request.setBody(
                 util().serialize(OptionsBuilder.build(options != null ? options : new SkiplistIndexOptions(), fields)));
@@ -607,7 +669,7 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
 
     protected Request createPersistentIndexRequest(final Iterable<String> fields,
             final PersistentIndexOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_INDEX);
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_INDEX, PATH_API_INDEX);
         request.putQueryParam(COLLECTION_QUERY_PARAM, name);
         request.setBody(util()
                 .serialize(OptionsBuilder.build(options != null ? options : new PersistentIndexOptions(), fields)));
@@ -615,7 +677,7 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     }
 
     protected Request createGeoIndexRequest(final Iterable<String> fields, final GeoIndexOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_INDEX);
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_INDEX, PATH_API_INDEX);
         request.putQueryParam(COLLECTION_QUERY_PARAM, name);
         request.setBody(
                 util().serialize(OptionsBuilder.build(options != null ? options : new GeoIndexOptions(), fields)));
@@ -623,7 +685,7 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     }
 
     protected Request createFulltextIndexRequest(final Iterable<String> fields, final FulltextIndexOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_INDEX);
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_INDEX, PATH_API_INDEX);
         request.putQueryParam(COLLECTION_QUERY_PARAM, name);
         request.setBody(
                 util().serialize(OptionsBuilder.build(options != null ? options : new FulltextIndexOptions(), fields)));
@@ -632,7 +694,7 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
 
     // Macrometa Corp Modification: Add `createTTLIndexRequest` method.
     protected Request createTTLIndexRequest(final Iterable<String> fields, final TTLIndexOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_INDEX);
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_INDEX, PATH_API_INDEX);
         request.putQueryParam(COLLECTION_QUERY_PARAM, name);
         request.setBody(
                 util().serialize(OptionsBuilder.build(options != null ? options : new TTLIndexOptions(), fields)));
@@ -640,7 +702,7 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     }
 
     protected Request getIndexesRequest() {
-        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_INDEX);
+        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_INDEX, PATH_API_INDEX);
         request.putQueryParam(COLLECTION_QUERY_PARAM, name);
         return request;
     }
@@ -656,69 +718,82 @@ public abstract class InternalC8Collection<A extends InternalC8DB<E>, D extends
     }
 
     protected Request truncateRequest(final CollectionTruncateOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_COLLECTION, name, "truncate");
+        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_COLLECTION + "/{}/truncate",
+                PATH_API_COLLECTION, name,
+                PATH_TRUNCATE);
         final CollectionTruncateOptions params = (options != null ? options : new CollectionTruncateOptions());
         request.putHeaderParam(TRANSACTION_ID, params.getStreamTransactionId());
         return request;
     }
 
     protected Request countRequest(final CollectionCountOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_COLLECTION, name, "count");
+        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_COLLECTION + "/{}/count",
+                PATH_API_COLLECTION, name, PATH_COUNT);
         final CollectionCountOptions params = (options != null ? options : new CollectionCountOptions());
         request.putHeaderParam(TRANSACTION_ID, params.getStreamTransactionId());
         return request;
     }
 
     protected Request dropRequest(final Boolean isSystem) {
-        return request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_COLLECTION, name).putQueryParam("isSystem",
+        return request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_COLLECTION + "/{}", PATH_API_COLLECTION,
+                name).putQueryParam("isSystem",
                 isSystem);
     }
 
     protected Request getInfoRequest() {
-        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_COLLECTION, name);
+        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_COLLECTION + "/{}", PATH_API_COLLECTION, name);
     }
 
     protected Request getPropertiesRequest() {
-        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_COLLECTION, name, "properties");
+        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_COLLECTION + "/{}/properties",
+                PATH_API_COLLECTION, name, PATH_PROPERTIES);
     }
 
     protected Request changePropertiesRequest(final CollectionPropertiesOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_COLLECTION, name,
-                "properties");
+        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_COLLECTION + "/{}/properties",
+                PATH_API_COLLECTION, name,
+                PATH_PROPERTIES);
         request.setBody(util().serialize(options != null ? options : new CollectionPropertiesOptions()));
         return request;
     }
 
     protected Request renameRequest(final String newName) {
-        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_COLLECTION, name, "rename");
+        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_COLLECTION + "/{}/rename",
+                PATH_API_COLLECTION, name,
+                PATH_RENAME);
         request.setBody(util().serialize(OptionsBuilder.build(new CollectionRenameOptions(), newName)));
         return request;
     }
 
     protected <T> Request responsibleShardRequest(final T value) {
-        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_COLLECTION, name,
-                "responsibleShard");
+        final Request request = request(db.tenant(), db.name(), RequestType.PUT,
+                PATH_API_COLLECTION + "/{}/responsibleShard", PATH_API_COLLECTION, name,
+                PATH_RESPONSIBLE_SHARD);
         request.setBody(util(Serializer.CUSTOM).serialize(value));
         return request;
     }
 
     protected Request getRevisionRequest() {
-        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_COLLECTION, name, "revision");
+        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_COLLECTION + "/{}/revision",
+                PATH_API_COLLECTION, name, PATH_REVISION);
     }
 
     protected Request grantAccessRequest(final String user, final Permissions permissions) {
-        return request(null, C8RequestParam.SYSTEM, RequestType.PUT, PATH_API_USER, String.join("." , db.tenant(), user),
+        return request(null, C8RequestParam.SYSTEM, RequestType.PUT, PATH_API_USER + "/{}/database/{}/collection/{}",
+                PATH_API_USER, String.join("." , db.tenant(), user),
                 C8RequestParam.DATABASE, String.join("." ,db.tenant(), db.name()), C8RequestParam.COLLECTION, name)
                         .setBody(util().serialize(OptionsBuilder.build(new UserAccessOptions(), permissions)));
     }
 
     protected Request resetAccessRequest(final String user) {
-        return request(null, C8RequestParam.SYSTEM, RequestType.DELETE, PATH_API_USER, String.join("." , db.tenant(), user),
+        return request(null, C8RequestParam.SYSTEM, RequestType.DELETE, PATH_API_USER + "/{}/database/{}/collection/{}",
+                PATH_API_USER, String.join("." , db.tenant(), user),
                 C8RequestParam.DATABASE, String.join("." ,db.tenant(), db.name()), C8RequestParam.COLLECTION, name);
     }
 
     protected Request getPermissionsRequest(final String user) {
-        return request(null, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_USER, String.join("." , db.tenant(), user),
+        return request(null, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_USER + "/{}/database/{}/collection/{}",
+                PATH_API_USER, String.join("." , db.tenant(), user),
                 C8RequestParam.DATABASE, String.join("." ,db.tenant(), db.name()), C8RequestParam.COLLECTION, name);
     }
 
@@ -29,6 +29,7 @@ public abstract class InternalC8Compute<A extends InternalC8DB<E>, D extends Int
     protected static final String PATH_API_COMPUTE = "/_api/compute";
     protected static final String PATH_API_FX = PATH_API_COMPUTE + "/fx";
     protected static final String METADATA = "metadata";
+    protected static final String PATH_INVOKE = "invoke";
 
     private final D db;
 
@@ -38,7 +39,7 @@ public abstract class InternalC8Compute<A extends InternalC8DB<E>, D extends Int
     }
 
     protected Request getFunctionsRequest(final FxReadOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_FX);
+        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_FX, PATH_API_FX);
         final FxReadOptions params = (options != null ? options : new FxReadOptions());
         request.putQueryParam("type", params.getType().toString().toLowerCase());
         return request;
@@ -56,7 +57,8 @@ public abstract class InternalC8Compute<A extends InternalC8DB<E>, D extends Int
     }
 
     protected Request getInfoRequest(final String name) {
-        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_FX, name);
+        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_FX + "/{}", PATH_API_FX,
+                name);
         return request;
     }
 
@@ -73,7 +75,8 @@ public abstract class InternalC8Compute<A extends InternalC8DB<E>, D extends Int
     }
 
     protected Request getMetadataRequest() {
-        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_FX, METADATA);
+        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_FX + "/metadata", PATH_API_FX,
+                METADATA);
         return request;
     }
 
@@ -90,7 +93,9 @@ public abstract class InternalC8Compute<A extends InternalC8DB<E>, D extends Int
 
     protected Request executeFunctionRequest(String name, Map<String, Object> arguments) {
         final VPackSlice body = util().serialize(arguments);
-        final Request request = request(db.tenant(), db.name(), RequestType.POST, false, PATH_API_FX, "invoke", name);
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, false, PATH_API_FX + "/invoke/{}",
+                PATH_API_FX, PATH_INVOKE,
+                name);
         request.putQueryParam("params", body.toString());
         return request;
     }
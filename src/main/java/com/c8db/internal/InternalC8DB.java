@@ -43,13 +43,16 @@ public abstract class InternalC8DB<E extends C8Executor> extends C8Executeable<E
     private static final String PATH_API_ADMIN_LOG = "/_admin/log";
     private static final String PATH_API_ADMIN_LOG_LEVEL = "/_admin/log/level";
     private static final String PATH_API_ROLE = "/_admin/server/role";
+    private static final String PATH_ALL = "all";
+    private static final String PATH_LOCAL = "local";
 
     protected InternalC8DB(final E executor, final C8SerializationFactory util, final C8Context context) {
         super(executor, util, context);
     }
 
     protected Request getRoleRequest() {
-        return request(C8RequestParam.DEMO_TENANT, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_ROLE);
+        return request(C8RequestParam.DEMO_TENANT, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_ROLE,
+                PATH_API_ROLE);
     }
 
     protected ResponseDeserializer<ServerRole> getRoleResponseDeserializer() {
@@ -62,7 +65,8 @@ public abstract class InternalC8DB<E extends C8Executor> extends C8Executeable<E
     }
 
     protected Request createGeoFabricRequest(final String tenant, final String name, final String spotDc, final String dcList, String geoFabric) {
-        final Request request = request(tenant, name, RequestType.POST, InternalC8Database.PATH_API_DATABASE);
+        final Request request = request(tenant, name, RequestType.POST, InternalC8Database.PATH_API_DATABASE,
+                InternalC8Database.PATH_API_DATABASE);
         request.setBody(util().serialize(OptionsBuilder.build(new DBCreateOptions(), tenant, geoFabric, spotDc, dcList)));
         return request;
     }
@@ -77,7 +81,8 @@ public abstract class InternalC8DB<E extends C8Executor> extends C8Executeable<E
     }
 
     protected Request getGeoFabricsRequest(final String tenant, final String database) {
-        return request(tenant, database, RequestType.GET, InternalC8Database.PATH_API_DATABASE);
+        return request(tenant, database, RequestType.GET, InternalC8Database.PATH_API_DATABASE,
+                InternalC8Database.PATH_API_DATABASE);
     }
 
     protected ResponseDeserializer<Collection<String>> getGeoFabricsResponseDeserializer() {
@@ -92,7 +97,8 @@ public abstract class InternalC8DB<E extends C8Executor> extends C8Executeable<E
     }
 
     protected Request getAccessibleGeoFabricsForRequest(final String tenant, String fabric, final String user, boolean full) {
-        final Request request = request(tenant, fabric, RequestType.GET, PATH_API_USER, user, C8RequestParam.DATABASE);
+        final Request request = request(tenant, fabric, RequestType.GET, PATH_API_USER + "/{}/database", PATH_API_USER,
+                user, C8RequestParam.DATABASE);
         request.putQueryParam(QUERY_PARAM_FULL, full);
         return request;
     }
@@ -114,7 +120,8 @@ public abstract class InternalC8DB<E extends C8Executor> extends C8Executeable<E
 
     protected Request updateDCListRequest(final String tenant, final String name, final String dcList) {
         final Request request = request(tenant, C8RequestParam.SYSTEM, RequestType.POST,
-                InternalC8Database.PATH_API_DATABASE, name, InternalC8Database.PATH_API_DCLIST);
+                InternalC8Database.PATH_API_DATABASE + "/{}/datacenter", InternalC8Database.PATH_API_DATABASE, name,
+                InternalC8Database.PATH_API_DCLIST);
         request.setBody(util().serialize(OptionsBuilder.build(new DCListOptions(), dcList)));
         return request;
     }
@@ -129,7 +136,8 @@ public abstract class InternalC8DB<E extends C8Executor> extends C8Executeable<E
     }
 
     protected Request getGeoFabricInfoRequest(final String tenant, final String name) {
-        return request(tenant, name, RequestType.GET, InternalC8Database.PATH_API_DATABASE, "current");
+        return request(tenant, name, RequestType.GET, InternalC8Database.PATH_API_DATABASE + "/current",
+                InternalC8Database.PATH_API_DATABASE, InternalC8Database.PATH_CURRENT);
     }
 
     protected ResponseDeserializer<GeoFabricEntity> getGeoFabricInfoResponseDeserializer() {
@@ -142,7 +150,8 @@ public abstract class InternalC8DB<E extends C8Executor> extends C8Executeable<E
     }
 
     protected Request updateSpotDcRequest(final String tenant, final String name, final String spotDc) {
-        return request(tenant, name, RequestType.PUT, InternalC8Database.PATH_API_DATABASE, spotDc);
+        return request(tenant, name, RequestType.PUT, InternalC8Database.PATH_API_DATABASE + "/{}",
+                InternalC8Database.PATH_API_DATABASE, spotDc);
     }
 
     protected ResponseDeserializer<Boolean> updateSpotDcResponseDeserializer() {
@@ -155,8 +164,8 @@ public abstract class InternalC8DB<E extends C8Executor> extends C8Executeable<E
     }
 
     protected Request getEdgeLocationsRequest(final String tenant) {
-        return request(null, null, RequestType.GET, InternalC8Database.PATH_API_DCLIST,
-                InternalC8Database.PATH_API_TENANT, tenant);
+        return request(null, null, RequestType.GET, InternalC8Database.PATH_API_DCLIST + "/_tenant/{}",
+                InternalC8Database.PATH_API_DCLIST, InternalC8Database.PATH_API_TENANT, tenant);
     }
 
     protected ResponseDeserializer<List<DataCenterEntity>> getEdgeLocationsResponseDeserializer() {
@@ -170,7 +179,8 @@ public abstract class InternalC8DB<E extends C8Executor> extends C8Executeable<E
     }
 
     protected Request getAllEdgeLocationsRequest() {
-        return request(null, null, RequestType.GET, InternalC8Database.PATH_API_DCLIST, "all");
+        return request(null, null, RequestType.GET, InternalC8Database.PATH_API_DCLIST + "/all",
+                InternalC8Database.PATH_API_DCLIST, PATH_ALL);
     }
 
     protected ResponseDeserializer<List<DcInfoEntity>> getAllEdgeLocationsResponseDeserializer() {
@@ -184,7 +194,8 @@ public abstract class InternalC8DB<E extends C8Executor> extends C8Executeable<E
     }
 
     protected Request getLocalEdgeLocationRequest() {
-        return request(null, null, RequestType.GET, InternalC8Database.PATH_API_DCLIST, "local");
+        return request(null, null, RequestType.GET, InternalC8Database.PATH_API_DCLIST + "/local",
+                InternalC8Database.PATH_API_DCLIST, PATH_LOCAL);
     }
 
     protected ResponseDeserializer<DcInfoEntity> getLocalEdgeLocationResponseDeserializer() {
@@ -197,7 +208,8 @@ public abstract class InternalC8DB<E extends C8Executor> extends C8Executeable<E
     }
 
     protected Request getEdgeLocationRequest(final String dcName) {
-        return request(null, null, RequestType.GET, InternalC8Database.PATH_API_DCLIST, dcName);
+        return request(null, null, RequestType.GET, InternalC8Database.PATH_API_DCLIST + "/{}",
+                InternalC8Database.PATH_API_DCLIST, dcName);
     }
 
     protected ResponseDeserializer<DcInfoEntity> getEdgeLocationResponseDeserializer() {
@@ -210,7 +222,8 @@ public abstract class InternalC8DB<E extends C8Executor> extends C8Executeable<E
     }
 
     protected Request updateSpotStatusRequest(final String dcName, final boolean isSpot) {
-        return request(null, null, RequestType.PUT, InternalC8Database.PATH_API_DCLIST, dcName,
+        return request(null, null, RequestType.PUT, InternalC8Database.PATH_API_DCLIST + "/{}/{}",
+                InternalC8Database.PATH_API_DCLIST, dcName,
                 String.valueOf(isSpot));
     }
 
@@ -226,22 +239,22 @@ public abstract class InternalC8DB<E extends C8Executor> extends C8Executeable<E
     protected Request createUserRequest(final String tenant, final String database, final String user,
             final String passwd, final String email, final UserCreateOptions options) {
         final Request request;
-        request = request(tenant, database, RequestType.POST, PATH_API_USER);
+        request = request(tenant, database, RequestType.POST, PATH_API_USER, PATH_API_USER);
         request.setBody(util()
                 .serialize(OptionsBuilder.build(options != null ? options : new UserCreateOptions(), user, passwd, email)));
         return request;
     }
 
     protected Request deleteUserRequest(final String tenant, final String database, final String user) {
-        return request(tenant, database, RequestType.DELETE, PATH_API_USER, user);
+        return request(tenant, database, RequestType.DELETE, PATH_API_USER + "/{}", PATH_API_USER, user);
     }
 
     protected Request getUsersRequest(final String tenant, final String database) {
-        return request(tenant, database, RequestType.GET, PATH_API_USER);
+        return request(tenant, database, RequestType.GET, PATH_API_USER, PATH_API_USER);
     }
 
     protected Request getUserRequest(final String tenant, final String database, final String user) {
-        return request(tenant, database, RequestType.GET, PATH_API_USER, user);
+        return request(tenant, database, RequestType.GET, PATH_API_USER + "/{}", PATH_API_USER, user);
     }
 
     protected ResponseDeserializer<Collection<UserEntity>> getUsersResponseDeserializer() {
@@ -258,7 +271,7 @@ public abstract class InternalC8DB<E extends C8Executor> extends C8Executeable<E
     protected Request updateUserRequest(final String tenant, final String database, final String user,
             final UserUpdateOptions options) {
         final Request request;
-        request = request(tenant, database, RequestType.PATCH, PATH_API_USER, user);
+        request = request(tenant, database, RequestType.PATCH, PATH_API_USER + "/{}", PATH_API_USER, user);
         request.setBody(util().serialize(options != null ? options : new UserUpdateOptions()));
         return request;
     }
@@ -266,24 +279,27 @@ public abstract class InternalC8DB<E extends C8Executor> extends C8Executeable<E
     protected Request replaceUserRequest(final String tenant, final String database, final String user,
             final UserUpdateOptions options) {
         final Request request;
-        request = request(tenant, database, RequestType.PUT, PATH_API_USER, user);
+        request = request(tenant, database, RequestType.PUT, PATH_API_USER + "/{}", PATH_API_USER, user);
         request.setBody(util().serialize(options != null ? options : new UserUpdateOptions()));
         return request;
     }
 
     protected Request updateUserDefaultDatabaseAccessRequest(final String user, final Permissions permissions) {
-        return request(C8RequestParam.DEMO_TENANT, C8RequestParam.SYSTEM, RequestType.PUT, PATH_API_USER, user, C8RequestParam.DATABASE,
+        return request(C8RequestParam.DEMO_TENANT, C8RequestParam.SYSTEM, RequestType.PUT,
+                PATH_API_USER + "/{}/database/*", PATH_API_USER, user, C8RequestParam.DATABASE,
                 "*").setBody(util().serialize(OptionsBuilder.build(new UserAccessOptions(), permissions)));
     }
 
     protected Request updateUserDefaultCollectionAccessRequest(final String user, final Permissions permissions) {
-        return request(C8RequestParam.DEMO_TENANT, C8RequestParam.SYSTEM, RequestType.PUT, PATH_API_USER, user, C8RequestParam.DATABASE,
+        return request(C8RequestParam.DEMO_TENANT, C8RequestParam.SYSTEM, RequestType.PUT,
+                PATH_API_USER + "/{}/database/*/*", PATH_API_USER, user, C8RequestParam.DATABASE,
             "*", "*").setBody(util().serialize(OptionsBuilder.build(new UserAccessOptions(), permissions)));
     }
 
     protected Request getLogsRequest(final LogOptions options) {
         final LogOptions params = options != null ? options : new LogOptions();
-        return request(C8RequestParam.DEMO_TENANT, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_ADMIN_LOG)
+        return request(C8RequestParam.DEMO_TENANT, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_ADMIN_LOG,
+                PATH_API_ADMIN_LOG)
                 .putQueryParam(LogOptions.PROPERTY_UPTO, params.getUpto())
                 .putQueryParam(LogOptions.PROPERTY_LEVEL, params.getLevel())
                 .putQueryParam(LogOptions.PROPERTY_START, params.getStart())
@@ -294,11 +310,13 @@ public abstract class InternalC8DB<E extends C8Executor> extends C8Executeable<E
     }
 
     protected Request getLogLevelRequest() {
-        return request(C8RequestParam.DEMO_TENANT, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_ADMIN_LOG_LEVEL);
+        return request(C8RequestParam.DEMO_TENANT, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_ADMIN_LOG_LEVEL,
+                PATH_API_ADMIN_LOG_LEVEL);
     }
 
     protected Request setLogLevelRequest(final LogLevelEntity entity) {
-        return request(C8RequestParam.DEMO_TENANT, C8RequestParam.SYSTEM, RequestType.PUT, PATH_API_ADMIN_LOG_LEVEL)
+        return request(C8RequestParam.DEMO_TENANT, C8RequestParam.SYSTEM, RequestType.PUT, PATH_API_ADMIN_LOG_LEVEL,
+                PATH_API_ADMIN_LOG_LEVEL)
                 .setBody(util().serialize(entity));
     }
 
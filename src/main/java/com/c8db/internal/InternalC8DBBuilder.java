@@ -22,8 +22,11 @@ import com.arangodb.velocypack.VPack;
 import com.arangodb.velocypack.VPackParser;
 import com.c8db.C8DB;
 import com.c8db.C8DBException;
+import com.c8db.MetricsListener;
+import com.c8db.RetryPolicy;
 import com.c8db.SecretProvider;
 import com.c8db.Service;
+import com.c8db.VelocyJack;
 import com.c8db.entity.LoadBalancingStrategy;
 import com.c8db.internal.net.ConnectionFactory;
 import com.c8db.internal.net.DirtyReadHostHandler;
@@ -33,10 +36,13 @@ import com.c8db.internal.net.Host;
 import com.c8db.internal.net.HostDescription;
 import com.c8db.internal.net.HostHandler;
 import com.c8db.internal.net.HostResolver;
+import com.c8db.internal.net.LeastLatencyHostHandler;
 import com.c8db.internal.net.RandomHostHandler;
 import com.c8db.internal.net.RoundRobinHostHandler;
 import com.c8db.internal.net.SimpleHostResolver;
+import com.c8db.internal.util.DriverExecutor;
 import com.c8db.internal.util.HostUtils;
+import com.c8db.internal.velocypack.VPackCodecs;
 import com.c8db.internal.velocypack.VPackDriverModule;
 import com.c8db.util.C8Deserializer;
 import com.c8db.util.C8Serialization;
@@ -54,6 +60,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Executor;
 
 /**
  *
@@ -99,7 +106,10 @@ public abstract class InternalC8DBBuilder {
     protected Integer chunksize;
     protected Integer maxConnections;
     protected Long connectionTtl;
+    protected Long connectionMaxIdleTime;
+    protected Integer connectionValidateAfterInactivity;
     protected final VPack.Builder vpackBuilder;
+    protected final VPackCodecs.Setup vpackSetup;
     protected final VPackParser.Builder vpackParserBuilder;
     protected C8Serializer serializer;
     protected C8Deserializer deserializer;
@@ -109,12 +119,19 @@ public abstract class InternalC8DBBuilder {
     protected C8Serialization customSerializer;
     protected String apiKey;
     protected SecretProvider secretProvider;
+    protected RetryPolicy retryPolicy;
+    protected boolean customJsonParsing;
+    protected Boolean precompiledCodecs;
+    protected Boolean jsonNative;
+    protected MetricsListener metrics;
+    protected Executor executor;
 
     public InternalC8DBBuilder() {
         super();
         vpackBuilder = new VPack.Builder();
+        vpackSetup = new VPackCodecs.Setup(vpackBuilder);
         vpackParserBuilder = new VPackParser.Builder();
-        vpackBuilder.registerModule(new VPackDriverModule());
+        vpackSetup.registerModule(new VPackDriverModule());
         vpackParserBuilder.registerModule(new VPackDriverModule());
         host = new HostDescription(C8Defaults.DEFAULT_HOST, C8Defaults.DEFAULT_PORT);
         hosts = new HashMap<>();
@@ -220,6 +237,14 @@ public abstract class InternalC8DBBuilder {
         this.connectionTtl = connectionTtl;
     }
 
+    protected void setConnectionMaxIdleTime(final Long connectionMaxIdleTime) {
+        this.connectionMaxIdleTime = connectionMaxIdleTime;
+    }
+
+    protected void setConnectionValidateAfterInactivity(final Integer connectionValidateAfterInactivity) {
+        this.connectionValidateAfterInactivity = connectionValidateAfterInactivity;
+    }
+
     protected void setAcquireHostList(final Boolean acquireHostList) {
         this.acquireHostList = acquireHostList;
     }
@@ -236,6 +261,31 @@ public abstract class InternalC8DBBuilder {
         this.secretProvider = secretProvider;
     }
 
+    protected void setRetryPolicy(final RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    protected void setPrecompiledCodecs(final Boolean precompiledCodecs) {
+        this.precompiledCodecs = precompiledCodecs;
+    }
+
+    protected void setJsonNative(final Boolean jsonNative) {
+        this.jsonNative = jsonNative;
+    }
+
+    protected void setMetrics(final MetricsListener metrics) {
+        this.metrics = metrics;
+    }
+
+    protected void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
+
+    protected C8Context createContext() {
+        return new C8Context().setMetrics(metrics)
+                .setExecutor(executor != null ? executor : new DriverExecutor());
+    }
+
     protected void serializer(final C8Serializer serializer) {
         this.serializer = serializer;
     }
@@ -260,6 +310,9 @@ public abstract class InternalC8DBBuilder {
                 case ROUND_ROBIN:
                     hostHandler = new RoundRobinHostHandler(hostResolver, service);
                     break;
+                case LEAST_LATENCY:
+                    hostHandler = new LeastLatencyHostHandler(hostResolver, service);
+                    break;
                 case NONE:
                 default:
                     hostHandler = new FallbackHostHandler(hostResolver, service);
@@ -282,6 +335,15 @@ public abstract class InternalC8DBBuilder {
         this.customSerializer = serializer;
     }
 
+    /**
+     * JSON responses can only be decoded without the configured serialization if it does not customize the
+     * JSON to VelocyPack conversion.
+     */
+    protected boolean isJsonStreamingSupported() {
+        return !customJsonParsing && serializer == null
+                && (customSerializer == null || customSerializer instanceof VelocyJack);
+    }
+
     protected HostResolver createHostResolver(final Map<Service, Collection<Host>> hostsMatrix, final int maxConnections,
                                               final ConnectionFactory connectionFactory) {
 
@@ -22,8 +22,10 @@ package com.c8db.internal;
 import com.arangodb.velocypack.Type;
 import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.exception.VPackException;
+import com.c8db.MetricsListener;
 import com.c8db.entity.C8StreamEntity;
 import com.c8db.entity.CollectionEntity;
+import com.c8db.entity.CursorEntity;
 import com.c8db.entity.DatabaseEntity;
 import com.c8db.entity.EdgeDefinition;
 import com.c8db.entity.GeoFabricPermissions;
@@ -87,6 +89,12 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     // TODO: doesnt exist in API Reference. Should it be removed?
     protected static final String PATH_API_QUERY_PROPERTIES = "/query/properties";
     protected static final String PATH_API_USER_QUERIES = "/_api/restql";
+    protected static final String PATH_USER = "user";
+    protected static final String PATH_CURRENT = "current";
+    protected static final String PATH_CLEAR_BACKLOG = "clearbacklog";
+    protected static final String PATH_TTL = "ttl";
+    protected static final String PATH_SUBSCRIPTION = "subscription";
+    protected static final String PATH_EXECUTE = "execute";
 
     protected static final String QUERY_PARAM_GLOBAL = "global";
     protected static final String QUERY_PARAM_FULL = "full";
@@ -140,11 +148,11 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request getAccessibleDatabasesRequest() {
-        return request(tenant, name, RequestType.GET, PATH_API_DATABASE, "user");
+        return request(tenant, name, RequestType.GET, PATH_API_DATABASE + "/user", PATH_API_DATABASE, PATH_USER);
     }
 
     protected Request getVersionRequest() {
-        return request(tenant, name, RequestType.GET, PATH_API_VERSION);
+        return request(tenant, name, RequestType.GET, PATH_API_VERSION, PATH_API_VERSION);
     }
 
     protected Request createCollectionRequest(final String name, final CollectionCreateOptions options) {
@@ -152,12 +160,14 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
         VPackSlice body = util()
                 .serialize(OptionsBuilder.build(options != null ? options : new CollectionCreateOptions(), name));
 
-        return request(tenant(), name(), RequestType.POST, InternalC8Collection.PATH_API_COLLECTION).setBody(body);
+        return request(tenant(), name(), RequestType.POST, InternalC8Collection.PATH_API_COLLECTION,
+                InternalC8Collection.PATH_API_COLLECTION).setBody(body);
     }
 
     protected Request getCollectionsRequest(final CollectionsReadOptions options) {
         final Request request;
-        request = request(tenant(), name(), RequestType.GET, InternalC8Collection.PATH_API_COLLECTION);
+        request = request(tenant(), name(), RequestType.GET, InternalC8Collection.PATH_API_COLLECTION,
+                InternalC8Collection.PATH_API_COLLECTION);
         final CollectionsReadOptions params = (options != null ? options : new CollectionsReadOptions());
         request.putQueryParam("excludeSystem", params.getExcludeSystem());
         return request;
@@ -175,8 +185,8 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request dropRequest() {
-        return request(C8RequestParam.DEMO_TENANT, C8RequestParam.SYSTEM, RequestType.DELETE, PATH_API_DATABASE,
-                name);
+        return request(C8RequestParam.DEMO_TENANT, C8RequestParam.SYSTEM, RequestType.DELETE, PATH_API_DATABASE + "/{}",
+                PATH_API_DATABASE, name);
     }
 
     protected ResponseDeserializer<Boolean> createDropResponseDeserializer() {
@@ -189,18 +199,21 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request grantAccessRequest(final String user, final Permissions permissions) {
-        return request(null, C8RequestParam.SYSTEM, RequestType.PUT, PATH_API_USER, String.join("." , tenant, user),
+        return request(null, C8RequestParam.SYSTEM, RequestType.PUT, PATH_API_USER + "/{}/database/{}", PATH_API_USER,
+                String.join("." , tenant, user),
                 C8RequestParam.DATABASE, String.join("." , tenant, name))
                 .setBody(util().serialize(OptionsBuilder.build(new UserAccessOptions(), permissions)));
     }
 
     protected Request resetAccessRequest(final String user) {
-        return request(null, C8RequestParam.SYSTEM, RequestType.DELETE, PATH_API_USER,
+        return request(null, C8RequestParam.SYSTEM, RequestType.DELETE, PATH_API_USER + "/{}/database/{}",
+                PATH_API_USER,
             String.join("." , tenant, user), C8RequestParam.DATABASE, String.join("." , tenant, name));
     }
 
     protected Request getPermissionsRequest(final String user) {
-        return request(null, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_USER, String.join("." , tenant, user),
+        return request(null, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_USER + "/{}/database/{}", PATH_API_USER,
+                String.join("." , tenant, user),
                 C8RequestParam.DATABASE, String.join("." , tenant, name));
     }
 
@@ -221,19 +234,22 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request getResourcesRequest(final String user, boolean full) {
-        final Request request = request(null, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_USER,
+        final Request request = request(null, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_USER + "/{}/database",
+                PATH_API_USER,
             String.join("." , tenant, user), C8RequestParam.DATABASE);
         request.putQueryParam(QUERY_PARAM_FULL, full);
         return request;
     }
 
     protected Request getUserStreamPermissionsRequest(final String user, final String database, final String stream) {
-        return request(null, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_USER, String.join("." , tenant, user),
+        return request(null, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_USER + "/{}/database/{}/stream/{}",
+                PATH_API_USER, String.join("." , tenant, user),
             C8RequestParam.DATABASE, String.join("." , tenant, database), C8RequestParam.STREAM, stream);
     }
 
     protected Request getUserStreamsAccessRequest(final String user, final String database, boolean full) {
-        Request request = request(null, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_USER, String.join("." , tenant, user),
+        Request request = request(null, C8RequestParam.SYSTEM, RequestType.GET,
+                PATH_API_USER + "/{}/database/{}/stream", PATH_API_USER, String.join("." , tenant, user),
             C8RequestParam.DATABASE, String.join("." , tenant, database), C8RequestParam.STREAM);
         if (full) {
             request.putQueryParam(QUERY_PARAM_FULL, true);
@@ -252,7 +268,8 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request getUserPermissionsRequest(final String user, final String database) {
-        return request(null, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_USER, String.join("." , tenant, user),
+        return request(null, C8RequestParam.SYSTEM, RequestType.GET, PATH_API_USER + "/{}/database/{}", PATH_API_USER,
+                String.join("." , tenant, user),
             C8RequestParam.DATABASE, String.join("." , tenant, database));
     }
 
@@ -281,7 +298,7 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
                                    final C8qlQueryOptions options) {
         final C8qlQueryOptions opt = options != null ? options : new C8qlQueryOptions();
         final Request request = request(tenant, name, RequestType.POST,
-                PATH_API_CURSOR)
+                PATH_API_CURSOR, PATH_API_CURSOR)
                 .setBody(
                         util().serialize(
                                 OptionsBuilder
@@ -295,14 +312,27 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
         return request;
     }
 
+    /**
+     * Reports a batch of a query result to the metrics.
+     */
+    protected CursorEntity recordBatch(final CursorEntity batch) {
+        final MetricsListener metrics = context.getMetrics();
+        if (metrics != null && batch != null) {
+            final VPackSlice result = batch.getResult();
+            metrics.onCursorBatch(result != null && result.isArray() ? result.size() : 0,
+                Boolean.TRUE.equals(batch.getHasMore()));
+        }
+        return batch;
+    }
+
     protected Request queryNextRequest(final String id, Map<String, String> meta) {
-        final Request request = request(tenant, name, RequestType.PUT, PATH_API_CURSOR, id);
+        final Request request = request(tenant, name, RequestType.PUT, PATH_API_CURSOR + "/{}", PATH_API_CURSOR, id);
         return request;
     }
 
     protected Request queryCloseRequest(final String id, Map<String, String> meta) {
 
-        final Request request = request(tenant, name, RequestType.DELETE, PATH_API_CURSOR, id);
+        final Request request = request(tenant, name, RequestType.DELETE, PATH_API_CURSOR + "/{}", PATH_API_CURSOR, id);
 
         if (meta != null) {
             request.getHeaderParam().putAll(meta);
@@ -312,12 +342,12 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request parseQueryRequest(final String query) {
-        return request(tenant, name, RequestType.POST, PATH_API_QUERY)
+        return request(tenant, name, RequestType.POST, PATH_API_QUERY, PATH_API_QUERY)
                 .setBody(util().serialize(OptionsBuilder.build(new C8qlQueryParseOptions(), query)));
     }
 
     protected Request getCurrentlyRunningQueriesRequest() {
-        return request(tenant, name, RequestType.GET, PATH_API_QUERY_CURRENT);
+        return request(tenant, name, RequestType.GET, PATH_API_QUERY_CURRENT, PATH_API_QUERY_CURRENT);
     }
 
     protected Request explainQueryRequest(final String query, final Map<String, Object> bindVars,
@@ -325,7 +355,7 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
 
         final C8qlQueryExplainOptions opt = options != null ? options : new C8qlQueryExplainOptions();
 
-        return request(tenant, name, RequestType.POST, PATH_API_QUERY,
+        return request(tenant, name, RequestType.POST, PATH_API_QUERY + "/explain", PATH_API_QUERY,
                 PATH_API_EXPLAIN)
                 .setBody(
                         util().serialize(
@@ -340,28 +370,30 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request getQueryTrackingPropertiesRequest() {
-        return request(tenant, name, RequestType.GET, PATH_API_QUERY_PROPERTIES);
+        return request(tenant, name, RequestType.GET, PATH_API_QUERY_PROPERTIES, PATH_API_QUERY_PROPERTIES);
     }
 
     protected Request setQueryTrackingPropertiesRequest(final QueryTrackingPropertiesEntity properties) {
-        return request(tenant, name, RequestType.PUT, PATH_API_QUERY_PROPERTIES).setBody(util().serialize(properties));
+        return request(tenant, name, RequestType.PUT, PATH_API_QUERY_PROPERTIES,
+                PATH_API_QUERY_PROPERTIES).setBody(util().serialize(properties));
     }
 
     protected Request clearSlowQueriesRequest() {
-        return request(tenant, name, RequestType.DELETE, PATH_API_QUERY_SLOW);
+        return request(tenant, name, RequestType.DELETE, PATH_API_QUERY_SLOW, PATH_API_QUERY_SLOW);
     }
 
     protected Request getSlowQueriesRequest() {
-        return request(tenant, name, RequestType.GET, PATH_API_QUERY_SLOW);
+        return request(tenant, name, RequestType.GET, PATH_API_QUERY_SLOW, PATH_API_QUERY_SLOW);
     }
 
     protected Request killQueryRequest(final String id) {
-        return request(tenant, name, RequestType.DELETE, PATH_API_QUERY, id);
+        return request(tenant, name, RequestType.DELETE, PATH_API_QUERY + "/{}", PATH_API_QUERY, id);
     }
 
     protected Request createGraphRequest(final String name, final Collection<EdgeDefinition> edgeDefinitions,
                                          final GraphCreateOptions options) {
-        return request(tenant(), name(), RequestType.POST, InternalC8Graph.PATH_API_GHARIAL).setBody(util().serialize(
+        return request(tenant(), name(), RequestType.POST, InternalC8Graph.PATH_API_GHARIAL,
+                InternalC8Graph.PATH_API_GHARIAL).setBody(util().serialize(
                 OptionsBuilder.build(options != null ? options : new GraphCreateOptions(), name, edgeDefinitions)));
     }
 
@@ -375,7 +407,8 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request getGraphsRequest() {
-        return request(tenant, name, RequestType.GET, InternalC8Graph.PATH_API_GHARIAL);
+        return request(tenant, name, RequestType.GET, InternalC8Graph.PATH_API_GHARIAL,
+                InternalC8Graph.PATH_API_GHARIAL);
     }
 
     protected ResponseDeserializer<Collection<GraphEntity>> getGraphsResponseDeserializer() {
@@ -389,7 +422,7 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request transactionRequest(final String action, final C8TransactionOptions options) {
-        return request(tenant, name, RequestType.POST, PATH_API_TRANSACTION).setBody(
+        return request(tenant, name, RequestType.POST, PATH_API_TRANSACTION, PATH_API_TRANSACTION).setBody(
                 util().serialize(OptionsBuilder.build(options != null ? options : new C8TransactionOptions(), action)));
     }
 
@@ -410,20 +443,21 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request beginStreamTransactionRequest(final StreamTransactionOptions options) {
-        return request(tenant, name, RequestType.POST, PATH_API_BEGIN_STREAM_TRANSACTION)
+        return request(tenant, name, RequestType.POST, PATH_API_BEGIN_STREAM_TRANSACTION,
+                PATH_API_BEGIN_STREAM_TRANSACTION)
                 .setBody(util().serialize(options != null ? options : new StreamTransactionOptions()));
     }
 
     protected Request abortStreamTransactionRequest(String id) {
-        return request(tenant, name, RequestType.DELETE, PATH_API_TRANSACTION, id);
+        return request(tenant, name, RequestType.DELETE, PATH_API_TRANSACTION + "/{}", PATH_API_TRANSACTION, id);
     }
 
     protected Request getStreamTransactionsRequest() {
-        return request(tenant, name, RequestType.GET, PATH_API_TRANSACTION);
+        return request(tenant, name, RequestType.GET, PATH_API_TRANSACTION, PATH_API_TRANSACTION);
     }
 
     protected Request getStreamTransactionRequest(String id) {
-        return request(tenant, name, RequestType.GET, PATH_API_TRANSACTION, id);
+        return request(tenant, name, RequestType.GET, PATH_API_TRANSACTION + "/{}", PATH_API_TRANSACTION, id);
     }
 
     protected ResponseDeserializer<Collection<TransactionEntity>> transactionsResponseDeserializer() {
@@ -438,7 +472,7 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request commitStreamTransactionRequest(String id) {
-        return request(tenant, name, RequestType.PUT, PATH_API_TRANSACTION, id);
+        return request(tenant, name, RequestType.PUT, PATH_API_TRANSACTION + "/{}", PATH_API_TRANSACTION, id);
     }
 
     protected ResponseDeserializer<StreamTransactionEntity> streamTransactionResponseDeserializer() {
@@ -452,7 +486,7 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request getInfoRequest() {
-        return request(tenant, name, RequestType.GET, PATH_API_DATABASE, "current");
+        return request(tenant, name, RequestType.GET, PATH_API_DATABASE + "/current", PATH_API_DATABASE, PATH_CURRENT);
     }
 
     protected ResponseDeserializer<DatabaseEntity> getInfoResponseDeserializer() {
@@ -465,7 +499,7 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request executeTraversalRequest(final TraversalOptions options) {
-        return request(tenant, name, RequestType.POST, PATH_API_TRAVERSAL)
+        return request(tenant, name, RequestType.POST, PATH_API_TRAVERSAL, PATH_API_TRAVERSAL)
                 .setBody(util().serialize(options != null ? options : new C8TransactionOptions()));
     }
 
@@ -514,13 +548,13 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request createC8PersistentStreamRequest(final String name, final C8StreamCreateOptions options) {
-        Request request = request(tenant(), name(), RequestType.POST, PATH_API_STREAMS, name);
+        Request request = request(tenant(), name(), RequestType.POST, PATH_API_STREAMS + "/{}", PATH_API_STREAMS, name);
         request.putQueryParam(QUERY_PARAM_GLOBAL, options == null || !options.getIsLocal());
         return request;
     }
 
     protected Request getC8PersistentStreamsRequest(final C8StreamCreateOptions options) {
-        Request request = request(tenant(), name(), RequestType.GET, PATH_API_STREAMS);
+        Request request = request(tenant(), name(), RequestType.GET, PATH_API_STREAMS, PATH_API_STREAMS);
         request.putQueryParam(QUERY_PARAM_GLOBAL, options == null || !options.getIsLocal());
         return request;
     }
@@ -547,11 +581,12 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request getC8StreamsRequest() {
-        return request(tenant(), name(), RequestType.GET, PATH_API_STREAMS);
+        return request(tenant(), name(), RequestType.GET, PATH_API_STREAMS, PATH_API_STREAMS);
     }
 
     protected Request clearC8StreamBacklogRequest(final boolean isLocal) {
-        Request request = request(tenant(), name(), RequestType.POST, PATH_API_STREAMS, "clearbacklog");
+        Request request = request(tenant(), name(), RequestType.POST, PATH_API_STREAMS + "/clearbacklog",
+                PATH_API_STREAMS, PATH_CLEAR_BACKLOG);
         if (isLocal) {
             request.putQueryParam(QUERY_PARAM_GLOBAL, !isLocal);
         }
@@ -559,7 +594,8 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request getC8StreamTtlRequest(final boolean isLocal) {
-        Request request = request(tenant(), name(), RequestType.GET, PATH_API_STREAMS, "ttl");
+        Request request = request(tenant(), name(), RequestType.GET, PATH_API_STREAMS + "/ttl", PATH_API_STREAMS,
+                PATH_TTL);
         if (isLocal) {
             request.putQueryParam(QUERY_PARAM_GLOBAL, !isLocal);
         }
@@ -577,7 +613,8 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request c8StreamTtlRequest(final int ttl, final boolean isLocal) {
-        Request request = request(tenant(), name(), RequestType.POST, PATH_API_STREAMS, "ttl", Integer.toString(ttl));
+        Request request = request(tenant(), name(), RequestType.POST, PATH_API_STREAMS + "/ttl/{}", PATH_API_STREAMS,
+                PATH_TTL, Integer.toString(ttl));
         if (isLocal) {
             request.putQueryParam(QUERY_PARAM_GLOBAL, !isLocal);
         }
@@ -585,7 +622,9 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request clearC8StreamBacklogRequest(final String subscriptionName, final boolean isLocal) {
-        Request request = request(tenant(), name(), RequestType.POST, PATH_API_STREAMS, "clearbacklog", subscriptionName);
+        Request request = request(tenant(), name(), RequestType.POST, PATH_API_STREAMS + "/clearbacklog/{}",
+                PATH_API_STREAMS, PATH_CLEAR_BACKLOG,
+                subscriptionName);
         if (isLocal) {
             request.putQueryParam(QUERY_PARAM_GLOBAL, !isLocal);
         }
@@ -593,7 +632,9 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
     }
 
     protected Request unsubscribeRequest(final String subscriptionName, final boolean isLocal) {
-        Request request = request(tenant(), name(), RequestType.DELETE, PATH_API_STREAMS, "subscription", subscriptionName);
+        Request request = request(tenant(), name(), RequestType.DELETE, PATH_API_STREAMS + "/subscription/{}",
+                PATH_API_STREAMS, PATH_SUBSCRIPTION,
+                subscriptionName);
         if (isLocal) {
             request.putQueryParam(QUERY_PARAM_GLOBAL, !isLocal);
         }
@@ -602,7 +643,7 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
 
     // Macrometa Corp Modification: Add `user` as a parameter.
     protected Request createUserQueryRequest(UserQueryOptions options, String user) {
-        Request request = request(tenant(), name(), RequestType.POST, PATH_API_USER_QUERIES);
+        Request request = request(tenant(), name(), RequestType.POST, PATH_API_USER_QUERIES, PATH_API_USER_QUERIES);
         request.setBody(util().serialize(new UserQuery(options != null ? options : new UserQueryOptions(), user),
                 new C8Serializer.Options().serializeNullValues(true)));
         return request;
@@ -619,8 +660,10 @@ public abstract class InternalC8Database<A extends InternalC8DB<E>, E extends C8
 
     protected Request userQueryRequest(final String userName, final String restqlName, final Map<String, Object> bindVars) {
         final Request request = userName == null ?
-                request(tenant, name, RequestType.POST, PATH_API_USER_QUERIES, "execute", "root", restqlName)
-                : request(tenant, name, RequestType.POST, PATH_API_USER_QUERIES, "execute", userName, restqlName);
+                request(tenant, name, RequestType.POST, PATH_API_USER_QUERIES + "/execute/root/{}",
+                        PATH_API_USER_QUERIES, PATH_EXECUTE, "root", restqlName)
+                : request(tenant, name, RequestType.POST, PATH_API_USER_QUERIES + "/execute/{}/{}",
+                        PATH_API_USER_QUERIES, PATH_EXECUTE, userName, restqlName);
         request.setBody(util().serialize(bindVars == null ? new HashMap<String, Object>() : bindVars));
         return request;
     }
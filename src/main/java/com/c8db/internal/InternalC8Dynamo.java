@@ -372,7 +372,7 @@ public abstract class InternalC8Dynamo<A extends InternalC8DB<E>, D extends Inte
 
     private Request setRequestParams(ImmutableRequest awsRequest) {
         try {
-            final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_DYNAMO);
+            final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_DYNAMO, PATH_API_DYNAMO);
             String dynamoJson = IOUtils.toString(awsRequest.getContent());
             VPackSlice slice = util(C8SerializationFactory.Serializer.CUSTOM).serialize(dynamoJson,
                 new C8Serializer.Options().serializeNullValues(false).stringAsJson(true));
@@ -16,12 +16,9 @@
 
 package com.c8db.internal;
 
-import java.util.HashMap;
-import java.util.Map;
 
 import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.exception.VPackException;
-import com.c8db.entity.DocumentField;
 import com.c8db.entity.EdgeEntity;
 import com.c8db.entity.EdgeUpdateEntity;
 import com.c8db.internal.C8Executor.ResponseDeserializer;
@@ -62,7 +59,8 @@ public abstract class InternalC8EdgeCollection<A extends InternalC8DB<E>, D exte
 
     protected <T> Request insertEdgeRequest(final T value, final EdgeCreateOptions options) {
         final Request request = request(graph.db().tenant(), graph.db().name(), RequestType.POST,
-                InternalC8Graph.PATH_API_GHARIAL, graph.name(), InternalC8Graph.EDGE, name);
+                InternalC8Graph.PATH_API_GHARIAL + "/{}/edge/{}", InternalC8Graph.PATH_API_GHARIAL, graph.name(),
+                InternalC8Graph.EDGE, name);
         final EdgeCreateOptions params = (options != null ? options : new EdgeCreateOptions());
         request.putQueryParam(C8RequestParam.WAIT_FOR_SYNC, params.getWaitForSync());
         request.setBody(util(Serializer.CUSTOM).serialize(value));
@@ -75,11 +73,7 @@ public abstract class InternalC8EdgeCollection<A extends InternalC8DB<E>, D exte
             public EdgeEntity deserialize(final Response response) throws VPackException {
                 final VPackSlice body = response.getBody().get(InternalC8Graph.EDGE);
                 final EdgeEntity doc = util().deserialize(body, EdgeEntity.class);
-                final Map<DocumentField.Type, String> values = new HashMap<DocumentField.Type, String>();
-                values.put(DocumentField.Type.ID, doc.getId());
-                values.put(DocumentField.Type.KEY, doc.getKey());
-                values.put(DocumentField.Type.REV, doc.getRev());
-                executor.documentCache().setValues(value, values);
+                executor.documentCache().setValues(value, doc.getId(), doc.getKey(), doc.getRev());
                 return doc;
             }
         };
@@ -87,7 +81,8 @@ public abstract class InternalC8EdgeCollection<A extends InternalC8DB<E>, D exte
 
     protected Request getEdgeRequest(final String key, final GraphDocumentReadOptions options) {
         final Request request = request(graph.db().tenant(), graph.db().name(), RequestType.GET,
-                InternalC8Graph.PATH_API_GHARIAL, graph.name(), InternalC8Graph.EDGE,
+                InternalC8Graph.PATH_API_GHARIAL + "/{}/edge/{}/{}", InternalC8Graph.PATH_API_GHARIAL, graph.name(),
+                InternalC8Graph.EDGE,
                 DocumentUtil.createDocumentHandle(name, key));
         final GraphDocumentReadOptions params = (options != null ? options : new GraphDocumentReadOptions());
         request.putHeaderParam(C8RequestParam.IF_NONE_MATCH, params.getIfNoneMatch());
@@ -106,7 +101,8 @@ public abstract class InternalC8EdgeCollection<A extends InternalC8DB<E>, D exte
 
     protected <T> Request replaceEdgeRequest(final String key, final T value, final EdgeReplaceOptions options) {
         final Request request = request(graph.db().tenant(), graph.db().name(), RequestType.PUT,
-                InternalC8Graph.PATH_API_GHARIAL, graph.name(), InternalC8Graph.EDGE,
+                InternalC8Graph.PATH_API_GHARIAL + "/{}/edge/{}/{}", InternalC8Graph.PATH_API_GHARIAL, graph.name(),
+                InternalC8Graph.EDGE,
                 DocumentUtil.createDocumentHandle(name, key));
         final EdgeReplaceOptions params = (options != null ? options : new EdgeReplaceOptions());
         request.putQueryParam(C8RequestParam.WAIT_FOR_SYNC, params.getWaitForSync());
@@ -121,9 +117,7 @@ public abstract class InternalC8EdgeCollection<A extends InternalC8DB<E>, D exte
             public EdgeUpdateEntity deserialize(final Response response) throws VPackException {
                 final VPackSlice body = response.getBody().get(InternalC8Graph.EDGE);
                 final EdgeUpdateEntity doc = util().deserialize(body, EdgeUpdateEntity.class);
-                final Map<DocumentField.Type, String> values = new HashMap<DocumentField.Type, String>();
-                values.put(DocumentField.Type.REV, doc.getRev());
-                executor.documentCache().setValues(value, values);
+                executor.documentCache().setRev(value, doc.getRev());
                 return doc;
             }
         };
@@ -132,7 +126,8 @@ public abstract class InternalC8EdgeCollection<A extends InternalC8DB<E>, D exte
     protected <T> Request updateEdgeRequest(final String key, final T value, final EdgeUpdateOptions options) {
         final Request request;
         request = request(graph.db().tenant(), graph.db().name(), RequestType.PATCH,
-                InternalC8Graph.PATH_API_GHARIAL, graph.name(), InternalC8Graph.EDGE,
+                InternalC8Graph.PATH_API_GHARIAL + "/{}/edge/{}/{}", InternalC8Graph.PATH_API_GHARIAL, graph.name(),
+                InternalC8Graph.EDGE,
                 DocumentUtil.createDocumentHandle(name, key));
         final EdgeUpdateOptions params = (options != null ? options : new EdgeUpdateOptions());
         request.putQueryParam(C8RequestParam.KEEP_NULL, params.getKeepNull());
@@ -149,9 +144,7 @@ public abstract class InternalC8EdgeCollection<A extends InternalC8DB<E>, D exte
             public EdgeUpdateEntity deserialize(final Response response) throws VPackException {
                 final VPackSlice body = response.getBody().get(InternalC8Graph.EDGE);
                 final EdgeUpdateEntity doc = util().deserialize(body, EdgeUpdateEntity.class);
-                final Map<DocumentField.Type, String> values = new HashMap<DocumentField.Type, String>();
-                values.put(DocumentField.Type.REV, doc.getRev());
-                executor.documentCache().setValues(value, values);
+                executor.documentCache().setRev(value, doc.getRev());
                 return doc;
             }
         };
@@ -159,7 +152,8 @@ public abstract class InternalC8EdgeCollection<A extends InternalC8DB<E>, D exte
 
     protected Request deleteEdgeRequest(final String key, final EdgeDeleteOptions options) {
         final Request request = request(graph.db().tenant(), graph.db().name(), RequestType.DELETE,
-                InternalC8Graph.PATH_API_GHARIAL, graph.name(), InternalC8Graph.EDGE,
+                InternalC8Graph.PATH_API_GHARIAL + "/{}/edge/{}/{}", InternalC8Graph.PATH_API_GHARIAL, graph.name(),
+                InternalC8Graph.EDGE,
                 DocumentUtil.createDocumentHandle(name, key));
         final EdgeDeleteOptions params = (options != null ? options : new EdgeDeleteOptions());
         request.putQueryParam(C8RequestParam.WAIT_FOR_SYNC, params.getWaitForSync());
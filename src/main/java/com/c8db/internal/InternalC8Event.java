@@ -53,7 +53,7 @@ public abstract class InternalC8Event<A extends InternalC8DB<E>, D extends Inter
     }
 
     protected Request insertEventRequest(final C8EventCreate value) {
-        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_EVENT);
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_EVENT, PATH_API_EVENT);
         request.setBody(util().serialize(value));
         return request;
     }
@@ -87,7 +87,8 @@ public abstract class InternalC8Event<A extends InternalC8DB<E>, D extends Inter
     }
 
     protected Request getEventRequest(final String key, final DocumentReadOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_EVENT, key);
+        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_EVENT + "/{}", PATH_API_EVENT,
+                key);
 
         final DocumentReadOptions params = (options != null ? options : new DocumentReadOptions());
         request.putHeaderParam(C8RequestParam.IF_NONE_MATCH, params.getIfNoneMatch());
@@ -96,7 +97,7 @@ public abstract class InternalC8Event<A extends InternalC8DB<E>, D extends Inter
     }
 
     protected Request getEventsRequest() {
-        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_EVENT);
+        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_EVENT, PATH_API_EVENT);
     }
 
     protected ResponseDeserializer<Collection<C8EventEntity>> getEventsResponseDeserializer() {
@@ -110,7 +111,7 @@ public abstract class InternalC8Event<A extends InternalC8DB<E>, D extends Inter
     }
 
     protected Request deleteEventRequest(final String key, final DocumentDeleteOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_EVENT);
+        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_EVENT, PATH_API_EVENT);
         final DocumentDeleteOptions params = (options != null ? options : new DocumentDeleteOptions());
         request.putHeaderParam(C8RequestParam.IF_MATCH, params.getIfMatch());
         request.putQueryParam(C8RequestParam.WAIT_FOR_SYNC, params.getWaitForSync());
@@ -121,7 +122,7 @@ public abstract class InternalC8Event<A extends InternalC8DB<E>, D extends Inter
     }
 
     protected <T> Request deleteEventsRequest(final Collection<T> keys, final DocumentDeleteOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_EVENT);
+        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_EVENT, PATH_API_EVENT);
         final DocumentDeleteOptions params = (options != null ? options : new DocumentDeleteOptions());
         request.putQueryParam(C8RequestParam.WAIT_FOR_SYNC, params.getWaitForSync());
         request.putQueryParam(RETURN_OLD, params.getReturnOld());
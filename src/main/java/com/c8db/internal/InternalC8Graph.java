@@ -62,7 +62,8 @@ public abstract class InternalC8Graph<A extends InternalC8DB<E>, D extends Inter
     }
 
     protected Request dropRequest(final boolean dropCollections) {
-        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_GHARIAL, name);
+        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_GHARIAL + "/{}",
+                PATH_API_GHARIAL, name);
         if (dropCollections) {
             request.putQueryParam("dropCollections", dropCollections);
         }
@@ -70,7 +71,7 @@ public abstract class InternalC8Graph<A extends InternalC8DB<E>, D extends Inter
     }
 
     protected Request getInfoRequest() {
-        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_GHARIAL, name);
+        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_GHARIAL + "/{}", PATH_API_GHARIAL, name);
     }
 
     protected ResponseDeserializer<GraphEntity> getInfoResponseDeserializer() {
@@ -78,7 +79,8 @@ public abstract class InternalC8Graph<A extends InternalC8DB<E>, D extends Inter
     }
 
     protected Request getVertexCollectionsRequest() {
-        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_GHARIAL, name, VERTEX);
+        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_GHARIAL + "/{}/vertex", PATH_API_GHARIAL, name,
+                VERTEX);
     }
 
     protected ResponseDeserializer<Collection<String>> getVertexCollectionsResponseDeserializer() {
@@ -92,7 +94,8 @@ public abstract class InternalC8Graph<A extends InternalC8DB<E>, D extends Inter
     }
 
     protected Request addVertexCollectionRequest(final String name) {
-        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_GHARIAL, name(), VERTEX);
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_GHARIAL + "/{}/vertex",
+                PATH_API_GHARIAL, name(), VERTEX);
         request.setBody(util().serialize(OptionsBuilder.build(new VertexCollectionCreateOptions(), name)));
         return request;
     }
@@ -102,7 +105,8 @@ public abstract class InternalC8Graph<A extends InternalC8DB<E>, D extends Inter
     }
 
     protected Request getEdgeDefinitionsRequest() {
-        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_GHARIAL, name, EDGE);
+        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_GHARIAL + "/{}/edge", PATH_API_GHARIAL, name,
+                EDGE);
     }
 
     protected ResponseDeserializer<Collection<String>> getEdgeDefinitionsDeserializer() {
@@ -116,7 +120,8 @@ public abstract class InternalC8Graph<A extends InternalC8DB<E>, D extends Inter
     }
 
     protected Request addEdgeDefinitionRequest(final EdgeDefinition definition) {
-        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_GHARIAL, name, EDGE);
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_GHARIAL + "/{}/edge",
+                PATH_API_GHARIAL, name, EDGE);
         request.setBody(util().serialize(definition));
         return request;
     }
@@ -131,7 +136,8 @@ public abstract class InternalC8Graph<A extends InternalC8DB<E>, D extends Inter
     }
 
     protected Request replaceEdgeDefinitionRequest(final EdgeDefinition definition) {
-        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_GHARIAL, name, EDGE,
+        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_GHARIAL + "/{}/edge/{}",
+                PATH_API_GHARIAL, name, EDGE,
                 definition.getCollection());
         request.setBody(util().serialize(definition));
         return request;
@@ -147,7 +153,8 @@ public abstract class InternalC8Graph<A extends InternalC8DB<E>, D extends Inter
     }
 
     protected Request removeEdgeDefinitionRequest(final String definitionName) {
-        return request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_GHARIAL, name, EDGE, definitionName);
+        return request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_GHARIAL + "/{}/edge/{}", PATH_API_GHARIAL,
+                name, EDGE, definitionName);
     }
 
     protected ResponseDeserializer<GraphEntity> removeEdgeDefinitionResponseDeserializer() {
@@ -28,6 +28,9 @@ public abstract class InternalC8KeyValue<A extends InternalC8DB<E>, D extends In
     protected static final String PATH_API_KV = "/kv";
     protected static final String PATH_API_KV_PAIR = "/value";
     protected static final String PATH_API_KV_PAIRS = "/values";
+    protected static final String PATH_VALUE = "value";
+    protected static final String PATH_VALUES = "values";
+    protected static final String PATH_TRUNCATE = "truncate";
 
     private static final String OFFSET = "offset";
     private static final String LIMIT = "limit";
@@ -54,7 +57,8 @@ public abstract class InternalC8KeyValue<A extends InternalC8DB<E>, D extends In
     }
 
     protected  <T> Request insertKVPairsRequest(final Collection<T> values, final DocumentCreateOptions params) {
-        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_KV, name, "value");
+        final Request request = request(db.tenant(), db.name(), RequestType.PUT, PATH_API_KV + "/{}/value", PATH_API_KV,
+                name, PATH_VALUE);
         request.setBody(util(Serializer.CUSTOM).serialize(values,
                 new C8Serializer.Options().serializeNullValues(false).stringAsJson(true)));
         return request;
@@ -105,14 +109,16 @@ public abstract class InternalC8KeyValue<A extends InternalC8DB<E>, D extends In
     }
 
     protected Request getKVPairRequest(final String key) {
-        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_KV, name, "value",
+        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_KV + "/{}/value/{}",
+                PATH_API_KV, name, PATH_VALUE,
                 key);
         return request;
     }
 
     protected Request getKVPairsRequest(final Collection<String> keys, final C8KVPairReadOptions options) {
         final C8KVPairReadOptions params = (options != null ? options : new C8KVPairReadOptions());
-        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_KV, name, "values")
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_KV + "/{}/values",
+                PATH_API_KV, name, PATH_VALUES)
                 .putQueryParam(OFFSET, params.getOffset())
                 .putQueryParam(LIMIT, params.getLimit())
                 .setBody(util().serialize(keys));
@@ -146,7 +152,8 @@ public abstract class InternalC8KeyValue<A extends InternalC8DB<E>, D extends In
     }
 
     protected Request deleteKVPairRequest(final String key, final DocumentDeleteOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_KV, name, "value",
+        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_KV + "/{}/value/{}",
+                PATH_API_KV, name, PATH_VALUE,
                 key);
         return request;
     }
@@ -165,7 +172,8 @@ public abstract class InternalC8KeyValue<A extends InternalC8DB<E>, D extends In
     }
 
     protected <T> Request deleteKVPairsRequest(final Collection<T> keys, final DocumentDeleteOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_KV, name, "values");
+        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_KV + "/{}/values",
+                PATH_API_KV, name, PATH_VALUES);
         request.setBody(util().serialize(keys));
         return request;
     }
@@ -208,18 +216,20 @@ public abstract class InternalC8KeyValue<A extends InternalC8DB<E>, D extends In
         VPackSlice body = util()
                 .serialize(OptionsBuilder.build(options != null ? options : new CollectionCreateOptions(), name));
 
-        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_KV, name);
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_KV + "/{}", PATH_API_KV,
+                name);
         request.putQueryParam(EXPIRATION, expiration);
         request.setBody(body);
         return request;
     }
 
     protected Request truncateRequest() {
-        return request(db.tenant(), db.name(), RequestType.PUT, PATH_API_KV, name, "truncate");
+        return request(db.tenant(), db.name(), RequestType.PUT, PATH_API_KV + "/{}/truncate", PATH_API_KV, name,
+                PATH_TRUNCATE);
     }
 
     protected Request dropRequest() {
-        return request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_KV, name);
+        return request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_KV + "/{}", PATH_API_KV, name);
     }
 
 }
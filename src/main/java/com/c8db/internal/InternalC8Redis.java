@@ -36,7 +36,7 @@ public abstract class InternalC8Redis<A extends InternalC8DB<E>, D extends Inter
     }
 
     protected Request createTableRequest(final String tableName, final C8RedisCreateOptions options) {
-        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_REDIS);
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_REDIS, PATH_API_REDIS);
 
         Map<String, Object> internalOptions = new HashMap<>();
         internalOptions.put("name", tableName);
@@ -39,6 +39,10 @@ public abstract class InternalC8Stream<A extends InternalC8DB<E>, D extends Inte
         extends C8Executeable<E> {
 
     protected static final String PATH_API_STREAMS = "/_api/streams";
+    protected static final String PATH_BACKLOG = "backlog";
+    protected static final String PATH_STATS = "stats";
+    protected static final String PATH_SUBSCRIPTIONS = "subscriptions";
+    protected static final String PATH_EXPIRY = "expiry";
 
     private final D db;
     private final String name;
@@ -58,7 +62,8 @@ public abstract class InternalC8Stream<A extends InternalC8DB<E>, D extends Inte
     }
 
     protected Request getC8StreamBacklogRequest() {
-        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_STREAMS, name, "backlog");
+        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_STREAMS + "/{}/backlog",
+                PATH_API_STREAMS, name, PATH_BACKLOG);
         return request;
     }
 
@@ -74,7 +79,8 @@ public abstract class InternalC8Stream<A extends InternalC8DB<E>, D extends Inte
     }
 
     protected Request getC8StreamStatisticsRequest() {
-        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_STREAMS, name, "stats");
+        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_STREAMS + "/{}/stats",
+                PATH_API_STREAMS, name, PATH_STATS);
         return request;
     }
 
@@ -90,13 +96,15 @@ public abstract class InternalC8Stream<A extends InternalC8DB<E>, D extends Inte
     }
 
     protected Request deleteC8StreamRequest() {
-        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_STREAMS, name);
+        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_STREAMS + "/{}",
+                PATH_API_STREAMS, name);
         return request;
     }
 
     protected Request getC8StreamSubscriptionsRequest() {
-        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_STREAMS, name,
-                "subscriptions");
+        final Request request = request(db.tenant(), db.name(), RequestType.GET, PATH_API_STREAMS + "/{}/subscriptions",
+                PATH_API_STREAMS, name,
+                PATH_SUBSCRIPTIONS);
         return request;
     }
 
@@ -112,14 +120,16 @@ public abstract class InternalC8Stream<A extends InternalC8DB<E>, D extends Inte
     }
 
     protected Request expireMessagesRequest(int expireTimeInSeconds) {
-        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_STREAMS, name,
-                "expiry", Integer.toString(expireTimeInSeconds));
+        final Request request = request(db.tenant(), db.name(), RequestType.POST, PATH_API_STREAMS + "/{}/expiry/{}",
+                PATH_API_STREAMS, name,
+                PATH_EXPIRY, Integer.toString(expireTimeInSeconds));
         return request;
     }
 
     protected Request deleteSubscriptionRequest(String subscriptionName) {
-        final Request request = request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_STREAMS, name,
-                "subscriptions", subscriptionName);
+        final Request request = request(db.tenant(), db.name(), RequestType.DELETE,
+                PATH_API_STREAMS + "/{}/subscriptions/{}", PATH_API_STREAMS, name,
+                PATH_SUBSCRIPTIONS, subscriptionName);
         return request;
     }
 }
@@ -16,12 +16,9 @@
 
 package com.c8db.internal;
 
-import java.util.HashMap;
-import java.util.Map;
 
 import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.exception.VPackException;
-import com.c8db.entity.DocumentField;
 import com.c8db.entity.VertexEntity;
 import com.c8db.entity.VertexUpdateEntity;
 import com.c8db.internal.C8Executor.ResponseDeserializer;
@@ -61,13 +58,15 @@ public abstract class InternalC8VertexCollection<A extends InternalC8DB<E>, D ex
     }
 
     protected Request dropRequest() {
-        return request(graph.db().tenant(), graph.db().name(), RequestType.DELETE, InternalC8Graph.PATH_API_GHARIAL,
+        return request(graph.db().tenant(), graph.db().name(), RequestType.DELETE,
+                InternalC8Graph.PATH_API_GHARIAL + "/{}/vertex/{}", InternalC8Graph.PATH_API_GHARIAL,
                 graph.name(), InternalC8Graph.VERTEX, name);
     }
 
     protected <T> Request insertVertexRequest(final T value, final VertexCreateOptions options) {
         final Request request = request(graph.db().tenant(), graph.db().name(), RequestType.POST,
-                InternalC8Graph.PATH_API_GHARIAL, graph.name(), InternalC8Graph.VERTEX, name);
+                InternalC8Graph.PATH_API_GHARIAL + "/{}/vertex/{}", InternalC8Graph.PATH_API_GHARIAL, graph.name(),
+                InternalC8Graph.VERTEX, name);
         final VertexCreateOptions params = (options != null ? options : new VertexCreateOptions());
         request.putQueryParam(C8RequestParam.WAIT_FOR_SYNC, params.getWaitForSync());
         request.setBody(util(Serializer.CUSTOM).serialize(value));
@@ -80,11 +79,7 @@ public abstract class InternalC8VertexCollection<A extends InternalC8DB<E>, D ex
             public VertexEntity deserialize(final Response response) throws VPackException {
                 final VPackSlice body = response.getBody().get(InternalC8Graph.VERTEX);
                 final VertexEntity doc = util().deserialize(body, VertexEntity.class);
-                final Map<DocumentField.Type, String> values = new HashMap<DocumentField.Type, String>();
-                values.put(DocumentField.Type.ID, doc.getId());
-                values.put(DocumentField.Type.KEY, doc.getKey());
-                values.put(DocumentField.Type.REV, doc.getRev());
-                executor.documentCache().setValues(value, values);
+                executor.documentCache().setValues(value, doc.getId(), doc.getKey(), doc.getRev());
                 return doc;
             }
         };
@@ -92,7 +87,8 @@ public abstract class InternalC8VertexCollection<A extends InternalC8DB<E>, D ex
 
     protected Request getVertexRequest(final String key, final GraphDocumentReadOptions options) {
         final Request request = request(graph.db().tenant(), graph.db().name(), RequestType.GET,
-                InternalC8Graph.PATH_API_GHARIAL, graph.name(), InternalC8Graph.VERTEX,
+                InternalC8Graph.PATH_API_GHARIAL + "/{}/vertex/{}/{}", InternalC8Graph.PATH_API_GHARIAL, graph.name(),
+                InternalC8Graph.VERTEX,
                 DocumentUtil.createDocumentHandle(name, key));
         final GraphDocumentReadOptions params = (options != null ? options : new GraphDocumentReadOptions());
         request.putHeaderParam(C8RequestParam.IF_NONE_MATCH, params.getIfNoneMatch());
@@ -111,7 +107,8 @@ public abstract class InternalC8VertexCollection<A extends InternalC8DB<E>, D ex
 
     protected <T> Request replaceVertexRequest(final String key, final T value, final VertexReplaceOptions options) {
         final Request request = request(graph.db().tenant(), graph.db().name(), RequestType.PUT,
-                InternalC8Graph.PATH_API_GHARIAL, graph.name(), InternalC8Graph.VERTEX,
+                InternalC8Graph.PATH_API_GHARIAL + "/{}/vertex/{}/{}", InternalC8Graph.PATH_API_GHARIAL, graph.name(),
+                InternalC8Graph.VERTEX,
                 DocumentUtil.createDocumentHandle(name, key));
         final VertexReplaceOptions params = (options != null ? options : new VertexReplaceOptions());
         request.putQueryParam(C8RequestParam.WAIT_FOR_SYNC, params.getWaitForSync());
@@ -126,9 +123,7 @@ public abstract class InternalC8VertexCollection<A extends InternalC8DB<E>, D ex
             public VertexUpdateEntity deserialize(final Response response) throws VPackException {
                 final VPackSlice body = response.getBody().get(InternalC8Graph.VERTEX);
                 final VertexUpdateEntity doc = util().deserialize(body, VertexUpdateEntity.class);
-                final Map<DocumentField.Type, String> values = new HashMap<DocumentField.Type, String>();
-                values.put(DocumentField.Type.REV, doc.getRev());
-                executor.documentCache().setValues(value, values);
+                executor.documentCache().setRev(value, doc.getRev());
                 return doc;
             }
         };
@@ -137,7 +132,8 @@ public abstract class InternalC8VertexCollection<A extends InternalC8DB<E>, D ex
     protected <T> Request updateVertexRequest(final String key, final T value, final VertexUpdateOptions options) {
         final Request request;
         request = request(graph.db().tenant(), graph.db().name(), RequestType.PATCH,
-                InternalC8Graph.PATH_API_GHARIAL, graph.name(), InternalC8Graph.VERTEX,
+                InternalC8Graph.PATH_API_GHARIAL + "/{}/vertex/{}/{}", InternalC8Graph.PATH_API_GHARIAL, graph.name(),
+                InternalC8Graph.VERTEX,
                 DocumentUtil.createDocumentHandle(name, key));
         final VertexUpdateOptions params = (options != null ? options : new VertexUpdateOptions());
         request.putQueryParam(C8RequestParam.KEEP_NULL, params.getKeepNull());
@@ -154,9 +150,7 @@ public abstract class InternalC8VertexCollection<A extends InternalC8DB<E>, D ex
             public VertexUpdateEntity deserialize(final Response response) throws VPackException {
                 final VPackSlice body = response.getBody().get(InternalC8Graph.VERTEX);
                 final VertexUpdateEntity doc = util().deserialize(body, VertexUpdateEntity.class);
-                final Map<DocumentField.Type, String> values = new HashMap<DocumentField.Type, String>();
-                values.put(DocumentField.Type.REV, doc.getRev());
-                executor.documentCache().setValues(value, values);
+                executor.documentCache().setRev(value, doc.getRev());
                 return doc;
             }
         };
@@ -164,7 +158,8 @@ public abstract class InternalC8VertexCollection<A extends InternalC8DB<E>, D ex
 
     protected Request deleteVertexRequest(final String key, final VertexDeleteOptions options) {
         final Request request = request(graph.db().tenant(), graph.db().name(), RequestType.DELETE,
-                InternalC8Graph.PATH_API_GHARIAL, graph.name(), InternalC8Graph.VERTEX,
+                InternalC8Graph.PATH_API_GHARIAL + "/{}/vertex/{}/{}", InternalC8Graph.PATH_API_GHARIAL, graph.name(),
+                InternalC8Graph.VERTEX,
                 DocumentUtil.createDocumentHandle(name, key));
         final VertexDeleteOptions params = (options != null ? options : new VertexDeleteOptions());
         request.putQueryParam(C8RequestParam.WAIT_FOR_SYNC, params.getWaitForSync());
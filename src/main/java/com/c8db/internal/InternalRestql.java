@@ -35,6 +35,7 @@ public abstract class InternalRestql<A extends InternalC8DB<E>, D extends Intern
         extends C8Executeable<E> {
 
     protected static final String PATH_API_RESTQL = "/restql";
+    protected static final String PATH_USER = "user";
     protected static final String VERTEX = "vertex";
     protected static final String EDGE = "edge";
     private static final String GRAPH = "graph";
@@ -56,9 +57,10 @@ public abstract class InternalRestql<A extends InternalC8DB<E>, D extends Intern
 
     protected Request dropRequest(final String name, final String user) {
         if (user == null) {
-            return request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_RESTQL, name);
+            return request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_RESTQL + "/{}", PATH_API_RESTQL, name);
         } else {
-            return request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_RESTQL, name, user);
+            return request(db.tenant(), db.name(), RequestType.DELETE, PATH_API_RESTQL + "/{}/{}", PATH_API_RESTQL,
+                    name, user);
         }
     }
 
@@ -73,11 +75,12 @@ public abstract class InternalRestql<A extends InternalC8DB<E>, D extends Intern
     }
 
     protected Request getUserQueriesRequest() {
-        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_RESTQL, "user");
+        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_RESTQL + "/user", PATH_API_RESTQL, PATH_USER);
     }
 
     protected Request getUserQueriesRequest(final String userName) {
-        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_RESTQL, "user", userName);
+        return request(db.tenant(), db.name(), RequestType.GET, PATH_API_RESTQL + "/user/{}", PATH_API_RESTQL,
+                PATH_USER, userName);
     }
 
     protected ResponseDeserializer<Collection<String>> getVertexCollectionsResponseDeserializer() {
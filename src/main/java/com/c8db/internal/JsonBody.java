@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.arangodb.velocypack.VPackSlice;
+import com.c8db.util.C8JsonSerialization;
+import com.c8db.util.C8Serializer;
+import com.c8db.velocystream.StreamingBody;
+
+/**
+ * Request body which is serialized to JSON directly by a {@link C8JsonSerialization}, without VelocyPack in between.
+ * The JSON is serialized once on first use, so that its length is known before it is written.
+ *
+ */
+class JsonBody implements StreamingBody {
+
+    private final Object value;
+    private final C8JsonSerialization json;
+    private final boolean serializeNullValues;
+    private byte[] bytes;
+
+    JsonBody(final Object value, final C8JsonSerialization json, final boolean serializeNullValues) {
+        super();
+        this.value = value;
+        this.json = json;
+        this.serializeNullValues = serializeNullValues;
+    }
+
+    /**
+     * @return whether the value can be serialized to JSON directly, strings are documents in JSON already which
+     *         are parsed to drop their {@code null} values
+     */
+    static boolean isSupported(final Object value) {
+        if (value instanceof String) {
+            return false;
+        }
+        if (value instanceof Iterable) {
+            for (final Object element : (Iterable<?>) value) {
+                if (element instanceof String) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private byte[] bytes() {
+        if (bytes == null) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            json.serializeJson(value, new C8Serializer.Options().serializeNullValues(serializeNullValues), out);
+            bytes = out.toByteArray();
+        }
+        return bytes;
+    }
+
+    @Override
+    public long getContentLength() {
+        return bytes().length;
+    }
+
+    @Override
+    public void writeTo(final OutputStream out) throws IOException {
+        out.write(bytes());
+    }
+
+    @Override
+    public VPackSlice toVPack() {
+        return json.serialize(value,
+                new C8Serializer.Options().serializeNullValues(serializeNullValues).stringAsJson(true));
+    }
+
+}
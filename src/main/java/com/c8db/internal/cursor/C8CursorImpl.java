@@ -19,6 +19,9 @@ package com.c8db.internal.cursor;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.c8db.C8Cursor;
 import com.c8db.C8Iterator;
@@ -39,13 +42,25 @@ public class C8CursorImpl<T> extends AbstractC8Iterable<T> implements C8Cursor<T
 	protected final C8CursorIterator<T> iterator;
 	private final String id;
 	private final C8CursorExecute execute;
+	private final int prefetch;
 
 	public C8CursorImpl(final InternalC8Database<?, ?> db, final C8CursorExecute execute,
 		final Class<T> type, final CursorEntity result) {
+		this(db, execute, type, result, 0, null);
+	}
+
+	/**
+	 * @param prefetch         number of batches to fetch ahead in the background, {@code 0} to fetch them on demand
+	 * @param prefetchExecutor executor of the driver on which the batches are fetched ahead
+	 */
+	public C8CursorImpl(final InternalC8Database<?, ?> db, final C8CursorExecute execute,
+		final Class<T> type, final CursorEntity result, final int prefetch, final Executor prefetchExecutor) {
 		super();
 		this.execute = execute;
 		this.type = type;
-		iterator = createIterator(this, db, execute, result);
+		this.prefetch = prefetch;
+		iterator = prefetch > 0 ? new C8CursorIterator<T>(this, execute, db, result, prefetch, prefetchExecutor)
+				: createIterator(this, db, execute, result);
 		id = result.getId();
 	}
 
@@ -92,7 +107,12 @@ public class C8CursorImpl<T> extends AbstractC8Iterable<T> implements C8Cursor<T
 
 	@Override
 	public void close() {
-		if (id != null && hasNext()) {
+		if (prefetch > 0) {
+			final CursorEntity last = iterator.cancel();
+			if (id != null && last.getHasMore() != null && last.getHasMore()) {
+				execute.close(id, last.getMeta());
+			}
+		} else if (id != null && hasNext()) {
 			execute.close(id, iterator.getResult().getMeta());
 		}
 	}
@@ -116,6 +136,25 @@ public class C8CursorImpl<T> extends AbstractC8Iterable<T> implements C8Cursor<T
 		return remaining;
 	}
 
+	@Override
+	public Stream<T> stream() {
+		return stream(false);
+	}
+
+	@Override
+	public Stream<T> parallelStream() {
+		return stream(true);
+	}
+
+	private Stream<T> stream(final boolean parallel) {
+		return StreamSupport.stream(new C8CursorSpliterator<T>(iterator), parallel).onClose(new Runnable() {
+			@Override
+			public void run() {
+				close();
+			}
+		});
+	}
+
 	@Override
 	public void remove() {
 		throw new UnsupportedOperationException();
@@ -16,10 +16,19 @@
 
 package com.c8db.internal.cursor;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 import com.arangodb.velocypack.VPackSlice;
 import com.c8db.C8Cursor;
+import com.c8db.C8DBException;
 import com.c8db.C8Iterator;
 import com.c8db.entity.CursorEntity;
 import com.c8db.internal.C8CursorExecute;
@@ -27,6 +36,11 @@ import com.c8db.internal.InternalC8Database;
 import com.c8db.internal.util.C8SerializationFactory.Serializer;
 
 /**
+ * Iterates over the results of a cursor and fetches the next batch from the server when the current one is consumed.
+ * With a prefetch depth the following batches are fetched one after another in the background, at most the given
+ * number of batches are kept ahead of the current one. Results requested as {@code VPackSlice} are not deserialized,
+ * they point into the buffer of their batch.
+ *
  * @param <T>
  *
  */
@@ -38,15 +52,39 @@ public class C8CursorIterator<T> implements C8Iterator<T> {
     private final C8Cursor<T> cursor;
     private final InternalC8Database<?, ?> db;
     private final C8CursorExecute execute;
+    private final boolean raw;
+
+    private final int prefetch;
+    private final Executor prefetchExecutor;
+    private final Deque<CompletableFuture<CursorEntity>> ahead;
+    private CompletableFuture<CursorEntity> tail;
+    private volatile CursorEntity lastFetched;
+    private volatile boolean closed;
 
     protected C8CursorIterator(final C8Cursor<T> cursor, final C8CursorExecute execute,
             final InternalC8Database<?, ?> db, final CursorEntity result) {
+        this(cursor, execute, db, result, 0, null);
+    }
+
+    /**
+     * @param prefetchExecutor executor of the driver on which the batches are fetched ahead
+     */
+    protected C8CursorIterator(final C8Cursor<T> cursor, final C8CursorExecute execute,
+            final InternalC8Database<?, ?> db, final CursorEntity result, final int prefetch,
+            final Executor prefetchExecutor) {
         super();
         this.cursor = cursor;
         this.execute = execute;
         this.db = db;
         this.result = result;
+        raw = cursor.getType() == VPackSlice.class;
+        this.prefetch = Math.max(0, prefetch);
+        this.prefetchExecutor = prefetchExecutor;
         pos = 0;
+        ahead = new ArrayDeque<CompletableFuture<CursorEntity>>();
+        tail = CompletableFuture.completedFuture(result);
+        lastFetched = result;
+        fetchAhead();
     }
 
     public CursorEntity getResult() {
@@ -61,13 +99,123 @@ public class C8CursorIterator<T> implements C8Iterator<T> {
     @Override
     public T next() {
         if (pos >= result.getResult().size() && result.getHasMore()) {
-            result = execute.next(cursor.getId(), result.getMeta());
+            result = nextBatch();
             pos = 0;
         }
         if (!hasNext()) {
             throw new NoSuchElementException();
         }
-        return deserialize(result.getResult().get(pos++), cursor.getType());
+        return convert(result.getResult().get(pos++));
+    }
+
+    /**
+     * Consumes the remaining elements of the current batch without deserializing them. If the current batch is
+     * consumed, the next one is fetched.
+     *
+     * @return the elements, empty if there are no more
+     */
+    protected List<VPackSlice> nextSlices() {
+        if (pos >= result.getResult().size() && result.getHasMore() != null && result.getHasMore()) {
+            result = nextBatch();
+            pos = 0;
+        }
+        final VPackSlice batch = result.getResult();
+        final List<VPackSlice> slices = new ArrayList<VPackSlice>(Math.max(0, batch.size() - pos));
+        while (pos < batch.size()) {
+            slices.add(batch.get(pos++));
+        }
+        return slices;
+    }
+
+    private CursorEntity nextBatch() {
+        if (prefetch == 0) {
+            final CursorEntity next = execute.next(cursor.getId(), result.getMeta());
+            lastFetched = next;
+            return next;
+        }
+        CompletableFuture<CursorEntity> future;
+        synchronized (this) {
+            future = ahead.poll();
+            if (future == null) {
+                if (closed) {
+                    throw new C8DBException("Cursor is closed");
+                }
+                // fetching ahead stopped after a failure, report it
+                future = tail;
+            }
+        }
+        final CursorEntity next;
+        try {
+            next = future.join();
+        } catch (final CompletionException e) {
+            throw e.getCause() instanceof C8DBException ? (C8DBException) e.getCause()
+                    : new C8DBException(e.getCause());
+        }
+        fetchAhead();
+        return next;
+    }
+
+    /**
+     * Schedules the fetches of the batches following the last scheduled one, until the prefetch depth is reached.
+     * Whether there are more batches is only known once the last scheduled fetch returned, fetches scheduled behind
+     * the last batch return it again without calling the server.
+     */
+    private synchronized void fetchAhead() {
+        while (!closed && ahead.size() < prefetch && !isLast(tail)) {
+            tail = tail.thenApplyAsync(new Function<CursorEntity, CursorEntity>() {
+                @Override
+                public CursorEntity apply(final CursorEntity previous) {
+                    if (closed) {
+                        throw new CompletionException(new C8DBException("Cursor is closed"));
+                    }
+                    // scheduled before the previous fetch returned the last batch
+                    if (previous.getHasMore() == null || !previous.getHasMore()) {
+                        return previous;
+                    }
+                    final CursorEntity next = execute.next(cursor.getId(), previous.getMeta());
+                    lastFetched = next;
+                    return next;
+                }
+            }, prefetchExecutor);
+            ahead.add(tail);
+        }
+    }
+
+    private static boolean isLast(final CompletableFuture<CursorEntity> future) {
+        if (!future.isDone()) {
+            return false;
+        }
+        if (future.isCompletedExceptionally()) {
+            return true;
+        }
+        final Boolean hasMore = future.join().getHasMore();
+        return hasMore == null || !hasMore;
+    }
+
+    /**
+     * Stops fetching batches in the background and waits for a fetch which is in progress.
+     *
+     * @return the last batch fetched from the server, its {@code hasMore} tells whether the cursor is still open on
+     *         the server
+     */
+    protected CursorEntity cancel() {
+        final CompletableFuture<CursorEntity> pending;
+        synchronized (this) {
+            closed = true;
+            pending = tail;
+            ahead.clear();
+        }
+        try {
+            pending.join();
+        } catch (final CompletionException e) {
+            // the failure is reported to the consumer, if it asks for the batch
+        }
+        return lastFetched;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected T convert(final VPackSlice slice) {
+        return raw ? (T) slice : deserialize(slice, cursor.getType());
     }
 
     protected <R> R deserialize(final VPackSlice result, final Class<R> type) {
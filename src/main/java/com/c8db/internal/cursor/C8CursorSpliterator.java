@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.cursor;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.arangodb.velocypack.VPackSlice;
+
+/**
+ * Spliterator over the results of a cursor. Every split hands out the rest of the current batch, or the next batch,
+ * as undeserialized elements, so that parallel streams deserialize the elements of a batch in the worker threads
+ * while the batches are still fetched one after another.
+ *
+ * @param <T>
+ */
+public class C8CursorSpliterator<T> implements Spliterator<T> {
+
+    private final C8CursorIterator<T> iterator;
+
+    public C8CursorSpliterator(final C8CursorIterator<T> iterator) {
+        super();
+        this.iterator = iterator;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (!iterator.hasNext()) {
+            return false;
+        }
+        action.accept(iterator.next());
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        final List<VPackSlice> slices = iterator.nextSlices();
+        return slices.isEmpty() ? null : new BatchSpliterator<T>(iterator, slices, 0, slices.size());
+    }
+
+    @Override
+    public long estimateSize() {
+        return iterator.hasNext() ? Long.MAX_VALUE : 0L;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED;
+    }
+
+    /**
+     * Elements of a single batch, deserialized by the thread which consumes them.
+     */
+    private static class BatchSpliterator<T> implements Spliterator<T> {
+
+        private static final int MIN_SPLIT_SIZE = 16;
+
+        private final C8CursorIterator<T> iterator;
+        private final List<VPackSlice> slices;
+        private int from;
+        private final int to;
+
+        BatchSpliterator(final C8CursorIterator<T> iterator, final List<VPackSlice> slices, final int from,
+            final int to) {
+            this.iterator = iterator;
+            this.slices = slices;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(iterator.convert(slices.get(from++)));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            while (from < to) {
+                action.accept(iterator.convert(slices.get(from++)));
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final int size = to - from;
+            if (size < 2 * MIN_SPLIT_SIZE) {
+                return null;
+            }
+            final int middle = from + size / 2;
+            final Spliterator<T> prefix = new BatchSpliterator<T>(iterator, slices, from, middle);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+
+}
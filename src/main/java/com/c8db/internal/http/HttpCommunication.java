@@ -22,6 +22,7 @@ import java.net.SocketException;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import com.c8db.MetricsListener;
 import com.c8db.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +36,7 @@ import com.c8db.internal.net.HostHandle;
 import com.c8db.internal.net.HostHandler;
 import com.c8db.internal.util.HostUtils;
 import com.c8db.internal.util.RequestUtils;
+import com.c8db.internal.util.ResponseUtils;
 import com.c8db.util.C8Serialization;
 import com.c8db.velocystream.Request;
 import com.c8db.velocystream.Response;
@@ -49,6 +51,7 @@ public class HttpCommunication implements Closeable {
     public static class Builder {
 
         private final Map<Service, HostHandler> hostHandlerMatrix;
+        private MetricsListener metrics;
 
         public Builder(final Map<Service, HostHandler> hostHandlerMatrix) {
             super();
@@ -57,18 +60,26 @@ public class HttpCommunication implements Closeable {
 
         public Builder(final Builder builder) {
             this(builder.hostHandlerMatrix);
+            metrics(builder.metrics);
+        }
+
+        public Builder metrics(final MetricsListener metrics) {
+            this.metrics = metrics;
+            return this;
         }
 
         public HttpCommunication build(final C8Serialization util) {
-            return new HttpCommunication(hostHandlerMatrix);
+            return new HttpCommunication(hostHandlerMatrix, metrics);
         }
     }
 
     private final Map<Service, HostHandler> hostHandlerMatrix;
+    private final MetricsListener metrics;
 
-    private HttpCommunication(final Map<Service, HostHandler> hostHandlerMatrix) {
+    private HttpCommunication(final Map<Service, HostHandler> hostHandlerMatrix, final MetricsListener metrics) {
         super();
         this.hostHandlerMatrix = hostHandlerMatrix;
+        this.metrics = metrics;
     }
 
     @Override
@@ -80,21 +91,60 @@ public class HttpCommunication implements Closeable {
 
     private AtomicInteger c = new AtomicInteger(0);
 
-    public Response execute(final Request request, final HostHandle hostHandle, Service service) throws C8DBException, IOException {
+    public Response execute(final Request request, final HostHandle handle, Service service) throws C8DBException, IOException {
+        try {
+            return measure(request, handle, service);
+        } finally {
+            // after the metrics, which read the size of the body
+            RequestUtils.releaseBody(request);
+        }
+    }
+
+    private Response measure(final Request request, final HostHandle handle, final Service service)
+            throws C8DBException, IOException {
+        if (metrics == null) {
+            return send(request, handle, service);
+        }
+        final long start = System.nanoTime();
+        int responseCode = 0;
+        Response response = null;
+        try {
+            response = send(request, handle, service);
+            responseCode = response.getResponseCode();
+            return response;
+        } catch (final C8DBException e) {
+            responseCode = e.getResponseCode() != null ? e.getResponseCode() : 0;
+            throw e;
+        } finally {
+            metrics.onRequest(service, request.getRequestType(), request.getPathTemplate(), responseCode,
+                System.nanoTime() - start, RequestUtils.bodySize(request), ResponseUtils.bodySize(response));
+        }
+    }
+
+    private Response send(final Request request, final HostHandle handle, Service service) throws C8DBException, IOException {
         final AccessType accessType = RequestUtils.determineAccessType(request);
+        final HostHandle hostHandle = handle != null ? handle : new HostHandle();
         HostHandler hostHandler = hostHandlerMatrix.get(service);
         Host host = hostHandler.get(hostHandle, accessType);
         try {
             while (true) {
                 try {
                     final HttpConnection connection = (HttpConnection) host.connection();
-                    final Response response = connection.execute(request);
-                    hostHandler.success();
+                    final long start = host.getHealth().begin();
+                    final Response response;
+                    try {
+                        response = connection.execute(request);
+                    } catch (final IOException | RuntimeException e) {
+                        host.getHealth().record(start, e);
+                        throw e;
+                    }
+                    host.getHealth().record(start, null);
+                    hostHandler.success(hostHandle);
                     hostHandler.confirm();
                     return response;
                 } catch (final SocketException se) {
-                    hostHandler.fail();
-                    if (hostHandle != null && hostHandle.getHost() != null) {
+                    hostHandler.fail(hostHandle);
+                    if (hostHandle.getHost() != null) {
                         hostHandle.setHost(null);
                     }
                     final Host failedHost = host;
@@ -111,9 +161,12 @@ public class HttpCommunication implements Closeable {
             if (e instanceof C8DBRedirectException) {
                 final String location = C8DBRedirectException.class.cast(e).getLocation();
                 final HostDescription redirectHost = HostUtils.createFromLocation(location);
-                hostHandler.closeCurrentOnError();
-                hostHandler.fail();
-                return execute(request, new HostHandle().setHost(redirectHost), service);
+                hostHandler.closeCurrentOnError(hostHandle);
+                hostHandler.fail(hostHandle);
+                if (metrics != null) {
+                    metrics.onRedirect(service);
+                }
+                return send(request, new HostHandle().setHost(redirectHost), service);
             } else {
                 throw e;
             }
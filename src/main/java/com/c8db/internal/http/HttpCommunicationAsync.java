@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.http;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+
+import com.c8db.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.c8db.C8DBException;
+import com.c8db.MetricsListener;
+import com.c8db.internal.net.AccessType;
+import com.c8db.internal.net.C8DBRedirectException;
+import com.c8db.internal.net.Host;
+import com.c8db.internal.net.HostDescription;
+import com.c8db.internal.net.HostHandle;
+import com.c8db.internal.net.HostHandler;
+import com.c8db.internal.util.HostUtils;
+import com.c8db.internal.util.RequestUtils;
+import com.c8db.internal.util.ResponseUtils;
+import com.c8db.velocystream.Request;
+import com.c8db.velocystream.Response;
+
+/**
+ * Non-blocking counterpart of {@link HttpCommunication}, selecting the host with the same {@link HostHandler}s and
+ * failing over to the next host on connection errors.
+ */
+public class HttpCommunicationAsync implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpCommunicationAsync.class);
+
+    private final Map<Service, HostHandler> hostHandlerMatrix;
+    private final MetricsListener metrics;
+
+    public HttpCommunicationAsync(final Map<Service, HostHandler> hostHandlerMatrix) {
+        this(hostHandlerMatrix, null);
+    }
+
+    public HttpCommunicationAsync(final Map<Service, HostHandler> hostHandlerMatrix, final MetricsListener metrics) {
+        super();
+        this.hostHandlerMatrix = hostHandlerMatrix;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (HostHandler hostHandler : hostHandlerMatrix.values()) {
+            hostHandler.close();
+        }
+    }
+
+    /**
+     * @return a future which is completed with the response or exceptionally, it does not throw even if no host can
+     *         be contacted
+     */
+    public CompletableFuture<Response> execute(final Request request, final HostHandle handle,
+        final Service service) {
+        final CompletableFuture<Response> result = new CompletableFuture<>();
+        // the metrics are reported before the result is completed
+        result.whenComplete(new BiConsumer<Response, Throwable>() {
+            @Override
+            public void accept(final Response response, final Throwable error) {
+                RequestUtils.releaseBody(request);
+            }
+        });
+        try {
+            execute(request, handle, service, result);
+        } catch (final RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private void execute(final Request request, final HostHandle handle, final Service service,
+        final CompletableFuture<Response> result) {
+        final AccessType accessType = RequestUtils.determineAccessType(request);
+        final HostHandle hostHandle = handle != null ? handle : new HostHandle();
+        final HostHandler hostHandler = hostHandlerMatrix.get(service);
+        if (metrics == null) {
+            send(request, hostHandle, service, accessType, hostHandler, null, null, result);
+            return;
+        }
+        // measured before the result is handed out, which may release the response
+        final long start = System.nanoTime();
+        final CompletableFuture<Response> measured = new CompletableFuture<>();
+        measured.whenComplete(new BiConsumer<Response, Throwable>() {
+            @Override
+            public void accept(final Response response, final Throwable error) {
+                try {
+                    final Integer responseCode = response != null ? Integer.valueOf(response.getResponseCode())
+                        : error instanceof C8DBException ? ((C8DBException) error).getResponseCode() : null;
+                    metrics.onRequest(service, request.getRequestType(), request.getPathTemplate(),
+                        responseCode != null ? responseCode : 0, System.nanoTime() - start,
+                        RequestUtils.bodySize(request), ResponseUtils.bodySize(response));
+                } finally {
+                    if (error == null) {
+                        result.complete(response);
+                    } else {
+                        result.completeExceptionally(error);
+                    }
+                }
+            }
+        });
+        send(request, hostHandle, service, accessType, hostHandler, null, null, measured);
+    }
+
+    /**
+     * Sends the request to the next host of the handler, or completes the result exceptionally if there is none.
+     *
+     * @param failed the host which could not be connected to, if any
+     * @param cause  the error of the previous attempt, to complete the result with if there is no other host
+     */
+    private void send(final Request request, final HostHandle hostHandle, final Service service,
+        final AccessType accessType, final HostHandler hostHandler, final Host failed, final Throwable cause,
+        final CompletableFuture<Response> result) {
+        final Host host;
+        try {
+            host = hostHandler.get(hostHandle, accessType);
+        } catch (final RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        if (host == null) {
+            result.completeExceptionally(cause != null ? cause : new C8DBException("Cannot contact any host!"));
+            return;
+        }
+        if (failed != null) {
+            LOGGER.warn(String.format("Could not connect to %s. Try connecting to %s", failed.getDescription(),
+                host.getDescription()));
+        }
+        execute(request, hostHandle, service, accessType, hostHandler, host, result);
+    }
+
+    private void execute(final Request request, final HostHandle hostHandle, final Service service,
+        final AccessType accessType, final HostHandler hostHandler, final Host host,
+        final CompletableFuture<Response> result) {
+
+        final long start = host.getHealth().begin();
+        final CompletableFuture<Response> response;
+        try {
+            response = ((HttpConnectionAsync) host.connection()).execute(request);
+        } catch (final RuntimeException e) {
+            host.getHealth().record(start, e);
+            result.completeExceptionally(e);
+            return;
+        }
+        response.whenComplete(new BiConsumer<Response, Throwable>() {
+            @Override
+            public void accept(final Response value, final Throwable error) {
+                try {
+                    completed(request, hostHandle, service, accessType, hostHandler, host, start, value, error,
+                        result);
+                } catch (final RuntimeException e) {
+                    // e.g. thrown by the host handler, the caller would wait forever otherwise
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    private void completed(final Request request, final HostHandle hostHandle, final Service service,
+        final AccessType accessType, final HostHandler hostHandler, final Host host, final long start,
+        final Response value, final Throwable error, final CompletableFuture<Response> result) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause() : error;
+        host.getHealth().record(start, cause);
+        if (error == null) {
+            hostHandler.success(hostHandle);
+            hostHandler.confirm();
+            result.complete(value);
+        } else if (cause instanceof SocketException) {
+            hostHandler.fail(hostHandle);
+            if (hostHandle.getHost() != null) {
+                hostHandle.setHost(null);
+            }
+            send(request, hostHandle, service, accessType, hostHandler, host, cause, result);
+        } else if (cause instanceof C8DBRedirectException) {
+            final String location = C8DBRedirectException.class.cast(cause).getLocation();
+            final HostDescription redirectHost = HostUtils.createFromLocation(location);
+            hostHandler.closeCurrentOnError(hostHandle);
+            hostHandler.fail(hostHandle);
+            if (metrics != null) {
+                metrics.onRedirect(service);
+            }
+            send(request, new HostHandle().setHost(redirectHost), service, accessType, hostHandler, null, cause,
+                result);
+        } else {
+            result.completeExceptionally(cause);
+        }
+    }
+
+}
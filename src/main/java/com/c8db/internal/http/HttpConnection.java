@@ -5,11 +5,14 @@
 package com.c8db.internal.http;
 
 import com.c8db.C8DBException;
+import com.c8db.ExponentialBackoffRetryPolicy;
+import com.c8db.MetricsListener;
 import com.c8db.Protocol;
+import com.c8db.RetryPolicy;
 import com.c8db.SecretProvider;
 import com.c8db.Service;
-import com.c8db.internal.C8RemoteSecretProvider;
-import com.c8db.internal.SecretProviderContext;
+import com.c8db.internal.C8Defaults;
+import com.c8db.internal.net.C8DBRedirectException;
 import com.c8db.internal.net.Connection;
 import com.c8db.internal.net.HostDescription;
 import com.c8db.internal.util.CURLLogger;
@@ -20,18 +23,16 @@ import com.c8db.velocystream.Request;
 import com.c8db.velocystream.Response;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Consts;
+import org.apache.http.Header;
 import org.apache.http.HeaderElement;
 import org.apache.http.HeaderElementIterator;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
-import org.apache.http.NameValuePair;
-import org.apache.http.NoHttpResponseException;
 import org.apache.http.auth.AuthenticationException;
 import org.apache.http.auth.Credentials;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpRequestBase;
-import org.apache.http.client.utils.URLEncodedUtils;
 import org.apache.http.config.ConnectionConfig;
 import org.apache.http.config.MessageConstraints;
 import org.apache.http.config.RegistryBuilder;
@@ -45,7 +46,6 @@ import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicHeaderElementIterator;
-import org.apache.http.message.BasicNameValuePair;
 import org.apache.http.protocol.HTTP;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.ssl.SSLContexts;
@@ -53,24 +53,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.UnknownHostException;
 import java.nio.charset.CodingErrorAction;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.net.ssl.SSLContext;
 
 public class HttpConnection implements Connection {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpConnection.class);
-    private static final int INITIAL_SLEEP_TIME_SEC = 4;
-    private static final int SLEEP_TIME_MULTIPLIER = 2;
-    private static final int MAX_SLEEP_TIME_SEC = 128;
     private final PoolingHttpClientConnectionManager cm;
     private final CloseableHttpClient client;
     private final String user;
@@ -79,21 +70,30 @@ public class HttpConnection implements Connection {
     private final Boolean jwtAuthEnabled;
     private final C8Serialization util;
     private final Boolean useSsl;
+    private final String baseUrl;
     private final Protocol contentType;
     private final HostDescription host;
-    private Map<TenantUser, String> cachedJwt = new ConcurrentHashMap<>();
     private final String defaultJWT;
     private final String apiKey;
     private final HostDescription auxHost;
-    private final SecretProvider secretProvider;
+    private final JwtTokenManager tokenManager;
+    private final RetryPolicy retryPolicy;
+    private final Integer timeout;
     private final Service service;
+    private final boolean jsonStreaming;
+    private final boolean jsonNative;
+    private final int maxConnections;
+    private final MetricsListener metrics;
+    private final AtomicInteger inUse = new AtomicInteger();
 
     private HttpConnection(final HostDescription host, final Integer timeout, final Integer responseSizeLimit, final String user, final String password,
         final String email, final Boolean jwtAuthEnabled, final Boolean useSsl,
         final SSLContext sslContext, final C8Serialization util,
         final Protocol contentType, final Long ttl, final String httpCookieSpec,
         final String jwt, final String apiKey, final HostDescription auxHost,
-        final SecretProvider secretProvider, final Service service) {
+        final JwtTokenManager tokenManager, final Service service, final boolean jsonStreaming,
+        final boolean jsonNative, final int maxConnections, final long maxIdleTime, final int validateAfterInactivity,
+        final RetryPolicy retryPolicy, final MetricsListener metrics) {
 
         super();
         this.host = host;
@@ -102,12 +102,19 @@ public class HttpConnection implements Connection {
         this.email = email;
         this.jwtAuthEnabled = jwtAuthEnabled;
         this.useSsl = useSsl;
+        this.baseUrl = RequestUtils.buildBaseUrl(host, useSsl);
         this.util = util;
         this.contentType = contentType;
         this.apiKey = apiKey;
         this.auxHost = auxHost;
         this.defaultJWT = jwt;
         this.service = service;
+        this.jsonStreaming = jsonStreaming;
+        this.jsonNative = jsonNative;
+        this.retryPolicy = retryPolicy;
+        this.timeout = timeout;
+        this.maxConnections = maxConnections;
+        this.metrics = metrics;
 
         final RegistryBuilder<ConnectionSocketFactory> registryBuilder = RegistryBuilder
                 .create();
@@ -133,8 +140,9 @@ public class HttpConnection implements Connection {
 
         cm = new PoolingHttpClientConnectionManager(registryBuilder.build());
         cm.setDefaultConnectionConfig(connectionConfig);
-        cm.setDefaultMaxPerRoute(1);
-        cm.setMaxTotal(1);
+        cm.setDefaultMaxPerRoute(maxConnections);
+        cm.setMaxTotal(maxConnections);
+        cm.setValidateAfterInactivity(validateAfterInactivity);
         final RequestConfig.Builder requestConfig = RequestConfig.custom();
         if (timeout != null && timeout >= 0) {
             requestConfig.setConnectTimeout(timeout);
@@ -154,54 +162,15 @@ public class HttpConnection implements Connection {
         };
         final HttpClientBuilder builder = HttpClientBuilder.create().setDefaultRequestConfig(requestConfig.build())
                 .setConnectionManager(cm).setKeepAliveStrategy(keepAliveStrategy)
-                .setRetryHandler(new HttpRequestRetryHandler());
+                .setRetryHandler(new HttpRequestRetryHandler()).evictExpiredConnections()
+                .evictIdleConnections(maxIdleTime, TimeUnit.MILLISECONDS);
         if (ttl != null) {
             builder.setConnectionTimeToLive(ttl, TimeUnit.MILLISECONDS);
         }
         client = builder.build();
 
-        String pwd = password != null ? password : "";
-        SecretProviderContext secCtx = new SecretProviderContext.Builder().email(email).username(user).useSsl(useSsl)
-                .password(pwd.toCharArray()).client(client).host(auxHost).serialization(util)
-                .contentType(contentType).build();
-        this.secretProvider =
-                secretProvider == null ? new C8RemoteSecretProvider() : secretProvider;
-        this.secretProvider.init(secCtx);
-    }
-
-    private static String buildUrl(final String baseUrl, final Request request, final Service service) throws UnsupportedEncodingException {
-        final StringBuilder sb = new StringBuilder().append(baseUrl);
-        final String database = request.getDatabase();
-        final String tenant = request.getTenant();
-        if (tenant != null && !tenant.isEmpty() && service != Service.C8FUNCTION) {
-            sb.append("/_tenant/").append(tenant);
-        }
-
-        if (database != null && !database.isEmpty()) {
-            sb.append("/_fabric/").append(database);
-        }
-
-        sb.append(request.getRequest());
-        if (!request.getQueryParam().isEmpty()) {
-            if (request.getRequest().contains("?")) {
-                sb.append("&");
-            } else {
-                sb.append("?");
-            }
-            final String paramString = URLEncodedUtils.format(toList(request.getQueryParam()), "utf-8");
-            sb.append(paramString);
-        }
-        return sb.toString();
-    }
-
-    private static List<NameValuePair> toList(final Map<String, String> parameters) {
-        final ArrayList<NameValuePair> paramList = new ArrayList<NameValuePair>(parameters.size());
-        for (final Entry<String, String> param : parameters.entrySet()) {
-            if (param.getValue() != null) {
-                paramList.add(new BasicNameValuePair(param.getKey(), param.getValue()));
-            }
-        }
-        return paramList;
+        this.tokenManager = tokenManager;
+        tokenManager.retain();
     }
 
     private static void addHeader(final Request request, final HttpRequestBase httpRequest) {
@@ -230,10 +199,50 @@ public class HttpConnection implements Connection {
     public void close() throws IOException {
         cm.shutdown();
         client.close();
+        tokenManager.release();
     }
 
     public Response execute(final Request request) throws C8DBException, IOException {
-        final String url = buildUrl(RequestUtils.buildBaseUrl(host, useSsl), request, service);
+        final HttpRequestBase httpRequest = prepareRequest(request);
+        trackPool(inUse, 1, maxConnections);
+        try {
+            return execute(request, httpRequest);
+        } finally {
+            trackPool(inUse, -1, maxConnections);
+        }
+    }
+
+    private Response execute(final Request request, final HttpRequestBase httpRequest)
+        throws C8DBException, IOException {
+        Response response = null;
+        try {
+            response = ResponseUtils.buildResponse(util, client.execute(httpRequest), contentType, jsonStreaming,
+                jsonNative);
+            ResponseUtils.checkError(util, response);
+        } catch (C8DBException ex) {
+            if (Integer.valueOf(401).equals(ex.getResponseCode()) && defaultJWT == null) {
+                // jwt might have expired refresh it
+                renewJwt(request.getTenant(), httpRequest);
+                response = ResponseUtils.buildResponse(util, client.execute(httpRequest), contentType, jsonStreaming,
+                jsonNative);
+                ResponseUtils.checkError(util, response);
+            } else if (ex instanceof C8DBRedirectException) {
+                throw ex;
+            } else {
+                response = retryRequest(request, httpRequest, response, null);
+                ResponseUtils.checkError(util, response);
+            }
+        } catch (IOException ex) {
+            response = retryRequest(request, httpRequest, null, ex);
+        }
+        return response;
+    }
+
+    /**
+     * Builds the http request for the given request including the authentication headers.
+     */
+    HttpRequestBase prepareRequest(final Request request) throws IOException {
+        final String url = RequestUtils.buildUrl(baseUrl, request, service != Service.C8FUNCTION);
         final HttpRequestBase httpRequest = RequestUtils.buildHttpRequestBase(request, url, contentType);
         httpRequest.setHeader(HttpHeaders.USER_AGENT,
             "Mozilla/5.0 (compatible; C8DB-JavaDriver/1.1; +http://mt.orz.at/)");
@@ -243,14 +252,13 @@ public class HttpConnection implements Connection {
         }
         addHeader(request, httpRequest);
         httpRequest.setHeader("x-gdn-tenantid", request.getTenant());
-        TenantUser tenantUser = new TenantUser(request.getTenant(), user);
         if (jwtAuthEnabled) {
-            String jwt = defaultJWT != null ? defaultJWT : cachedJwt.get(tenantUser);
+            String jwt = defaultJWT != null ? defaultJWT : tokenManager.cached(request.getTenant(), user);
             if (StringUtils.isNotEmpty(apiKey) && jwt == null) {  //Use API key only if API Key is provided
                 LOGGER.debug("Using API Key for authentication.");
                 httpRequest.addHeader(HttpHeaders.AUTHORIZATION, "apikey " + apiKey);
             } else if (jwt == null) { //Generate JWT using user credentials if jwt and apikey are absent
-                jwt = addJWT(tenantUser);
+                jwt = tokenManager.token(request.getTenant(), user);
                 LOGGER.debug("Using JWT for authentication.");
                 httpRequest.addHeader(HttpHeaders.AUTHORIZATION, "bearer " + jwt);
             } else { //Add Header when JWT is provided
@@ -265,65 +273,117 @@ public class HttpConnection implements Connection {
                 CURLLogger.log(url, request, credentials, util);
             }
         }
-        Response response = null;
-        try {
-            response = ResponseUtils.buildResponse(util, client.execute(httpRequest), contentType);
-            ResponseUtils.checkError(util, response);
-        } catch (C8DBException ex) {
-            if (ex.getResponseCode().equals(401) && defaultJWT == null) {
-                // jwt might have expired refresh it
-                String jwt = addJWT(tenantUser);
-                httpRequest.removeHeaders(HttpHeaders.AUTHORIZATION);
-                httpRequest.addHeader(HttpHeaders.AUTHORIZATION, "bearer " + jwt);
-                response = ResponseUtils.buildResponse(util, client.execute(httpRequest), contentType);
-                ResponseUtils.checkError(util, response);
-            } else if (ex.getResponseCode() >= 500) {
-                if (request.isRetryEnabled()) {
-                    response = retryRequest(request, httpRequest);
-                }
-                ResponseUtils.checkError(util, response);
-            } else if (ex.getResponseCode() >= 400) {
-                // Handle HTTP Error messages.
-                ResponseUtils.checkError(util, response);
-            } else {
-                ResponseUtils.checkError(util, response);
-            }
-        } catch (UnknownHostException | NoHttpResponseException ex) {
-            response = retryRequest(request, httpRequest);
-        }
+        return httpRequest;
+    }
+
+    /**
+     * Converts the http response and throws a {@link C8DBException} if it contains an error.
+     */
+    Response handleResponse(final HttpResponse httpResponse) throws IOException {
+        final Response response = ResponseUtils.buildResponse(util, httpResponse, contentType, jsonStreaming,
+            jsonNative);
+        ResponseUtils.checkError(util, response);
         return response;
     }
 
-    private Response retryRequest(final Request request, HttpRequestBase httpRequest) throws IOException {
-        Response response = null;
+    /**
+     * Fetches a new JWT for the tenant of the request and replaces the authorization header of the given http
+     * request.
+     *
+     * @return {@code false} if the JWT was provided by the user and can not be refreshed
+     */
+    boolean refreshAuthorization(final String tenant, final HttpRequestBase httpRequest) {
+        if (defaultJWT != null) {
+            return false;
+        }
+        renewJwt(tenant, httpRequest);
+        return true;
+    }
 
-        for (int currentWaitTime = INITIAL_SLEEP_TIME_SEC; currentWaitTime <= MAX_SLEEP_TIME_SEC; currentWaitTime *= SLEEP_TIME_MULTIPLIER) {
-            try {
-                LOGGER.info(String.format("Retrying request to %s in %d seconds...", service.name(), currentWaitTime));
-                Thread.sleep(currentWaitTime * 1000);
-                response = ResponseUtils.buildResponse(util, client.execute(httpRequest), contentType);
-                ResponseUtils.checkError(util, response);
+    /**
+     * Counts the requests which use or wait for a connection of the given pool and reports them to the metrics.
+     */
+    void trackPool(final AtomicInteger counter, final int delta, final int max) {
+        if (metrics != null) {
+            metrics.onConnectionPool(service, delta, counter.addAndGet(delta), max);
+        }
+    }
+
+    /**
+     * Reports the next attempt of a failed request to the metrics.
+     */
+    void retried(final Request request) {
+        if (metrics != null) {
+            metrics.onRetry(service, request.getRequestType(), request.getPathTemplate());
+        }
+    }
+
+    /**
+     * Asks the retry policy for the delay before the next attempt, limited by the timeout of the connection.
+     *
+     * @return milliseconds to wait, or a negative value to give up
+     */
+    long retryDelay(final Request request, final int attempt, final long elapsed, final Integer responseCode,
+        final Throwable error) {
+        final long delay = retryPolicy.retryDelay(request, attempt, elapsed, responseCode, error);
+        if (delay >= 0 && timeout != null && timeout > 0 && elapsed + delay > timeout) {
+            return -1L;
+        }
+        return delay;
+    }
 
+    private Response retryRequest(final Request request, final HttpRequestBase httpRequest, Response response,
+        IOException error) throws IOException {
+        final long start = System.currentTimeMillis();
+        for (int attempt = 1;; attempt++) {
+            final long delay = retryDelay(request, attempt, System.currentTimeMillis() - start,
+                response != null ? response.getResponseCode() : null, error);
+            if (delay < 0) {
+                if (attempt > 1) {
+                    LOGGER.info(String.format("Unable to connect to the C8DB after %d attempts. No more retries will be made",
+                        attempt));
+                }
+                if (error != null) {
+                    throw error;
+                }
                 return response;
-            } catch (InterruptedException e) {
-            } catch (Exception e) {
-                if (e instanceof C8DBException && ((C8DBException) e).getResponseCode().equals(401)) {
+            }
+            LOGGER.info(String.format("Retrying request to %s in %d ms...", service.name(), delay));
+            RetryScheduler.await(delay);
+            retried(request);
+            try {
+                response = ResponseUtils.buildResponse(util, client.execute(httpRequest), contentType, jsonStreaming,
+                jsonNative);
+                error = null;
+                if (response.getResponseCode() == 401 && defaultJWT == null) {
                     // jwt might have expired refresh it
-                    String jwt = addJWT(new TenantUser(request.getTenant(), user));
-                    httpRequest.removeHeaders(HttpHeaders.AUTHORIZATION);
-                    httpRequest.addHeader(HttpHeaders.AUTHORIZATION, "bearer " + jwt);
+                    renewJwt(request.getTenant(), httpRequest);
+                    response = ResponseUtils.buildResponse(util, client.execute(httpRequest), contentType,
+                        jsonStreaming, jsonNative);
                 }
+                ResponseUtils.checkError(util, response);
+                return response;
+            } catch (final C8DBRedirectException e) {
+                return response;
+            } catch (final C8DBException e) {
+                // the failed response decides about the next attempt
+            } catch (final IOException e) {
+                response = null;
+                error = e;
             }
         }
-
-        LOGGER.info(String.format("Unable to connect to the C8DB after %d seconds. No more retries will be made", MAX_SLEEP_TIME_SEC));
-        return response;
     }
 
-    private synchronized String addJWT(TenantUser tenantUser) {
-        String secret = secretProvider.fetchSecret(tenantUser.tenant, tenantUser.user);
-        cachedJwt.put(tenantUser, secret);
-        return secret;
+    private void renewJwt(final String tenant, final HttpRequestBase httpRequest) {
+        final Header authorization = httpRequest.getFirstHeader(HttpHeaders.AUTHORIZATION);
+        final String rejected = authorization != null && authorization.getValue().startsWith("bearer ")
+                ? authorization.getValue().substring("bearer ".length()) : null;
+        final String jwt = tokenManager.refresh(tenant, user, rejected);
+        httpRequest.removeHeaders(HttpHeaders.AUTHORIZATION);
+        httpRequest.addHeader(HttpHeaders.AUTHORIZATION, "bearer " + jwt);
+        if (metrics != null) {
+            metrics.onAuthRefresh(service);
+        }
     }
 
     public Credentials addCredentials(final HttpRequestBase httpRequest) {
@@ -358,7 +418,15 @@ public class HttpConnection implements Connection {
         private String apiKey;
         private HostDescription auxHost;
         private SecretProvider secretProvider;
+        private JwtTokenManager tokenManager;
+        private MetricsListener metrics;
+        private RetryPolicy retryPolicy;
         private Service service;
+        private boolean jsonStreaming;
+        private boolean jsonNative;
+        private int maxConnections = 1;
+        private Long maxIdleTime;
+        private Integer validateAfterInactivity;
 
         public Builder user(final String user) {
             this.user = user;
@@ -440,6 +508,24 @@ public class HttpConnection implements Connection {
             return this;
         }
 
+        /**
+         * @param tokenManager JWTs shared with other connections, if not set the connection has its own
+         */
+        public Builder tokenManager(final JwtTokenManager tokenManager) {
+            this.tokenManager = tokenManager;
+            return this;
+        }
+
+        public Builder metrics(final MetricsListener metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public Builder retryPolicy(final RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
         public Builder responseSizeLimit(final Integer responseSizeLimit) {
             this.responseSizeLimit = responseSizeLimit;
             return this;
@@ -450,34 +536,65 @@ public class HttpConnection implements Connection {
             return this;
         }
 
-        public HttpConnection build() {
-            return new HttpConnection(host, timeout, responseSizeLimit, user, password, email, jwtAuthEnabled, useSsl, sslContext, util,
-                    contentType, ttl, httpCookieSpec, jwt, apiKey, auxHost, secretProvider, service);
+        public Builder jsonStreaming(final boolean jsonStreaming) {
+            this.jsonStreaming = jsonStreaming;
+            return this;
         }
-    }
 
-    private static class TenantUser {
+        /**
+         * @param jsonNative whether JSON response bodies are kept as received, to be deserialized without
+         *                   VelocyPack
+         */
+        public Builder jsonNative(final boolean jsonNative) {
+            this.jsonNative = jsonNative;
+            return this;
+        }
 
-        public String tenant;
-        public String user;
+        /**
+         * @param maxConnections max number of pooled connections the client of a single {@link HttpConnection}
+         *                       opens to its host
+         */
+        public Builder maxConnections(final int maxConnections) {
+            this.maxConnections = maxConnections;
+            return this;
+        }
 
-        public TenantUser(String tenant, String user) {
-            this.tenant = tenant;
-            this.user = user;
+        /**
+         * @param maxIdleTime milliseconds after which idle pooled connections are closed, defaults to
+         *                    {@link C8Defaults#HTTP_MAX_IDLE_TIME}
+         */
+        public Builder maxIdleTime(final Long maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+            return this;
         }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            TenantUser that = (TenantUser) o;
-            return Objects.equals(tenant, that.tenant) && Objects.equals(user, that.user);
+        /**
+         * @param validateAfterInactivity milliseconds of inactivity after which a pooled connection is checked before
+         *                                it is leased, defaults to {@link C8Defaults#HTTP_VALIDATE_AFTER_INACTIVITY}
+         */
+        public Builder validateAfterInactivity(final Integer validateAfterInactivity) {
+            this.validateAfterInactivity = validateAfterInactivity;
+            return this;
         }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(tenant, user);
+        public HttpConnection build() {
+            return new HttpConnection(host, timeout, responseSizeLimit, user, password, email, jwtAuthEnabled, useSsl, sslContext, util,
+                    contentType, ttl, httpCookieSpec, jwt, apiKey, auxHost,
+                    tokenManager != null ? tokenManager : createTokenManager(), service, jsonStreaming,
+                    jsonNative, maxConnections, maxIdleTime != null ? maxIdleTime : C8Defaults.HTTP_MAX_IDLE_TIME,
+                    validateAfterInactivity != null ? validateAfterInactivity
+                            : C8Defaults.HTTP_VALIDATE_AFTER_INACTIVITY,
+                    retryPolicy != null ? retryPolicy : new ExponentialBackoffRetryPolicy.Builder().build(), metrics);
+        }
+
+        JwtTokenManager createTokenManager() {
+            return new JwtTokenManager(secretProvider, user, password, email, useSsl, sslContext, timeout, util,
+                    contentType, auxHost);
         }
-    }
 
+        public HttpConnectionAsync buildAsync(final int maxConnections) {
+            return new HttpConnectionAsync(build(), maxConnections, timeout, responseSizeLimit, ttl, httpCookieSpec,
+                    useSsl, sslContext);
+        }
+    }
 }
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.http;
+
+import com.c8db.C8DBException;
+import com.c8db.internal.net.C8DBRedirectException;
+import com.c8db.internal.net.Connection;
+import com.c8db.velocystream.Request;
+import com.c8db.velocystream.Response;
+import org.apache.http.Consts;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.ConnectionConfig;
+import org.apache.http.config.MessageConstraints;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.CodingErrorAction;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import javax.net.ssl.SSLContext;
+
+/**
+ * Non-blocking counterpart of {@link HttpConnection}. A single instance per host multiplexes all requests over a
+ * pool of up to {@code maxConnections} NIO connections, which are served by the I/O dispatcher threads of the
+ * client. Building the request and authentication is delegated to a {@link HttpConnection} of the same host.
+ *
+ * <p>
+ * The returned futures are completed on an I/O dispatcher thread, so callers must not block in dependent stages.
+ * </p>
+ */
+public class HttpConnectionAsync implements Connection {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpConnectionAsync.class);
+
+    private final HttpConnection connection;
+    private final PoolingNHttpClientConnectionManager cm;
+    private final CloseableHttpAsyncClient client;
+    private final int maxConnections;
+    private final AtomicInteger inUse = new AtomicInteger();
+
+    HttpConnectionAsync(final HttpConnection connection, final int maxConnections, final Integer timeout,
+        final Integer responseSizeLimit, final Long ttl, final String httpCookieSpec, final Boolean useSsl,
+        final SSLContext sslContext) {
+        super();
+        this.connection = connection;
+        this.maxConnections = maxConnections;
+
+        final RegistryBuilder<SchemeIOSessionStrategy> registryBuilder = RegistryBuilder.create();
+        if (Boolean.TRUE == useSsl) {
+            registryBuilder.register("https", sslContext != null ? new SSLIOSessionStrategy(sslContext)
+                : SSLIOSessionStrategy.getSystemDefaultStrategy());
+        } else {
+            registryBuilder.register("http", NoopIOSessionStrategy.INSTANCE);
+        }
+        try {
+            cm = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(), null,
+                registryBuilder.build(), null, null, ttl != null ? ttl : -1, TimeUnit.MILLISECONDS);
+        } catch (final IOReactorException e) {
+            throw new C8DBException(e);
+        }
+        cm.setDefaultConnectionConfig(ConnectionConfig.custom()
+            .setMalformedInputAction(CodingErrorAction.IGNORE)
+            .setUnmappableInputAction(CodingErrorAction.IGNORE)
+            .setCharset(Consts.UTF_8)
+            .setMessageConstraints(MessageConstraints.custom().setMaxLineLength(responseSizeLimit).build())
+            .build());
+        cm.setDefaultMaxPerRoute(maxConnections);
+        cm.setMaxTotal(maxConnections);
+
+        final RequestConfig.Builder requestConfig = RequestConfig.custom();
+        if (timeout != null && timeout >= 0) {
+            requestConfig.setConnectTimeout(timeout);
+            requestConfig.setConnectionRequestTimeout(timeout);
+            requestConfig.setSocketTimeout(timeout);
+        }
+        if (httpCookieSpec != null && httpCookieSpec.length() > 1) {
+            requestConfig.setCookieSpec(httpCookieSpec);
+        }
+        client = HttpAsyncClients.custom().setConnectionManager(cm).setDefaultRequestConfig(requestConfig.build())
+            .build();
+        client.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            client.close();
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * @return a future which is completed with the response or exceptionally with a {@link C8DBException} or the
+     *         {@link IOException} which caused the request to fail
+     */
+    public CompletableFuture<Response> execute(final Request request) {
+        final CompletableFuture<Response> result = new CompletableFuture<>();
+        try {
+            execute(request, connection.prepareRequest(request), true, 1, 0L, result);
+        } catch (final IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private void execute(final Request request, final HttpRequestBase httpRequest, final boolean refreshable,
+        final int attempt, final long firstFailure, final CompletableFuture<Response> result) {
+
+        connection.trackPool(inUse, 1, maxConnections);
+        final Future<HttpResponse> future = client.execute(httpRequest, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(final HttpResponse httpResponse) {
+                connection.trackPool(inUse, -1, maxConnections);
+                try {
+                    result.complete(connection.handleResponse(httpResponse));
+                } catch (final C8DBRedirectException e) {
+                    result.completeExceptionally(e);
+                } catch (final C8DBException e) {
+                    if (refreshable && Integer.valueOf(401).equals(e.getResponseCode())) {
+                        refreshAuthorization(request, httpRequest, e, attempt, firstFailure, result);
+                    } else {
+                        retry(request, httpRequest, attempt, firstFailure, e.getResponseCode(), null, e, result);
+                    }
+                } catch (final IOException | RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(final Exception e) {
+                connection.trackPool(inUse, -1, maxConnections);
+                retry(request, httpRequest, attempt, firstFailure, null, e, e, result);
+            }
+
+            @Override
+            public void cancelled() {
+                connection.trackPool(inUse, -1, maxConnections);
+                result.cancel(false);
+            }
+        });
+        result.whenComplete(new BiConsumer<Response, Throwable>() {
+            @Override
+            public void accept(final Response response, final Throwable e) {
+                if (result.isCancelled()) {
+                    future.cancel(true);
+                }
+            }
+        });
+    }
+
+    /**
+     * Schedules the next attempt if the retry policy allows it, the delay does not occupy any thread.
+     */
+    private void retry(final Request request, final HttpRequestBase httpRequest, final int attempt,
+        final long firstFailure, final Integer responseCode, final Exception error, final Exception failure,
+        final CompletableFuture<Response> result) {
+        final long now = System.currentTimeMillis();
+        final long start = firstFailure > 0 ? firstFailure : now;
+        final long delay;
+        try {
+            delay = connection.retryDelay(request, attempt, now - start, responseCode, error);
+        } catch (final RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        if (delay < 0 || result.isDone()) {
+            result.completeExceptionally(failure);
+            return;
+        }
+        LOGGER.debug(String.format("Retrying request in %d ms", delay));
+        RetryScheduler.delay(delay).thenRun(new Runnable() {
+            @Override
+            public void run() {
+                if (!result.isDone()) {
+                    connection.retried(request);
+                    execute(request, httpRequest, true, attempt + 1, start, result);
+                }
+            }
+        });
+    }
+
+    private void refreshAuthorization(final Request request, final HttpRequestBase httpRequest,
+        final C8DBException unauthorized, final int attempt, final long firstFailure,
+        final CompletableFuture<Response> result) {
+        // fetching the JWT is a blocking call, it must not run on the I/O dispatcher thread
+        CompletableFuture.runAsync(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (connection.refreshAuthorization(request.getTenant(), httpRequest)) {
+                        LOGGER.debug("JWT refreshed, retrying request");
+                        execute(request, httpRequest, false, attempt, firstFailure, result);
+                    } else {
+                        result.completeExceptionally(unauthorized);
+                    }
+                } catch (final RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+}
@@ -23,6 +23,8 @@ import com.c8db.SecretProvider;
 import javax.net.ssl.SSLContext;
 
 import com.c8db.Protocol;
+import com.c8db.MetricsListener;
+import com.c8db.RetryPolicy;
 import com.c8db.Service;
 import com.c8db.internal.net.Connection;
 import com.c8db.internal.net.ConnectionFactory;
@@ -44,6 +46,7 @@ public class HttpConnectionFactory implements ConnectionFactory {
                 .jwtAuthEnabled(jwtAuth).useSsl(useSsl).sslContext(sslContext).serializationUtil(util)
                 .contentType(protocol).ttl(connectionTtl).httpCookieSpec(httpCookieSpec).jwt(jwtToken)
                 .apiKey(apiKey).auxHost(auxiliaryHost);
+        builder.tokenManager(builder.createTokenManager());
     }
 
     public HttpConnectionFactory(final Integer timeout, final Integer responseSizeLimit, final String user, final String password,
@@ -55,11 +58,95 @@ public class HttpConnectionFactory implements ConnectionFactory {
             .jwtAuthEnabled(jwtAuth).jwt(jwtToken).useSsl(useSsl).sslContext(sslContext).serializationUtil(util)
             .contentType(protocol).ttl(connectionTtl).httpCookieSpec(httpCookieSpec)
             .apiKey(apiKey).auxHost(auxiliaryHost).user(user).password(password);
+        // one token manager for the connections of all hosts and services
+        builder.tokenManager(builder.createTokenManager());
+    }
+
+    /**
+     * @param jsonStreaming whether JSON response bodies are parsed into VelocyPack while they are read
+     * @return this factory
+     */
+    public HttpConnectionFactory jsonStreaming(final boolean jsonStreaming) {
+        builder.jsonStreaming(jsonStreaming);
+        return this;
+    }
+
+    /**
+     * @param maxConnections max number of pooled connections of each created {@link HttpConnection}
+     * @return this factory
+     */
+    public HttpConnectionFactory maxConnections(final int maxConnections) {
+        builder.maxConnections(maxConnections);
+        return this;
+    }
+
+    /**
+     * @param maxIdleTime milliseconds after which idle pooled connections are closed, can be null for the default
+     * @return this factory
+     */
+    public HttpConnectionFactory maxIdleTime(final Long maxIdleTime) {
+        builder.maxIdleTime(maxIdleTime);
+        return this;
+    }
+
+    /**
+     * @param validateAfterInactivity milliseconds of inactivity after which a pooled connection is checked before it
+     *                                is leased, can be null for the default
+     * @return this factory
+     */
+    public HttpConnectionFactory validateAfterInactivity(final Integer validateAfterInactivity) {
+        builder.validateAfterInactivity(validateAfterInactivity);
+        return this;
+    }
+
+    /**
+     * @param jsonNative whether JSON response bodies are kept as received, to be deserialized without VelocyPack
+     * @return this factory
+     */
+    public HttpConnectionFactory jsonNative(final boolean jsonNative) {
+        builder.jsonNative(jsonNative);
+        return this;
+    }
+
+    /**
+     * @param retryPolicy policy of the created connections, can be null for the default one
+     * @return this factory
+     */
+    public HttpConnectionFactory retryPolicy(final RetryPolicy retryPolicy) {
+        builder.retryPolicy(retryPolicy);
+        return this;
+    }
+
+    /**
+     * @param metrics listener of the created connections, can be null
+     * @return this factory
+     */
+    public HttpConnectionFactory metrics(final MetricsListener metrics) {
+        builder.metrics(metrics);
+        return this;
     }
 
     @Override
     public Connection create(final HostDescription host, final Service service) {
-        return builder.host(host).service(service).build();
+        // the builder is shared, connections of several hosts may be created at the same time
+        synchronized (builder) {
+            return builder.host(host).service(service).build();
+        }
+    }
+
+    /**
+     * @param maxConnections max number of connections per host multiplexed by a single {@link HttpConnectionAsync}
+     * @return factory of {@link HttpConnectionAsync} sharing the configuration of this factory
+     */
+    public ConnectionFactory async(final int maxConnections) {
+        return new ConnectionFactory() {
+            @Override
+            public Connection create(final HostDescription host, final Service service) {
+                synchronized (builder) {
+                    return builder.host(host).service(service).buildAsync(maxConnections);
+                }
+            }
+        };
     }
 
 }
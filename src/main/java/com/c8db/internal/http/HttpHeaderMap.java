@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.http;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.http.Header;
+import org.apache.http.HttpMessage;
+
+/**
+ * Headers of a HTTP message as map, which does not copy them as long as only single headers are looked up. The
+ * headers are copied into a map of their own on the first other access, including any modification. Names are case
+ * insensitive, of repeated headers the last one counts.
+ */
+public class HttpHeaderMap extends AbstractMap<String, String> {
+
+    private HttpMessage message;
+    private Map<String, String> map;
+
+    public HttpHeaderMap(final HttpMessage message) {
+        super();
+        this.message = message;
+    }
+
+    private Map<String, String> map() {
+        if (map == null) {
+            final Map<String, String> headers = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+            for (final Header header : message.getAllHeaders()) {
+                headers.put(header.getName(), header.getValue());
+            }
+            map = headers;
+            message = null;
+        }
+        return map;
+    }
+
+    @Override
+    public String get(final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        if (map != null) {
+            return map.get(key);
+        }
+        final Header header = message.getLastHeader((String) key);
+        return header != null ? header.getValue() : null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        if (!(key instanceof String)) {
+            return false;
+        }
+        if (map != null) {
+            return map.containsKey(key);
+        }
+        return message.containsHeader((String) key);
+    }
+
+    @Override
+    public String put(final String key, final String value) {
+        return map().put(key, value);
+    }
+
+    @Override
+    public String remove(final Object key) {
+        return key instanceof String ? map().remove(key) : null;
+    }
+
+    @Override
+    public void clear() {
+        map().clear();
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return map().entrySet();
+    }
+
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.http;
+
+import com.arangodb.velocypack.VPackSlice;
+import com.c8db.C8DBException;
+import com.c8db.Protocol;
+import com.c8db.SecretProvider;
+import com.c8db.internal.C8RemoteSecretProvider;
+import com.c8db.internal.SecretProviderContext;
+import com.c8db.internal.net.HostDescription;
+import com.c8db.internal.util.JsonVPackDecoder;
+import com.c8db.util.C8Serialization;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.ssl.SSLContexts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLContext;
+
+/**
+ * JWTs of a driver instance by tenant and user, shared by the {@link HttpConnection}s of all hosts and services.
+ * Tokens whose {@code exp} claim can be decoded are refreshed in the background ahead of their expiry, as long as
+ * they are in use. Concurrent fetches of the token of the same tenant and user are collapsed into one request.
+ *
+ * <p>
+ * The secret provider is initialized with an own client on first use. Connections retain the manager while they are
+ * open, the client and the refresh thread are released with the last connection.
+ * </p>
+ */
+public class JwtTokenManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtTokenManager.class);
+    private static final long REFRESH_AHEAD_MS = 60L * 1000L;
+    private static final long EXPIRY_SKEW_MS = 5L * 1000L;
+
+    private final Map<TenantUser, Token> tokens = new ConcurrentHashMap<>();
+    private final Map<TenantUser, CompletableFuture<Token>> fetching = new ConcurrentHashMap<>();
+    private final SecretProvider secretProvider;
+    private final String user;
+    private final String password;
+    private final String email;
+    private final Boolean useSsl;
+    private final SSLContext sslContext;
+    private final Integer timeout;
+    private final C8Serialization util;
+    private final Protocol contentType;
+    private final HostDescription authHost;
+
+    private int references;
+    private CloseableHttpClient client;
+    private ScheduledExecutorService scheduler;
+
+    public JwtTokenManager(final SecretProvider secretProvider, final String user, final String password,
+        final String email, final Boolean useSsl, final SSLContext sslContext, final Integer timeout,
+        final C8Serialization util, final Protocol contentType, final HostDescription authHost) {
+        super();
+        this.secretProvider = secretProvider != null ? secretProvider : new C8RemoteSecretProvider();
+        this.user = user;
+        this.password = password != null ? password : "";
+        this.email = email;
+        this.useSsl = useSsl;
+        this.sslContext = sslContext;
+        this.timeout = timeout;
+        this.util = util;
+        this.contentType = contentType;
+        this.authHost = authHost;
+    }
+
+    /**
+     * @return the current token of the tenant and user, or {@code null} if there is none or it is expired
+     */
+    public String cached(final String tenant, final String user) {
+        final Token token = tokens.get(new TenantUser(tenant, user));
+        if (token == null || token.isExpired()) {
+            return null;
+        }
+        token.used = true;
+        return token.jwt;
+    }
+
+    /**
+     * @return the current token of the tenant and user, fetches a new one if there is none or it is expired
+     */
+    public String token(final String tenant, final String user) {
+        final String jwt = cached(tenant, user);
+        return jwt != null ? jwt : fetch(new TenantUser(tenant, user)).jwt;
+    }
+
+    /**
+     * Replaces a token which was rejected by the server. If another caller already replaced it, the new token is
+     * returned without fetching another one.
+     *
+     * @param rejected the token which was rejected, can be null
+     */
+    public String refresh(final String tenant, final String user, final String rejected) {
+        final TenantUser key = new TenantUser(tenant, user);
+        final Token token = tokens.get(key);
+        if (token != null && !token.jwt.equals(rejected) && !token.isExpired()) {
+            token.used = true;
+            return token.jwt;
+        }
+        return fetch(key).jwt;
+    }
+
+    synchronized void retain() {
+        references++;
+    }
+
+    synchronized void release() {
+        if (references > 0 && --references == 0) {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+            if (client != null) {
+                try {
+                    client.close();
+                } catch (final IOException e) {
+                    LOGGER.debug("Could not close the authentication client", e);
+                }
+                client = null;
+            }
+        }
+    }
+
+    private Token fetch(final TenantUser key) {
+        final CompletableFuture<Token> future = new CompletableFuture<>();
+        final CompletableFuture<Token> running = fetching.putIfAbsent(key, future);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            final String jwt = secretProvider().fetchSecret(key.tenant, key.user);
+            final Token token = new Token(jwt, expiresAt(jwt));
+            tokens.put(key, token);
+            scheduleRefresh(key, token);
+            future.complete(token);
+            return token;
+        } catch (final RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            fetching.remove(key, future);
+        }
+    }
+
+    private static Token await(final CompletableFuture<Token> future) {
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof C8DBException ? (C8DBException) cause : new C8DBException(cause);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new C8DBException(e);
+        }
+    }
+
+    private synchronized SecretProvider secretProvider() {
+        if (client == null) {
+            client = createClient();
+            final SecretProviderContext context = new SecretProviderContext.Builder().email(email).username(user)
+                    .useSsl(Boolean.TRUE == useSsl).password(password.toCharArray()).client(client).host(authHost)
+                    .serialization(util).contentType(contentType).build();
+            secretProvider.init(context);
+        }
+        return secretProvider;
+    }
+
+    private synchronized void scheduleRefresh(final TenantUser key, final Token token) {
+        if (token.expiresAt <= 0 || references == 0) {
+            return;
+        }
+        final long lifetime = token.expiresAt - System.currentTimeMillis();
+        final long delay = Math.max(lifetime / 2, lifetime - REFRESH_AHEAD_MS);
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread thread = new Thread(r, "c8db-jwt-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                // a newer token has its own refresh, unused tokens are fetched again on demand
+                if (tokens.get(key) != token || !token.used) {
+                    return;
+                }
+                try {
+                    fetch(key);
+                } catch (final RuntimeException e) {
+                    LOGGER.warn(String.format("Could not refresh the JWT of tenant %s", key.tenant), e);
+                }
+            }
+        }, Math.max(0L, delay), TimeUnit.MILLISECONDS);
+    }
+
+    private CloseableHttpClient createClient() {
+        final RegistryBuilder<ConnectionSocketFactory> registryBuilder = RegistryBuilder.create();
+        if (Boolean.TRUE == useSsl) {
+            registryBuilder.register("https", new SSLConnectionSocketFactory(
+                    sslContext != null ? sslContext : SSLContexts.createSystemDefault()));
+        } else {
+            registryBuilder.register("http", new PlainConnectionSocketFactory());
+        }
+        final RequestConfig.Builder requestConfig = RequestConfig.custom();
+        if (timeout != null && timeout >= 0) {
+            requestConfig.setConnectTimeout(timeout);
+            requestConfig.setConnectionRequestTimeout(timeout);
+            requestConfig.setSocketTimeout(timeout);
+        }
+        return HttpClientBuilder.create().setDefaultRequestConfig(requestConfig.build())
+                .setConnectionManager(new PoolingHttpClientConnectionManager(registryBuilder.build()))
+                .setRetryHandler(new HttpRequestRetryHandler()).build();
+    }
+
+    /**
+     * @return the expiry of the token in milliseconds from the {@code exp} claim, or {@code -1} if unknown
+     */
+    static long expiresAt(final String jwt) {
+        if (jwt == null) {
+            return -1L;
+        }
+        final String[] parts = jwt.split("\\.");
+        if (parts.length < 2) {
+            return -1L;
+        }
+        try {
+            final VPackSlice claims = JsonVPackDecoder
+                    .decode(new ByteArrayInputStream(Base64.getUrlDecoder().decode(parts[1])), false);
+            final VPackSlice exp = claims != null && claims.isObject() ? claims.get("exp") : null;
+            return exp != null && exp.isNumber() ? exp.getAsLong() * 1000L : -1L;
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.debug("Could not decode the expiry of the JWT", e);
+            return -1L;
+        }
+    }
+
+    private static class Token {
+
+        private final String jwt;
+        private final long expiresAt;
+        private volatile boolean used;
+
+        Token(final String jwt, final long expiresAt) {
+            this.jwt = jwt;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return expiresAt > 0 && System.currentTimeMillis() >= expiresAt - EXPIRY_SKEW_MS;
+        }
+    }
+
+    private static class TenantUser {
+
+        private final String tenant;
+        private final String user;
+
+        TenantUser(final String tenant, final String user) {
+            this.tenant = tenant;
+            this.user = user;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final TenantUser that = (TenantUser) o;
+            return Objects.equals(tenant, that.tenant) && Objects.equals(user, that.user);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant, user);
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.http;
+
+import com.c8db.C8DBException;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer of the delays between retries, shared by all connections. Its single daemon thread only completes futures,
+ * the retries themselves run on the thread waiting for the delay or on the client's own threads.
+ */
+final class RetryScheduler {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors
+            .newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread thread = new Thread(r, "c8db-retry");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    private RetryScheduler() {
+        super();
+    }
+
+    /**
+     * @return a future which is completed after the given delay
+     */
+    static CompletableFuture<Void> delay(final long millis) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        SCHEDULER.schedule(new Runnable() {
+            @Override
+            public void run() {
+                future.complete(null);
+            }
+        }, millis, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    /**
+     * Waits for the given delay.
+     *
+     * @throws C8DBException if the waiting thread is interrupted, the interrupt flag is restored
+     */
+    static void await(final long millis) throws C8DBException {
+        final CompletableFuture<Void> delay = delay(millis);
+        try {
+            delay.get();
+        } catch (final InterruptedException e) {
+            delay.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new C8DBException(e);
+        } catch (final ExecutionException | CancellationException e) {
+            throw new C8DBException(e);
+        }
+    }
+
+}
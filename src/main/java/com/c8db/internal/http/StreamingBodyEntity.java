@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import com.c8db.velocystream.StreamingBody;
+
+/**
+ * Writes a {@link StreamingBody} straight to the connection.
+ */
+public class StreamingBodyEntity extends AbstractHttpEntity {
+
+    private final StreamingBody body;
+
+    public StreamingBodyEntity(final StreamingBody body, final ContentType contentType) {
+        super();
+        this.body = body;
+        setContentType(contentType.toString());
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return body.getContentLength();
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        final long length = body.getContentLength();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(length > 0 ? (int) length : 1024);
+        body.writeTo(out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    @Override
+    public void writeTo(final OutputStream out) throws IOException {
+        body.writeTo(out);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+}
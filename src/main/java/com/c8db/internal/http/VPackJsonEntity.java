@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.internal.util.DateUtil;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * Writes a {@link VPackSlice} as JSON to the connection, without building the JSON {@code String}. The output is the
+ * same as the one of {@link VPackSlice#toString()}. The JSON is encoded once on first use, its bytes give the content
+ * length and are written by every attempt of the request.
+ */
+public class VPackJsonEntity extends AbstractHttpEntity {
+
+    private static final JsonFactory FACTORY = new JsonFactory().setCharacterEscapes(new SlashEscapes());
+    private static final String NON_REPRESENTABLE_TYPE = "(non-representable type)";
+
+    private final VPackSlice body;
+    private byte[] bytes;
+
+    public VPackJsonEntity(final VPackSlice body, final ContentType contentType) {
+        super();
+        this.body = body;
+        setContentType(contentType.toString());
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    private byte[] bytes() throws IOException {
+        if (bytes == null) {
+            // the JSON of a document is rarely shorter than its VelocyPack
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(body.getByteSize());
+            write(body, out);
+            bytes = out.toByteArray();
+        }
+        return bytes;
+    }
+
+    @Override
+    public long getContentLength() {
+        try {
+            return bytes().length;
+        } catch (final IOException e) {
+            // can not happen while writing to memory
+            return -1L;
+        }
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return new ByteArrayInputStream(bytes());
+    }
+
+    @Override
+    public void writeTo(final OutputStream out) throws IOException {
+        out.write(bytes());
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    /**
+     * Writes the value as JSON to the given stream without closing it, with the same output as
+     * {@link VPackSlice#toString()}.
+     */
+    public static void write(final VPackSlice value, final OutputStream out) throws IOException {
+        final JsonGenerator generator = FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        // the connection is closed by the client
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        write(value, generator);
+        generator.close();
+    }
+
+    /**
+     * Writes the value like {@code VPackParser} does, including {@code null} values.
+     */
+    static void write(final VPackSlice value, final JsonGenerator generator) throws IOException {
+        if (value.isObject()) {
+            generator.writeStartObject();
+            for (final Iterator<Entry<String, VPackSlice>> iterator = value.objectIterator(); iterator.hasNext();) {
+                final Entry<String, VPackSlice> entry = iterator.next();
+                generator.writeFieldName(entry.getKey());
+                write(entry.getValue(), generator);
+            }
+            generator.writeEndObject();
+        } else if (value.isArray()) {
+            generator.writeStartArray();
+            for (final Iterator<VPackSlice> iterator = value.arrayIterator(); iterator.hasNext();) {
+                write(iterator.next(), generator);
+            }
+            generator.writeEndArray();
+        } else if (value.isBoolean()) {
+            generator.writeBoolean(value.getAsBoolean());
+        } else if (value.isString()) {
+            generator.writeString(value.getAsString());
+        } else if (value.isDouble()) {
+            generator.writeNumber(value.getAsDouble());
+        } else if (value.isInt()) {
+            generator.writeNumber(value.getAsLong());
+        } else if (value.isNumber()) {
+            generator.writeNumber(value.getAsNumber().toString());
+        } else if (value.isDate()) {
+            generator.writeString(DateUtil.format(value.getAsDate()));
+        } else if (value.isNull()) {
+            generator.writeNull();
+        } else {
+            generator.writeString(NON_REPRESENTABLE_TYPE);
+        }
+    }
+
+    /**
+     * Escapes {@code /} like {@code VPackParser}.
+     */
+    private static class SlashEscapes extends CharacterEscapes {
+
+        private static final long serialVersionUID = 1L;
+        private static final SerializedString ESCAPED_SLASH = new SerializedString("\\/");
+
+        private final int[] asciiEscapes;
+
+        SlashEscapes() {
+            super();
+            asciiEscapes = standardAsciiEscapesForJSON();
+            asciiEscapes['/'] = CharacterEscapes.ESCAPE_CUSTOM;
+        }
+
+        @Override
+        public int[] getEscapeCodesForAscii() {
+            return asciiEscapes;
+        }
+
+        @Override
+        public SerializableString getEscapeSequence(final int ch) {
+            return ch == '/' ? ESCAPED_SLASH : null;
+        }
+    }
+
+}
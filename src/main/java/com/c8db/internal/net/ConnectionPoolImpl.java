@@ -17,8 +17,8 @@
 package com.c8db.internal.net;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import com.c8db.Service;
 import org.slf4j.Logger;
@@ -28,7 +28,9 @@ import com.c8db.internal.velocystream.internal.VstConnection;
 import com.c8db.internal.velocystream.internal.VstConnectionSync;
 
 /**
- *
+ * Fixed number of connections to a host, handed out round robin. The connections are created lazily, afterwards
+ * {@link #connection()} does not lock. Connections are shared between the callers, a single {@code HttpConnection}
+ * leases the physical connections from the pool of its client, a {@code VstConnection} multiplexes the requests.
  */
 public class ConnectionPoolImpl implements ConnectionPool {
 
@@ -36,8 +38,8 @@ public class ConnectionPoolImpl implements ConnectionPool {
 
     private final HostDescription host;
     private final int maxConnections;
-    private final List<Connection> connections;
-    private int current;
+    private final AtomicReferenceArray<Connection> connections;
+    private final AtomicInteger current;
     private final ConnectionFactory factory;
     private final Service service;
 
@@ -48,8 +50,8 @@ public class ConnectionPoolImpl implements ConnectionPool {
         this.maxConnections = maxConnections;
         this.factory = factory;
         this.service = service;
-        connections = new ArrayList<Connection>();
-        current = 0;
+        connections = new AtomicReferenceArray<Connection>(maxConnections);
+        current = new AtomicInteger(0);
     }
 
     @Override
@@ -58,17 +60,11 @@ public class ConnectionPoolImpl implements ConnectionPool {
     }
 
     @Override
-    public synchronized Connection connection() {
-
-        final Connection connection;
-
-        if (connections.size() < maxConnections) {
-            connection = createConnection(host);
-            connections.add(connection);
-            current++;
-        } else {
-            final int index = (current++) % connections.size();
-            connection = connections.get(index);
+    public Connection connection() {
+        final int index = (current.getAndIncrement() & Integer.MAX_VALUE) % maxConnections;
+        Connection connection = connections.get(index);
+        if (connection == null) {
+            connection = createConnection(index);
         }
 
         if (connection instanceof VstConnectionSync) {
@@ -78,18 +74,35 @@ public class ConnectionPoolImpl implements ConnectionPool {
         return connection;
     }
 
+    private synchronized Connection createConnection(final int index) {
+        Connection connection = connections.get(index);
+        if (connection == null) {
+            connection = createConnection(host);
+            connections.set(index, connection);
+        }
+        return connection;
+    }
+
     @Override
-    public void close() throws IOException {
-        for (final Connection connection : connections) {
-            connection.close();
+    public synchronized void close() throws IOException {
+        for (int i = 0; i < maxConnections; i++) {
+            final Connection connection = connections.getAndSet(i, null);
+            if (connection != null) {
+                connection.close();
+            }
         }
-        connections.clear();
     }
 
     @Override
     public String toString() {
+        int created = 0;
+        for (int i = 0; i < maxConnections; i++) {
+            if (connections.get(i) != null) {
+                created++;
+            }
+        }
         return "ConnectionPoolImpl [host=" + host + ", maxConnections=" + maxConnections + ", connections="
-                + connections.size() + ", current=" + current + ", factory=" + factory.getClass().getSimpleName() + "]";
+                + created + ", current=" + current + ", factory=" + factory.getClass().getSimpleName() + "]";
     }
 
 }
@@ -19,13 +19,13 @@ package com.c8db.internal.net;
 import java.io.IOException;
 
 /**
- *
+ * Sends dirty reads to the follower handler and all other requests to the master handler. The access type is kept
+ * in the {@link HostHandle} of the request, so that its outcome is reported to the handler which selected the host.
  */
 public class DirtyReadHostHandler implements HostHandler {
 
     private final HostHandler master;
     private final HostHandler follower;
-    private AccessType currentAccessType;
 
     public DirtyReadHostHandler(final HostHandler master, final HostHandler follower) {
         super();
@@ -33,8 +33,12 @@ public class DirtyReadHostHandler implements HostHandler {
         this.follower = follower;
     }
 
-    private HostHandler determineHostHandler() {
-        switch (currentAccessType) {
+    private HostHandler determineHostHandler(final HostHandle hostHandle) {
+        final AccessType accessType = hostHandle.getAccessType();
+        if (accessType == null) {
+            return master;
+        }
+        switch (accessType) {
             case DIRTY_READ:
                 return follower;
             default:
@@ -44,28 +48,29 @@ public class DirtyReadHostHandler implements HostHandler {
 
     @Override
     public Host get(final HostHandle hostHandle, final AccessType accessType) {
-        this.currentAccessType = accessType;
-        return determineHostHandler().get(hostHandle, accessType);
+        hostHandle.setAccessType(accessType);
+        return determineHostHandler(hostHandle).get(hostHandle, accessType);
     }
 
     @Override
-    public void success() {
-        determineHostHandler().success();
+    public void success(final HostHandle hostHandle) {
+        determineHostHandler(hostHandle).success(hostHandle);
     }
 
     @Override
-    public void fail() {
-        determineHostHandler().fail();
+    public void fail(final HostHandle hostHandle) {
+        determineHostHandler(hostHandle).fail(hostHandle);
     }
 
     @Override
-    public void reset() {
-        determineHostHandler().reset();
+    public void reset(final HostHandle hostHandle) {
+        determineHostHandler(hostHandle).reset(hostHandle);
     }
 
     @Override
     public void confirm() {
-        determineHostHandler().confirm();
+        master.confirm();
+        follower.confirm();
     }
 
     @Override
@@ -75,8 +80,8 @@ public class DirtyReadHostHandler implements HostHandler {
     }
 
     @Override
-    public void closeCurrentOnError() {
-        determineHostHandler().closeCurrentOnError();
+    public void closeCurrentOnError(final HostHandle hostHandle) {
+        determineHostHandler(hostHandle).closeCurrentOnError(hostHandle);
     }
 
 }
@@ -22,8 +22,14 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import com.c8db.Service;
 import org.slf4j.Logger;
@@ -42,22 +48,32 @@ import com.c8db.velocystream.RequestType;
 import com.c8db.velocystream.Response;
 
 /**
+ * Acquires the hosts of the cluster in the background. The host list is refreshed periodically by a scheduled task,
+ * requests always use the last published list and never wait for the refresh.
  *
+ * <p>
+ * New hosts take requests after a first request was sent over their connection. Hosts which are gone are removed
+ * from the list right away and closed when their requests in flight completed. The configured hosts are never
+ * removed.
+ * </p>
  */
 public class ExtendedHostResolver implements HostResolver {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ExtendedHostResolver.class);
+    private static final long DRAIN_CHECK_MILLIS = 1000L;
+    private static final long DRAIN_TIMEOUT_MILLIS = 60L * 1000L;
 
-    private Map<Service, HostSet> hostMatrix;
+    private final Map<Service, HostSet> hostMatrix;
+    private final Set<HostDescription> configured;
 
     private final Integer maxConnections;
     private final ConnectionFactory connectionFactory;
 
-    private long lastUpdate;
-    private Integer acquireHostListInterval;
+    private final Integer acquireHostListInterval;
 
-    private C8ExecutorSync executor;
-    private C8Serialization arangoSerialization;
+    private volatile C8ExecutorSync executor;
+    private volatile C8Serialization arangoSerialization;
+    private ScheduledExecutorService scheduler;
 
     public ExtendedHostResolver(final Map<Service, List<Host>> hostMatrix, final Integer maxConnections,
                                 final ConnectionFactory connectionFactory, Integer acquireHostListInterval) {
@@ -68,11 +84,14 @@ public class ExtendedHostResolver implements HostResolver {
         this.maxConnections = maxConnections;
         this.connectionFactory = connectionFactory;
 
-        lastUpdate = 0;
+        configured = new HashSet<HostDescription>();
+        for (final Host host : this.hostMatrix.get(Service.C8DB).getHostsList()) {
+            configured.add(host.getDescription());
+        }
     }
 
     private Map<Service, HostSet> toHostSetsMap(Map<Service, List<Host>> hostMatrix) {
-        final Map map = new HashMap();
+        final Map<Service, HostSet> map = new HashMap<Service, HostSet>();
         for (Service key: hostMatrix.keySet()) {
             map.put(key, new HostSet(hostMatrix.get(key)));
         }
@@ -80,59 +99,170 @@ public class ExtendedHostResolver implements HostResolver {
     }
 
     @Override
-    public void init(C8ExecutorSync executor, C8Serialization arangoSerialization) {
+    public synchronized void init(C8ExecutorSync executor, C8Serialization arangoSerialization) {
         this.executor = executor;
         this.arangoSerialization = arangoSerialization;
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread thread = new Thread(r, "c8db-host-list");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            scheduler.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    refresh();
+                }
+            }, 0L, acquireHostListInterval, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     public HostSet resolve(Service service, boolean initial, boolean closeConnections) {
-        if (!initial && isExpired()) {
-            HostSet hosts = hostMatrix.get(Service.C8DB);
-            lastUpdate = System.currentTimeMillis();
+        return hostMatrix.get(service);
+    }
 
-            final Collection<String> endpoints = resolveFromServer();
-            LOGGER.debug("Resolve " + endpoints.size() + " Endpoints");
-            LOGGER.debug("Endpoints " + Arrays.deepToString(endpoints.toArray()));
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
 
-            if (!endpoints.isEmpty()) {
-                hosts.markAllForDeletion();
+    void refresh() {
+        final Collection<String> endpoints;
+        try {
+            endpoints = resolveFromServer();
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Could not acquire the host list, keep the current one", e);
+            return;
+        }
+        LOGGER.debug("Resolve " + endpoints.size() + " Endpoints");
+        LOGGER.debug("Endpoints " + Arrays.deepToString(endpoints.toArray()));
+
+        final HostSet hosts = hostMatrix.get(Service.C8DB);
+        if (!endpoints.isEmpty()) {
+            final List<Host> next = nextHosts(hosts.getHostsList(), endpoints);
+            if (!next.isEmpty()) {
+                for (final Host host : hosts.replaceHosts(next)) {
+                    LOGGER.debug("Drain removed Host " + host);
+                    drain(host, System.currentTimeMillis() + DRAIN_TIMEOUT_MILLIS);
+                }
             }
+        }
+        for (final Host host : hosts.getHostsList()) {
+            if (host.getHealth().isWarmingUp()) {
+                warmUp(host);
+            }
+        }
+    }
 
-            for (final String endpoint : endpoints) {
-                LOGGER.debug("Create HOST from " + endpoint);
-
-                if (endpoint.matches(".*://.+:[0-9]+")) {
-
-                    final String[] s = endpoint.replaceAll(".*://", "").split(":");
-                    if (s.length == 2) {
-                        final HostDescription description = new HostDescription(s[0], Integer.valueOf(s[1]));
-                        hosts.addHost(HostUtils.createHost(description, maxConnections, connectionFactory, service));
-                    } else if (s.length == 4) {
-                        // IPV6 Address - TODO: we need a proper function to resolve AND support IPV4 &
-                        // IPV6 functions
-                        // globally
-                        final HostDescription description = new HostDescription("127.0.0.1", Integer.valueOf(s[3]));
-                        hosts.addHost(HostUtils.createHost(description, maxConnections, connectionFactory, service));
-                    } else {
-                        LOGGER.warn("Skip Endpoint (Missing Port)" + endpoint);
-                    }
-
-                } else {
-                    LOGGER.warn("Skip Endpoint (Format)" + endpoint);
-                }
+    /**
+     * Builds the host list to publish from the current one and the endpoints of the server. The hosts which are kept
+     * stay in their order, new hosts are appended as warming up.
+     */
+    private List<Host> nextHosts(final List<Host> current, final Collection<String> endpoints) {
+        final Set<HostDescription> descriptions = new HashSet<HostDescription>(configured);
+        final List<HostDescription> added = new ArrayList<HostDescription>();
+        for (final String endpoint : endpoints) {
+            final HostDescription description = parse(endpoint);
+            if (description != null && descriptions.add(description)) {
+                added.add(description);
             }
+        }
+        final List<Host> next = new ArrayList<Host>();
+        for (final Host host : current) {
+            if (descriptions.contains(host.getDescription())) {
+                next.add(host);
+                added.remove(host.getDescription());
+            }
+        }
+        for (final HostDescription description : added) {
+            LOGGER.debug("Create HOST from " + description);
+            final Host host = HostUtils.createHost(description, maxConnections, connectionFactory, Service.C8DB);
+            host.getHealth().setWarmingUp(true);
+            next.add(host);
+        }
+        return next;
+    }
+
+    private static HostDescription parse(final String endpoint) {
+        if (!endpoint.matches(".*://.+:[0-9]+")) {
+            LOGGER.warn("Skip Endpoint (Format)" + endpoint);
+            return null;
+        }
+        final String[] s = endpoint.replaceAll(".*://", "").split(":");
+        if (s.length == 2) {
+            return new HostDescription(s[0], Integer.valueOf(s[1]));
+        } else if (s.length == 4) {
+            // IPV6 Address - TODO: we need a proper function to resolve AND support IPV4 &
+            // IPV6 functions
+            // globally
+            return new HostDescription("127.0.0.1", Integer.valueOf(s[3]));
+        }
+        LOGGER.warn("Skip Endpoint (Missing Port)" + endpoint);
+        return null;
+    }
 
-            try {
-                hosts.clearAllMarkedForDeletion();
-            } catch (IOException e) {
-                LOGGER.error("Cant close all Hosts with MarkedForDeletion", e);
+    /**
+     * Opens the connection of a new host with a request pinned to it, the host takes other requests afterwards. If
+     * the request fails, or was answered by another host after a failover or redirect, the next refresh tries again.
+     */
+    private void warmUp(final Host host) {
+        final HostHandle handle = new HostHandle().setHost(host.getDescription());
+        try {
+            executor.execute(new Request(C8RequestParam.DEMO_TENANT, C8RequestParam.SYSTEM, RequestType.GET,
+                    "/_admin/version"), new ResponseDeserializer<Void>() {
+                        @Override
+                        public Void deserialize(final Response response) throws VPackException {
+                            response.release();
+                            return null;
+                        }
+                    }, handle);
+            // a failover unpins the handle, a redirect fails it and continues with another handle
+            if (handle.getHost() == null || handle.getCurrent() != host || handle.getFails() > 0) {
+                LOGGER.warn("New Host " + host.getDescription() + " did not answer, another Host did");
+                return;
             }
+            host.getHealth().setWarmingUp(false);
+            LOGGER.debug("Host " + host.getDescription() + " is ready");
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Could not connect to new Host " + host.getDescription(), e);
+        }
+    }
 
+    private void drain(final Host host, final long deadline) {
+        final ScheduledExecutorService current;
+        synchronized (this) {
+            current = scheduler;
+        }
+        if (current == null) {
+            close(host);
+            return;
         }
+        current.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (host.getHealth().getInFlight() > 0 && System.currentTimeMillis() < deadline) {
+                    drain(host, deadline);
+                } else {
+                    close(host);
+                }
+            }
+        }, DRAIN_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+    }
 
-        HostSet hosts = hostMatrix.get(service);
-        return hosts;
+    private static void close(final Host host) {
+        try {
+            LOGGER.debug("Close removed Host " + host);
+            host.close();
+        } catch (final IOException e) {
+            LOGGER.warn("Error during closing the Host " + host, e);
+        }
     }
 
     private Collection<String> resolveFromServer() throws C8DBException {
@@ -174,8 +304,4 @@ public class ExtendedHostResolver implements HostResolver {
         return response;
     }
 
-    private boolean isExpired() {
-        return System.currentTimeMillis() > (lastUpdate + acquireHostListInterval);
-    }
-
 }
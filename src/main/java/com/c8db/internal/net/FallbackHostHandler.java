@@ -21,61 +21,80 @@ import com.c8db.Service;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Sends all requests to the same host and moves on to the next host when it fails. A request gives up after it
+ * failed three times on every host.
+ */
 public class FallbackHostHandler implements HostHandler {
 
-    private Host current;
-    private Host lastSuccess;
-    private int iterations;
+    private static final int MAX_ITERATIONS = 3;
+
+    private final AtomicReference<Host> current;
     private final HostResolver resolver;
     private final Service service;
-    private boolean firstOpened;
+    private final AtomicBoolean firstOpened;
 
     public FallbackHostHandler(final HostResolver resolver, final Service service) {
         this.resolver = resolver;
         this.service = service;
-        iterations = 0;
-        current = lastSuccess = resolver.resolve(service, true, false).getHostsList().get(0);
-        firstOpened = true;
+        current = new AtomicReference<Host>(resolver.resolve(service, true, false).getHostsList().get(0));
+        firstOpened = new AtomicBoolean(true);
     }
 
     @Override
     public Host get(final HostHandle hostHandle, AccessType accessType) {
-        if (current != lastSuccess || iterations < 3) {
-            return current;
-        } else {
-            reset();
+        final HostSet hostSet = resolver.resolve(service, false, false);
+        final List<Host> hosts = hostSet.getHostsList();
+        if (hostHandle.getFails() >= MAX_ITERATIONS * hosts.size()) {
+            reset(hostHandle);
             throw new C8DBException("Cannot contact any host!");
         }
+        final Host pinned = hostSet.getHost(hostHandle.getHost());
+        if (pinned != null) {
+            hostHandle.setCurrent(pinned);
+            return pinned;
+        }
+        Host host = current.get();
+        if (!host.getHealth().acquireProbe()) {
+            // move on to the next host which is not ejected, stay if all of them are
+            final Host available = HostHealth.firstAvailable(hosts, hosts.indexOf(host) + 1);
+            if (available != null) {
+                current.compareAndSet(host, available);
+                host = available;
+            }
+        }
+        hostHandle.setCurrent(host);
+        return host;
     }
 
     @Override
-    public void success() {
-        lastSuccess = current;
+    public void success(final HostHandle hostHandle) {
+        hostHandle.setFails(0);
     }
 
     @Override
-    public void fail() {
+    public void fail(final HostHandle hostHandle) {
+        final Host failed = hostHandle.getCurrent();
         final List<Host> hosts = resolver.resolve(service, false, false).getHostsList();
-        final int index = hosts.indexOf(current) + 1;
-        final boolean inBound = index < hosts.size();
-        current = hosts.get(inBound ? index : 0);
-        if (!inBound) {
-            iterations++;
-        }
+        final int index = hosts.indexOf(failed) + 1;
+        // requests which failed on the same host concurrently move on only once
+        current.compareAndSet(failed, hosts.get(index < hosts.size() ? index : 0));
+        hostHandle.setFails(hostHandle.getFails() + 1);
     }
 
     @Override
-    public void reset() {
-        iterations = 0;
+    public void reset(final HostHandle hostHandle) {
+        hostHandle.setFails(0);
     }
 
     @Override
     public void confirm() {
-        if (firstOpened) {
+        if (firstOpened.compareAndSet(true, false)) {
             // after first successful established connection, update host list
             resolver.resolve(service, false, false);
-            firstOpened = false;
         }
     }
 
@@ -86,9 +105,11 @@ public class FallbackHostHandler implements HostHandler {
     }
 
     @Override
-    public void closeCurrentOnError() {
-        current.closeOnError();
+    public void closeCurrentOnError(final HostHandle hostHandle) {
+        final Host host = hostHandle.getCurrent();
+        if (host != null) {
+            host.closeOnError();
+        }
     }
 
 }
-
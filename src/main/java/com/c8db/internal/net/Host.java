@@ -34,4 +34,6 @@ public interface Host {
     void setMarkforDeletion(boolean markforDeletion);
 
     boolean isMarkforDeletion();
+
+    HostHealth getHealth();
 }
@@ -17,11 +17,16 @@
 package com.c8db.internal.net;
 
 /**
- *
+ * Host selection of a request. The optional host description pins the request to a host, the remaining state is
+ * maintained by the {@link HostHandler} while the request is executed, including its retries on other hosts. A
+ * handle must not be used by concurrent requests.
  */
 public class HostHandle {
 
     private HostDescription host;
+    private AccessType accessType;
+    private Host current;
+    private int fails;
 
     public HostHandle() {
         super();
@@ -36,4 +41,34 @@ public class HostHandle {
         return this;
     }
 
+    AccessType getAccessType() {
+        return accessType;
+    }
+
+    void setAccessType(final AccessType accessType) {
+        this.accessType = accessType;
+    }
+
+    /**
+     * @return the host which was selected last for the request
+     */
+    Host getCurrent() {
+        return current;
+    }
+
+    void setCurrent(final Host current) {
+        this.current = current;
+    }
+
+    /**
+     * @return the number of failed attempts of the request
+     */
+    int getFails() {
+        return fails;
+    }
+
+    void setFails(final int fails) {
+        this.fails = fails;
+    }
+
 }
@@ -19,19 +19,23 @@ package com.c8db.internal.net;
 
 import java.io.IOException;
 
+/**
+ * Selects the hosts of a service. Handlers are shared by all threads, the state of a single request is kept in its
+ * {@link HostHandle}.
+ */
 public interface HostHandler {
 
     Host get(HostHandle hostHandle, AccessType accessType);
 
-    void success();
+    void success(HostHandle hostHandle);
 
-    void fail();
+    void fail(HostHandle hostHandle);
 
-    void reset();
+    void reset(HostHandle hostHandle);
 
     void confirm();
 
     void close() throws IOException;
 
-    void closeCurrentOnError();
+    void closeCurrentOnError(HostHandle hostHandle);
 }
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.net;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.c8db.C8DBException;
+
+/**
+ * Health of a single host, fed with the outcome of every request sent to it. Keeps the number of requests in flight,
+ * the error rate of the last 10 seconds and an exponentially weighted moving average of the response times, and acts
+ * as a circuit breaker:
+ *
+ * <ul>
+ * <li>{@code CLOSED}: requests pass. Too many consecutive failures or an error rate of at least 50% open the
+ * breaker.</li>
+ * <li>{@code OPEN}: the host is ejected, host handlers skip it. The ejection time grows with every ejection in a
+ * row.</li>
+ * <li>{@code HALF_OPEN}: after the ejection a single probe request passes, its success closes the breaker, its
+ * failure opens it again.</li>
+ * </ul>
+ */
+public class HostHealth {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final int WINDOW_BUCKETS = 10;
+    private static final long BUCKET_MILLIS = 1000L;
+    private static final int MIN_REQUESTS = 10;
+    private static final double MAX_ERROR_RATE = 0.5;
+    private static final int MAX_CONSECUTIVE_FAILURES = 5;
+    private static final long BASE_EJECTION_MILLIS = 10L * 1000L;
+    private static final long MAX_EJECTION_MILLIS = 5L * 60L * 1000L;
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final long baseEjectionMillis;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final long[] bucketStart = new long[WINDOW_BUCKETS];
+    private final int[] successes = new int[WINDOW_BUCKETS];
+    private final int[] failures = new int[WINDOW_BUCKETS];
+    private int consecutiveFailures;
+    private int ejections;
+    private long probeStart;
+
+    private volatile boolean warmingUp;
+    private volatile State state = State.CLOSED;
+    private volatile long openUntil;
+    private volatile double latency = -1.0;
+
+    public HostHealth() {
+        this(BASE_EJECTION_MILLIS);
+    }
+
+    HostHealth(final long baseEjectionMillis) {
+        super();
+        this.baseEjectionMillis = baseEjectionMillis;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return moving average of the response times in nanoseconds, or {@code -1} if nothing was measured yet
+     */
+    public double getLatency() {
+        return latency;
+    }
+
+    public boolean isWarmingUp() {
+        return warmingUp;
+    }
+
+    /**
+     * A host which is warming up takes only requests which are pinned to it.
+     */
+    public void setWarmingUp(final boolean warmingUp) {
+        this.warmingUp = warmingUp;
+    }
+
+    /**
+     * @return number of requests which were started but did not complete yet
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Marks the start of a request, its outcome must be recorded with {@link #record(long, Throwable)}.
+     *
+     * @return the start of the request in nanoseconds
+     */
+    public long begin() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Checks whether a request may be sent to the host, without taking the permission to send the probe request.
+     * Host handlers use it to evaluate the hosts and call {@link #acquireProbe()} for the host they pick.
+     */
+    public boolean isAvailable() {
+        if (warmingUp) {
+            return false;
+        }
+        final State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        final long now = System.currentTimeMillis();
+        if (current == State.OPEN && now < openUntil) {
+            return false;
+        }
+        synchronized (this) {
+            return probeDue(now) || state == State.CLOSED;
+        }
+    }
+
+    /**
+     * Takes the permission to send a request to the host, to be called only for the host the request is sent to. If
+     * the ejection of the host is over, the first caller gets the permission to send the probe request.
+     *
+     * @return whether the request may be sent, if not nothing was taken
+     */
+    public boolean acquireProbe() {
+        if (warmingUp) {
+            return false;
+        }
+        final State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        final long now = System.currentTimeMillis();
+        if (current == State.OPEN && now < openUntil) {
+            return false;
+        }
+        synchronized (this) {
+            if (probeDue(now)) {
+                state = State.HALF_OPEN;
+                probeStart = now;
+                return true;
+            }
+            return state == State.CLOSED;
+        }
+    }
+
+    /**
+     * @return whether the ejection is over, or the probe never reported back
+     */
+    private boolean probeDue(final long now) {
+        return state == State.OPEN && now >= openUntil
+                || state == State.HALF_OPEN && now - probeStart >= ejectionMillis();
+    }
+
+    /**
+     * Records the outcome of a request which was started with {@link #begin()} at {@code startNanos}. Errors
+     * the server answered for the request itself, like not found or a redirect, do not count as failure of the host.
+     *
+     * @param error the error of the request, or {@code null} if it succeeded
+     */
+    public void record(final long startNanos, final Throwable error) {
+        inFlight.decrementAndGet();
+        if (error == null || error instanceof C8DBRedirectException || error instanceof C8DBException
+                && ((C8DBException) error).getResponseCode() != null
+                && ((C8DBException) error).getResponseCode() < 500) {
+            success(System.nanoTime() - startNanos);
+        } else {
+            failure();
+        }
+    }
+
+    public synchronized void success(final long latencyNanos) {
+        final double previous = latency;
+        latency = previous < 0 ? latencyNanos
+                : previous + LATENCY_WEIGHT * (latencyNanos - previous);
+        final int bucket = bucket(System.currentTimeMillis());
+        successes[bucket]++;
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            ejections = Math.max(0, ejections - 1);
+            clearWindow();
+        }
+    }
+
+    public synchronized void failure() {
+        final long now = System.currentTimeMillis();
+        failures[bucket(now)]++;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN) {
+            open(now);
+        } else if (state == State.CLOSED) {
+            int total = 0;
+            int failed = 0;
+            for (int i = 0; i < WINDOW_BUCKETS; i++) {
+                if (now - bucketStart[i] < WINDOW_BUCKETS * BUCKET_MILLIS) {
+                    total += successes[i] + failures[i];
+                    failed += failures[i];
+                }
+            }
+            if (consecutiveFailures >= MAX_CONSECUTIVE_FAILURES
+                    || total >= MIN_REQUESTS && failed >= MAX_ERROR_RATE * total) {
+                open(now);
+            }
+        }
+    }
+
+    private void open(final long now) {
+        ejections++;
+        openUntil = now + ejectionMillis();
+        state = State.OPEN;
+        clearWindow();
+    }
+
+    private long ejectionMillis() {
+        return Math.min(MAX_EJECTION_MILLIS, baseEjectionMillis << Math.min(Math.max(ejections - 1, 0), 16));
+    }
+
+    private int bucket(final long now) {
+        final long start = now - now % BUCKET_MILLIS;
+        final int bucket = (int) ((now / BUCKET_MILLIS) % WINDOW_BUCKETS);
+        if (bucketStart[bucket] != start) {
+            bucketStart[bucket] = start;
+            successes[bucket] = 0;
+            failures[bucket] = 0;
+        }
+        return bucket;
+    }
+
+    private void clearWindow() {
+        for (int i = 0; i < WINDOW_BUCKETS; i++) {
+            bucketStart[i] = 0L;
+            successes[i] = 0;
+            failures[i] = 0;
+        }
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * Picks the first host starting at the given index which accepts requests, with the permission of
+     * {@link #acquireProbe()} taken for the picked host only.
+     *
+     * @return the picked host, or {@code null} if all hosts are ejected
+     */
+    public static Host firstAvailable(final List<Host> hosts, final int index) {
+        final int size = hosts.size();
+        for (int i = 0; i < size; i++) {
+            final Host host = hosts.get((index + i) % size);
+            if (host.getHealth().isAvailable() && host.getHealth().acquireProbe()) {
+                return host;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "HostHealth [state=" + state + ", inFlight=" + inFlight + ", latency=" + latency + "]";
+    }
+
+}
@@ -27,12 +27,18 @@ public class HostImpl implements Host {
 
     private final ConnectionPool connectionPool;
     private final HostDescription description;
-    private boolean markforDeletion = false;
+    private final HostHealth health;
+    private volatile boolean markforDeletion = false;
 
     public HostImpl(final ConnectionPool connectionPool, final HostDescription description) {
+        this(connectionPool, description, new HostHealth());
+    }
+
+    HostImpl(final ConnectionPool connectionPool, final HostDescription description, final HostHealth health) {
         super();
         this.connectionPool = connectionPool;
         this.description = description;
+        this.health = health;
     }
 
     @Override
@@ -50,6 +56,11 @@ public class HostImpl implements Host {
         return connectionPool.connection();
     }
 
+    @Override
+    public HostHealth getHealth() {
+        return health;
+    }
+
     @Override
     public void closeOnError() {
         try {
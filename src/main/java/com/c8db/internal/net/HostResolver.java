@@ -29,4 +29,10 @@ public interface HostResolver {
 
     HostSet resolve(Service service, boolean initial, boolean closeConnections);
 
+    /**
+     * Stops resolving hosts, the hosts themselves are closed by the host handlers. Does nothing by default.
+     */
+    default void close() {
+    }
+
 }
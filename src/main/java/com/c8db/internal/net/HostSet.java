@@ -24,10 +24,13 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Hosts of a service. The list is copied on every change, readers get an immutable snapshot and never block.
+ */
 public class HostSet {
     private static final Logger LOGGER = LoggerFactory.getLogger(HostSet.class);
 
-    private ArrayList<Host> hosts = new ArrayList<Host>();
+    private volatile List<Host> hosts = Collections.emptyList();
 
     public HostSet() {
         super();
@@ -42,24 +45,40 @@ public class HostSet {
 
     }
 
+    /**
+     * @return an immutable snapshot of the hosts
+     */
     public List<Host> getHostsList() {
-        return Collections.unmodifiableList(hosts);
+        return hosts;
     }
 
-    public void addHost(Host newHost) {
-
-        if (hosts.contains(newHost)) {
-            LOGGER.debug("Host" + newHost + " allready in Set");
-
-            for (Host host : hosts) {
-                if (host.equals(newHost)) {
-                    host.setMarkforDeletion(false);
-                }
+    /**
+     * @return the host with the given description, or {@code null} if it is not in the set
+     */
+    public Host getHost(final HostDescription description) {
+        if (description == null) {
+            return null;
+        }
+        for (final Host host : hosts) {
+            if (description.equals(host.getDescription())) {
+                return host;
             }
+        }
+        return null;
+    }
+
+    public synchronized void addHost(Host newHost) {
 
+        final int index = hosts.indexOf(newHost);
+        if (index >= 0) {
+            LOGGER.debug("Host" + newHost + " allready in Set");
+            hosts.get(index).setMarkforDeletion(false);
         } else {
-            hosts.add(newHost);
-            LOGGER.debug("Added Host " + newHost + " - now " + hosts.size() + " Hosts in List");
+            final List<Host> copy = new ArrayList<Host>(hosts.size() + 1);
+            copy.addAll(hosts);
+            copy.add(newHost);
+            hosts = Collections.unmodifiableList(copy);
+            LOGGER.debug("Added Host " + newHost + " - now " + copy.size() + " Hosts in List");
         }
 
     }
@@ -79,7 +98,7 @@ public class HostSet {
         }
     }
 
-    public void markAllForDeletion() {
+    public synchronized void markAllForDeletion() {
 
         for (Host host : hosts) {
             host.setMarkforDeletion(true);
@@ -87,29 +106,54 @@ public class HostSet {
 
     }
 
-    public void clearAllMarkedForDeletion() throws IOException {
+    /**
+     * Removes the hosts which are marked for deletion from the set without closing them, requests may still use
+     * them.
+     *
+     * @return the removed hosts
+     */
+    public synchronized List<Host> removeAllMarkedForDeletion() {
 
-        LOGGER.debug("Clear all Hosts in Set with markForDeletion");
+        LOGGER.debug("Remove all Hosts in Set with markForDeletion");
 
+        final List<Host> remaining = new ArrayList<Host>(hosts.size());
+        final List<Host> removed = new ArrayList<Host>();
         for (Host host : hosts) {
             if (host.isMarkforDeletion()) {
-                try {
-
-                    LOGGER.debug("Try to close Host " + host);
-                    host.close();
-
-                } catch (IOException e) {
-                    LOGGER.warn("Error during closing the Host " + host, e);
-                }
+                removed.add(host);
+            } else {
+                remaining.add(host);
             }
         }
+        if (remaining.isEmpty()) {
+            return Collections.emptyList();
+        }
+        hosts = Collections.unmodifiableList(remaining);
+        return removed;
+    }
 
+    /**
+     * Publishes the given hosts as the new content of the set with a single write, readers see either the old or the
+     * new list. The removed hosts are not closed, requests may still use them.
+     *
+     * @return the hosts which were in the set before but are not in the given list
+     */
+    public synchronized List<Host> replaceHosts(final List<Host> newHosts) {
+        final List<Host> removed = new ArrayList<Host>();
+        for (final Host host : hosts) {
+            if (!newHosts.contains(host)) {
+                removed.add(host);
+            }
+        }
+        hosts = Collections.unmodifiableList(new ArrayList<Host>(newHosts));
+        LOGGER.debug("Replaced Hosts - now " + newHosts.size() + " Hosts in List");
+        return removed;
     }
 
-    public void clear() {
+    public synchronized void clear() {
         LOGGER.debug("Clear all Hosts in Set");
 
         close();
-        hosts.clear();
+        hosts = Collections.emptyList();
     }
 }
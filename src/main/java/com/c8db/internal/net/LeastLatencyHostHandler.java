@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.net;
+
+import com.c8db.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks two random hosts and sends the request to the one with the lower expected response time, which is the
+ * moving average of its response times multiplied with the number of its requests in flight ("power of two choices").
+ * Hosts without a measured response time are preferred, so every host gets measured.
+ */
+public class LeastLatencyHostHandler implements HostHandler {
+
+    private final HostResolver resolver;
+    private final Service service;
+
+    public LeastLatencyHostHandler(final HostResolver resolver, final Service service) {
+        super();
+        this.resolver = resolver;
+        this.service = service;
+        resolver.resolve(service, true, false);
+    }
+
+    @Override
+    public Host get(final HostHandle hostHandle, final AccessType accessType) {
+
+        final List<Host> hosts = resolver.resolve(service, false, false).getHostsList();
+        final int size = hosts.size();
+
+        if (hostHandle.getFails() > size) {
+            return null;
+        }
+
+        Host host = null;
+        if (hostHandle.getHost() != null) {
+            for (final Host candidate : hosts) {
+                if (hostHandle.getHost().equals(candidate.getDescription())) {
+                    host = candidate;
+                    break;
+                }
+            }
+        }
+        if (host == null) {
+            // do not retry a failed request on the same host if there are others
+            host = choose(hosts, hostHandle.getFails() > 0 ? hostHandle.getCurrent() : null);
+            hostHandle.setHost(host.getDescription());
+        }
+        hostHandle.setCurrent(host);
+        return host;
+    }
+
+    private static Host choose(final List<Host> all, final Host failed) {
+        List<Host> hosts = all;
+        if (failed != null && all.size() > 1 && all.contains(failed)) {
+            hosts = new ArrayList<Host>(all);
+            hosts.remove(failed);
+        }
+        final int size = hosts.size();
+        final Random random = ThreadLocalRandom.current();
+        final int first = random.nextInt(size);
+        Host best = hosts.get(first);
+        Host other = null;
+        if (size > 1) {
+            int second = random.nextInt(size - 1);
+            if (second >= first) {
+                second++;
+            }
+            other = hosts.get(second);
+            if (cost(other) < cost(best)) {
+                final Host tmp = best;
+                best = other;
+                other = tmp;
+            }
+        }
+        final Host chosen = best.getHealth().isAvailable() ? best
+                : other != null && other.getHealth().isAvailable() ? other : null;
+        if (chosen != null && chosen.getHealth().acquireProbe()) {
+            return chosen;
+        }
+        // both candidates are ejected, if all hosts are ejected try the chosen one anyway
+        final Host available = HostHealth.firstAvailable(hosts, first);
+        return available != null ? available : best;
+    }
+
+    private static double cost(final Host host) {
+        final HostHealth health = host.getHealth();
+        final double latency = health.getLatency();
+        return latency < 0 ? 0.0 : latency * (health.getInFlight() + 1);
+    }
+
+    @Override
+    public void success(final HostHandle hostHandle) {
+        hostHandle.setFails(0);
+    }
+
+    @Override
+    public void fail(final HostHandle hostHandle) {
+        hostHandle.setFails(hostHandle.getFails() + 1);
+    }
+
+    @Override
+    public void reset(final HostHandle hostHandle) {
+        hostHandle.setFails(0);
+    }
+
+    @Override
+    public void confirm() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        final HostSet hosts = resolver.resolve(service, false, false);
+        hosts.close();
+    }
+
+    @Override
+    public void closeCurrentOnError(final HostHandle hostHandle) {
+        final Host host = hostHandle.getCurrent();
+        if (host != null) {
+            host.closeOnError();
+        }
+    }
+
+}
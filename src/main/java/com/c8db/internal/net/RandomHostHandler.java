@@ -33,46 +33,57 @@ public class RandomHostHandler implements HostHandler {
     private final HostResolver resolver;
     private final HostHandler fallback;
     private final Service service;
-    private Host origin;
-    private Host current;
+    private volatile Host origin;
 
     public RandomHostHandler(final HostResolver resolver, final HostHandler fallback, final Service service) {
         super();
         this.resolver = resolver;
         this.fallback = fallback;
         this.service = service;
-        origin = current = getRandomHost(true, false);
+        origin = getRandomHost(true, false);
     }
 
     @Override
     public Host get(final HostHandle hostHandle, AccessType accessType) {
-        if (current == null) {
-            origin = current = getRandomHost(false, true);
+        if (hostHandle.getFails() > 0) {
+            // the request failed on its random host, fall back to the others
+            return fallback.get(hostHandle, accessType);
         }
-        return current;
+        Host host = resolver.resolve(service, false, false).getHost(hostHandle.getHost());
+        if (host != null) {
+            hostHandle.setCurrent(host);
+            return host;
+        }
+        host = origin;
+        if (host == null || !host.getHealth().acquireProbe()) {
+            host = getRandomHost(false, host == null);
+            origin = host;
+        }
+        hostHandle.setCurrent(host);
+        return host;
     }
 
     @Override
-    public void success() {
-        current = origin;
+    public void success(final HostHandle hostHandle) {
+        fallback.success(hostHandle);
     }
 
     @Override
-    public void fail() {
-        fallback.fail();
-        current = fallback.get(null, null);
+    public void fail(final HostHandle hostHandle) {
+        fallback.fail(hostHandle);
     }
 
     private Host getRandomHost(final boolean initial, final boolean closeConnections) {
 
         final ArrayList<Host> hosts = new ArrayList<Host>(resolver.resolve(service, initial, closeConnections).getHostsList());
         Collections.shuffle(hosts);
-        return hosts.get(0);
+        final Host available = HostHealth.firstAvailable(hosts, 0);
+        return available != null ? available : hosts.get(0);
     }
 
     @Override
-    public void reset() {
-        fallback.reset();
+    public void reset(final HostHandle hostHandle) {
+        fallback.reset(hostHandle);
     }
 
     @Override
@@ -86,8 +97,11 @@ public class RandomHostHandler implements HostHandler {
     }
 
     @Override
-    public void closeCurrentOnError() {
-        current.closeOnError();
+    public void closeCurrentOnError(final HostHandle hostHandle) {
+        final Host host = hostHandle.getCurrent();
+        if (host != null) {
+            host.closeOnError();
+        }
     }
 
 }
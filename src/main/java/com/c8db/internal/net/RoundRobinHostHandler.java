@@ -22,6 +22,8 @@ package com.c8db.internal.net;
 import com.c8db.Service;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  *
@@ -30,61 +32,64 @@ public class RoundRobinHostHandler implements HostHandler {
 
     private final HostResolver resolver;
     private final Service service;
-    private int current;
-    private int fails;
-    private Host currentHost;
+    private final AtomicInteger current;
 
     public RoundRobinHostHandler(final HostResolver resolver, final Service service) {
         super();
         this.resolver = resolver;
         this.service = service;
         resolver.resolve(service, true, false);
-        current = 0;
-        fails = 0;
+        current = new AtomicInteger(0);
     }
 
     @Override
     public Host get(final HostHandle hostHandle, AccessType accessType) {
 
-        final HostSet hosts = resolver.resolve(service, false, false);
-        final int size = hosts.getHostsList().size();
+        final List<Host> hosts = resolver.resolve(service, false, false).getHostsList();
+        final int size = hosts.size();
 
-        if (fails > size) {
+        if (hostHandle.getFails() > size) {
             return null;
         }
 
-        final int index = (current++) % size;
-        Host host = hosts.getHostsList().get(index);
-        if (hostHandle != null) {
-            final HostDescription hostDescription = hostHandle.getHost();
-            if (hostDescription != null) {
-                for (int i = index; i < index + size; i++) {
-                    host = hosts.getHostsList().get(i % size);
-                    if (hostDescription.equals(host.getDescription())) {
-                        break;
-                    }
+        // the counter may overflow, keep the index positive
+        final int index = (current.getAndIncrement() & Integer.MAX_VALUE) % size;
+        Host host = null;
+        final HostDescription hostDescription = hostHandle.getHost();
+        if (hostDescription != null) {
+            for (int i = index; i < index + size; i++) {
+                final Host candidate = hosts.get(i % size);
+                if (hostDescription.equals(candidate.getDescription())) {
+                    host = candidate;
+                    break;
                 }
-            } else {
-                hostHandle.setHost(host.getDescription());
             }
         }
-        currentHost = host;
+        if (host == null) {
+            // skip ejected hosts, if all of them are ejected try the next one anyway
+            host = HostHealth.firstAvailable(hosts, index);
+            if (host == null) {
+                host = hosts.get(index);
+            }
+            hostHandle.setHost(host.getDescription());
+        }
+        hostHandle.setCurrent(host);
         return host;
     }
 
     @Override
-    public void success() {
-        fails = 0;
+    public void success(final HostHandle hostHandle) {
+        hostHandle.setFails(0);
     }
 
     @Override
-    public void fail() {
-        fails++;
+    public void fail(final HostHandle hostHandle) {
+        hostHandle.setFails(hostHandle.getFails() + 1);
     }
 
     @Override
-    public void reset() {
-        fails = 0;
+    public void reset(final HostHandle hostHandle) {
+        hostHandle.setFails(0);
     }
 
     @Override
@@ -98,8 +103,11 @@ public class RoundRobinHostHandler implements HostHandler {
     }
 
     @Override
-    public void closeCurrentOnError() {
-        currentHost.closeOnError();
+    public void closeCurrentOnError(final HostHandle hostHandle) {
+        final Host host = hostHandle.getCurrent();
+        if (host != null) {
+            host.closeOnError();
+        }
     }
 
 }
@@ -19,6 +19,7 @@
 
 package com.c8db.internal.net;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,11 +29,16 @@ import com.c8db.util.C8Serialization;
 
 public class SimpleHostResolver implements HostResolver {
 
-    private final Map<Service, List<Host>> hostMatrix;
+    private final Map<Service, HostSet> hostMatrix;
 
     public SimpleHostResolver(final Map<Service, List<Host>> hostMatrix) {
         super();
-        this.hostMatrix = hostMatrix;
+        // the hosts never change, resolve them once
+        final Map<Service, HostSet> sets = new HashMap<Service, HostSet>();
+        for (final Map.Entry<Service, List<Host>> entry : hostMatrix.entrySet()) {
+            sets.put(entry.getKey(), new HostSet(entry.getValue()));
+        }
+        this.hostMatrix = sets;
     }
 
     @Override
@@ -42,7 +48,7 @@ public class SimpleHostResolver implements HostResolver {
 
     @Override
     public HostSet resolve(final Service service, final boolean initial, final boolean closeConnections) {
-        return new HostSet(hostMatrix.get(service));
+        return hostMatrix.get(service);
     }
 
 }
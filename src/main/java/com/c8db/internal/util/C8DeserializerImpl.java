@@ -23,6 +23,8 @@ import com.arangodb.velocypack.VPackParser;
 import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.exception.VPackException;
 import com.c8db.C8DBException;
+import com.c8db.internal.velocypack.VPackCodecs;
+import com.c8db.internal.velocypack.VPackCodecs.PojoCodec;
 import com.c8db.util.C8Deserializer;
 
 /**
@@ -32,11 +34,21 @@ public class C8DeserializerImpl implements C8Deserializer {
 
     private final VPack vpacker;
     private final VPackParser vpackParser;
+    private final VPackCodecs codecs;
 
     public C8DeserializerImpl(final VPack vpacker, final VPackParser vpackParser) {
+        this(vpacker, vpackParser, null);
+    }
+
+    /**
+     * @param codecs
+     *            the codecs of {@code vpacker} plain Java objects are deserialized through, or {@code null}
+     */
+    public C8DeserializerImpl(final VPack vpacker, final VPackParser vpackParser, final VPackCodecs codecs) {
         super();
         this.vpacker = vpacker;
         this.vpackParser = vpackParser;
+        this.codecs = codecs;
     }
 
     @Override
@@ -47,7 +59,9 @@ public class C8DeserializerImpl implements C8Deserializer {
             if (type == String.class && !vpack.isString()) {
                 doc = (T) vpackParser.toJson(vpack, true);
             } else {
-                doc = vpacker.deserialize(vpack, type);
+                final PojoCodec<?> codec = codecs != null && type instanceof Class ? codecs.codec((Class<?>) type)
+                        : null;
+                doc = codec != null ? (T) codec.deserialize(vpack) : vpacker.deserialize(vpack, type);
             }
             return doc;
         } catch (final VPackException e) {
@@ -16,6 +16,7 @@
 
 package com.c8db.internal.util;
 
+import com.c8db.util.C8JsonSerialization;
 import com.c8db.util.C8Serialization;
 
 /**
@@ -29,11 +30,22 @@ public class C8SerializationFactory {
 
     private final C8Serialization interal;
     private final C8Serialization custom;
+    private final C8JsonSerialization json;
 
     public C8SerializationFactory(final C8Serialization interal, final C8Serialization custom) {
+        this(interal, custom, null);
+    }
+
+    /**
+     * @param json the custom serialization if bodies are serialized from and to JSON directly, otherwise
+     *             {@code null}
+     */
+    public C8SerializationFactory(final C8Serialization interal, final C8Serialization custom,
+            final C8JsonSerialization json) {
         super();
         this.interal = interal;
         this.custom = custom;
+        this.json = json;
     }
 
     public C8Serialization get(final Serializer serializer) {
@@ -46,4 +58,11 @@ public class C8SerializationFactory {
         }
     }
 
+    /**
+     * @return the custom serialization if bodies are serialized from and to JSON directly, otherwise {@code null}
+     */
+    public C8JsonSerialization getJson() {
+        return json;
+    }
+
 }
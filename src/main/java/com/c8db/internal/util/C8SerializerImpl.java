@@ -24,6 +24,7 @@ import com.arangodb.velocypack.VPackParser;
 import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.exception.VPackException;
 import com.c8db.C8DBException;
+import com.c8db.internal.velocypack.VPackCodecs;
 import com.c8db.util.C8Serializer;
 
 /**
@@ -34,12 +35,27 @@ public class C8SerializerImpl implements C8Serializer {
     private final VPack vpacker;
     private final VPack vpackerNull;
     private final VPackParser vpackParser;
+    private final VPackCodecs codecs;
+    private final VPackCodecs codecsNull;
 
     public C8SerializerImpl(final VPack vpacker, final VPack vpackerNull, final VPackParser vpackParser) {
+        this(vpacker, vpackerNull, vpackParser, null, null);
+    }
+
+    /**
+     * @param codecs
+     *            the codecs of {@code vpacker} plain Java objects are serialized through, or {@code null}
+     * @param codecsNull
+     *            the codecs of {@code vpackerNull} plain Java objects are serialized through, or {@code null}
+     */
+    public C8SerializerImpl(final VPack vpacker, final VPack vpackerNull, final VPackParser vpackParser,
+            final VPackCodecs codecs, final VPackCodecs codecsNull) {
         super();
         this.vpacker = vpacker;
         this.vpackerNull = vpackerNull;
         this.vpackParser = vpackParser;
+        this.codecs = codecs;
+        this.codecsNull = codecsNull;
     }
 
     @Override
@@ -69,9 +85,18 @@ public class C8SerializerImpl implements C8Serializer {
                             .additionalFields(options.getAdditionalFields()));
                 }
             } else {
-                final VPack vp = serializeNullValues ? vpackerNull : vpacker;
-                vpack = vp.serialize(entity,
-                        new SerializeOptions().type(options.getType()).additionalFields(options.getAdditionalFields()));
+                final VPackCodecs codec = serializeNullValues ? codecsNull : codecs;
+                final VPackSlice compiled = codec != null && options.getType() == type
+                        && (options.getAdditionalFields() == null || options.getAdditionalFields().isEmpty())
+                                ? codec.serialize(entity)
+                                : null;
+                if (compiled != null) {
+                    vpack = compiled;
+                } else {
+                    final VPack vp = serializeNullValues ? vpackerNull : vpacker;
+                    vpack = vp.serialize(entity, new SerializeOptions().type(options.getType())
+                            .additionalFields(options.getAdditionalFields()));
+                }
             }
             return vpack;
         } catch (final VPackException e) {
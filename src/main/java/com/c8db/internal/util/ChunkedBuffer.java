@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Keeps the written bytes in chunks of a fixed size instead of one growing array, so that large bodies are neither
+ * copied while they grow nor need one contiguous block of memory. The chunks are taken from a pool shared by all
+ * buffers and handed back by {@link #release()}.
+ */
+public class ChunkedBuffer extends OutputStream {
+
+    static final int CHUNK_SIZE = 8 * 1024;
+    // up to 8 MiB of chunks are kept for later buffers
+    private static final int MAX_POOLED_CHUNKS = 1024;
+    private static final BlockingQueue<byte[]> POOL = new ArrayBlockingQueue<byte[]>(MAX_POOLED_CHUNKS);
+
+    private final List<byte[]> chunks = new ArrayList<byte[]>();
+    private byte[] current;
+    private int position = CHUNK_SIZE;
+    private long length;
+
+    @Override
+    public void write(final int b) {
+        if (position == CHUNK_SIZE) {
+            nextChunk();
+        }
+        current[position++] = (byte) b;
+        length++;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (position == CHUNK_SIZE) {
+                nextChunk();
+            }
+            final int count = Math.min(remaining, CHUNK_SIZE - position);
+            System.arraycopy(b, offset, current, position, count);
+            position += count;
+            offset += count;
+            remaining -= count;
+        }
+        length += len;
+    }
+
+    private void nextChunk() {
+        final byte[] chunk = POOL.poll();
+        current = chunk != null ? chunk : new byte[CHUNK_SIZE];
+        chunks.add(current);
+        position = 0;
+    }
+
+    /**
+     * @return the number of bytes written since the last {@link #release()}
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Writes the buffered bytes to the given stream, as often as needed.
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        final int last = chunks.size() - 1;
+        for (int i = 0; i < last; i++) {
+            out.write(chunks.get(i), 0, CHUNK_SIZE);
+        }
+        if (last >= 0) {
+            out.write(chunks.get(last), 0, position);
+        }
+    }
+
+    /**
+     * Hands the chunks back to the pool and empties the buffer. The buffer must not be written to the connection
+     * anymore, the next chunks are taken from the pool again.
+     */
+    public void release() {
+        for (final byte[] chunk : chunks) {
+            if (!POOL.offer(chunk)) {
+                break;
+            }
+        }
+        chunks.clear();
+        current = null;
+        position = CHUNK_SIZE;
+        length = 0L;
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.util;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the background work of a driver instance, i.e. completing the futures of {@code C8DBAsync}, prefetching cursor
+ * batches and sending import batches. Threads are started on demand up to the given maximum and end after a minute
+ * of idleness, they are daemons. Tasks are not queued: when all threads are busy, a task runs on the thread which
+ * submitted it, so that tasks waiting for other tasks can not exhaust the pool. The pool is shut down with the
+ * driver.
+ */
+public class DriverExecutor extends ThreadPoolExecutor {
+
+    public static final int DEFAULT_MAX_THREADS = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    public DriverExecutor() {
+        this(DEFAULT_MAX_THREADS);
+    }
+
+    public DriverExecutor(final int maxThreads) {
+        super(0, Math.max(1, maxThreads), KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+                new WorkerFactory(), new RejectedExecutionHandler() {
+                    @Override
+                    public void rejectedExecution(final Runnable task, final ThreadPoolExecutor executor) {
+                        if (executor.isShutdown()) {
+                            throw new RejectedExecutionException("The driver is shut down");
+                        }
+                        task.run();
+                    }
+                });
+    }
+
+    private static class WorkerFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "c8db-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
@@ -24,12 +24,85 @@ import java.net.URLEncoder;
  */
 public final class EncodeUtils {
 
+    private static final String SLASH = "/";
+    private static final String URL_UNRESERVED = "-_.*!'()~";
+    private static final String URL_UNRESERVED_PATH = URL_UNRESERVED + SLASH;
+    private static final String FORM_UNRESERVED = "-_.*";
+
     private EncodeUtils() {
     }
 
+    /**
+     * Encodes a path segment. Segments which consist of characters that are not encoded anyway, like most names and
+     * keys, are returned as they are without any allocation.
+     */
     public static String encodeURL(final String value) throws UnsupportedEncodingException {
-        return URLEncoder.encode(value, "UTF-8").replaceAll("\\+", "%20").replaceAll("\\%21", "!")
-                .replaceAll("\\%27", "'").replaceAll("\\%28", "(").replaceAll("\\%29", ")").replaceAll("\\%7E", "~");
+        if (isUnreserved(value, URL_UNRESERVED)) {
+            return value;
+        }
+        final String encoded = URLEncoder.encode(value, "UTF-8");
+        final StringBuilder sb = new StringBuilder(encoded.length());
+        for (int i = 0; i < encoded.length(); i++) {
+            final char c = encoded.charAt(i);
+            if (c == '+') {
+                sb.append("%20");
+            } else if (c == '%' && i + 2 < encoded.length() && isRestored(encoded.charAt(i + 1), encoded.charAt(i + 2))) {
+                sb.append(decode(encoded.charAt(i + 1), encoded.charAt(i + 2)));
+                i += 2;
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Joins the given paths with {@code /} and encodes each of their segments. Paths without characters to encode,
+     * like the constants of the API and most names and keys, are appended as they are.
+     */
+    public static String encodePath(final String... params) throws UnsupportedEncodingException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                sb.append(SLASH);
+            }
+            final String param = params[i];
+            if (!param.endsWith(SLASH) && isUnreserved(param, URL_UNRESERVED_PATH)) {
+                sb.append(param);
+            } else if (param.contains(SLASH)) {
+                sb.append(encodePath(param.split(SLASH)));
+            } else {
+                sb.append(encodeURL(param));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Encodes a name or value of a query parameter as {@code application/x-www-form-urlencoded}.
+     */
+    public static String encodeQueryParam(final String value) throws UnsupportedEncodingException {
+        return isUnreserved(value, FORM_UNRESERVED) ? value : URLEncoder.encode(value, "UTF-8");
+    }
+
+    private static boolean isUnreserved(final String value, final String unreserved) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || unreserved.indexOf(c) >= 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // %21 !, %27 ', %28 (, %29 ), %7E ~
+    private static boolean isRestored(final char high, final char low) {
+        return (high == '2' && (low == '1' || low == '7' || low == '8' || low == '9')) || (high == '7' && low == 'E');
+    }
+
+    private static char decode(final char high, final char low) {
+        return (char) (Character.digit(high, 16) << 4 | Character.digit(low, 16));
     }
 
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.ValueType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Decodes a JSON stream straight into a {@link VPackSlice} without materializing the payload as a {@code String}
+ * first. The token mapping is the same as {@link com.arangodb.velocypack.VPackParser#fromJson(String, boolean)}, so
+ * the produced slice is byte-for-byte identical to the one of the string based path.
+ */
+public final class JsonVPackDecoder {
+
+    // JsonFactory is thread-safe and recycles the parser read buffers per thread
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private JsonVPackDecoder() {
+        super();
+    }
+
+    /**
+     * @param input            JSON stream, closed once decoded
+     * @param includeNullValues whether {@code null} values should be added to the result
+     * @return the decoded value or {@code null} if the stream contains no JSON value
+     * @throws IOException if the stream could not be read or does not contain valid JSON
+     */
+    public static VPackSlice decode(final InputStream input, final boolean includeNullValues) throws IOException {
+        final JsonParser parser = FACTORY.createParser(input);
+        try {
+            final VPackBuilder builder = new VPackBuilder();
+            boolean empty = true;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                empty = false;
+                switch (token) {
+                    case START_OBJECT:
+                        builder.add(parser.getCurrentName(), ValueType.OBJECT);
+                        break;
+                    case START_ARRAY:
+                        builder.add(parser.getCurrentName(), ValueType.ARRAY);
+                        break;
+                    case END_OBJECT:
+                    case END_ARRAY:
+                        builder.close();
+                        break;
+                    case VALUE_TRUE:
+                    case VALUE_FALSE:
+                        builder.add(parser.getCurrentName(), parser.getBooleanValue());
+                        break;
+                    case VALUE_NULL:
+                        if (includeNullValues) {
+                            builder.add(parser.getCurrentName(), ValueType.NULL);
+                        }
+                        break;
+                    case VALUE_NUMBER_FLOAT:
+                        builder.add(parser.getCurrentName(), parser.getDoubleValue());
+                        break;
+                    case VALUE_NUMBER_INT:
+                        builder.add(parser.getCurrentName(), parser.getLongValue());
+                        break;
+                    case VALUE_STRING:
+                        builder.add(parser.getCurrentName(), parser.getValueAsString());
+                        break;
+                    default:
+                        break;
+                }
+            }
+            return empty ? null : builder.slice();
+        } finally {
+            parser.close();
+        }
+    }
+
+}
@@ -16,14 +16,19 @@
 
 package com.c8db.internal.util;
 
+import java.io.UnsupportedEncodingException;
+import java.util.Map.Entry;
+
 import com.arangodb.velocypack.VPackSlice;
 import com.c8db.Protocol;
 import com.c8db.internal.http.HttpDeleteWithBody;
+import com.c8db.internal.http.StreamingBodyEntity;
+import com.c8db.internal.http.VPackJsonEntity;
 import com.c8db.internal.net.AccessType;
 import com.c8db.internal.net.HostDescription;
 import com.c8db.velocystream.Request;
 import com.c8db.velocystream.RequestType;
-import java.util.Arrays;
+import com.c8db.velocystream.StreamingBody;
 import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
@@ -33,7 +38,6 @@ import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
 
 /**
  *
@@ -54,10 +58,62 @@ public final class RequestUtils {
         return AccessType.WRITE;
     }
 
+    /**
+     * @return size of the request body in bytes, {@code 0} without body or {@code -1} if unknown
+     */
+    public static long bodySize(final Request request) {
+        if (request.getStreamingBody() != null) {
+            return request.getStreamingBody().getContentLength();
+        }
+        return request.getBody() != null ? request.getBody().getByteSize() : 0L;
+    }
+
+    /**
+     * Releases the streaming body of a request which is done, see {@link StreamingBody#release()}.
+     */
+    public static void releaseBody(final Request request) {
+        if (request.getStreamingBody() != null) {
+            request.getStreamingBody().release();
+        }
+    }
+
     public static String buildBaseUrl(final HostDescription host, boolean useSsl) {
         return (Boolean.TRUE == useSsl ? "https://" : "http://") + host.getHost() + ":" + host.getPort();
     }
 
+    /**
+     * Builds the URL of the given request, where the base URL is the one of {@link #buildBaseUrl}. Query parameters
+     * without value are left out.
+     *
+     * @param withTenant
+     *            whether the path is prefixed with the tenant of the request
+     */
+    public static String buildUrl(final String baseUrl, final Request request, final boolean withTenant)
+            throws UnsupportedEncodingException {
+        final String tenant = withTenant ? request.getTenant() : null;
+        final String database = request.getDatabase();
+        final String path = request.getRequest();
+        final StringBuilder sb = new StringBuilder(baseUrl.length() + path.length() + 64).append(baseUrl);
+        if (tenant != null && !tenant.isEmpty()) {
+            sb.append("/_tenant/").append(tenant);
+        }
+        if (database != null && !database.isEmpty()) {
+            sb.append("/_fabric/").append(database);
+        }
+        sb.append(path);
+        if (!request.getQueryParam().isEmpty()) {
+            char separator = path.indexOf('?') >= 0 ? '&' : '?';
+            for (final Entry<String, String> param : request.getQueryParam().entrySet()) {
+                if (param.getValue() != null) {
+                    sb.append(separator).append(EncodeUtils.encodeQueryParam(param.getKey())).append('=')
+                            .append(EncodeUtils.encodeQueryParam(param.getValue()));
+                    separator = '&';
+                }
+            }
+        }
+        return sb.toString();
+    }
+
     public static HttpRequestBase buildHttpRequestBase(final Request request, final String url, Protocol contentType) {
         final HttpRequestBase httpRequest;
         switch (request.getRequestType()) {
@@ -86,15 +142,21 @@ public final class RequestUtils {
 
     private static HttpRequestBase requestWithBody(final HttpEntityEnclosingRequestBase httpRequest,
         final Request request, final Protocol contentType) {
-        final VPackSlice body = request.getBody();
+        final StreamingBody streamingBody = request.getStreamingBody();
+        if (streamingBody != null) {
+            // the server accepts JSON bodies regardless of the content type of the response
+            httpRequest.setEntity(new StreamingBodyEntity(streamingBody, CONTENT_TYPE_APPLICATION_JSON_UTF8));
+            return httpRequest;
+        }
 
+        final VPackSlice body = request.getBody();
         if (body != null) {
+            // both entities write from the buffer of the body without copying it
             if (contentType == Protocol.HTTP_VPACK) {
-                httpRequest.setEntity(new ByteArrayEntity(
-                    Arrays.copyOfRange(body.getBuffer(), body.getStart(), body.getStart() + body.getByteSize()),
+                httpRequest.setEntity(new ByteArrayEntity(body.getBuffer(), body.getStart(), body.getByteSize(),
                     CONTENT_TYPE_VPACK));
             } else {
-                httpRequest.setEntity(new StringEntity(body.toString(), CONTENT_TYPE_APPLICATION_JSON_UTF8));
+                httpRequest.setEntity(new VPackJsonEntity(body, CONTENT_TYPE_APPLICATION_JSON_UTF8));
             }
         }
         return httpRequest;
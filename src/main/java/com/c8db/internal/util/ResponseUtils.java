@@ -20,19 +20,21 @@
 package com.c8db.internal.util;
 
 import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.exception.VPackException;
 import com.arangodb.velocypack.exception.VPackParserException;
 import com.c8db.C8DBException;
 import com.c8db.Protocol;
 import com.c8db.entity.ErrorEntity;
+import com.c8db.internal.http.HttpHeaderMap;
 import com.c8db.internal.net.C8DBRedirectException;
 import com.c8db.util.C8Serialization;
 import com.c8db.util.C8Serializer.Options;
 import com.c8db.velocystream.Response;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
-import java.util.Map;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
-import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.HttpResponse;
 
 /**
  *
@@ -41,7 +43,7 @@ public final class ResponseUtils {
 
     private static final int ERROR_STATUS = 300;
     private static final int ERROR_INTERNAL = 503;
-    private static final String HEADER_ENDPOINT = "X-C8-Endpoint";
+    public static final String HEADER_ENDPOINT = "X-C8-Endpoint";
 
     private ResponseUtils() {
         super();
@@ -51,9 +53,9 @@ public final class ResponseUtils {
         try {
             final int responseCode = response.getResponseCode();
             if (responseCode >= ERROR_STATUS) {
-                if (responseCode == ERROR_INTERNAL && response.getMeta().containsKey(HEADER_ENDPOINT)) {
+                if (responseCode == ERROR_INTERNAL && response.getEndpoint() != null) {
                     throw new C8DBRedirectException(String.format("Response Code: %s", responseCode),
-                            response.getMeta().get(HEADER_ENDPOINT));
+                            response.getEndpoint());
                 } else if (responseCode == ERROR_INTERNAL) {
                     throw new C8DBException(String.format("Response Code: %s", responseCode), responseCode);
                 }
@@ -76,8 +78,39 @@ public final class ResponseUtils {
         }
     }
 
-    public static Response buildResponse(final C8Serialization util, final CloseableHttpResponse httpResponse,
+    /**
+     * @return size of the response body in bytes, {@code 0} without response or body
+     */
+    public static long bodySize(final Response response) {
+        if (response != null && response.getJson() != null) {
+            return response.getJson().length;
+        }
+        return response != null && response.getBody() != null ? response.getBody().getByteSize() : 0L;
+    }
+
+    public static Response buildResponse(final C8Serialization util, final HttpResponse httpResponse,
         final Protocol contentType) throws UnsupportedOperationException, IOException {
+        return buildResponse(util, httpResponse, contentType, false);
+    }
+
+    /**
+     * @param jsonStreaming if {@code true} a {@link Protocol#HTTP_JSON} body is decoded from the entity stream
+     *                      with {@link JsonVPackDecoder} instead of being parsed by {@code util} from a
+     *                      {@code String}. Only valid when {@code util} does not customize the JSON parsing.
+     */
+    public static Response buildResponse(final C8Serialization util, final HttpResponse httpResponse,
+        final Protocol contentType, final boolean jsonStreaming) throws UnsupportedOperationException, IOException {
+        return buildResponse(util, httpResponse, contentType, jsonStreaming, false);
+    }
+
+    /**
+     * @param jsonNative if {@code true} a {@link Protocol#HTTP_JSON} body is kept as received and only converted to
+     *                   VelocyPack if {@link Response#getBody()} is called, so that it can be deserialized from JSON
+     *                   directly
+     */
+    public static Response buildResponse(final C8Serialization util, final HttpResponse httpResponse,
+        final Protocol contentType, final boolean jsonStreaming, final boolean jsonNative)
+        throws UnsupportedOperationException, IOException {
         final Response response = new Response();
         response.setResponseCode(httpResponse.getStatusLine().getStatusCode());
         final HttpEntity entity = httpResponse.getEntity();
@@ -88,6 +121,18 @@ public final class ResponseUtils {
                 if (content.length > 0) {
                     response.setBody(new VPackSlice(content));
                 }
+            } else if (jsonNative) {
+                final byte[] content = IOUtils.toByteArray(entity.getContent());
+                if (content.length > 0) {
+                    response.setJson(content);
+                }
+            } else if (jsonStreaming) {
+                try {
+                    response.setBody(JsonVPackDecoder.decode(entity.getContent(), true));
+                } catch (final JsonProcessingException | VPackException e) {
+                    // the body is not valid JSON (e.g. an error page of a proxy), the response code is checked
+                    // in checkError()
+                }
             } else {
                 final String content = IOUtils.toString(entity.getContent());
                 if (!content.isEmpty()) {
@@ -103,11 +148,12 @@ public final class ResponseUtils {
                 }
             }
         }
-        final Header[] headers = httpResponse.getAllHeaders();
-        final Map<String, String> meta = response.getMeta();
-        for (final Header header : headers) {
-            meta.put(header.getName(), header.getValue());
+        // the other headers are only read if they are accessed
+        final Header endpoint = httpResponse.getFirstHeader(HEADER_ENDPOINT);
+        if (endpoint != null) {
+            response.setEndpoint(endpoint.getValue());
         }
+        response.setMeta(new HttpHeaderMap(httpResponse));
         return response;
     }
 }
@@ -0,0 +1,697 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.velocypack;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.arangodb.velocypack.VPack;
+import com.arangodb.velocypack.VPackAnnotationFieldFilter;
+import com.arangodb.velocypack.VPackAnnotationFieldNaming;
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackBuilder.BuilderOptions;
+import com.arangodb.velocypack.VPackDeserializer;
+import com.arangodb.velocypack.VPackFieldNamingStrategy;
+import com.arangodb.velocypack.VPackInstanceCreator;
+import com.arangodb.velocypack.VPackKeyMapAdapter;
+import com.arangodb.velocypack.VPackModule;
+import com.arangodb.velocypack.VPackSerializer;
+import com.arangodb.velocypack.VPackSetupContext;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.ValueType;
+import com.arangodb.velocypack.annotations.Expose;
+import com.arangodb.velocypack.annotations.SerializedName;
+import com.arangodb.velocypack.exception.VPackException;
+import com.arangodb.velocypack.exception.VPackParserException;
+import com.arangodb.velocypack.internal.DefaultVPackBuilderOptions;
+
+/**
+ * Serializers and deserializers for plain Java objects, which are built once per class on first use. The fields are
+ * read and written through {@link MethodHandle}s and the attribute names are resolved up front, so that no field
+ * lookup or reflective access is left per document.
+ *
+ * <p>
+ * The codecs apply the rules of the {@link VPack} they are created for, as recorded by a {@link Setup} through which
+ * its builder was configured: the field naming strategy, annotation field namings and filters, the handling of
+ * {@code null} values and the type hints of subclasses. Strings, numbers, booleans, enums and nested objects are
+ * written directly; all other field values and all classes with a registered serializer, deserializer or instance
+ * creator are left to the {@link VPack}.
+ * </p>
+ *
+ */
+public class VPackCodecs {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VPackCodecs.class);
+
+    private static final String DEFAULT_TYPE_KEY = "_class";
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodHandle FIELD_SET;
+
+    static {
+        try {
+            FIELD_SET = MethodHandles.lookup().findVirtual(Field.class, "set",
+                MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private enum Kind {
+        STRING, BOOLEAN, INTEGER, LONG, DOUBLE, ENUM, OBJECT, DELEGATE
+    }
+
+    private static final Map<Class<?>, Kind> BUILT_IN_KINDS = new HashMap<Class<?>, Kind>();
+
+    static {
+        BUILT_IN_KINDS.put(String.class, Kind.STRING);
+        BUILT_IN_KINDS.put(Boolean.class, Kind.BOOLEAN);
+        BUILT_IN_KINDS.put(boolean.class, Kind.BOOLEAN);
+        BUILT_IN_KINDS.put(Integer.class, Kind.INTEGER);
+        BUILT_IN_KINDS.put(int.class, Kind.INTEGER);
+        BUILT_IN_KINDS.put(Long.class, Kind.LONG);
+        BUILT_IN_KINDS.put(long.class, Kind.LONG);
+        BUILT_IN_KINDS.put(Double.class, Kind.DOUBLE);
+        BUILT_IN_KINDS.put(double.class, Kind.DOUBLE);
+    }
+
+    private final VPack vpack;
+    private final Map<Type, VPackSerializer<?>> serializers;
+    private final Map<Type, VPackSerializer<?>> enclosingSerializers;
+    private final Map<Type, VPackDeserializer<?>> deserializers;
+    private final Map<Type, VPackDeserializer<?>> deserializersWithSelfNullHandle;
+    private final Map<String, Map<Type, VPackDeserializer<?>>> deserializersByName;
+    private final Map<Type, VPackInstanceCreator<?>> instanceCreators;
+    private final BuilderOptions builderOptions;
+    private final boolean serializeNullValues;
+    private final String typeKey;
+    private final VPackFieldNamingStrategy fieldNamingStrategy;
+    private final Map<Class<? extends Annotation>, VPackAnnotationFieldFilter<? extends Annotation>> annotationFilter;
+    private final Map<Class<? extends Annotation>, VPackAnnotationFieldNaming<? extends Annotation>> annotationFieldNaming;
+    private final ClassValue<PojoCodec<?>> codecs;
+
+    private VPackCodecs(final Setup setup, final VPack vpack, final boolean serializeNullValues) {
+        super();
+        this.vpack = vpack;
+        this.serializeNullValues = serializeNullValues;
+        serializers = new HashMap<Type, VPackSerializer<?>>(setup.serializers);
+        enclosingSerializers = new HashMap<Type, VPackSerializer<?>>(setup.enclosingSerializers);
+        deserializers = new HashMap<Type, VPackDeserializer<?>>(setup.deserializers);
+        deserializersWithSelfNullHandle = new HashMap<Type, VPackDeserializer<?>>(
+                setup.deserializersWithSelfNullHandle);
+        deserializersByName = new HashMap<String, Map<Type, VPackDeserializer<?>>>();
+        for (final Entry<String, Map<Type, VPackDeserializer<?>>> byName : setup.deserializersByName.entrySet()) {
+            deserializersByName.put(byName.getKey(), new HashMap<Type, VPackDeserializer<?>>(byName.getValue()));
+        }
+        instanceCreators = new HashMap<Type, VPackInstanceCreator<?>>(setup.instanceCreators);
+        builderOptions = new DefaultVPackBuilderOptions();
+        builderOptions.setBuildUnindexedArrays(setup.buildUnindexedArrays);
+        builderOptions.setBuildUnindexedObjects(setup.buildUnindexedObjects);
+        typeKey = setup.typeKey != null ? setup.typeKey : DEFAULT_TYPE_KEY;
+        fieldNamingStrategy = setup.fieldNamingStrategy;
+        annotationFilter = new LinkedHashMap<Class<? extends Annotation>,
+                VPackAnnotationFieldFilter<? extends Annotation>>(setup.annotationFilter);
+        annotationFieldNaming = new LinkedHashMap<Class<? extends Annotation>,
+                VPackAnnotationFieldNaming<? extends Annotation>>(setup.annotationFieldNaming);
+        codecs = new ClassValue<PojoCodec<?>>() {
+            @Override
+            protected PojoCodec<?> computeValue(final Class<?> type) {
+                return createCodec(type);
+            }
+        };
+    }
+
+    /**
+     * Configures a {@link VPack.Builder} and records its configuration for the codecs. Everything registered here is
+     * passed on to the builder; serializers, deserializers and instance creators of classes are only recorded to
+     * leave those classes to the {@link VPack}.
+     */
+    public static class Setup implements VPackSetupContext<Setup> {
+
+        private final VPack.Builder builder;
+        private final Map<Type, VPackSerializer<?>> serializers = new HashMap<Type, VPackSerializer<?>>();
+        private final Map<Type, VPackSerializer<?>> enclosingSerializers = new HashMap<Type, VPackSerializer<?>>();
+        private final Map<Type, VPackDeserializer<?>> deserializers = new HashMap<Type, VPackDeserializer<?>>();
+        private final Map<Type, VPackDeserializer<?>> deserializersWithSelfNullHandle =
+                new HashMap<Type, VPackDeserializer<?>>();
+        private final Map<String, Map<Type, VPackDeserializer<?>>> deserializersByName =
+                new HashMap<String, Map<Type, VPackDeserializer<?>>>();
+        private final Map<Type, VPackInstanceCreator<?>> instanceCreators =
+                new HashMap<Type, VPackInstanceCreator<?>>();
+        private final Map<Class<? extends Annotation>, VPackAnnotationFieldFilter<? extends Annotation>> annotationFilter =
+                new LinkedHashMap<Class<? extends Annotation>, VPackAnnotationFieldFilter<? extends Annotation>>();
+        private final Map<Class<? extends Annotation>, VPackAnnotationFieldNaming<? extends Annotation>> annotationFieldNaming =
+                new LinkedHashMap<Class<? extends Annotation>, VPackAnnotationFieldNaming<? extends Annotation>>();
+        private boolean buildUnindexedArrays;
+        private boolean buildUnindexedObjects;
+        private VPackFieldNamingStrategy fieldNamingStrategy;
+        private String typeKey;
+
+        /**
+         * @param builder
+         *            a new builder, whose default annotations {@link Expose} and {@link SerializedName} are applied
+         *            by the codecs as well
+         */
+        public Setup(final VPack.Builder builder) {
+            super();
+            this.builder = builder;
+            annotationFilter.put(Expose.class, new VPackAnnotationFieldFilter<Expose>() {
+                @Override
+                public boolean serialize(final Expose annotation) {
+                    return annotation.serialize();
+                }
+
+                @Override
+                public boolean deserialize(final Expose annotation) {
+                    return annotation.deserialize();
+                }
+            });
+            annotationFieldNaming.put(SerializedName.class, new VPackAnnotationFieldNaming<SerializedName>() {
+                @Override
+                public String name(final SerializedName annotation) {
+                    return annotation.value();
+                }
+            });
+        }
+
+        /**
+         * @param vpack
+         *            the VPack built by the builder of this setup
+         * @param serializeNullValues
+         *            whether the VPack was built to serialize {@code null} values
+         * @return the codecs following the serialization rules of the VPack
+         */
+        public VPackCodecs codecs(final VPack vpack, final boolean serializeNullValues) {
+            return new VPackCodecs(this, vpack, serializeNullValues);
+        }
+
+        @Override
+        public <T> Setup registerSerializer(final Type type, final VPackSerializer<T> serializer) {
+            builder.registerSerializer(type, serializer);
+            serializers.put(type, serializer);
+            return this;
+        }
+
+        @Override
+        public <T> Setup registerEnclosingSerializer(final Type type, final VPackSerializer<T> serializer) {
+            builder.registerEnclosingSerializer(type, serializer);
+            enclosingSerializers.put(type, serializer);
+            return this;
+        }
+
+        @Override
+        public <T> Setup registerDeserializer(final Type type, final VPackDeserializer<T> deserializer) {
+            return registerDeserializer(type, deserializer, false);
+        }
+
+        @Override
+        public <T> Setup registerDeserializer(final Type type, final VPackDeserializer<T> deserializer,
+                final boolean includeNullValues) {
+            builder.registerDeserializer(type, deserializer, includeNullValues);
+            if (includeNullValues) {
+                deserializersWithSelfNullHandle.put(type, deserializer);
+            }
+            deserializers.put(type, deserializer);
+            return this;
+        }
+
+        @Override
+        public <T> Setup registerDeserializer(final String fieldName, final Type type,
+                final VPackDeserializer<T> deserializer) {
+            return registerDeserializer(fieldName, type, deserializer, false);
+        }
+
+        @Override
+        public <T> Setup registerDeserializer(final String fieldName, final Type type,
+                final VPackDeserializer<T> deserializer, final boolean includeNullValues) {
+            builder.registerDeserializer(fieldName, type, deserializer, includeNullValues);
+            Map<Type, VPackDeserializer<?>> byType = deserializersByName.get(fieldName);
+            if (byType == null) {
+                byType = new HashMap<Type, VPackDeserializer<?>>();
+                deserializersByName.put(fieldName, byType);
+            }
+            byType.put(type, deserializer);
+            return this;
+        }
+
+        @Override
+        public <T> Setup registerInstanceCreator(final Type type, final VPackInstanceCreator<T> creator) {
+            builder.registerInstanceCreator(type, creator);
+            instanceCreators.put(type, creator);
+            return this;
+        }
+
+        @Override
+        public Setup buildUnindexedArrays(final boolean buildUnindexedArrays) {
+            builder.buildUnindexedArrays(buildUnindexedArrays);
+            this.buildUnindexedArrays = buildUnindexedArrays;
+            return this;
+        }
+
+        @Override
+        public Setup buildUnindexedObjects(final boolean buildUnindexedObjects) {
+            builder.buildUnindexedObjects(buildUnindexedObjects);
+            this.buildUnindexedObjects = buildUnindexedObjects;
+            return this;
+        }
+
+        /**
+         * Passed on to the builder only, the codecs are created for a given handling of {@code null} values.
+         */
+        @Override
+        public Setup serializeNullValues(final boolean serializeNullValues) {
+            builder.serializeNullValues(serializeNullValues);
+            return this;
+        }
+
+        @Override
+        public Setup fieldNamingStrategy(final VPackFieldNamingStrategy fieldNamingStrategy) {
+            builder.fieldNamingStrategy(fieldNamingStrategy);
+            this.fieldNamingStrategy = fieldNamingStrategy;
+            return this;
+        }
+
+        @Override
+        public <A extends Annotation> Setup annotationFieldFilter(final Class<A> type,
+                final VPackAnnotationFieldFilter<A> fieldFilter) {
+            builder.annotationFieldFilter(type, fieldFilter);
+            annotationFilter.put(type, fieldFilter);
+            return this;
+        }
+
+        @Override
+        public <A extends Annotation> Setup annotationFieldNaming(final Class<A> type,
+                final VPackAnnotationFieldNaming<A> fieldNaming) {
+            builder.annotationFieldNaming(type, fieldNaming);
+            annotationFieldNaming.put(type, fieldNaming);
+            return this;
+        }
+
+        @Override
+        public Setup registerKeyMapAdapter(final Type type, final VPackKeyMapAdapter<?> adapter) {
+            builder.registerKeyMapAdapter(type, adapter);
+            return this;
+        }
+
+        public Setup typeKey(final String typeKey) {
+            builder.typeKey(typeKey);
+            this.typeKey = typeKey;
+            return this;
+        }
+
+        @Override
+        public Setup registerModule(final VPackModule module) {
+            module.setup(this);
+            return this;
+        }
+
+        @Override
+        public Setup registerModules(final VPackModule... modules) {
+            for (final VPackModule module : modules) {
+                registerModule(module);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * @return the codec of the class, or {@code null} if the class is left to the VPack
+     */
+    @SuppressWarnings("unchecked")
+    public <T> PojoCodec<T> codec(final Class<T> type) {
+        return (PojoCodec<T>) codecs.get(type);
+    }
+
+    /**
+     * @return the serialized entity, or {@code null} if the class of the entity is left to the VPack
+     */
+    public VPackSlice serialize(final Object entity) throws VPackException {
+        final PojoCodec<?> codec = codecs.get(entity.getClass());
+        if (codec == null) {
+            return null;
+        }
+        final VPackBuilder builder = new VPackBuilder(builderOptions);
+        codec.serialize(builder, null, entity);
+        return builder.slice();
+    }
+
+    private PojoCodec<?> createCodec(final Class<?> type) {
+        if (!isCodecType(type)) {
+            return null;
+        }
+        try {
+            final Constructor<?> constructor = type.getDeclaredConstructor();
+            if (!Modifier.isPublic(constructor.getModifiers())) {
+                return null;
+            }
+            final Map<String, FieldCodec> fields = new LinkedHashMap<String, FieldCodec>();
+            for (Class<?> tmp = type; tmp != null && tmp != Object.class; tmp = tmp.getSuperclass()) {
+                for (final Field field : tmp.getDeclaredFields()) {
+                    if (field.isSynthetic() || Modifier.isStatic(field.getModifiers())
+                            || Modifier.isTransient(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    final FieldCodec codec = createField(field);
+                    if (codec == null) {
+                        return null;
+                    }
+                    if (codec.serialize || codec.deserialize) {
+                        // like the VPack, a field of a superclass replaces a field with the same name
+                        fields.put(codec.name, codec);
+                    }
+                }
+            }
+            final List<FieldCodec> sorted = new ArrayList<FieldCodec>(fields.values());
+            Collections.sort(sorted, new Comparator<FieldCodec>() {
+                @Override
+                public int compare(final FieldCodec o1, final FieldCodec o2) {
+                    return o1.name.compareTo(o2.name);
+                }
+            });
+            final List<FieldCodec> serialized = new ArrayList<FieldCodec>();
+            final Map<String, FieldCodec> deserialized = new HashMap<String, FieldCodec>();
+            for (final FieldCodec field : sorted) {
+                if (field.serialize) {
+                    serialized.add(field);
+                }
+                if (field.deserialize) {
+                    deserialized.put(field.name, field);
+                }
+            }
+            return new PojoCodec<Object>(type,
+                    MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE),
+                    serialized.toArray(new FieldCodec[serialized.size()]), deserialized);
+        } catch (final NoSuchMethodException e) {
+            return null;
+        } catch (final IllegalAccessException e) {
+            return null;
+        } catch (final RuntimeException e) {
+            LOGGER.debug("No precompiled codec for " + type.getName(), e);
+            return null;
+        }
+    }
+
+    private boolean isCodecType(final Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isEnum() || type.isInterface() || type.isAnonymousClass()
+                || Modifier.isAbstract(type.getModifiers()) || !Modifier.isPublic(type.getModifiers())
+                || type.getTypeParameters().length > 0 || Iterable.class.isAssignableFrom(type)
+                || Map.class.isAssignableFrom(type) || VPackSlice.class.isAssignableFrom(type)
+                || (type.isMemberClass() && !Modifier.isStatic(type.getModifiers()))) {
+            return false;
+        }
+        final String name = type.getName();
+        if (name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("com.arangodb.velocypack.")) {
+            return false;
+        }
+        return !hasSerializer(type) && !deserializers.containsKey(type)
+                && !deserializersWithSelfNullHandle.containsKey(type) && !instanceCreators.containsKey(type)
+                && !hasDeserializerByName(type);
+    }
+
+    private boolean hasSerializer(final Class<?> type) {
+        return serializers.containsKey(type)
+                || (type.isMemberClass() && enclosingSerializers.containsKey(type.getEnclosingClass()));
+    }
+
+    private boolean hasDeserializerByName(final Type type) {
+        for (final Map<Type, VPackDeserializer<?>> byType : deserializersByName.values()) {
+            if (byType.containsKey(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the codec of the field, or {@code null} if the class can not be handled by a codec
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private FieldCodec createField(final Field field) throws IllegalAccessException {
+        String name = fieldNamingStrategy != null ? fieldNamingStrategy.translateName(field) : field.getName();
+        for (final Entry<Class<? extends Annotation>, VPackAnnotationFieldNaming<? extends Annotation>> naming : annotationFieldNaming
+                .entrySet()) {
+            final Annotation annotation = field.getAnnotation(naming.getKey());
+            if (annotation != null) {
+                name = ((VPackAnnotationFieldNaming) naming.getValue()).name(annotation);
+            }
+        }
+        boolean serialize = true;
+        boolean deserialize = true;
+        for (final Entry<Class<? extends Annotation>, VPackAnnotationFieldFilter<? extends Annotation>> filter : annotationFilter
+                .entrySet()) {
+            final Annotation annotation = field.getAnnotation(filter.getKey());
+            if (annotation != null) {
+                serialize = ((VPackAnnotationFieldFilter) filter.getValue()).serialize(annotation);
+                deserialize = ((VPackAnnotationFieldFilter) filter.getValue()).deserialize(annotation);
+            }
+        }
+        final Type type = field.getType() == Object.class ? Object.class : field.getGenericType();
+        if (!(type instanceof Class) && !(type instanceof ParameterizedType)) {
+            // type variables and generic arrays
+            return null;
+        }
+        if (deserializersByName.containsKey(name)) {
+            // deserializers which depend on the attribute name
+            return null;
+        }
+        if (deserializers.containsKey(type)) {
+            // custom deserializers may read the enclosing object
+            return null;
+        }
+        final Kind kind = kind(type);
+        final MethodHandle getter = MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        MethodHandle setter;
+        try {
+            setter = MethodHandles.lookup().unreflectSetter(field);
+        } catch (final IllegalAccessException e) {
+            // final fields can only be written through the field itself
+            setter = FIELD_SET.bindTo(field);
+        }
+        return new FieldCodec(name, type, kind, field.getType().isPrimitive(), serialize, deserialize, getter,
+                setter.asType(SETTER_TYPE));
+    }
+
+    private Kind kind(final Type type) {
+        if (!(type instanceof Class) || serializers.containsKey(type) || deserializers.containsKey(type)) {
+            return Kind.DELEGATE;
+        }
+        final Class<?> clazz = (Class<?>) type;
+        final Kind kind = BUILT_IN_KINDS.get(clazz);
+        if (kind != null) {
+            return kind;
+        }
+        if (clazz.isEnum() && !hasSerializer(clazz)) {
+            return Kind.ENUM;
+        }
+        return isCodecType(clazz) ? Kind.OBJECT : Kind.DELEGATE;
+    }
+
+    private static VPackException wrap(final Throwable e) {
+        if (e instanceof VPackException) {
+            return (VPackException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new VPackParserException(e);
+    }
+
+    /**
+     * Codec of one class.
+     */
+    public class PojoCodec<T> {
+
+        private final Class<?> type;
+        private final MethodHandle constructor;
+        private final FieldCodec[] serialized;
+        private final Map<String, FieldCodec> deserialized;
+
+        PojoCodec(final Class<?> type, final MethodHandle constructor, final FieldCodec[] serialized,
+                final Map<String, FieldCodec> deserialized) {
+            super();
+            this.type = type;
+            this.constructor = constructor;
+            this.serialized = serialized;
+            this.deserialized = deserialized;
+        }
+
+        void serialize(final VPackBuilder builder, final String attribute, final Object entity)
+                throws VPackException {
+            builder.add(attribute, ValueType.OBJECT);
+            for (final FieldCodec field : serialized) {
+                field.serialize(builder, entity);
+            }
+            builder.close();
+        }
+
+        @SuppressWarnings("unchecked")
+        public T deserialize(final VPackSlice slice) throws VPackException {
+            if (!slice.isObject() || slice.get(typeKey).isString()) {
+                // null values and type hints
+                return (T) vpack.deserialize(slice, type);
+            }
+            final Object entity;
+            try {
+                entity = constructor.invokeExact();
+            } catch (final Throwable e) {
+                throw wrap(e);
+            }
+            for (final Iterator<Entry<String, VPackSlice>> iterator = slice.objectIterator(); iterator.hasNext();) {
+                final Entry<String, VPackSlice> next = iterator.next();
+                final FieldCodec field = deserialized.get(next.getKey());
+                if (field != null && !next.getValue().isNone()) {
+                    field.deserialize(entity, next.getValue());
+                }
+            }
+            return (T) entity;
+        }
+    }
+
+    private class FieldCodec {
+
+        private final String name;
+        private final Type type;
+        private final Class<?> rawType;
+        private final Kind kind;
+        private final boolean primitive;
+        private final boolean serialize;
+        private final boolean deserialize;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final VPack.SerializeOptions serializeOptions;
+
+        FieldCodec(final String name, final Type type, final Kind kind, final boolean primitive,
+                final boolean serialize, final boolean deserialize, final MethodHandle getter,
+                final MethodHandle setter) {
+            super();
+            this.name = name;
+            this.type = type;
+            rawType = type instanceof Class ? (Class<?>) type : null;
+            this.kind = kind;
+            this.primitive = primitive;
+            this.serialize = serialize;
+            this.deserialize = deserialize;
+            this.getter = getter;
+            this.setter = setter;
+            serializeOptions = new VPack.SerializeOptions().type(type);
+        }
+
+        void serialize(final VPackBuilder builder, final Object entity) throws VPackException {
+            final Object value;
+            try {
+                value = getter.invokeExact(entity);
+            } catch (final Throwable e) {
+                throw wrap(e);
+            }
+            if (value == null) {
+                if (serializeNullValues) {
+                    builder.add(name, ValueType.NULL);
+                }
+                return;
+            }
+            switch (kind) {
+            case STRING:
+                builder.add(name, (String) value);
+                break;
+            case BOOLEAN:
+                builder.add(name, (Boolean) value);
+                break;
+            case INTEGER:
+                builder.add(name, (Integer) value);
+                break;
+            case LONG:
+                builder.add(name, (Long) value);
+                break;
+            case DOUBLE:
+                builder.add(name, (Double) value);
+                break;
+            case ENUM:
+                builder.add(name, ((Enum<?>) value).name());
+                break;
+            case OBJECT:
+                // subclasses are serialized with a type hint
+                final PojoCodec<?> codec = value.getClass() == rawType ? codecs.get(rawType) : null;
+                if (codec != null) {
+                    codec.serialize(builder, name, value);
+                } else {
+                    builder.add(name, vpack.serialize(value, serializeOptions));
+                }
+                break;
+            case DELEGATE:
+            default:
+                builder.add(name, vpack.serialize(value, serializeOptions));
+                break;
+            }
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        void deserialize(final Object entity, final VPackSlice slice) throws VPackException {
+            final Object value;
+            if (slice.isNull()) {
+                if (primitive) {
+                    throw new VPackParserException(
+                            new IllegalArgumentException("Can not set primitive field " + name + " to null"));
+                }
+                value = null;
+            } else {
+                switch (kind) {
+                case STRING:
+                    value = slice.getAsString();
+                    break;
+                case BOOLEAN:
+                    value = slice.getAsBoolean();
+                    break;
+                case INTEGER:
+                    value = slice.getAsInt();
+                    break;
+                case LONG:
+                    value = slice.getAsLong();
+                    break;
+                case DOUBLE:
+                    value = slice.getAsDouble();
+                    break;
+                case ENUM:
+                    value = Enum.valueOf((Class<Enum>) rawType, slice.getAsString());
+                    break;
+                case OBJECT:
+                    final PojoCodec<?> codec = codecs.get(rawType);
+                    value = codec != null ? codec.deserialize(slice) : vpack.deserialize(slice, type);
+                    break;
+                case DELEGATE:
+                default:
+                    value = vpack.deserialize(slice, type);
+                    break;
+                }
+            }
+            try {
+                setter.invokeExact(entity, value);
+            } catch (final Throwable e) {
+                throw wrap(e);
+            }
+        }
+    }
+
+}
@@ -43,6 +43,7 @@ import com.c8db.entity.MinReplicationFactor;
 import com.c8db.entity.Permissions;
 import com.c8db.entity.QueryExecutionState;
 import com.c8db.entity.ReplicationFactor;
+import com.c8db.internal.util.ResponseUtils;
 import com.c8db.velocystream.Response;
 
 /**
@@ -62,8 +63,11 @@ public class VPackDeserializers {
             response.setVersion(vpack.get(0).getAsInt());
             response.setType(vpack.get(1).getAsInt());
             response.setResponseCode(vpack.get(2).getAsInt());
-            if (vpack.size() > 3) {
-                response.setMeta((Map) context.deserialize(vpack.get(3), Map.class));
+            // the head is backed by a pooled buffer, so the headers are copied, but only if there are any
+            if (vpack.size() > 3 && vpack.get(3).isObject() && vpack.get(3).size() > 0) {
+                final Map<String, String> meta = (Map) context.deserialize(vpack.get(3), Map.class);
+                response.setMeta(meta);
+                response.setEndpoint(meta.get(ResponseUtils.HEADER_ENDPOINT));
             }
             return response;
         }
@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import javax.net.ssl.SSLContext;
@@ -32,6 +33,7 @@ import org.slf4j.LoggerFactory;
 import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.exception.VPackParserException;
 import com.c8db.C8DBException;
+import com.c8db.MetricsListener;
 import com.c8db.internal.C8Defaults;
 import com.c8db.internal.net.AccessType;
 import com.c8db.internal.net.C8DBRedirectException;
@@ -65,54 +67,59 @@ public abstract class VstCommunication<R, C extends VstConnection> implements Cl
 
     protected final Integer chunksize;
     private final Map<Service, HostHandler> hostHandlerMatrix;
+    private final MetricsListener metrics;
 
     protected VstCommunication(final Integer timeout, final String user, final String password, final Boolean useSsl,
             final SSLContext sslContext, final C8Serialization util, final Integer chunksize,
-            final Map<Service, HostHandler> hostHandlerMatrix) {
+            final Map<Service, HostHandler> hostHandlerMatrix, final MetricsListener metrics) {
         this.user = user;
         this.password = password;
         this.util = util;
         this.hostHandlerMatrix = hostHandlerMatrix;
+        this.metrics = metrics;
         this.chunksize = chunksize != null ? chunksize : C8Defaults.CHUNK_DEFAULT_CONTENT_SIZE;
     }
 
     @SuppressWarnings("unchecked")
-    protected synchronized C connect(final HostHandle hostHandle, final AccessType accessType, Service service) {
+    protected HostConnection<C> connect(final HostHandle hostHandle, final AccessType accessType,
+            Service service) {
         HostHandler hostHandler = hostHandlerMatrix.get(service);
         Host host = hostHandler.get(hostHandle, accessType);
         while (true) {
             if (host == null) {
-                hostHandler.reset();
+                hostHandler.reset(hostHandle);
                 throw new C8DBException("Was not able to connect to any host");
             }
             final C connection = (C) host.connection();
-            if (connection.isOpen()) {
-                return connection;
-            } else {
-                try {
-                    connection.open();
-                    hostHandler.success();
-                    if (user != null) {
-                        authenticate(connection);
-                    }
-                    hostHandler.confirm();
-                    return connection;
-                } catch (final IOException e) {
-                    hostHandler.fail();
-                    if (hostHandle != null && hostHandle.getHost() != null) {
-                        hostHandle.setHost(null);
-                    }
-                    final Host failedHost = host;
-                    host = hostHandler.get(hostHandle, accessType);
-                    if (host != null) {
-                        LOGGER.warn(
-                                String.format("Could not connect to %s or SSL Handshake failed. Try connecting to %s",
-                                        failedHost.getDescription(), host.getDescription()));
-                    } else {
-                        LOGGER.error(e.getMessage(), e);
-                        throw new C8DBException(e);
+            try {
+                // a connection is opened and authenticated once, before other threads may use it
+                synchronized (connection) {
+                    if (!connection.isOpen()) {
+                        connection.open();
+                        hostHandler.success(hostHandle);
+                        if (user != null) {
+                            authenticate(connection);
+                        }
+                        hostHandler.confirm();
                     }
                 }
+                return new HostConnection<C>(host, connection);
+            } catch (final IOException e) {
+                host.getHealth().failure();
+                hostHandler.fail(hostHandle);
+                if (hostHandle.getHost() != null) {
+                    hostHandle.setHost(null);
+                }
+                final Host failedHost = host;
+                host = hostHandler.get(hostHandle, accessType);
+                if (host != null) {
+                    LOGGER.warn(String.format(
+                            "Could not connect to %s or SSL Handshake failed. Try connecting to %s",
+                            failedHost.getDescription(), host.getDescription()));
+                } else {
+                    LOGGER.error(e.getMessage(), e);
+                    throw new C8DBException(e);
+                }
             }
         }
     }
@@ -126,18 +133,60 @@ public abstract class VstCommunication<R, C extends VstConnection> implements Cl
         }
     }
 
-    public R execute(final Request request, final HostHandle hostHandle, Service service) throws C8DBException {
+    public R execute(final Request request, final HostHandle handle, Service service) throws C8DBException {
+        if (metrics == null && !LOGGER.isDebugEnabled()) {
+            return send(request, handle, service);
+        }
+        final long start = System.nanoTime();
+        int responseCode = 0;
+        R result = null;
+        try {
+            result = send(request, handle, service);
+            responseCode = result instanceof Response ? ((Response) result).getResponseCode() : 0;
+            return result;
+        } catch (final C8DBException e) {
+            responseCode = e.getResponseCode() != null ? e.getResponseCode() : 0;
+            throw e;
+        } finally {
+            final long duration = System.nanoTime() - start;
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(String.format("Response time of %s %s is %d ms", request.getRequestType(),
+                    request.getRequest(), TimeUnit.NANOSECONDS.toMillis(duration)));
+            }
+            if (metrics != null) {
+                metrics.onRequest(service, request.getRequestType(), request.getPathTemplate(), responseCode,
+                    duration, RequestUtils.bodySize(request),
+                    result instanceof Response ? ResponseUtils.bodySize((Response) result) : 0L);
+            }
+        }
+    }
+
+    private R send(final Request request, final HostHandle handle, Service service) throws C8DBException {
+        final HostHandle hostHandle = handle != null ? handle : new HostHandle();
         try {
-            final C connection = connect(hostHandle, RequestUtils.determineAccessType(request), service);
-            return execute(request, connection);
+            final HostConnection<C> connection = connect(hostHandle, RequestUtils.determineAccessType(request),
+                service);
+            final long start = connection.host.getHealth().begin();
+            final R result;
+            try {
+                result = execute(request, connection.connection);
+            } catch (final RuntimeException e) {
+                connection.host.getHealth().record(start, e);
+                throw e;
+            }
+            connection.host.getHealth().record(start, null);
+            return result;
         } catch (final C8DBException e) {
             if (e instanceof C8DBRedirectException) {
                 final String location = C8DBRedirectException.class.cast(e).getLocation();
                 final HostDescription redirectHost = HostUtils.createFromLocation(location);
                 HostHandler hostHandler = hostHandlerMatrix.get(service);
-                hostHandler.closeCurrentOnError();
-                hostHandler.fail();
-                return execute(request, new HostHandle().setHost(redirectHost), service);
+                hostHandler.closeCurrentOnError(hostHandle);
+                hostHandler.fail(hostHandle);
+                if (metrics != null) {
+                    metrics.onRedirect(service);
+                }
+                return send(request, new HostHandle().setHost(redirectHost), service);
             } else {
                 throw e;
             }
@@ -146,14 +195,42 @@ public abstract class VstCommunication<R, C extends VstConnection> implements Cl
 
     protected abstract R execute(final Request request, C connection) throws C8DBException;
 
+    /**
+     * Connection selected for a request together with the host it belongs to.
+     */
+    protected static class HostConnection<C> {
+
+        private final Host host;
+        private final C connection;
+
+        HostConnection(final Host host, final C connection) {
+            this.host = host;
+            this.connection = connection;
+        }
+    }
+
     protected void checkError(final Response response) throws C8DBException {
         ResponseUtils.checkError(util, response);
     }
 
     protected Response createResponse(final Message message) throws VPackParserException {
-        final Response response = util.deserialize(message.getHead(), Response.class);
+        final Response response;
+        try {
+            response = util.deserialize(message.getHead(), Response.class);
+        } catch (final VPackParserException e) {
+            message.release();
+            throw e;
+        }
         if (message.getBody() != null) {
             response.setBody(message.getBody());
+            response.setReleaser(new Runnable() {
+                @Override
+                public void run() {
+                    message.release();
+                }
+            });
+        } else {
+            message.release();
         }
         return response;
     }
@@ -24,6 +24,7 @@ import org.slf4j.LoggerFactory;
 
 import com.arangodb.velocypack.exception.VPackParserException;
 import com.c8db.C8DBException;
+import com.c8db.MetricsListener;
 import com.c8db.internal.net.HostHandler;
 import com.c8db.internal.velocystream.internal.AuthenticationRequest;
 import com.c8db.internal.velocystream.internal.Message;
@@ -52,6 +53,7 @@ public class VstCommunicationSync extends VstCommunication<Response, VstConnecti
         private SSLContext sslContext;
         private Integer chunksize;
         private Integer maxConnections;
+        private MetricsListener metrics;
 
         public Builder(final Map<Service, HostHandler> hostHandlerMatrix) {
             super();
@@ -61,7 +63,8 @@ public class VstCommunicationSync extends VstCommunication<Response, VstConnecti
         public Builder(final Builder builder) {
             this(builder.hostHandlerMatrix);
             timeout(builder.timeout).user(builder.user).password(builder.password).useSsl(builder.useSsl)
-                    .sslContext(builder.sslContext).chunksize(builder.chunksize).maxConnections(builder.maxConnections);
+                    .sslContext(builder.sslContext).chunksize(builder.chunksize).maxConnections(builder.maxConnections)
+                    .metrics(builder.metrics);
         }
 
         public Builder timeout(final Integer timeout) {
@@ -104,17 +107,22 @@ public class VstCommunicationSync extends VstCommunication<Response, VstConnecti
             return this;
         }
 
+        public Builder metrics(final MetricsListener metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
         public VstCommunication<Response, VstConnectionSync> build(final C8Serialization util) {
             return new VstCommunicationSync(hostHandlerMatrix, timeout, user, password, useSsl, sslContext, util, chunksize,
-                    maxConnections, connectionTtl);
+                    maxConnections, connectionTtl, metrics);
         }
 
     }
 
     protected VstCommunicationSync(final Map<Service, HostHandler> hostHandlerMatrix, final Integer timeout, final String user,
             final String password, final Boolean useSsl, final SSLContext sslContext, final C8Serialization util,
-            final Integer chunksize, final Integer maxConnections, final Long ttl) {
-        super(timeout, user, password, useSsl, sslContext, util, chunksize, hostHandlerMatrix);
+            final Integer chunksize, final Integer maxConnections, final Long ttl, final MetricsListener metrics) {
+        super(timeout, user, password, useSsl, sslContext, util, chunksize, hostHandlerMatrix, metrics);
     }
 
     @Override
@@ -123,7 +131,12 @@ public class VstCommunicationSync extends VstCommunication<Response, VstConnecti
             final Message requestMessage = createMessage(request);
             final Message responseMessage = send(requestMessage, connection);
             final Response response = createResponse(responseMessage);
-            checkError(response);
+            try {
+                checkError(response);
+            } catch (final C8DBException e) {
+                response.release();
+                throw e;
+            }
             return response;
         } catch (final VPackParserException e) {
             throw new C8DBException(e);
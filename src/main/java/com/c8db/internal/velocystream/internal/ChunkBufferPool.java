@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.velocystream.internal;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Size-classed pool of the buffers which incoming messages are reassembled into. Buffers are handed out by the reader
+ * thread of a connection and given back by the thread which consumed the response, messages larger than the biggest
+ * size class are allocated unpooled.
+ */
+public class ChunkBufferPool {
+
+    private static final int MIN_SIZE_SHIFT = 12;
+    private static final int MAX_SIZE_SHIFT = 20;
+    private static final int DEFAULT_BUFFERS_PER_CLASS = 16;
+
+    private final SizeClass[] sizeClasses;
+
+    public ChunkBufferPool() {
+        this(DEFAULT_BUFFERS_PER_CLASS);
+    }
+
+    public ChunkBufferPool(final int buffersPerClass) {
+        super();
+        sizeClasses = new SizeClass[MAX_SIZE_SHIFT - MIN_SIZE_SHIFT + 1];
+        for (int i = 0; i < sizeClasses.length; i++) {
+            sizeClasses[i] = new SizeClass(1 << (MIN_SIZE_SHIFT + i), buffersPerClass);
+        }
+    }
+
+    /**
+     * @param length the minimal length of the buffer
+     * @return a buffer with at least the given length, possibly with stale content
+     */
+    public byte[] acquire(final int length) {
+        final SizeClass sizeClass = sizeClassOf(length);
+        if (sizeClass == null) {
+            return new byte[length];
+        }
+        final byte[] buffer = sizeClass.buffers.poll();
+        if (buffer == null) {
+            return new byte[sizeClass.size];
+        }
+        sizeClass.available.decrementAndGet();
+        return buffer;
+    }
+
+    /**
+     * Gives a buffer back to the pool. The buffer must not be used by the caller afterwards.
+     */
+    public void release(final byte[] buffer) {
+        final SizeClass sizeClass = sizeClassOf(buffer.length);
+        if (sizeClass == null || sizeClass.size != buffer.length) {
+            return;
+        }
+        if (sizeClass.available.incrementAndGet() <= sizeClass.capacity) {
+            sizeClass.buffers.offer(buffer);
+        } else {
+            sizeClass.available.decrementAndGet();
+        }
+    }
+
+    private SizeClass sizeClassOf(final int length) {
+        if (length > 1 << MAX_SIZE_SHIFT) {
+            return null;
+        }
+        final int shift = Math.max(MIN_SIZE_SHIFT, 32 - Integer.numberOfLeadingZeros(Math.max(length, 1) - 1));
+        return sizeClasses[shift - MIN_SIZE_SHIFT];
+    }
+
+    private static class SizeClass {
+
+        private final int size;
+        private final int capacity;
+        private final Queue<byte[]> buffers;
+        private final AtomicInteger available;
+
+        SizeClass(final int size, final int capacity) {
+            this.size = size;
+            this.capacity = capacity;
+            buffers = new ConcurrentLinkedQueue<byte[]>();
+            available = new AtomicInteger(0);
+        }
+    }
+
+}
@@ -27,14 +27,24 @@ import java.util.Map;
 public class ChunkStore {
 
     private final MessageStore messageStore;
+    private final ChunkBufferPool bufferPool;
     private final Map<Long, ByteBuffer> data;
 
     public ChunkStore(final MessageStore messageStore) {
+        this(messageStore, new ChunkBufferPool());
+    }
+
+    public ChunkStore(final MessageStore messageStore, final ChunkBufferPool bufferPool) {
         super();
         this.messageStore = messageStore;
+        this.bufferPool = bufferPool;
         data = new HashMap<Long, ByteBuffer>();
     }
 
+    /**
+     * Returns the buffer the content of the chunk has to be read into, starting at its position. The chunks of a
+     * message are reassembled in a single pooled buffer, so the content is read without intermediate copies.
+     */
     public ByteBuffer storeChunk(final Chunk chunk) throws BufferUnderflowException, IndexOutOfBoundsException {
         final long messageId = chunk.getMessageId();
         ByteBuffer chunkBuffer = data.get(messageId);
@@ -45,7 +55,7 @@ public class ChunkStore {
             }
             final int length = (int) (chunk.getMessageLength() > 0 ? chunk.getMessageLength()
                     : chunk.getContentLength());
-            chunkBuffer = ByteBuffer.allocate(length);
+            chunkBuffer = ByteBuffer.wrap(bufferPool.acquire(length), 0, length);
             data.put(messageId, chunkBuffer);
         }
         return chunkBuffer;
@@ -58,7 +68,7 @@ public class ChunkStore {
     private void checkCompleteness(final long messageId, final ByteBuffer chunkBuffer)
             throws BufferUnderflowException, IndexOutOfBoundsException {
         if (chunkBuffer.position() == chunkBuffer.limit()) {
-            messageStore.consume(new Message(messageId, chunkBuffer.array()));
+            messageStore.consume(new Message(messageId, chunkBuffer.array(), chunkBuffer.limit(), bufferPool));
             data.remove(messageId);
         }
     }
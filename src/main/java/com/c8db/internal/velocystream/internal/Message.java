@@ -28,13 +28,26 @@ public class Message {
     private final long id;
     private final VPackSlice head;
     private final VPackSlice body;
+    private final ChunkBufferPool pool;
+    private byte[] buffer;
 
     public Message(final long id, final byte[] chunkBuffer) throws BufferUnderflowException, IndexOutOfBoundsException {
+        this(id, chunkBuffer, chunkBuffer.length, null);
+    }
+
+    /**
+     * Creates a message as a view on the first {@code length} bytes of the buffer. A buffer from the given pool is
+     * given back with {@link #release()}.
+     */
+    public Message(final long id, final byte[] chunkBuffer, final int length, final ChunkBufferPool pool)
+            throws BufferUnderflowException, IndexOutOfBoundsException {
         super();
         this.id = id;
+        this.pool = pool;
+        buffer = chunkBuffer;
         head = new VPackSlice(chunkBuffer);
         final int headSize = head.getByteSize();
-        if (chunkBuffer.length > headSize) {
+        if (length > headSize) {
             body = new VPackSlice(chunkBuffer, headSize);
         } else {
             body = null;
@@ -46,6 +59,7 @@ public class Message {
         this.id = id;
         this.head = head;
         this.body = body;
+        pool = null;
     }
 
     public long getId() {
@@ -60,4 +74,14 @@ public class Message {
         return body;
     }
 
+    /**
+     * Gives the underlying buffer back to its pool. Neither head nor body may be used afterwards.
+     */
+    public synchronized void release() {
+        if (pool != null && buffer != null) {
+            pool.release(buffer);
+            buffer = null;
+        }
+    }
+
 }
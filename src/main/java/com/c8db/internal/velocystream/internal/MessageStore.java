@@ -16,63 +16,64 @@
 
 package com.c8db.internal.velocystream.internal;
 
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.FutureTask;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.c8db.C8DBException;
-
 /**
- *
+ * Pending requests of a connection by message id. The futures are completed directly by the reader thread.
  */
 public class MessageStore {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MessageStore.class);
 
-    private final Map<Long, FutureTask<Message>> task;
-    private final Map<Long, Message> response;
-    private final Map<Long, Exception> error;
+    private final Map<Long, CompletableFuture<Message>> pending;
 
     public MessageStore() {
         super();
-        task = new ConcurrentHashMap<Long, FutureTask<Message>>();
-        response = new ConcurrentHashMap<Long, Message>();
-        error = new ConcurrentHashMap<Long, Exception>();
+        pending = new ConcurrentHashMap<Long, CompletableFuture<Message>>();
     }
 
-    public void storeMessage(final long messageId, final FutureTask<Message> future) {
-        task.put(messageId, future);
+    /**
+     * Registers a request, must be called before the request is written to the connection.
+     *
+     * @return future which is completed with the response message
+     */
+    public CompletableFuture<Message> register(final long messageId) {
+        final CompletableFuture<Message> future = new CompletableFuture<Message>();
+        pending.put(messageId, future);
+        return future;
     }
 
     public void consume(final Message message) {
-        final FutureTask<Message> future = task.remove(message.getId());
+        final CompletableFuture<Message> future = pending.remove(message.getId());
         if (future != null) {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug(String.format("Received Message (id=%s, head=%s, body=%s)", message.getId(),
                         message.getHead(), message.getBody() != null ? message.getBody() : "{}"));
             }
-            response.put(message.getId(), message);
-            future.run();
+            if (future.complete(message)) {
+                return;
+            }
         }
+        // nobody is waiting for the response anymore
+        message.release();
     }
 
-    public Message get(final long messageId) throws C8DBException {
-        final Message result = response.remove(messageId);
-        if (result == null) {
-            final Exception e = error.remove(messageId);
-            if (e != null) {
-                throw new C8DBException(e);
-            }
+    public void fail(final long messageId, final Exception e) {
+        final CompletableFuture<Message> future = pending.remove(messageId);
+        if (future != null) {
+            future.completeExceptionally(e);
         }
-        return result;
     }
 
     public void cancel(final long messageId) {
-        final FutureTask<Message> future = task.remove(messageId);
+        final CompletableFuture<Message> future = pending.remove(messageId);
         if (future != null) {
             LOGGER.error(String.format("Cancel Message unexpected (id=%s).", messageId));
             future.cancel(true);
@@ -80,30 +81,33 @@ public class MessageStore {
     }
 
     public void clear(final Exception e) {
-        if (!task.isEmpty()) {
+        if (!pending.isEmpty()) {
             LOGGER.error(e.getMessage(), e);
         }
-        for (final Entry<Long, FutureTask<Message>> entry : task.entrySet()) {
+        for (final Iterator<Entry<Long, CompletableFuture<Message>>> iterator = pending.entrySet().iterator();
+                iterator.hasNext();) {
+            final Entry<Long, CompletableFuture<Message>> entry = iterator.next();
+            iterator.remove();
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug(String.format("Exceptionally complete Message (id=%s).", entry.getKey()));
             }
-            error.put(entry.getKey(), e);
-            entry.getValue().run();
+            entry.getValue().completeExceptionally(e);
         }
-        task.clear();
     }
 
     public void clear() {
-        for (final Entry<Long, FutureTask<Message>> entry : task.entrySet()) {
+        for (final Iterator<Entry<Long, CompletableFuture<Message>>> iterator = pending.entrySet().iterator();
+                iterator.hasNext();) {
+            final Entry<Long, CompletableFuture<Message>> entry = iterator.next();
+            iterator.remove();
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug(String.format("Cancel Message (id=%s).", entry.getKey()));
             }
             entry.getValue().cancel(true);
         }
-        task.clear();
     }
 
     public boolean isEmpty() {
-        return task.isEmpty();
+        return pending.isEmpty();
     }
 }
@@ -24,12 +24,16 @@ import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.net.SocketFactory;
 import javax.net.ssl.SSLContext;
@@ -68,7 +72,13 @@ public abstract class VstConnection implements Connection {
     private final HostDescription host;
     private final Service service;
 
-    private HashMap<Long, Long> sendTimestamps = new HashMap<Long, Long>();
+    private final Queue<PendingWrite> writeQueue = new ConcurrentLinkedQueue<PendingWrite>();
+    private final AtomicBoolean writing = new AtomicBoolean(false);
+    private final ByteBuffer writeHeadBuffer = ByteBuffer.allocate(C8Defaults.CHUNK_MAX_HEADER_SIZE)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer readHeadBuffer = ByteBuffer.allocate(C8Defaults.CHUNK_MAX_HEADER_SIZE)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    private final ChunkBufferPool bufferPool = new ChunkBufferPool();
 
     private String connectionName;
 
@@ -134,7 +144,7 @@ public abstract class VstConnection implements Connection {
 
                 final long openTime = new Date().getTime();
                 final Long ttlTime = ttl != null ? openTime + ttl : null;
-                final ChunkStore chunkStore = new ChunkStore(messageStore);
+                final ChunkStore chunkStore = new ChunkStore(messageStore, bufferPool);
                 while (true) {
                     if (ttlTime != null && new Date().getTime() > ttlTime && messageStore.isEmpty()) {
                         close();
@@ -149,9 +159,9 @@ public abstract class VstConnection implements Connection {
                         final Chunk chunk = readChunk();
                         final ByteBuffer chunkBuffer = chunkStore.storeChunk(chunk);
                         if (chunkBuffer != null) {
-                            final byte[] buf = new byte[chunk.getContentLength()];
-                            readBytesIntoBuffer(buf, 0, buf.length);
-                            chunkBuffer.put(buf);
+                            final int position = chunkBuffer.position();
+                            readBytesIntoBuffer(chunkBuffer.array(), position, chunk.getContentLength());
+                            chunkBuffer.position(position + chunk.getContentLength());
                             chunkStore.checkCompleteness(chunk.getMessageId());
                         }
                     } catch (final Exception e) {
@@ -194,61 +204,98 @@ public abstract class VstConnection implements Connection {
         outputStream.flush();
     }
 
-    protected synchronized void writeIntern(final Message message, final Collection<Chunk> chunks)
-            throws C8DBException {
-        for (final Chunk chunk : chunks) {
+    /**
+     * Enqueues the message for writing. The calling thread either writes the queued messages of all concurrent
+     * callers itself, flushing once per batch, or leaves them to the thread which is currently writing. Write
+     * errors are reported through the {@link MessageStore}, so the message has to be registered before.
+     */
+    protected void writeIntern(final Message message, final Collection<Chunk> chunks) throws C8DBException {
+        writeQueue.add(new PendingWrite(message, chunks));
+        while (!writeQueue.isEmpty() && writing.compareAndSet(false, true)) {
             try {
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug(String.format("Send chunk %s:%s from message %s", chunk.getChunk(),
-                            chunk.isFirstChunk() ? 1 : 0, chunk.getMessageId()));
-                    sendTimestamps.put(chunk.getMessageId(), System.currentTimeMillis());
-                }
-                writeChunkHead(chunk);
-                final int contentOffset = chunk.getContentOffset();
-                final int contentLength = chunk.getContentLength();
-                final VPackSlice head = message.getHead();
-                final int headLength = head.getByteSize();
-                int written = 0;
-                if (contentOffset < headLength) {
-                    written = Math.min(contentLength, headLength - contentOffset);
-                    outputStream.write(head.getBuffer(), contentOffset, written);
-                }
-                if (written < contentLength) {
-                    final VPackSlice body = message.getBody();
-                    outputStream.write(body.getBuffer(), contentOffset + written - headLength, contentLength - written);
+                drainWriteQueue();
+            } finally {
+                writing.set(false);
+            }
+        }
+    }
+
+    private void drainWriteQueue() {
+        final List<Long> batch = new ArrayList<Long>();
+        PendingWrite pending;
+        while ((pending = writeQueue.poll()) != null) {
+            final long messageId = pending.message.getId();
+            try {
+                for (final Chunk chunk : pending.chunks) {
+                    writeChunk(pending.message, chunk);
                 }
-                outputStream.flush();
+                batch.add(messageId);
             } catch (final IOException e) {
                 LOGGER.error("Error on Connection " + connectionName);
-                throw new C8DBException(e);
+                messageStore.fail(messageId, new C8DBException(e));
+            }
+        }
+        try {
+            outputStream.flush();
+        } catch (final IOException e) {
+            LOGGER.error("Error on Connection " + connectionName);
+            for (final Long messageId : batch) {
+                messageStore.fail(messageId, new C8DBException(e));
             }
         }
     }
 
-    private synchronized void writeChunkHead(final Chunk chunk) throws IOException {
+    private void writeChunk(final Message message, final Chunk chunk) throws IOException {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(String.format("Send chunk %s:%s from message %s", chunk.getChunk(),
+                    chunk.isFirstChunk() ? 1 : 0, chunk.getMessageId()));
+        }
+        writeChunkHead(chunk);
+        final int contentOffset = chunk.getContentOffset();
+        final int contentLength = chunk.getContentLength();
+        final VPackSlice head = message.getHead();
+        final int headLength = head.getByteSize();
+        int written = 0;
+        if (contentOffset < headLength) {
+            written = Math.min(contentLength, headLength - contentOffset);
+            outputStream.write(head.getBuffer(), contentOffset, written);
+        }
+        if (written < contentLength) {
+            final VPackSlice body = message.getBody();
+            outputStream.write(body.getBuffer(), contentOffset + written - headLength, contentLength - written);
+        }
+    }
+
+    private void writeChunkHead(final Chunk chunk) throws IOException {
         final long messageLength = chunk.getMessageLength();
         final int headLength = messageLength > -1L ? C8Defaults.CHUNK_MAX_HEADER_SIZE
                 : C8Defaults.CHUNK_MIN_HEADER_SIZE;
         final int length = chunk.getContentLength() + headLength;
-        final ByteBuffer buffer = ByteBuffer.allocate(headLength).order(ByteOrder.LITTLE_ENDIAN);
+        // only used by the thread holding the write flag
+        final ByteBuffer buffer = writeHeadBuffer;
+        buffer.clear();
         buffer.putInt(length);
         buffer.putInt(chunk.getChunkX());
         buffer.putLong(chunk.getMessageId());
         if (messageLength > -1L) {
             buffer.putLong(messageLength);
         }
-        outputStream.write(buffer.array());
+        outputStream.write(buffer.array(), 0, headLength);
     }
 
     protected Chunk readChunk() throws IOException {
-        final ByteBuffer chunkHeadBuffer = readBytes(C8Defaults.CHUNK_MIN_HEADER_SIZE);
-        final int length = chunkHeadBuffer.getInt();
-        final int chunkX = chunkHeadBuffer.getInt();
-        final long messageId = chunkHeadBuffer.getLong();
+        // only used by the reader thread
+        final ByteBuffer buffer = readHeadBuffer;
+        readBytesIntoBuffer(buffer.array(), 0, C8Defaults.CHUNK_MIN_HEADER_SIZE);
+        buffer.clear();
+        final int length = buffer.getInt();
+        final int chunkX = buffer.getInt();
+        final long messageId = buffer.getLong();
         final long messageLength;
         final int contentLength;
         if ((1 == (chunkX & 0x1)) && ((chunkX >> 1) > 1)) {
-            messageLength = readBytes(C8Defaults.LONG_BYTES).getLong();
+            readBytesIntoBuffer(buffer.array(), C8Defaults.CHUNK_MIN_HEADER_SIZE, C8Defaults.LONG_BYTES);
+            messageLength = buffer.getLong();
             contentLength = length - C8Defaults.CHUNK_MAX_HEADER_SIZE;
         } else {
             messageLength = -1L;
@@ -257,22 +304,13 @@ public abstract class VstConnection implements Connection {
         final Chunk chunk = new Chunk(messageId, chunkX, messageLength, 0, contentLength);
 
         if (LOGGER.isDebugEnabled()) {
-
             LOGGER.debug(String.format("Received chunk %s:%s from message %s", chunk.getChunk(),
                     chunk.isFirstChunk() ? 1 : 0, chunk.getMessageId()));
-            LOGGER.debug("Responsetime for Message " + chunk.getMessageId() + " is "
-                    + (sendTimestamps.get(chunk.getMessageId()) - System.currentTimeMillis()));
         }
 
         return chunk;
     }
 
-    private ByteBuffer readBytes(final int len) throws IOException {
-        final byte[] buf = new byte[len];
-        readBytesIntoBuffer(buf, 0, len);
-        return ByteBuffer.wrap(buf).order(ByteOrder.LITTLE_ENDIAN);
-    }
-
     protected void readBytesIntoBuffer(final byte[] buf, final int off, final int len) throws IOException {
         for (int readed = 0; readed < len;) {
             final int read = inputStream.read(buf, off + readed, len - readed);
@@ -288,4 +326,15 @@ public abstract class VstConnection implements Connection {
         return this.connectionName;
     }
 
+    private static class PendingWrite {
+
+        private final Message message;
+        private final Collection<Chunk> chunks;
+
+        PendingWrite(final Message message, final Collection<Chunk> chunks) {
+            this.message = message;
+            this.chunks = chunks;
+        }
+    }
+
 }
@@ -17,8 +17,8 @@
 package com.c8db.internal.velocystream.internal;
 
 import java.util.Collection;
-import java.util.concurrent.Callable;
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.SSLContext;
@@ -88,17 +88,20 @@ public class VstConnectionSync extends VstConnection {
     }
 
     public Message write(final Message message, final Collection<Chunk> chunks) throws C8DBException {
-        final FutureTask<Message> task = new FutureTask<Message>(new Callable<Message>() {
-            @Override
-            public Message call() throws Exception {
-                return messageStore.get(message.getId());
-            }
-        });
-        messageStore.storeMessage(message.getId(), task);
+        final CompletableFuture<Message> future = messageStore.register(message.getId());
         super.writeIntern(message, chunks);
         try {
-            return timeout == null || timeout == 0L ? task.get() : task.get(timeout, TimeUnit.MILLISECONDS);
+            return timeout == null || timeout == 0L ? future.get() : future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof C8DBException ? (C8DBException) cause : new C8DBException(cause);
+        } catch (final InterruptedException e) {
+            messageStore.fail(message.getId(), e);
+            Thread.currentThread().interrupt();
+            throw new C8DBException(e);
         } catch (final Exception e) {
+            // timeout or cancelled on close, the response can not be consumed anymore
+            messageStore.fail(message.getId(), e);
             throw new C8DBException(e);
         }
     }
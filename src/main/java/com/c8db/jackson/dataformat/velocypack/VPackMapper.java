@@ -37,24 +37,41 @@ public class VPackMapper extends ObjectMapper {
 
     public VPackMapper() {
         super(new VPackFactory());
-        configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-        configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        setVisibility(PropertyAccessor.FIELD, Visibility.ANY);
+        configureMapper(this);
+    }
+
+    /**
+     * Applies the settings and the serializers of this mapper to a mapper of another format, like JSON, so that
+     * both map objects the same way.
+     *
+     * @param mapper the mapper to configure
+     * @return the mapper
+     */
+    public static <M extends ObjectMapper> M configureMapper(final M mapper) {
+        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.setVisibility(PropertyAccessor.FIELD, Visibility.ANY);
         final SimpleModule module = new SimpleModule();
-        module.addSerializer(VPackSlice.class, VPackSerializers.VPACK);
+        if (mapper.getFactory() instanceof VPackFactory) {
+            module.addSerializer(VPackSlice.class, VPackSerializers.VPACK);
+            module.addDeserializer(VPackSlice.class, VPackDeserializers.VPACK);
+        } else {
+            module.addSerializer(VPackSlice.class, VPackSerializers.VPACK_JSON);
+            module.addDeserializer(VPackSlice.class, VPackDeserializers.VPACK_JSON);
+        }
         module.addSerializer(java.util.Date.class, VPackSerializers.UTIL_DATE);
         module.addSerializer(java.sql.Date.class, VPackSerializers.SQL_DATE);
         module.addSerializer(java.sql.Timestamp.class, VPackSerializers.SQL_TIMESTAMP);
         module.addSerializer(BaseDocument.class, VPackSerializers.BASE_DOCUMENT);
         module.addSerializer(BaseEdgeDocument.class, VPackSerializers.BASE_EDGE_DOCUMENT);
 
-        module.addDeserializer(VPackSlice.class, VPackDeserializers.VPACK);
         module.addDeserializer(java.util.Date.class, VPackDeserializers.UTIL_DATE);
         module.addDeserializer(java.sql.Date.class, VPackDeserializers.SQL_DATE);
         module.addDeserializer(java.sql.Timestamp.class, VPackDeserializers.SQL_TIMESTAMP);
         module.addDeserializer(BaseDocument.class, VPackDeserializers.BASE_DOCUMENT);
         module.addDeserializer(BaseEdgeDocument.class, VPackDeserializers.BASE_EDGE_DOCUMENT);
-        registerModule(module);
+        mapper.registerModule(module);
+        return mapper;
     }
 
 }
@@ -52,6 +52,20 @@ public class VPackDeserializers {
         }
     };
 
+    /**
+     * Reads the JSON value into a slice, for mappers of JSON.
+     */
+    public static final JsonDeserializer<VPackSlice> VPACK_JSON = new JsonDeserializer<VPackSlice>() {
+        private final com.arangodb.velocypack.VPackParser parser = new com.arangodb.velocypack.VPackParser.Builder()
+                .build();
+
+        @Override
+        public VPackSlice deserialize(final JsonParser p, final DeserializationContext ctxt)
+                throws IOException, JsonProcessingException {
+            return parser.fromJson(p.readValueAsTree().toString(), true);
+        }
+    };
+
     public static final JsonDeserializer<java.util.Date> UTIL_DATE = new JsonDeserializer<java.util.Date>() {
         @Override
         public java.util.Date deserialize(final JsonParser p, final DeserializationContext ctxt)
@@ -49,6 +49,17 @@ public class VPackSerializers {
         }
     };
 
+    /**
+     * Writes the slice as JSON, for mappers of JSON.
+     */
+    public static final JsonSerializer<VPackSlice> VPACK_JSON = new JsonSerializer<VPackSlice>() {
+        @Override
+        public void serialize(final VPackSlice value, final JsonGenerator gen, final SerializerProvider serializers)
+                throws IOException {
+            gen.writeRawValue(value.toString());
+        }
+    };
+
     public static final JsonSerializer<java.util.Date> UTIL_DATE = new JsonSerializer<java.util.Date>() {
         @Override
         public void serialize(final java.util.Date value, final JsonGenerator gen, final SerializerProvider serializers)
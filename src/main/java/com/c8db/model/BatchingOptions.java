@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.model;
+
+/**
+ *
+ */
+public class BatchingOptions {
+
+    private Integer batchSize;
+    private Integer lingerMillis;
+    private Integer maxPendingWrites;
+    private DocumentCreateOptions insertOptions;
+    private DocumentUpdateOptions updateOptions;
+    private DocumentDeleteOptions deleteOptions;
+
+    public BatchingOptions() {
+        super();
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize The maximum number of documents written with one request.
+     *                  A full batch is sent right away. Defaults to 500.
+     * @return options
+     */
+    public BatchingOptions batchSize(final Integer batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public Integer getLingerMillis() {
+        return lingerMillis;
+    }
+
+    /**
+     * @param lingerMillis The maximum time in milliseconds a write waits for
+     *                     other writes to be sent with. Defaults to 5.
+     * @return options
+     */
+    public BatchingOptions lingerMillis(final Integer lingerMillis) {
+        this.lingerMillis = lingerMillis;
+        return this;
+    }
+
+    public Integer getMaxPendingWrites() {
+        return maxPendingWrites;
+    }
+
+    /**
+     * @param maxPendingWrites The maximum number of writes which are collected
+     *                         or sent but not done yet. A write beyond fails
+     *                         right away with a {@link com.c8db.C8DBException}.
+     *                         Unbounded by default, i.e. writes made faster
+     *                         than the server takes them are kept in memory.
+     * @return options
+     */
+    public BatchingOptions maxPendingWrites(final Integer maxPendingWrites) {
+        this.maxPendingWrites = maxPendingWrites;
+        return this;
+    }
+
+    public DocumentCreateOptions getInsertOptions() {
+        return insertOptions;
+    }
+
+    /**
+     * @param insertOptions Options for all inserts.
+     * @return options
+     */
+    public BatchingOptions insertOptions(final DocumentCreateOptions insertOptions) {
+        this.insertOptions = insertOptions;
+        return this;
+    }
+
+    public DocumentUpdateOptions getUpdateOptions() {
+        return updateOptions;
+    }
+
+    /**
+     * @param updateOptions Options for all updates.
+     * @return options
+     */
+    public BatchingOptions updateOptions(final DocumentUpdateOptions updateOptions) {
+        this.updateOptions = updateOptions;
+        return this;
+    }
+
+    public DocumentDeleteOptions getDeleteOptions() {
+        return deleteOptions;
+    }
+
+    /**
+     * @param deleteOptions Options for all deletes.
+     * @return options
+     */
+    public BatchingOptions deleteOptions(final DocumentDeleteOptions deleteOptions) {
+        this.deleteOptions = deleteOptions;
+        return this;
+    }
+
+}
@@ -22,6 +22,7 @@ import java.io.Serializable;
 import java.util.Collection;
 
 import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.annotations.Expose;
 
 /**
  */
@@ -36,6 +37,8 @@ public class C8qlQueryOptions implements Serializable {
     private VPackSlice bindVars;
     private Long batchSize;
     private Long ttl;
+    @Expose(serialize = false, deserialize = false)
+    private Integer prefetch;
 
     public C8qlQueryOptions() {
         super();
@@ -165,6 +168,21 @@ public class C8qlQueryOptions implements Serializable {
         return ttl;
     }
 
+    /**
+     * @param prefetch the number of batches the cursor fetches from the server in the background while the current
+     *                 batch is consumed, on the executor of the driver. The batches are kept in memory until they
+     *                 are consumed. Prefetching is turned off by default.
+     * @return options
+     */
+    public C8qlQueryOptions prefetch(final Integer prefetch) {
+        this.prefetch = prefetch;
+        return this;
+    }
+
+    public Integer getPrefetch() {
+        return prefetch;
+    }
+
     private Options getOptions() {
         if (options == null) {
             options = new Options();
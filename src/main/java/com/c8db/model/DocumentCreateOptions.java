@@ -26,6 +26,7 @@ public class DocumentCreateOptions {
     private Boolean overwrite;
     private Boolean silent;
     private String streamTransactionId;
+    private Boolean streamBody;
 
     public DocumentCreateOptions() {
         super();
@@ -121,4 +122,23 @@ public class DocumentCreateOptions {
         return this;
     }
 
+    public Boolean getStreamBody() {
+        return streamBody;
+    }
+
+    /**
+     * @param streamBody If set to true, the documents of a multi document request
+     *                   are serialized one at a time into pooled chunks of
+     *                   memory, instead of into one body which is then copied to
+     *                   JSON for a HTTP connection. Large batches need neither
+     *                   one contiguous block of memory nor a second copy; each
+     *                   document is serialized once and the chunks are reused by
+     *                   the retries and by later requests.
+     * @return options
+     */
+    public DocumentCreateOptions streamBody(final Boolean streamBody) {
+        this.streamBody = streamBody;
+        return this;
+    }
+
 }
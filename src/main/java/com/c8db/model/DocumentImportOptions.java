@@ -32,6 +32,9 @@ public class DocumentImportOptions {
     private OnDuplicate onDuplicate;
     private Boolean complete;
     private Boolean details;
+    private Integer batchSize;
+    private Integer batchBytes;
+    private Integer parallelism;
 
     public DocumentImportOptions() {
         super();
@@ -158,4 +161,49 @@ public class DocumentImportOptions {
         return this;
     }
 
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize The maximum number of documents sent with one request.
+     *                  Defaults to 10000.
+     * @return options
+     */
+    public DocumentImportOptions batchSize(final Integer batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public Integer getBatchBytes() {
+        return batchBytes;
+    }
+
+    /**
+     * @param batchBytes The maximum size in bytes of the JSON sent with one
+     *                   request. A single larger document is sent on its own.
+     *                   Defaults to 8 MB.
+     * @return options
+     */
+    public DocumentImportOptions batchBytes(final Integer batchBytes) {
+        this.batchBytes = batchBytes;
+        return this;
+    }
+
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism The maximum number of requests in flight at the same
+     *                    time. Defaults to 4. The requests are sent on the
+     *                    executor of the driver, or on the calling thread while
+     *                    all of its threads are busy.
+     * @return options
+     */
+    public DocumentImportOptions parallelism(final Integer parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
 }
@@ -31,6 +31,7 @@ public class DocumentUpdateOptions {
     private Boolean serializeNull;
     private Boolean silent;
     private String streamTransactionId;
+    private Boolean streamBody;
 
     public DocumentUpdateOptions() {
         super();
@@ -189,4 +190,23 @@ public class DocumentUpdateOptions {
         return this;
     }
 
+    public Boolean getStreamBody() {
+        return streamBody;
+    }
+
+    /**
+     * @param streamBody If set to true, the documents of a multi document request
+     *                   are serialized one at a time into pooled chunks of
+     *                   memory, instead of into one body which is then copied to
+     *                   JSON for a HTTP connection. Large batches need neither
+     *                   one contiguous block of memory nor a second copy; each
+     *                   document is serialized once and the chunks are reused by
+     *                   the retries and by later requests.
+     * @return options
+     */
+    public DocumentUpdateOptions streamBody(final Boolean streamBody) {
+        this.streamBody = streamBody;
+        return this;
+    }
+
 }
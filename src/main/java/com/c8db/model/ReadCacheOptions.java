@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.model;
+
+/**
+ *
+ */
+public class ReadCacheOptions {
+
+    private Integer maximumSize;
+    private Integer ttlMillis;
+
+    public ReadCacheOptions() {
+        super();
+    }
+
+    public Integer getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @param maximumSize The maximum number of cached documents. The least
+     *                    recently read documents are evicted first. Defaults to
+     *                    10000.
+     * @return options
+     */
+    public ReadCacheOptions maximumSize(final Integer maximumSize) {
+        this.maximumSize = maximumSize;
+        return this;
+    }
+
+    public Integer getTtlMillis() {
+        return ttlMillis;
+    }
+
+    /**
+     * @param ttlMillis The time in milliseconds a cached document is returned
+     *                  without asking the server. Older documents are
+     *                  revalidated with their revision. Defaults to 0, which
+     *                  revalidates on every read. Reads of several documents
+     *                  only use the cache with a TTL, as they cannot be
+     *                  revalidated.
+     * @return options
+     */
+    public ReadCacheOptions ttlMillis(final Integer ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        return this;
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.util;
+
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+import com.c8db.C8DBException;
+
+/**
+ * Serialization which also converts between objects and JSON directly, without VelocyPack in between. With
+ * {@code C8DB.Builder#jsonNative(Boolean)} and {@code Protocol.HTTP_JSON} it is used for the request and response
+ * bodies of documents. Both directions have to produce the same result as the conversion through VelocyPack.
+ *
+ * @see com.c8db.VelocyJack
+ */
+public interface C8JsonSerialization extends C8Serialization {
+
+    /**
+     * Writes a given Object as JSON, without closing the stream.
+     *
+     * @param entity  The Object to serialize, not a {@code String}
+     * @param options Additional options, only {@code serializeNullValues} is used
+     * @param out     the stream to write to
+     * @throws C8DBException
+     */
+    void serializeJson(final Object entity, final C8Serializer.Options options, final OutputStream out)
+            throws C8DBException;
+
+    /**
+     * Deserializes a given JSON document to an instance of a given type.
+     *
+     * @param json The JSON as UTF-8
+     * @param type The target type, not {@code String} or {@code VPackSlice}
+     * @return the deserialized object
+     * @throws C8DBException
+     */
+    <T> T deserializeJson(final byte[] json, final Type type) throws C8DBException;
+
+}
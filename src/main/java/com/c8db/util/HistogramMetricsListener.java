@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.c8db.MetricsListener;
+import com.c8db.Service;
+import com.c8db.velocystream.RequestType;
+
+/**
+ * Keeps a {@link LatencyHistogram} and counters per endpoint, that is per service, request type and path template,
+ * plus counters per service. Nothing is allocated once an endpoint was seen. The getters return the live values to
+ * be read periodically by an exporter of the monitoring system.
+ *
+ * <pre>
+ * HistogramMetricsListener metrics = new HistogramMetricsListener();
+ * C8DB c8db = new C8DB.Builder().metrics(metrics).build();
+ * ...
+ * for (HistogramMetricsListener.Endpoint endpoint : metrics.getEndpoints()) {
+ *     gauge(endpoint.getRequestType() + " " + endpoint.getPathTemplate(), endpoint.getLatency().getPercentile(99.0));
+ * }
+ * </pre>
+ */
+public class HistogramMetricsListener implements MetricsListener {
+
+    private static final int SERVICES = Service.values().length;
+    private static final int REQUEST_TYPES = RequestType.values().length;
+
+    private final List<ConcurrentMap<String, Endpoint>> endpoints;
+    private final AtomicLongArray redirects = new AtomicLongArray(SERVICES);
+    private final AtomicLongArray authRefreshes = new AtomicLongArray(SERVICES);
+    private final AtomicIntegerArray connectionsInUse = new AtomicIntegerArray(SERVICES);
+    private final AtomicIntegerArray maxConnectionsInUse = new AtomicIntegerArray(SERVICES);
+    private final AtomicIntegerArray maxConnections = new AtomicIntegerArray(SERVICES);
+    private final AtomicLong cursorBatches = new AtomicLong();
+    private final AtomicLong cursorDocuments = new AtomicLong();
+
+    public HistogramMetricsListener() {
+        super();
+        endpoints = new ArrayList<ConcurrentMap<String, Endpoint>>(SERVICES * REQUEST_TYPES);
+        for (int i = 0; i < SERVICES * REQUEST_TYPES; i++) {
+            endpoints.add(new ConcurrentHashMap<String, Endpoint>());
+        }
+    }
+
+    /**
+     * Metrics of the requests of one service, request type and path template.
+     */
+    public static class Endpoint {
+
+        private final Service service;
+        private final RequestType requestType;
+        private final String pathTemplate;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong requestBytes = new AtomicLong();
+        private final AtomicLong responseBytes = new AtomicLong();
+
+        Endpoint(final Service service, final RequestType requestType, final String pathTemplate) {
+            super();
+            this.service = service;
+            this.requestType = requestType;
+            this.pathTemplate = pathTemplate;
+        }
+
+        public Service getService() {
+            return service;
+        }
+
+        public RequestType getRequestType() {
+            return requestType;
+        }
+
+        public String getPathTemplate() {
+            return pathTemplate;
+        }
+
+        /**
+         * @return response times in nanoseconds, the count is the number of requests
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * @return number of requests which got no response or a status code of at least 400
+         */
+        public long getErrors() {
+            return errors.get();
+        }
+
+        public long getRetries() {
+            return retries.get();
+        }
+
+        public long getRequestBytes() {
+            return requestBytes.get();
+        }
+
+        public long getResponseBytes() {
+            return responseBytes.get();
+        }
+
+        @Override
+        public String toString() {
+            return "Endpoint [service=" + service + ", requestType=" + requestType + ", pathTemplate=" + pathTemplate
+                    + ", latency=" + latency + ", errors=" + errors + ", retries=" + retries + "]";
+        }
+    }
+
+    private Endpoint endpoint(final Service service, final RequestType requestType, final String pathTemplate) {
+        final ConcurrentMap<String, Endpoint> map = endpoints.get(service.ordinal() * REQUEST_TYPES
+                + requestType.ordinal());
+        final Endpoint endpoint = map.get(pathTemplate);
+        if (endpoint != null) {
+            return endpoint;
+        }
+        final Endpoint created = new Endpoint(service, requestType, pathTemplate);
+        final Endpoint existing = map.putIfAbsent(pathTemplate, created);
+        return existing != null ? existing : created;
+    }
+
+    @Override
+    public void onRequest(final Service service, final RequestType requestType, final String pathTemplate,
+            final int responseCode, final long durationNanos, final long requestBytes, final long responseBytes) {
+        final Endpoint endpoint = endpoint(service, requestType, pathTemplate);
+        endpoint.latency.record(durationNanos);
+        if (responseCode == 0 || responseCode >= 400) {
+            endpoint.errors.incrementAndGet();
+        }
+        if (requestBytes > 0L) {
+            endpoint.requestBytes.addAndGet(requestBytes);
+        }
+        endpoint.responseBytes.addAndGet(responseBytes);
+    }
+
+    @Override
+    public void onRetry(final Service service, final RequestType requestType, final String pathTemplate) {
+        endpoint(service, requestType, pathTemplate).retries.incrementAndGet();
+    }
+
+    @Override
+    public void onRedirect(final Service service) {
+        redirects.incrementAndGet(service.ordinal());
+    }
+
+    @Override
+    public void onAuthRefresh(final Service service) {
+        authRefreshes.incrementAndGet(service.ordinal());
+    }
+
+    @Override
+    public void onConnectionPool(final Service service, final int delta, final int inUse,
+            final int maxConnections) {
+        final int i = service.ordinal();
+        final int total = connectionsInUse.addAndGet(i, delta);
+        this.maxConnections.set(i, maxConnections);
+        int current = maxConnectionsInUse.get(i);
+        while (total > current && !maxConnectionsInUse.compareAndSet(i, current, total)) {
+            current = maxConnectionsInUse.get(i);
+        }
+    }
+
+    @Override
+    public void onCursorBatch(final int documents, final boolean hasMore) {
+        cursorBatches.incrementAndGet();
+        cursorDocuments.addAndGet(documents);
+    }
+
+    /**
+     * @return all endpoints which received a request so far
+     */
+    public Collection<Endpoint> getEndpoints() {
+        final Collection<Endpoint> result = new ArrayList<Endpoint>();
+        for (final ConcurrentMap<String, Endpoint> map : endpoints) {
+            result.addAll(map.values());
+        }
+        return result;
+    }
+
+    /**
+     * @return the endpoint, or {@code null} if it received no request so far
+     */
+    public Endpoint getEndpoint(final Service service, final RequestType requestType, final String pathTemplate) {
+        return endpoints.get(service.ordinal() * REQUEST_TYPES + requestType.ordinal()).get(pathTemplate);
+    }
+
+    public long getRedirects(final Service service) {
+        return redirects.get(service.ordinal());
+    }
+
+    public long getAuthRefreshes(final Service service) {
+        return authRefreshes.get(service.ordinal());
+    }
+
+    /**
+     * @return number of requests which use or wait for a pooled connection, summed up over the pools of all hosts
+     */
+    public int getConnectionsInUse(final Service service) {
+        return connectionsInUse.get(service.ordinal());
+    }
+
+    /**
+     * @return highest number of requests which used or waited for a pooled connection at the same time, summed up
+     *         over the pools of all hosts
+     */
+    public int getMaxConnectionsInUse(final Service service) {
+        return maxConnectionsInUse.get(service.ordinal());
+    }
+
+    /**
+     * @return size of a single pool, all pools of a service have the same size
+     */
+    public int getMaxConnections(final Service service) {
+        return maxConnections.get(service.ordinal());
+    }
+
+    public long getCursorBatches() {
+        return cursorBatches.get();
+    }
+
+    public long getCursorDocuments() {
+        return cursorDocuments.get();
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of non-negative values, like latencies in nanoseconds. Values below 64 are counted exactly,
+ * larger values in log-linear buckets of 32 sub-buckets per power of two, so every reported value is at most about 3%
+ * above the recorded one. Recording neither locks nor allocates, reading while values are recorded gives a slightly
+ * inconsistent but never corrupt view.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKETS = SUB_BUCKETS << 1;
+    private static final int BUCKETS = LINEAR_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS - 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(final long value) {
+        final long v = value > 0L ? value : 0L;
+        counts.incrementAndGet(index(v));
+        count.incrementAndGet();
+        sum.addAndGet(v);
+        long current = max.get();
+        while (v > current && !max.compareAndSet(current, v)) {
+            current = max.get();
+        }
+    }
+
+    static int index(final long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * @return the highest value which falls into the bucket
+     */
+    static long highestValue(final int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        final int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        final long subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        final long highest = ((subBucket + 1L) << shift) - 1L;
+        // the last bucket would overflow
+        return highest > 0L ? highest : Long.MAX_VALUE;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getSum() {
+        return sum.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        final long n = count.get();
+        return n > 0L ? (double) sum.get() / n : 0.0;
+    }
+
+    /**
+     * @param percentile
+     *            between 0 and 100, like {@code 99.9}
+     * @return the value below or at which the given percentage of the recorded values fall, {@code 0} if nothing was
+     *         recorded
+     */
+    public long getPercentile(final double percentile) {
+        long total = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0L) {
+            return 0L;
+        }
+        final double p = Math.min(Math.max(percentile, 0.0), 100.0);
+        final long rank = Math.max(1L, (long) Math.ceil(p / 100.0 * total));
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValue(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram [count=" + getCount() + ", mean=" + getMean() + ", p50=" + getPercentile(50.0)
+                + ", p99=" + getPercentile(99.0) + ", max=" + getMax() + "]";
+    }
+
+}
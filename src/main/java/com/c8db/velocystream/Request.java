@@ -38,6 +38,10 @@ public class Request {
     private final Map<String, String> headerParam;
     @Expose(serialize = false)
     private VPackSlice body;
+    @Expose(serialize = false)
+    private StreamingBody streamingBody;
+    @Expose(serialize = false)
+    private String pathTemplate;
 
     public Request(final String tenant, final String database, final RequestType requestType, final String path) {
         this(tenant, database, requestType, true, path);
@@ -109,6 +113,18 @@ public class Request {
         return retryEnabled;
     }
 
+    /**
+     * @return the path with {@code {}} for every variable segment, or the path itself if no template was set
+     */
+    public String getPathTemplate() {
+        return pathTemplate != null ? pathTemplate : request;
+    }
+
+    public Request setPathTemplate(final String pathTemplate) {
+        this.pathTemplate = pathTemplate;
+        return this;
+    }
+
     public Request putHeaderParam(final String key, final String value) {
         if (value != null) {
             headerParam.put(key, value);
@@ -116,7 +132,13 @@ public class Request {
         return this;
     }
 
+    /**
+     * @return the body, a streaming body is converted on first access
+     */
     public VPackSlice getBody() {
+        if (body == null && streamingBody != null) {
+            body = streamingBody.toVPack();
+        }
         return body;
     }
 
@@ -125,4 +147,16 @@ public class Request {
         return this;
     }
 
+    public StreamingBody getStreamingBody() {
+        return streamingBody;
+    }
+
+    /**
+     * Sets a body which is written to HTTP connections without being converted to a {@code VPackSlice}.
+     */
+    public Request setStreamingBody(final StreamingBody streamingBody) {
+        this.streamingBody = streamingBody;
+        return this;
+    }
+
 }
@@ -16,11 +16,15 @@
 
 package com.c8db.velocystream;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
 import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.annotations.Expose;
+import com.arangodb.velocypack.exception.VPackException;
+import com.c8db.internal.util.JsonVPackDecoder;
 
 /**
  *
@@ -31,12 +35,17 @@ public class Response {
     private int type = 2;
     private int responseCode;
     private Map<String, String> meta;
+    @Expose(serialize = false, deserialize = false)
+    private String endpoint = null;
     @Expose(deserialize = false)
     private VPackSlice body = null;
+    @Expose(serialize = false, deserialize = false)
+    private byte[] json = null;
+    @Expose(serialize = false, deserialize = false)
+    private Runnable releaser = null;
 
     public Response() {
         super();
-        meta = new HashMap<String, String>();
     }
 
     public int getVersion() {
@@ -63,7 +72,13 @@ public class Response {
         this.responseCode = responseCode;
     }
 
+    /**
+     * @return the headers of the response, HTTP headers are read from the response only when they are accessed
+     */
     public Map<String, String> getMeta() {
+        if (meta == null) {
+            meta = new HashMap<String, String>();
+        }
         return meta;
     }
 
@@ -71,7 +86,29 @@ public class Response {
         this.meta = meta;
     }
 
+    /**
+     * @return the value of the header {@code X-C8-Endpoint}, which is read for every response to follow redirects
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(final String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * @return the body, a JSON body is converted on first access
+     */
     public VPackSlice getBody() {
+        if (body == null && json != null) {
+            try {
+                body = JsonVPackDecoder.decode(new ByteArrayInputStream(json), true);
+            } catch (final IOException | VPackException e) {
+                // the body is not valid JSON (e.g. an error page of a proxy), like a response without body
+            }
+            json = null;
+        }
         return body;
     }
 
@@ -79,4 +116,37 @@ public class Response {
         this.body = body;
     }
 
+    /**
+     * @return the body as received in JSON, {@code null} if it is not kept as JSON or was already converted
+     */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * Sets the body as received in JSON, it is converted to VelocyPack only if {@link #getBody()} is called.
+     */
+    public void setJson(final byte[] json) {
+        this.json = json;
+    }
+
+    /**
+     * Sets the callback which gives the buffer backing the body back to its pool.
+     */
+    public void setReleaser(final Runnable releaser) {
+        this.releaser = releaser;
+    }
+
+    /**
+     * Gives the buffer backing the body back to its pool, if any. The body must not be used afterwards, also not by
+     * objects it was deserialized into without copying, e.g. {@code VPackSlice} fields.
+     */
+    public void release() {
+        final Runnable r = releaser;
+        releaser = null;
+        if (r != null) {
+            r.run();
+        }
+    }
+
 }
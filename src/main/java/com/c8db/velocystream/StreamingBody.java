@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.velocystream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.arangodb.velocypack.VPackSlice;
+
+/**
+ * Request body which is written to HTTP connections as JSON, without building it as one {@code VPackSlice} first.
+ * Protocols which need a {@code VPackSlice} convert the body with {@link #toVPack()}. A body can be written more than
+ * once, so that failed requests can be retried.
+ *
+ */
+public interface StreamingBody {
+
+    /**
+     * The server does not accept chunked request bodies, so bodies are sent over HTTP with this content length.
+     *
+     * @return the number of bytes written by {@link #writeTo(OutputStream)}, or a negative value if unknown
+     */
+    long getContentLength();
+
+    /**
+     * Writes the body as JSON to the given stream.
+     *
+     * @param out
+     *            the stream to write to
+     * @throws IOException
+     */
+    void writeTo(OutputStream out) throws IOException;
+
+    /**
+     * @return the body as VelocyPack
+     */
+    VPackSlice toVPack();
+
+    /**
+     * Called once the request is done, after its last attempt, to free what the body holds for writing. A released
+     * body can still be written, it is then serialized again.
+     */
+    default void release() {
+    }
+
+}
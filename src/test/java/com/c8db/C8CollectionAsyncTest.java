@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.c8db.entity.BaseDocument;
+import com.c8db.entity.DocumentCreateEntity;
+import com.c8db.entity.MultiDocumentEntity;
+import com.c8db.internal.C8Defaults;
+
+/**
+ *
+ */
+public class C8CollectionAsyncTest {
+
+    private static final String TEST_DB = "javaDriverTestDb";
+    private static final String COLLECTION_NAME = "dbcollectionasynctest";
+
+    private static C8DBAsync c8DB;
+    private static C8DatabaseAsync db;
+
+    @BeforeClass
+    public static void init() throws InterruptedException, ExecutionException {
+        c8DB = new C8DB.Builder().useProtocol(Protocol.HTTP_JSON).buildAsync();
+        db = c8DB.db(C8Defaults.DEFAULT_TENANT, TEST_DB);
+        if (!db.collection(COLLECTION_NAME).exists().get()) {
+            db.createCollection(COLLECTION_NAME).get();
+        }
+    }
+
+    @After
+    public void teardown() throws InterruptedException, ExecutionException {
+        db.collection(COLLECTION_NAME).truncate().get();
+    }
+
+    @AfterClass
+    public static void shutdown() throws InterruptedException, ExecutionException {
+        db.collection(COLLECTION_NAME).drop().get();
+        c8DB.shutdown();
+    }
+
+    @Test
+    public void insertAndGetDocument() throws InterruptedException, ExecutionException {
+        final DocumentCreateEntity<BaseDocument> created = db.collection(COLLECTION_NAME)
+                .insertDocument(new BaseDocument("key1")).get();
+        assertThat(created.getKey(), is("key1"));
+        final BaseDocument document = db.collection(COLLECTION_NAME).getDocument("key1", BaseDocument.class).get();
+        assertThat(document, is(notNullValue()));
+        assertThat(document.getKey(), is("key1"));
+    }
+
+    @Test
+    public void getDocumentNotFound() throws InterruptedException, ExecutionException {
+        assertThat(db.collection(COLLECTION_NAME).getDocument("unknown", BaseDocument.class).get(), is(nullValue()));
+        assertThat(db.collection(COLLECTION_NAME).documentExists("unknown").get(), is(false));
+    }
+
+    @Test
+    public void concurrentInserts() throws InterruptedException, ExecutionException {
+        final List<CompletableFuture<DocumentCreateEntity<BaseDocument>>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(db.collection(COLLECTION_NAME).insertDocument(new BaseDocument("concurrent" + i)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+        assertThat(db.collection(COLLECTION_NAME).count().get().getCount(), is(100L));
+    }
+
+    @Test
+    public void insertDocuments() throws InterruptedException, ExecutionException {
+        final Collection<BaseDocument> values = new ArrayList<>();
+        values.add(new BaseDocument());
+        values.add(new BaseDocument());
+        final MultiDocumentEntity<DocumentCreateEntity<BaseDocument>> docs = db.collection(COLLECTION_NAME)
+                .insertDocuments(values).get();
+        assertThat(docs.getDocuments().size(), is(2));
+    }
+
+    @Test
+    public void query() throws InterruptedException, ExecutionException {
+        db.collection(COLLECTION_NAME).insertDocument(new BaseDocument("query1")).get();
+        final C8Cursor<String> cursor = db
+                .query("FOR d IN " + COLLECTION_NAME + " RETURN d._key", String.class).get();
+        assertThat(cursor.next(), is("query1"));
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+
+import org.junit.Test;
+
+import com.c8db.velocystream.Request;
+import com.c8db.velocystream.RequestType;
+
+/**
+ *
+ */
+public class ExponentialBackoffRetryPolicyTest {
+
+    private static final Request RETRYABLE = new Request("demo", "_system", RequestType.GET, true, "/_api/version");
+    private static final Request NOT_RETRYABLE = new Request("demo", "_system", RequestType.GET, false,
+            "/_api/version");
+
+    @Test
+    public void exponentialDelays() {
+        final RetryPolicy policy = new ExponentialBackoffRetryPolicy.Builder().jitter(0).build();
+        assertThat(policy.retryDelay(RETRYABLE, 1, 0L, 500, null), is(4000L));
+        assertThat(policy.retryDelay(RETRYABLE, 2, 0L, 500, null), is(8000L));
+        assertThat(policy.retryDelay(RETRYABLE, 6, 0L, 500, null), is(128000L));
+        assertThat(policy.retryDelay(RETRYABLE, 7, 0L, 500, null), is(-1L));
+    }
+
+    @Test
+    public void jitter() {
+        final RetryPolicy policy = new ExponentialBackoffRetryPolicy.Builder().initialDelay(1000L).jitter(0.5)
+                .build();
+        for (int i = 0; i < 100; i++) {
+            assertThat(policy.retryDelay(RETRYABLE, 1, 0L, 503, null),
+                    is(allOf(greaterThanOrEqualTo(500L), lessThanOrEqualTo(1500L))));
+        }
+    }
+
+    @Test
+    public void maxDelayAndElapsedTime() {
+        final RetryPolicy policy = new ExponentialBackoffRetryPolicy.Builder().jitter(0).maxAttempts(20)
+                .maxDelay(10000L).maxElapsedTime(30000L).build();
+        assertThat(policy.retryDelay(RETRYABLE, 10, 0L, 500, null), is(10000L));
+        assertThat(policy.retryDelay(RETRYABLE, 10, 25000L, 500, null), is(-1L));
+    }
+
+    @Test
+    public void classification() {
+        final RetryPolicy policy = new ExponentialBackoffRetryPolicy.Builder().build();
+        assertThat(policy.retryDelay(RETRYABLE, 1, 0L, 404, null), is(-1L));
+        assertThat(policy.retryDelay(NOT_RETRYABLE, 1, 0L, 500, null), is(-1L));
+        assertThat(policy.retryDelay(NOT_RETRYABLE, 1, 0L, null, new UnknownHostException()) >= 0, is(true));
+        assertThat(policy.retryDelay(RETRYABLE, 1, 0L, null, new ConnectException()), is(-1L));
+
+        final RetryPolicy custom = new ExponentialBackoffRetryPolicy.Builder().retryOnStatus(429, 503)
+                .retryOnExceptions(IOException.class).build();
+        assertThat(custom.retryDelay(RETRYABLE, 1, 0L, 429, null) >= 0, is(true));
+        assertThat(custom.retryDelay(RETRYABLE, 1, 0L, 500, null), is(-1L));
+        assertThat(custom.retryDelay(RETRYABLE, 1, 0L, null, new ConnectException()) >= 0, is(true));
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.c8db.entity.BaseDocument;
+import com.c8db.entity.DocumentField;
+import com.c8db.internal.DocumentCache;
+
+/**
+ * Compares writing {@code _id}, {@code _key} and {@code _rev} of a created document through a map of reflective
+ * {@link Field}s, as the driver did before, with the {@link DocumentCache} setters. Run with {@code -prof gc} to
+ * compare the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class DocumentCacheBenchmark {
+
+    private DocumentCache cache;
+    private Map<DocumentField.Type, Field> fields;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        cache = new DocumentCache();
+        fields = new HashMap<DocumentField.Type, Field>();
+        fields.put(DocumentField.Type.ID, field("id"));
+        fields.put(DocumentField.Type.KEY, field("key"));
+        fields.put(DocumentField.Type.REV, field("revision"));
+    }
+
+    private static Field field(final String name) throws NoSuchFieldException {
+        final Field field = BaseDocument.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+    @Benchmark
+    public BaseDocument reflection() throws IllegalAccessException {
+        final BaseDocument doc = new BaseDocument();
+        final Map<DocumentField.Type, String> values = new HashMap<DocumentField.Type, String>();
+        values.put(DocumentField.Type.ID, "products/1");
+        values.put(DocumentField.Type.KEY, "1");
+        values.put(DocumentField.Type.REV, "_fQ2Z8ia---");
+        for (final Map.Entry<DocumentField.Type, String> value : values.entrySet()) {
+            final Field field = fields.get(value.getKey());
+            if (field != null) {
+                field.set(doc, value.getValue());
+            }
+        }
+        return doc;
+    }
+
+    @Benchmark
+    public BaseDocument documentCache() {
+        final BaseDocument doc = new BaseDocument();
+        cache.setValues(doc, "products/1", "1", "_fQ2Z8ia---");
+        return doc;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DocumentCacheBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.message.BasicHttpResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.c8db.Protocol;
+import com.c8db.VelocyJack;
+import com.c8db.internal.http.VPackJsonEntity;
+import com.c8db.internal.util.ResponseUtils;
+import com.c8db.util.C8Serializer;
+import com.c8db.velocystream.Response;
+
+/**
+ * CPU per request of {@link Protocol#HTTP_JSON} with {@link VelocyJack}, without the network: a document is written
+ * as request body and the response body is read into a document. {@code vpack} goes through VelocyPack in both
+ * directions, {@code jsonNative} converts between objects and JSON directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonNativeBenchmark {
+
+    public static class Address {
+        private String street;
+        private String city;
+        private int zip;
+
+        public Address() {
+            super();
+        }
+    }
+
+    public static class Customer {
+        private String _key;
+        private String name;
+        private String email;
+        private int age;
+        private long visits;
+        private double score;
+        private boolean active;
+        private List<String> tags;
+        private Address address;
+
+        public Customer() {
+            super();
+        }
+    }
+
+    private VelocyJack jack;
+    private Customer customer;
+    private HttpResponse httpResponse;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setup() throws IOException {
+        jack = new VelocyJack();
+        customer = new Customer();
+        customer._key = "1";
+        customer.name = "Jane Doe";
+        customer.email = "jane@example.com";
+        customer.age = 42;
+        customer.visits = 1000L;
+        customer.score = 0.75;
+        customer.active = true;
+        customer.tags = Arrays.asList("gold", "newsletter", "eu");
+        customer.address = new Address();
+        customer.address.street = "Main Street 1";
+        customer.address.city = "Springfield";
+        customer.address.zip = 12345;
+
+        final byte[] json = jack.serialize(customer).toString().getBytes(StandardCharsets.UTF_8);
+        httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        httpResponse.setEntity(new ByteArrayEntity(json, ContentType.APPLICATION_JSON));
+        out = new ByteArrayOutputStream(json.length * 2);
+    }
+
+    @Benchmark
+    public Customer vpack() throws IOException {
+        out.reset();
+        new VPackJsonEntity(jack.serialize(customer), ContentType.APPLICATION_JSON).writeTo(out);
+        final Response response = ResponseUtils.buildResponse(jack, httpResponse, Protocol.HTTP_JSON, true);
+        return jack.deserialize(response.getBody(), Customer.class);
+    }
+
+    @Benchmark
+    public Customer jsonNative() throws IOException {
+        out.reset();
+        jack.serializeJson(customer, new C8Serializer.Options(), out);
+        final Response response = ResponseUtils.buildResponse(jack, httpResponse, Protocol.HTTP_JSON, false, true);
+        return jack.deserializeJson(response.getJson(), Customer.class);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonNativeBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.arangodb.velocypack.VPackParser;
+import com.arangodb.velocypack.VPackSlice;
+import com.c8db.internal.util.IOUtils;
+import com.c8db.internal.util.JsonVPackDecoder;
+
+/**
+ * Compares the former {@code String} based decoding of {@code HTTP_JSON} response bodies with the streaming
+ * {@link JsonVPackDecoder} for a cursor batch like payload. Run with {@code -prof gc} to compare the allocation
+ * rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonResponseDecodeBenchmark {
+
+    @Param({ "1000", "20000" })
+    private int documents;
+
+    private byte[] body;
+    private VPackParser parser;
+
+    @Setup
+    public void setup() {
+        final StringBuilder sb = new StringBuilder("{\"result\":[");
+        for (int i = 0; i < documents; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"_key\":\"").append(i).append("\",\"_id\":\"products/").append(i)
+                    .append("\",\"_rev\":\"_fQ2Z8ia---\",\"name\":\"product ").append(i)
+                    .append("\",\"price\":").append(i * 0.25).append(",\"stock\":").append(i % 97)
+                    .append(",\"active\":").append(i % 2 == 0).append(",\"tags\":[\"a\",\"b\",\"c\"],\"note\":null}");
+        }
+        sb.append("],\"hasMore\":true,\"id\":\"123456\",\"count\":").append(documents)
+                .append(",\"error\":false,\"code\":201}");
+        body = sb.toString().getBytes(StandardCharsets.UTF_8);
+        parser = new VPackParser.Builder().build();
+    }
+
+    @Benchmark
+    public VPackSlice stringParser() throws IOException {
+        final String content = IOUtils.toString(new ByteArrayInputStream(body));
+        return parser.fromJson(content, true);
+    }
+
+    @Benchmark
+    public VPackSlice streamingDecoder() throws IOException {
+        return JsonVPackDecoder.decode(new ByteArrayInputStream(body), true);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonResponseDecodeBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
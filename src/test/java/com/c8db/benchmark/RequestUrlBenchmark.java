@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.benchmark;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.NameValuePair;
+import org.apache.http.client.utils.URLEncodedUtils;
+import org.apache.http.message.BasicNameValuePair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.c8db.internal.net.HostDescription;
+import com.c8db.internal.util.EncodeUtils;
+import com.c8db.internal.util.RequestUtils;
+import com.c8db.velocystream.Request;
+import com.c8db.velocystream.RequestType;
+
+/**
+ * Path and URL of a document read, {@code legacy} as they were built before, with every segment encoded, the base URL
+ * built per request and the query parameters converted into a list. Run with {@code -prof gc} to see the
+ * allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestUrlBenchmark {
+
+    private static final String PATH_API_DOCUMENT = "/_api/document";
+
+    private final HostDescription host = new HostDescription("localhost", 8529);
+    private final String baseUrl = RequestUtils.buildBaseUrl(host, false);
+    private final String handle = "customers/customer-4711";
+
+    private static String encodeURL(final String value) throws UnsupportedEncodingException {
+        return URLEncoder.encode(value, "UTF-8").replaceAll("\\+", "%20").replaceAll("\\%21", "!")
+                .replaceAll("\\%27", "'").replaceAll("\\%28", "(").replaceAll("\\%29", ")").replaceAll("\\%7E", "~");
+    }
+
+    private static String createPath(final String... params) throws UnsupportedEncodingException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                sb.append("/");
+            }
+            sb.append(params[i].contains("/") ? createPath(params[i].split("/")) : encodeURL(params[i]));
+        }
+        return sb.toString();
+    }
+
+    private static String buildUrl(final String baseUrl, final Request request) {
+        final StringBuilder sb = new StringBuilder().append(baseUrl);
+        sb.append("/_tenant/").append(request.getTenant());
+        sb.append("/_fabric/").append(request.getDatabase());
+        sb.append(request.getRequest());
+        if (!request.getQueryParam().isEmpty()) {
+            sb.append(request.getRequest().contains("?") ? "&" : "?");
+            final List<NameValuePair> params = new ArrayList<NameValuePair>(request.getQueryParam().size());
+            for (final Map.Entry<String, String> param : request.getQueryParam().entrySet()) {
+                params.add(new BasicNameValuePair(param.getKey(), param.getValue()));
+            }
+            sb.append(URLEncodedUtils.format(params, "utf-8"));
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String legacy() throws UnsupportedEncodingException {
+        final Request request = new Request("demo", "_system", RequestType.GET, createPath(PATH_API_DOCUMENT, handle));
+        request.putQueryParam("allowDirtyRead", true);
+        return buildUrl(RequestUtils.buildBaseUrl(host, false), request);
+    }
+
+    @Benchmark
+    public String current() throws UnsupportedEncodingException {
+        final Request request = new Request("demo", "_system", RequestType.GET,
+                EncodeUtils.encodePath(PATH_API_DOCUMENT, handle));
+        request.putQueryParam("allowDirtyRead", true);
+        return RequestUtils.buildUrl(baseUrl, request, true);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RequestUrlBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.arangodb.velocypack.VPack;
+import com.arangodb.velocypack.VPackParser;
+import com.arangodb.velocypack.VPackSlice;
+import com.c8db.entity.BaseDocument;
+import com.c8db.entity.DocumentField;
+import com.c8db.internal.util.C8DeserializerImpl;
+import com.c8db.internal.util.C8SerializerImpl;
+import com.c8db.internal.velocypack.VPackCodecs;
+import com.c8db.internal.velocypack.VPackDriverModule;
+
+/**
+ * Compares the reflective VelocyPack serialization with the precompiled codecs for a flat and a nested POJO.
+ * {@link BaseDocument} has registered serializers and is not affected by the codecs, it is measured as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VPackCodecBenchmark {
+
+    public static class Address {
+        private String street;
+        private String city;
+        private int zip;
+
+        public Address() {
+            super();
+        }
+    }
+
+    public static class Customer {
+        @DocumentField(DocumentField.Type.KEY)
+        private String key;
+        private String name;
+        private String email;
+        private int age;
+        private long visits;
+        private double score;
+        private boolean active;
+        private Address address;
+
+        public Customer() {
+            super();
+        }
+    }
+
+    private C8SerializerImpl reflectiveSerializer;
+    private C8SerializerImpl codecSerializer;
+    private C8DeserializerImpl reflectiveDeserializer;
+    private C8DeserializerImpl codecDeserializer;
+    private BaseDocument document;
+    private Address flat;
+    private Customer nested;
+    private VPackSlice documentSlice;
+    private VPackSlice flatSlice;
+    private VPackSlice nestedSlice;
+
+    @Setup
+    public void setup() {
+        final VPack.Builder builder = new VPack.Builder();
+        final VPackCodecs.Setup vpackSetup = new VPackCodecs.Setup(builder).registerModule(new VPackDriverModule());
+        final VPack vpacker = builder.serializeNullValues(false).build();
+        final VPack vpackerNull = builder.serializeNullValues(true).build();
+        final VPackParser parser = new VPackParser.Builder().build();
+        final VPackCodecs codecsNull = vpackSetup.codecs(vpackerNull, true);
+        reflectiveSerializer = new C8SerializerImpl(vpacker, vpackerNull, parser);
+        codecSerializer = new C8SerializerImpl(vpacker, vpackerNull, parser, vpackSetup.codecs(vpacker, false),
+                codecsNull);
+        reflectiveDeserializer = new C8DeserializerImpl(vpackerNull, parser);
+        codecDeserializer = new C8DeserializerImpl(vpackerNull, parser, codecsNull);
+
+        flat = new Address();
+        flat.street = "Main Street 1";
+        flat.city = "Springfield";
+        flat.zip = 12345;
+        nested = new Customer();
+        nested.key = "1";
+        nested.name = "Jane Doe";
+        nested.email = "jane@example.com";
+        nested.age = 42;
+        nested.visits = 1000L;
+        nested.score = 0.75;
+        nested.active = true;
+        nested.address = flat;
+        document = new BaseDocument("1");
+        document.addAttribute("name", "Jane Doe");
+        document.addAttribute("age", 42);
+        document.addAttribute("active", true);
+
+        documentSlice = reflectiveSerializer.serialize(document);
+        flatSlice = reflectiveSerializer.serialize(flat);
+        nestedSlice = reflectiveSerializer.serialize(nested);
+    }
+
+    @Benchmark
+    public VPackSlice serializeBaseDocument() {
+        return codecSerializer.serialize(document);
+    }
+
+    @Benchmark
+    public VPackSlice serializeFlatReflective() {
+        return reflectiveSerializer.serialize(flat);
+    }
+
+    @Benchmark
+    public VPackSlice serializeFlatCodec() {
+        return codecSerializer.serialize(flat);
+    }
+
+    @Benchmark
+    public VPackSlice serializeNestedReflective() {
+        return reflectiveSerializer.serialize(nested);
+    }
+
+    @Benchmark
+    public VPackSlice serializeNestedCodec() {
+        return codecSerializer.serialize(nested);
+    }
+
+    @Benchmark
+    public BaseDocument deserializeBaseDocument() {
+        return codecDeserializer.deserialize(documentSlice, BaseDocument.class);
+    }
+
+    @Benchmark
+    public Address deserializeFlatReflective() {
+        return reflectiveDeserializer.deserialize(flatSlice, Address.class);
+    }
+
+    @Benchmark
+    public Address deserializeFlatCodec() {
+        return codecDeserializer.deserialize(flatSlice, Address.class);
+    }
+
+    @Benchmark
+    public Customer deserializeNestedReflective() {
+        return reflectiveDeserializer.deserialize(nestedSlice, Customer.class);
+    }
+
+    @Benchmark
+    public Customer deserializeNestedCodec() {
+        return codecDeserializer.deserialize(nestedSlice, Customer.class);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(VPackCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import com.arangodb.velocypack.VPack;
+import com.arangodb.velocypack.VPackParser;
+import com.c8db.BatchingCollection;
+import com.c8db.C8Collection;
+import com.c8db.C8DBException;
+import com.c8db.entity.BaseDocument;
+import com.c8db.entity.DocumentCreateEntity;
+import com.c8db.entity.DocumentDeleteEntity;
+import com.c8db.entity.ErrorEntity;
+import com.c8db.entity.MultiDocumentEntity;
+import com.c8db.internal.util.DriverExecutor;
+import com.c8db.internal.velocypack.VPackDriverModule;
+import com.c8db.model.BatchingOptions;
+
+/**
+ *
+ */
+public class BatchingCollectionImplTest {
+
+    private static final VPack VPACK = new VPack.Builder().registerModule(new VPackDriverModule()).build();
+    private static final VPackParser PARSER = new VPackParser.Builder().build();
+    private static final DriverExecutor EXECUTOR = new DriverExecutor();
+
+    private final List<Collection<?>> requests = Collections.synchronizedList(new ArrayList<Collection<?>>());
+    private final List<String> methods = Collections.synchronizedList(new ArrayList<String>());
+    private final AtomicInteger sending = new AtomicInteger();
+    private final AtomicInteger maxSending = new AtomicInteger();
+    private volatile boolean failRequests;
+    private volatile long delayMillis;
+
+    @AfterClass
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    public void coalesceConcurrentInserts() throws Exception {
+        final BatchingCollection batching = new BatchingCollectionImpl(collection(),
+                new BatchingOptions().batchSize(10).lingerMillis(1000), EXECUTOR);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final List<CompletableFuture<DocumentCreateEntity<BaseDocument>>> futures = Collections
+                .synchronizedList(new ArrayList<CompletableFuture<DocumentCreateEntity<BaseDocument>>>());
+        for (int i = 0; i < 100; i++) {
+            final String key = String.valueOf(i);
+            executor.execute(() -> futures.add(batching.insertDocument(new BaseDocument(key))));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        for (final CompletableFuture<DocumentCreateEntity<BaseDocument>> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(requests.size(), is(10));
+        for (final CompletableFuture<DocumentCreateEntity<BaseDocument>> future : futures) {
+            final DocumentCreateEntity<BaseDocument> doc = future.get();
+            assertThat(doc.getId(), is("c/" + doc.getKey()));
+        }
+    }
+
+    @Test
+    public void sendPartialBatchAfterLinger() throws Exception {
+        final BatchingCollection batching = new BatchingCollectionImpl(collection(),
+                new BatchingOptions().batchSize(100).lingerMillis(20), EXECUTOR);
+        final CompletableFuture<DocumentCreateEntity<BaseDocument>> first = batching
+                .insertDocument(new BaseDocument("a"));
+        final CompletableFuture<DocumentCreateEntity<BaseDocument>> second = batching
+                .insertDocument(new BaseDocument("b"));
+        assertThat(second.get(5, TimeUnit.SECONDS).getKey(), is("b"));
+        assertThat(first.get().getKey(), is("a"));
+        assertThat(requests.size(), is(1));
+    }
+
+    @Test
+    public void completeWithMatchingError() throws Exception {
+        final BatchingCollection batching = new BatchingCollectionImpl(collection(),
+                new BatchingOptions().batchSize(3).lingerMillis(1000), EXECUTOR);
+        final CompletableFuture<DocumentCreateEntity<BaseDocument>> ok = batching
+                .insertDocument(new BaseDocument("ok"));
+        final CompletableFuture<DocumentCreateEntity<BaseDocument>> conflict = batching
+                .insertDocument(new BaseDocument("conflict"));
+        final CompletableFuture<DocumentDeleteEntity<Void>> deleted = batching.deleteDocument("gone");
+        batching.flush();
+
+        assertThat(ok.get().getKey(), is("ok"));
+        assertThat(deleted.get().getKey(), is("gone"));
+        try {
+            conflict.join();
+            fail();
+        } catch (final CompletionException e) {
+            assertThat(e.getCause(), instanceOf(C8DBException.class));
+            assertThat(((C8DBException) e.getCause()).getErrorNum(), is(1210));
+        }
+        assertThat(requests.size(), is(2));
+    }
+
+    @Test
+    public void failAllOnFailedRequest() {
+        failRequests = true;
+        final BatchingCollection batching = new BatchingCollectionImpl(collection(),
+                new BatchingOptions().batchSize(2), EXECUTOR);
+        final CompletableFuture<DocumentCreateEntity<BaseDocument>> first = batching
+                .insertDocument(new BaseDocument("a"));
+        final CompletableFuture<DocumentCreateEntity<BaseDocument>> second = batching
+                .insertDocument(new BaseDocument("b"));
+        batching.flush();
+        assertThat(first.isCompletedExceptionally(), is(true));
+        assertThat(second.isCompletedExceptionally(), is(true));
+    }
+
+    @Test
+    public void closeSendsRemainingWrites() {
+        final BatchingCollection batching = new BatchingCollectionImpl(collection(),
+                new BatchingOptions().lingerMillis(60000), EXECUTOR);
+        final CompletableFuture<DocumentCreateEntity<BaseDocument>> future = batching
+                .insertDocument(new BaseDocument("a"));
+        batching.close();
+        assertThat(future.join().getKey(), is("a"));
+        assertThat(batching.insertDocument(new BaseDocument("b")).isCompletedExceptionally(), is(true));
+    }
+
+    @Test
+    public void failNullDocument() {
+        final BatchingCollection batching = new BatchingCollectionImpl(collection(), new BatchingOptions(), EXECUTOR);
+        assertThat(batching.insertDocument(null).isCompletedExceptionally(), is(true));
+        assertThat(batching.updateDocument(null).isCompletedExceptionally(), is(true));
+        assertThat(batching.deleteDocument(null).isCompletedExceptionally(), is(true));
+        batching.close();
+        assertThat(requests.size(), is(0));
+    }
+
+    @Test
+    public void boundPendingWrites() {
+        delayMillis = 50L;
+        final BatchingCollection batching = new BatchingCollectionImpl(collection(),
+                new BatchingOptions().batchSize(2).lingerMillis(1000).maxPendingWrites(3), EXECUTOR);
+        final List<CompletableFuture<DocumentCreateEntity<BaseDocument>>> futures =
+                new ArrayList<CompletableFuture<DocumentCreateEntity<BaseDocument>>>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(batching.insertDocument(new BaseDocument(String.valueOf(i))));
+        }
+        assertThat(futures.get(3).isCompletedExceptionally(), is(true));
+        batching.flush();
+        for (int i = 0; i < 3; i++) {
+            assertThat(futures.get(i).join().getKey(), is(String.valueOf(i)));
+        }
+        // the done writes are not counted anymore
+        assertThat(batching.insertDocument(new BaseDocument("4")).isCompletedExceptionally(), is(false));
+        batching.close();
+    }
+
+    @Test
+    public void keepOrderOfWrites() {
+        final BatchingCollection batching = new BatchingCollectionImpl(collection(),
+                new BatchingOptions().batchSize(100).lingerMillis(1000), EXECUTOR);
+        batching.insertDocument(new BaseDocument("a"));
+        batching.insertDocument(new BaseDocument("b"));
+        batching.updateDocument(new BaseDocument("a"));
+        batching.deleteDocument("a");
+        batching.insertDocument(new BaseDocument("a"));
+        batching.flush();
+        assertThat(methods, is(Arrays.asList("insertDocuments", "updateDocuments", "deleteDocuments",
+                "insertDocuments")));
+        assertThat(requests.get(0).size(), is(2));
+    }
+
+    @Test
+    public void oneBatchInFlight() throws Exception {
+        delayMillis = 10L;
+        final BatchingCollection batching = new BatchingCollectionImpl(collection(),
+                new BatchingOptions().batchSize(2).lingerMillis(1), EXECUTOR);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 40; i++) {
+            final String key = String.valueOf(i);
+            executor.execute(() -> batching.insertDocument(new BaseDocument(key)));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        batching.close();
+        int documents = 0;
+        for (final Collection<?> request : new ArrayList<Collection<?>>(requests)) {
+            documents += request.size();
+        }
+        assertThat(documents, is(40));
+        assertThat(maxSending.get(), is(1));
+    }
+
+    private static Object entity(final String json, final Class<?> type) {
+        return VPACK.deserialize(PARSER.fromJson(json), type);
+    }
+
+    private C8Collection collection() {
+        return (C8Collection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { C8Collection.class },
+            new InvocationHandler() {
+                @Override
+                public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                    final Collection<?> values = (Collection<?>) args[0];
+                    requests.add(values);
+                    methods.add(method.getName());
+                    maxSending.accumulateAndGet(sending.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(delayMillis);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        sending.decrementAndGet();
+                    }
+                    if (failRequests) {
+                        throw new C8DBException("unavailable", 503);
+                    }
+                    final MultiDocumentEntity<Object> result = new MultiDocumentEntity<Object>();
+                    final List<Object> documentsAndErrors = new ArrayList<Object>();
+                    for (final Object value : values) {
+                        final String key = value instanceof BaseDocument ? ((BaseDocument) value).getKey()
+                                : (String) value;
+                        if ("conflict".equals(key)) {
+                            documentsAndErrors.add(entity(
+                                "{\"error\":true,\"errorNum\":1210,\"errorMessage\":\"unique constraint violated\"}",
+                                ErrorEntity.class));
+                        } else if ("deleteDocuments".equals(method.getName())) {
+                            documentsAndErrors.add(entity("{\"_key\":\"" + key + "\"}", DocumentDeleteEntity.class));
+                        } else {
+                            documentsAndErrors.add(entity("{\"_key\":\"" + key + "\",\"_id\":\"c/" + key + "\"}",
+                                DocumentCreateEntity.class));
+                        }
+                    }
+                    result.setDocumentsAndErrors(documentsAndErrors);
+                    return result;
+                }
+            });
+    }
+
+}
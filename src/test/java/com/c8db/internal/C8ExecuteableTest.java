@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.c8db.internal.util.DocumentUtil;
+import com.c8db.velocystream.Request;
+import com.c8db.velocystream.RequestType;
+
+/**
+ *
+ */
+public class C8ExecuteableTest {
+
+    private final C8Executeable<C8Executor> executeable = new C8Executeable<C8Executor>(null, null,
+            new C8Context()) {
+    };
+
+    @Test
+    public void documentTemplate() {
+        final Request request = executeable.request("demo", "_system", RequestType.GET,
+                InternalC8Collection.PATH_API_DOCUMENT + "/{}/{}", InternalC8Collection.PATH_API_DOCUMENT,
+                DocumentUtil.createDocumentHandle("users", "1"));
+        assertThat(request.getPathTemplate(), is("/_api/document/{}/{}"));
+        assertThat(request.getRequest(), is("/_api/document/users/1"));
+    }
+
+    @Test
+    public void subResourceTemplate() {
+        final Request request = executeable.request("demo", "_system", RequestType.PUT, false,
+                InternalC8Collection.PATH_API_COLLECTION + "/{}/properties", InternalC8Collection.PATH_API_COLLECTION,
+                "users", InternalC8Collection.PATH_PROPERTIES);
+        assertThat(request.getPathTemplate(), is("/_api/collection/{}/properties"));
+        assertThat(request.getRequest(), is("/_api/collection/users/properties"));
+        assertThat(request.isRetryEnabled(), is(false));
+    }
+
+    @Test
+    public void nameEqualToConstant() {
+        final Request request = executeable.request("demo", "_system", RequestType.GET,
+                InternalC8Collection.PATH_API_COLLECTION + "/{}/count", InternalC8Collection.PATH_API_COLLECTION,
+                "count", InternalC8Collection.PATH_COUNT);
+        assertThat(request.getPathTemplate(), is("/_api/collection/{}/count"));
+        assertThat(request.getRequest(), is("/_api/collection/count/count"));
+    }
+
+}
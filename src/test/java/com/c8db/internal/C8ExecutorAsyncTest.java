@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.c8db.Service;
+import com.c8db.internal.C8Executor.ResponseDeserializer;
+import com.c8db.internal.http.HttpCommunicationAsync;
+import com.c8db.internal.net.HostHandle;
+import com.c8db.internal.util.DriverExecutor;
+import com.c8db.velocystream.Request;
+import com.c8db.velocystream.RequestType;
+import com.c8db.velocystream.Response;
+
+/**
+ *
+ */
+public class C8ExecutorAsyncTest {
+
+    // a single I/O dispatcher thread like the one of the HTTP client
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> new Thread(r, "dispatcher"));
+
+    private final ResponseDeserializer<String> threadName = response -> Thread.currentThread().getName();
+
+    private final DriverExecutor workers = new DriverExecutor();
+
+    private final C8ExecutorAsync executor = executor(workers);
+
+    private C8ExecutorAsync executor(final DriverExecutor completionExecutor) {
+        return new C8ExecutorAsync(new HttpCommunicationAsync(Collections.emptyMap()) {
+            @Override
+            public CompletableFuture<Response> execute(final Request request, final HostHandle handle,
+                    final Service service) {
+                return CompletableFuture.supplyAsync(() -> {
+                    final Response response = new Response();
+                    response.setResponseCode(200);
+                    return response;
+                }, dispatcher);
+            }
+        }, null, new DocumentCache(), completionExecutor);
+    }
+
+    @After
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private static Request request() {
+        return new Request("t", "db", RequestType.GET, "/_api/cursor");
+    }
+
+    @Test
+    public void completeOffDispatcher() throws Exception {
+        final String thread = executor.execute(request(), threadName).get(5, TimeUnit.SECONDS);
+        assertThat(thread, not(is("dispatcher")));
+        assertThat(thread, startsWith("c8db-worker"));
+    }
+
+    @Test
+    public void blockInCallback() throws Exception {
+        // e.g. iterating a cursor in thenApply of the query
+        final String thread = executor.execute(request(), threadName)
+                .thenApply(first -> C8DatabaseAsyncImpl.await(executor.execute(request(), threadName)))
+                .get(5, TimeUnit.SECONDS);
+        assertThat(thread, startsWith("c8db-worker"));
+    }
+
+    @Test
+    public void blockInCallbackOnBusyPool() throws Exception {
+        final DriverExecutor single = new DriverExecutor(1);
+        try {
+            final C8ExecutorAsync busy = executor(single);
+            // while the only worker waits in the callback, the inner response is completed on the dispatcher
+            final String thread = busy.execute(request(), threadName)
+                    .thenApplyAsync(first -> C8DatabaseAsyncImpl.await(busy.execute(request(), threadName)), single)
+                    .get(5, TimeUnit.SECONDS);
+            assertThat(thread, not(is(Thread.currentThread().getName())));
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+}
@@ -20,12 +20,20 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
 import com.c8db.entity.BaseDocument;
+import com.c8db.entity.BaseEdgeDocument;
 import com.c8db.entity.DocumentField;
 import com.c8db.entity.DocumentField.Type;
 
@@ -67,4 +75,75 @@ public class DocumentCacheTest {
 
         assertThat(map.isEmpty(), is(true));
     }
+
+    @Test
+    public void setCreatedValues() {
+        final DocumentCache cache = new DocumentCache();
+        final BaseEdgeDocument doc = new BaseEdgeDocument();
+        cache.setValues(doc, "testId", "testKey", "testRev");
+        assertThat(doc.getId(), is("testId"));
+        assertThat(doc.getKey(), is("testKey"));
+        assertThat(doc.getRevision(), is("testRev"));
+
+        cache.setRev(doc, "newRev");
+        assertThat(doc.getKey(), is("testKey"));
+        assertThat(doc.getRevision(), is("newRev"));
+    }
+
+    @Test
+    public void setFinalAndPrivateFields() {
+        final DocumentCache cache = new DocumentCache();
+        final Immutable doc = new Immutable();
+        cache.setValues(doc, "testId", "testKey", "testRev");
+        assertThat(doc.key, is("testKey"));
+        assertThat(doc.getRev(), is("testRev"));
+    }
+
+    @Test
+    public void setValuesConcurrently() throws Exception {
+        final DocumentCache cache = new DocumentCache();
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Void>> futures = new ArrayList<Future<Void>>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            futures.add(executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    start.await();
+                    for (int i = 0; i < 1000; i++) {
+                        final String value = thread + "-" + i;
+                        final Object doc = i % 3 == 0 ? new BaseDocument()
+                                : i % 3 == 1 ? new BaseEdgeDocument() : new Immutable();
+                        cache.setValues(doc, value, value, value);
+                        if (doc instanceof BaseEdgeDocument) {
+                            assertThat(((BaseEdgeDocument) doc).getRevision(), is(value));
+                        } else if (doc instanceof BaseDocument) {
+                            assertThat(((BaseDocument) doc).getKey(), is(value));
+                        } else {
+                            assertThat(((Immutable) doc).key, is(value));
+                        }
+                    }
+                    return null;
+                }
+            }));
+        }
+        start.countDown();
+        for (final Future<Void> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+    }
+
+    private static class Immutable {
+        @DocumentField(Type.KEY)
+        private final String key = null;
+        @DocumentField(Type.REV)
+        private String rev;
+
+        String getRev() {
+            return rev;
+        }
+    }
 }
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import com.arangodb.velocypack.VPackSlice;
+import com.c8db.C8DBException;
+import com.c8db.entity.DocumentImportEntity;
+import com.c8db.internal.util.DriverExecutor;
+import com.c8db.model.DocumentImportOptions;
+import com.c8db.velocystream.StreamingBody;
+
+/**
+ *
+ */
+public class DocumentImporterTest {
+
+    private static final DriverExecutor EXECUTOR = new DriverExecutor();
+
+    @AfterClass
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    public void splitByBatchSize() {
+        final RecordingImporter importer = new RecordingImporter(new DocumentImportOptions().batchSize(3));
+        for (int i = 0; i < 10; i++) {
+            importer.add(json(i));
+        }
+        final DocumentImportEntity result = importer.finish();
+        assertThat(result.getCreated(), is(10));
+        assertThat(importer.batches.size(), is(4));
+        assertThat(lines(importer.batches).size(), is(10));
+    }
+
+    @Test
+    public void splitByBatchBytes() {
+        final RecordingImporter importer = new RecordingImporter(new DocumentImportOptions().batchBytes(40));
+        for (int i = 0; i < 10; i++) {
+            importer.add(json(i));
+        }
+        importer.finish();
+        for (final String batch : importer.batches) {
+            assertThat(batch.length(), is(lessThanOrEqualTo(40)));
+        }
+        assertThat(lines(importer.batches).size(), is(10));
+    }
+
+    @Test
+    public void boundParallelism() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger max = new AtomicInteger();
+        final DocumentImporter importer = new DocumentImporter(
+                new DocumentImportOptions().batchSize(1).parallelism(2), EXECUTOR) {
+            @Override
+            protected DocumentImportEntity send(final StreamingBody body, final boolean first) {
+                final int current = running.incrementAndGet();
+                max.accumulateAndGet(current, Math::max);
+                try {
+                    Thread.sleep(10L);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return created(1);
+            }
+        };
+        for (int i = 0; i < 20; i++) {
+            importer.add(json(i));
+        }
+        assertThat(importer.finish().getCreated(), is(20));
+        assertThat(max.get(), is(2));
+    }
+
+    @Test
+    public void readLinesAcrossChunks() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            padding.append('x');
+        }
+        for (int i = 0; i < 200; i++) {
+            out.write(("{\"_key\":\"" + i + "\",\"v\":\"" + padding + "\"}\r\n").getBytes(StandardCharsets.UTF_8));
+            if (i % 50 == 0) {
+                out.write("  \n".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        out.write("{\"_key\":\"last\"}".getBytes(StandardCharsets.UTF_8));
+
+        final RecordingImporter importer = new RecordingImporter(
+                new DocumentImportOptions().batchSize(64).parallelism(1));
+        importer.addLines(new ByteArrayInputStream(out.toByteArray()));
+        importer.finish();
+        final List<String> lines = lines(importer.batches);
+        assertThat(lines.size(), is(201));
+        for (int i = 0; i < 200; i++) {
+            assertThat(lines.get(i), is("{\"_key\":\"" + i + "\",\"v\":\"" + padding + "\"}"));
+        }
+        assertThat(lines.get(200), is("{\"_key\":\"last\"}"));
+    }
+
+    @Test
+    public void sendOnCallerWhenExecutorBusy() {
+        final DriverExecutor single = new DriverExecutor(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            single.execute(() -> {
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            final RecordingImporter importer = new RecordingImporter(
+                    new DocumentImportOptions().batchSize(2).parallelism(4), single);
+            for (int i = 0; i < 10; i++) {
+                importer.add(json(i));
+            }
+            assertThat(importer.finish().getCreated(), is(10));
+            assertThat(importer.batches.size(), is(5));
+        } finally {
+            release.countDown();
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    public void convertBatchToVPack() {
+        final List<StreamingBody> bodies = new ArrayList<StreamingBody>();
+        final DocumentImporter importer = new DocumentImporter(null, EXECUTOR) {
+            @Override
+            protected DocumentImportEntity send(final StreamingBody body, final boolean first) {
+                bodies.add(body);
+                return created(1);
+            }
+        };
+        importer.add(json(1));
+        importer.add(json(2));
+        importer.finish();
+        final VPackSlice slice = bodies.get(0).toVPack();
+        assertThat(slice.isArray(), is(true));
+        assertThat(slice.size(), is(2));
+        assertThat(slice.get(1).get("_key").getAsString(), is("2"));
+    }
+
+    @Test
+    public void sendFirstBatchAloneOnOverwrite() {
+        final AtomicInteger firstDone = new AtomicInteger();
+        final AtomicInteger early = new AtomicInteger();
+        final DocumentImporter importer = new DocumentImporter(
+                new DocumentImportOptions().batchSize(1).overwrite(true), EXECUTOR) {
+            @Override
+            protected DocumentImportEntity send(final StreamingBody body, final boolean first) {
+                if (first) {
+                    try {
+                        Thread.sleep(50L);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    firstDone.set(1);
+                } else if (firstDone.get() == 0) {
+                    early.incrementAndGet();
+                }
+                return created(1);
+            }
+        };
+        for (int i = 0; i < 5; i++) {
+            importer.add(json(i));
+        }
+        assertThat(importer.finish().getCreated(), is(5));
+        assertThat(early.get(), is(0));
+    }
+
+    @Test(expected = C8DBException.class)
+    public void reportFailedBatch() {
+        final DocumentImporter importer = new DocumentImporter(new DocumentImportOptions().batchSize(1), EXECUTOR) {
+            @Override
+            protected DocumentImportEntity send(final StreamingBody body, final boolean first) {
+                throw new C8DBException("import failed");
+            }
+        };
+        for (int i = 0; i < 100; i++) {
+            importer.add(json(i));
+        }
+        importer.finish();
+    }
+
+    private static byte[] json(final int key) {
+        return ("{\"_key\":\"" + key + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static DocumentImportEntity created(final int created) {
+        final DocumentImportEntity entity = new DocumentImportEntity();
+        entity.setCreated(created);
+        return entity;
+    }
+
+    private static List<String> lines(final List<String> batches) {
+        final List<String> lines = new ArrayList<String>();
+        for (final String batch : batches) {
+            for (final String line : batch.split("\n")) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private static class RecordingImporter extends DocumentImporter {
+
+        private final List<String> batches = Collections.synchronizedList(new ArrayList<String>());
+
+        RecordingImporter(final DocumentImportOptions options) {
+            this(options, EXECUTOR);
+        }
+
+        RecordingImporter(final DocumentImportOptions options, final Executor executor) {
+            super(options, executor);
+        }
+
+        @Override
+        protected DocumentImportEntity send(final StreamingBody body, final boolean first) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                body.writeTo(out);
+            } catch (final IOException e) {
+                throw new C8DBException(e);
+            }
+            assertThat(body.getContentLength(), is((long) out.size()));
+            final String batch = new String(out.toByteArray(), StandardCharsets.UTF_8);
+            batches.add(batch);
+            return created(batch.split("\n").length);
+        }
+    }
+
+}
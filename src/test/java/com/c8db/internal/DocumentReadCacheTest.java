@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.arangodb.velocypack.VPackParser;
+import com.arangodb.velocypack.VPackSlice;
+import com.c8db.model.ReadCacheOptions;
+
+/**
+ *
+ */
+public class DocumentReadCacheTest {
+
+    private static final VPackParser PARSER = new VPackParser.Builder().build();
+
+    @Test
+    public void evictLeastRecentlyRead() {
+        final DocumentReadCache cache = new DocumentReadCache(new ReadCacheOptions().maximumSize(2));
+        cache.put("a", document("a", "1"), cache.sequence());
+        cache.put("b", document("b", "1"), cache.sequence());
+        cache.get("a");
+        cache.put("c", document("c", "1"), cache.sequence());
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get("a"), is(notNullValue()));
+        assertThat(cache.get("b"), is(nullValue()));
+        assertThat(cache.get("c"), is(notNullValue()));
+    }
+
+    @Test
+    public void cacheOnlyDocumentsWithRevision() {
+        final DocumentReadCache cache = new DocumentReadCache(null);
+        final VPackSlice document = PARSER.fromJson("{\"_key\":\"a\"}");
+        assertThat(cache.put("a", document, cache.sequence()) == document, is(true));
+        assertThat(cache.get("a"), is(nullValue()));
+    }
+
+    @Test
+    public void copyCachedDocument() {
+        final DocumentReadCache cache = new DocumentReadCache(null);
+        final VPackSlice array = PARSER.fromJson("[{\"_key\":\"a\",\"_rev\":\"1\"},{\"_key\":\"b\",\"_rev\":\"2\"}]");
+        final VPackSlice copy = cache.put("b", array.get(1), cache.sequence());
+        assertThat(copy.getBuffer() == array.getBuffer(), is(false));
+        assertThat(copy.getStart(), is(0));
+        final DocumentReadCache.Entry entry = cache.get("b");
+        assertThat(entry.getRev(), is("2"));
+        assertThat(entry.getDocument().get("_key").getAsString(), is("b"));
+    }
+
+    @Test
+    public void revalidateWithoutTtl() {
+        final DocumentReadCache cache = new DocumentReadCache(null);
+        cache.put("a", document("a", "1"), cache.sequence());
+        assertThat(cache.isFresh(cache.get("a")), is(false));
+    }
+
+    @Test
+    public void freshWithinTtl() throws InterruptedException {
+        final DocumentReadCache cache = new DocumentReadCache(new ReadCacheOptions().ttlMillis(50));
+        cache.put("a", document("a", "1"), cache.sequence());
+        final DocumentReadCache.Entry entry = cache.get("a");
+        assertThat(cache.isFresh(entry), is(true));
+        Thread.sleep(100L);
+        assertThat(cache.isFresh(entry), is(false));
+        entry.revalidated();
+        assertThat(cache.isFresh(entry), is(true));
+    }
+
+    @Test
+    public void invalidateAndClear() {
+        final DocumentReadCache cache = new DocumentReadCache(null);
+        cache.put("a", document("a", "1"), cache.sequence());
+        cache.put("b", document("b", "1"), cache.sequence());
+        cache.invalidate("a");
+        assertThat(cache.get("a"), is(nullValue()));
+        cache.clear();
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void dropReadOverlappingInvalidate() {
+        final DocumentReadCache cache = new DocumentReadCache(null);
+        final long sequence = cache.sequence();
+        // a write of "a" completes while the read is in flight
+        cache.invalidate("a");
+        cache.put("a", document("a", "1"), sequence);
+        cache.put("b", document("b", "1"), sequence);
+        assertThat(cache.get("a"), is(nullValue()));
+        assertThat(cache.get("b"), is(notNullValue()));
+        cache.put("a", document("a", "2"), cache.sequence());
+        assertThat(cache.get("a").getRev(), is("2"));
+    }
+
+    @Test
+    public void dropReadOverlappingClear() {
+        final DocumentReadCache cache = new DocumentReadCache(null);
+        final long sequence = cache.sequence();
+        cache.clear();
+        cache.put("a", document("a", "1"), sequence);
+        assertThat(cache.get("a"), is(nullValue()));
+    }
+
+    @Test
+    public void dropReadOverlappingEvictedInvalidate() {
+        final DocumentReadCache cache = new DocumentReadCache(new ReadCacheOptions().maximumSize(1));
+        final long sequence = cache.sequence();
+        cache.invalidate("a");
+        cache.invalidate("b");
+        cache.put("a", document("a", "1"), sequence);
+        assertThat(cache.get("a"), is(nullValue()));
+    }
+
+    @Test
+    public void ttl() {
+        assertThat(new DocumentReadCache(null).hasTtl(), is(false));
+        assertThat(new DocumentReadCache(new ReadCacheOptions().ttlMillis(50)).hasTtl(), is(true));
+    }
+
+    private static VPackSlice document(final String key, final String rev) {
+        return PARSER.fromJson("{\"_key\":\"" + key + "\",\"_rev\":\"" + rev + "\"}");
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.arangodb.velocypack.VPack;
+import com.arangodb.velocypack.VPackParser;
+import com.c8db.entity.BaseDocument;
+import com.c8db.internal.util.C8DeserializerImpl;
+import com.c8db.internal.util.C8SerializerImpl;
+import com.c8db.internal.util.DefaultC8Serialization;
+import com.c8db.internal.velocypack.VPackDriverModule;
+import com.c8db.util.C8Serialization;
+
+/**
+ *
+ */
+public class DocumentsBodyTest {
+
+    private static final C8Serialization UTIL = serialization();
+
+    private static C8Serialization serialization() {
+        final VPack.Builder builder = new VPack.Builder().registerModule(new VPackDriverModule());
+        final VPack vpacker = builder.serializeNullValues(false).build();
+        final VPack vpackerNull = builder.serializeNullValues(true).build();
+        final VPackParser parser = new VPackParser.Builder().build();
+        return new DefaultC8Serialization(new C8SerializerImpl(vpacker, vpackerNull, parser),
+                new C8DeserializerImpl(vpackerNull, parser));
+    }
+
+    private static String json(final DocumentsBody body) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static List<BaseDocument> documents(final int count) {
+        final List<BaseDocument> documents = new ArrayList<BaseDocument>();
+        for (int i = 0; i < count; i++) {
+            final BaseDocument document = new BaseDocument("key" + i);
+            document.addAttribute("path", "a/" + i);
+            document.addAttribute("value", i * 1.5);
+            document.addAttribute("empty", null);
+            documents.add(document);
+        }
+        return documents;
+    }
+
+    @Test
+    public void writeLikeVPack() throws IOException {
+        final DocumentsBody body = new DocumentsBody(documents(5), UTIL, null, false);
+        final String json = json(body);
+        assertThat(json, is(body.toVPack().toString()));
+        assertThat(body.getContentLength(), is((long) json.getBytes(StandardCharsets.UTF_8).length));
+    }
+
+    @Test
+    public void serializeNullValues() throws IOException {
+        final DocumentsBody body = new DocumentsBody(documents(2), UTIL, null, true);
+        final String json = json(body);
+        assertThat(json, is(body.toVPack().toString()));
+        assertThat(json.contains("\"empty\":null"), is(true));
+    }
+
+    @Test
+    public void stringAsJson() throws IOException {
+        final DocumentsBody body = new DocumentsBody(Arrays.asList("{\"_key\":\"a\"}", "{\"_key\":\"b\",\"v\":1}"),
+                UTIL, null, false);
+        assertThat(json(body), is("[{\"_key\":\"a\"},{\"_key\":\"b\",\"v\":1}]"));
+    }
+
+    @Test
+    public void empty() throws IOException {
+        final DocumentsBody body = new DocumentsBody(Collections.emptyList(), UTIL, null, false);
+        assertThat(json(body), is("[]"));
+        assertThat(body.getContentLength(), is(2L));
+    }
+
+    @Test
+    public void repeatable() throws IOException {
+        final DocumentsBody body = new DocumentsBody(documents(3), UTIL, null, false);
+        final long length = body.getContentLength();
+        assertThat(json(body), is(json(body)));
+        assertThat(body.getContentLength(), is(length));
+    }
+
+    @Test
+    public void serializeOnce() throws IOException {
+        final List<BaseDocument> documents = documents(3);
+        final DocumentsBody body = new DocumentsBody(documents, UTIL, null, false);
+        final String expected = body.toVPack().toString();
+        final long length = body.getContentLength();
+        documents.get(1).addAttribute("changed", "after the content length");
+        assertThat(json(body), is(expected));
+        assertThat(body.getContentLength(), is(length));
+    }
+
+    @Test
+    public void writeOverManyChunks() throws IOException {
+        final DocumentsBody body = new DocumentsBody(documents(2000), UTIL, null, false);
+        final String json = json(body);
+        assertThat(json, is(body.toVPack().toString()));
+        assertThat(body.getContentLength(), is((long) json.getBytes(StandardCharsets.UTF_8).length));
+    }
+
+    @Test
+    public void writeAfterRelease() throws IOException {
+        final DocumentsBody body = new DocumentsBody(documents(3), UTIL, null, false);
+        final String json = json(body);
+        body.release();
+        assertThat(body.getContentLength(), is((long) json.length()));
+        assertThat(json(body), is(json));
+    }
+
+}
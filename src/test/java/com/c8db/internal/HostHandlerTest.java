@@ -24,6 +24,7 @@ import com.c8db.Service;
 import com.c8db.internal.net.FallbackHostHandler;
 import com.c8db.internal.net.Host;
 import com.c8db.internal.net.HostDescription;
+import com.c8db.internal.net.HostHandle;
 import com.c8db.internal.net.HostHandler;
 import com.c8db.internal.net.HostImpl;
 import com.c8db.internal.net.HostResolver;
@@ -84,26 +85,28 @@ public class HostHandlerTest {
     @Test
     public void fallbachHostHandlerSingleHost() {
         final HostHandler handler = new FallbackHostHandler(SINGLE_HOST, Service.C8DB);
-        assertThat(handler.get(null, null), is(HOST_0));
-        handler.fail();
-        assertThat(handler.get(null, null), is(HOST_0));
+        final HostHandle handle = new HostHandle();
+        assertThat(handler.get(handle, null), is(HOST_0));
+        handler.fail(handle);
+        assertThat(handler.get(handle, null), is(HOST_0));
     }
 
     @Test
     public void fallbackHostHandlerMultipleHosts() {
         final HostHandler handler = new FallbackHostHandler(MULTIPLE_HOSTS, Service.C8DB);
+        final HostHandle handle = new HostHandle();
         for (int i = 0; i < 3; i++) {
-            assertThat(handler.get(null, null), is(HOST_0));
-            handler.fail();
-            assertThat(handler.get(null, null), is(HOST_1));
-            handler.fail();
-            assertThat(handler.get(null, null), is(HOST_2));
+            assertThat(handler.get(handle, null), is(HOST_0));
+            handler.fail(handle);
+            assertThat(handler.get(handle, null), is(HOST_1));
+            handler.fail(handle);
+            assertThat(handler.get(handle, null), is(HOST_2));
             if (i < 2) {
-                handler.fail();
-                assertThat(handler.get(null, null), is(HOST_0));
+                handler.fail(handle);
+                assertThat(handler.get(handle, null), is(HOST_0));
             } else {
-                handler.fail();
-                assertThrows(C8DBException.class, () -> handler.get(null, null));
+                handler.fail(handle);
+                assertThrows(C8DBException.class, () -> handler.get(handle, null));
             }
         }
     }
@@ -111,42 +114,45 @@ public class HostHandlerTest {
     @Test
     public void randomHostHandlerSingleHost() {
         final HostHandler handler = new RandomHostHandler(SINGLE_HOST, new FallbackHostHandler(SINGLE_HOST, Service.C8DB), Service.C8DB);
-        assertThat(handler.get(null, null), is(HOST_0));
-        handler.fail();
-        assertThat(handler.get(null, null), is(HOST_0));
+        final HostHandle handle = new HostHandle();
+        assertThat(handler.get(handle, null), is(HOST_0));
+        handler.fail(handle);
+        assertThat(handler.get(handle, null), is(HOST_0));
     }
 
     @Test
     public void randomHostHandlerMultipeHosts() {
         final HostHandler handler = new RandomHostHandler(MULTIPLE_HOSTS, new FallbackHostHandler(MULTIPLE_HOSTS, Service.C8DB), Service.C8DB);
-        final Host pick0 = handler.get(null, null);
+        final HostHandle handle = new HostHandle();
+        final Host pick0 = handler.get(handle, null);
         assertThat(pick0, anyOf(is(HOST_0), is(HOST_1), is(HOST_2)));
-        handler.fail();
-        assertThat(handler.get(null, null), anyOf(is(HOST_0), is(HOST_1), is(HOST_2)));
-        handler.success();
-        assertThat(handler.get(null, null), is(pick0));
+        handler.fail(handle);
+        assertThat(handler.get(handle, null), anyOf(is(HOST_0), is(HOST_1), is(HOST_2)));
+        handler.success(handle);
+        assertThat(handler.get(handle, null), is(pick0));
     }
 
     @Test
     public void roundRobinHostHandlerSingleHost() {
         final HostHandler handler = new RoundRobinHostHandler(SINGLE_HOST, Service.C8DB);
-        assertThat(handler.get(null, null), is(HOST_0));
-        handler.fail();
-        assertThat(handler.get(null, null), is(HOST_0));
+        final HostHandle handle = new HostHandle();
+        assertThat(handler.get(handle, null), is(HOST_0));
+        handler.fail(handle);
+        assertThat(handler.get(handle, null), is(HOST_0));
     }
 
     @Test
     public void roundRobinHostHandlerMultipleHosts() {
         final HostHandler handler = new RoundRobinHostHandler(MULTIPLE_HOSTS, Service.C8DB);
-        final Host pick0 = handler.get(null, null);
+        final Host pick0 = handler.get(new HostHandle(), null);
         assertThat(pick0, anyOf(is(HOST_0), is(HOST_1), is(HOST_2)));
-        final Host pick1 = handler.get(null, null);
+        final Host pick1 = handler.get(new HostHandle(), null);
         assertThat(pick1, anyOf(is(HOST_0), is(HOST_1), is(HOST_2)));
         assertThat(pick1, is(not(pick0)));
-        final Host pick2 = handler.get(null, null);
+        final Host pick2 = handler.get(new HostHandle(), null);
         assertThat(pick2, anyOf(is(HOST_0), is(HOST_1), is(HOST_2)));
         assertThat(pick2, not(anyOf(is(pick0), is(pick1))));
-        final Host pick4 = handler.get(null, null);
+        final Host pick4 = handler.get(new HostHandle(), null);
         assertThat(pick4, is(pick0));
     }
 
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.cursor;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import com.arangodb.velocypack.VPack;
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.ValueType;
+import com.c8db.C8DBException;
+import com.c8db.entity.CursorEntity;
+import com.c8db.internal.C8CursorExecute;
+import com.c8db.internal.util.DriverExecutor;
+import com.c8db.internal.velocypack.VPackDriverModule;
+
+/**
+ *
+ */
+public class C8CursorIteratorTest {
+
+    private static final int BATCH_SIZE = 10;
+    private static final VPack VPACK = new VPack.Builder().registerModule(new VPackDriverModule()).build();
+    private static final DriverExecutor EXECUTOR = new DriverExecutor();
+
+    @AfterClass
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    public void iterateWithPrefetch() {
+        final Batches batches = new Batches(5);
+        final C8CursorIterator<Integer> iterator = iterator(batches, 2);
+        final List<Integer> values = new ArrayList<Integer>();
+        while (iterator.hasNext()) {
+            values.add(iterator.next());
+        }
+        assertThat(values.size(), is(5 * BATCH_SIZE));
+        for (int i = 0; i < values.size(); i++) {
+            assertThat(values.get(i), is(i));
+        }
+        assertThat(batches.fetched.get(), is(4));
+    }
+
+    @Test
+    public void slowPrefetchStopsAtLastBatch() throws InterruptedException {
+        final Batches batches = new Batches(3);
+        batches.delayMillis = 50L;
+        final C8CursorIterator<Integer> iterator = iterator(batches, 4);
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        Thread.sleep(200L);
+        assertThat(count, is(3 * BATCH_SIZE));
+        assertThat(batches.fetched.get(), is(2));
+    }
+
+    @Test
+    public void prefetchIsBounded() throws InterruptedException {
+        final Batches batches = new Batches(10);
+        final C8CursorIterator<Integer> iterator = iterator(batches, 2);
+        Thread.sleep(200L);
+        assertThat(batches.fetched.get(), is(2));
+
+        for (int i = 0; i < BATCH_SIZE + 1; i++) {
+            iterator.next();
+        }
+        Thread.sleep(200L);
+        assertThat(batches.fetched.get(), is(3));
+    }
+
+    @Test
+    public void prefetchOnBusyExecutor() throws InterruptedException {
+        final DriverExecutor single = new DriverExecutor(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            single.execute(() -> {
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            final Batches batches = new Batches(4);
+            final CursorEntity first = batches.batch(0);
+            final C8CursorImpl<Integer> cursor = new C8CursorImpl<Integer>(null, batches, Integer.class, first);
+            final C8CursorIterator<Integer> iterator = new C8CursorIterator<Integer>(cursor, batches, null, first, 2,
+                    single) {
+                @Override
+                protected <R> R deserialize(final VPackSlice result, final Class<R> type) {
+                    return type.cast(result.getAsInt());
+                }
+            };
+            int count = 0;
+            while (iterator.hasNext()) {
+                assertThat(iterator.next(), is(count++));
+            }
+            assertThat(count, is(4 * BATCH_SIZE));
+        } finally {
+            release.countDown();
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    public void cancelStopsPrefetch() throws InterruptedException {
+        final Batches batches = new Batches(10);
+        final C8CursorIterator<Integer> iterator = iterator(batches, 3);
+        iterator.next();
+        final CursorEntity last = iterator.cancel();
+        assertThat(last.getHasMore(), is(true));
+        final int fetched = batches.fetched.get();
+        Thread.sleep(200L);
+        assertThat(batches.fetched.get(), is(fetched));
+    }
+
+    @Test(expected = C8DBException.class)
+    public void reportPrefetchFailure() {
+        final Batches batches = new Batches(3);
+        batches.failAt = 2;
+        final C8CursorIterator<Integer> iterator = iterator(batches, 2);
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+    }
+
+    @Test
+    public void parallelStreamKeepsOrder() {
+        final Batches batches = new Batches(5);
+        final C8CursorIterator<Integer> iterator = iterator(batches, 0);
+        final List<Integer> values = StreamSupport
+                .stream(new C8CursorSpliterator<Integer>(iterator), true).map(i -> i * 2)
+                .collect(Collectors.toList());
+        assertThat(values.size(), is(5 * BATCH_SIZE));
+        for (int i = 0; i < values.size(); i++) {
+            assertThat(values.get(i), is(i * 2));
+        }
+        assertThat(batches.fetched.get(), is(4));
+    }
+
+    @Test
+    public void sequentialStreamWithPrefetch() {
+        final Batches batches = new Batches(3);
+        final C8CursorIterator<Integer> iterator = iterator(batches, 2);
+        final long sum = StreamSupport.stream(new C8CursorSpliterator<Integer>(iterator), false)
+                .mapToLong(i -> i).sum();
+        assertThat(sum, is((long) (3 * BATCH_SIZE) * (3 * BATCH_SIZE - 1) / 2));
+    }
+
+    @Test
+    public void closeStreamClosesCursor() {
+        final Batches batches = new Batches(3);
+        final C8CursorImpl<Integer> cursor = new C8CursorImpl<Integer>(null, batches, Integer.class, batches.batch(0));
+        try (Stream<Integer> stream = cursor.parallelStream()) {
+            assertThat(stream.isParallel(), is(true));
+        }
+        assertThat(batches.closed.get(), is(1));
+    }
+
+    @Test
+    public void rawResultsShareBatchBuffer() {
+        final Batches batches = new Batches(2);
+        final CursorEntity first = batches.batch(0);
+        final C8CursorImpl<VPackSlice> cursor = new C8CursorImpl<VPackSlice>(null, batches, VPackSlice.class, first);
+        final C8CursorIterator<VPackSlice> iterator = new C8CursorIterator<VPackSlice>(cursor, batches, null, first) {
+            @Override
+            protected <R> R deserialize(final VPackSlice result, final Class<R> type) {
+                throw new AssertionError("raw results must not be deserialized");
+            }
+        };
+        final VPackSlice value = iterator.next();
+        assertThat(value.getAsInt(), is(0));
+        assertThat(value.getBuffer() == first.getResult().getBuffer(), is(true));
+
+        final List<Integer> values = StreamSupport.stream(new C8CursorSpliterator<VPackSlice>(iterator), true)
+                .map(VPackSlice::getAsInt).collect(Collectors.toList());
+        assertThat(values.size(), is(2 * BATCH_SIZE - 1));
+        assertThat(values.get(0), is(1));
+    }
+
+    private static C8CursorIterator<Integer> iterator(final Batches batches, final int prefetch) {
+        final CursorEntity first = batches.batch(0);
+        final C8CursorImpl<Integer> cursor = new C8CursorImpl<Integer>(null, batches, Integer.class, first);
+        return new C8CursorIterator<Integer>(cursor, batches, null, first, prefetch, EXECUTOR) {
+            @Override
+            protected <R> R deserialize(final VPackSlice result, final Class<R> type) {
+                return type.cast(result.getAsInt());
+            }
+        };
+    }
+
+    private static class Batches implements C8CursorExecute {
+
+        private final int count;
+        private final AtomicInteger fetched = new AtomicInteger();
+        private final AtomicInteger closed = new AtomicInteger();
+        private volatile int failAt = -1;
+        private volatile long delayMillis;
+
+        Batches(final int count) {
+            this.count = count;
+        }
+
+        CursorEntity batch(final int index) {
+            final VPackBuilder builder = new VPackBuilder().add(ValueType.OBJECT).add("id", "42")
+                    .add("hasMore", index < count - 1).add("result", ValueType.ARRAY);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                builder.add(index * BATCH_SIZE + i);
+            }
+            builder.close().close();
+            return VPACK.deserialize(builder.slice(), CursorEntity.class);
+        }
+
+        @Override
+        public CursorEntity next(final String id, final Map<String, String> meta) {
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            final int index = fetched.incrementAndGet();
+            if (index == failAt) {
+                throw new C8DBException("batch " + index + " failed");
+            }
+            return batch(index);
+        }
+
+        @Override
+        public void close(final String id, final Map<String, String> meta) {
+            closed.incrementAndGet();
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.http;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.c8db.C8DBException;
+import com.c8db.Protocol;
+import com.c8db.Service;
+import com.c8db.internal.C8ExecutorSync;
+import com.c8db.internal.net.Connection;
+import com.c8db.internal.net.ConnectionPool;
+import com.c8db.internal.net.FallbackHostHandler;
+import com.c8db.internal.net.HostDescription;
+import com.c8db.internal.net.HostImpl;
+import com.c8db.internal.net.HostResolver;
+import com.c8db.internal.net.HostSet;
+import com.c8db.util.C8Serialization;
+import com.c8db.velocystream.Request;
+import com.c8db.velocystream.RequestType;
+import com.c8db.velocystream.Response;
+
+/**
+ *
+ */
+public class HttpCommunicationAsyncTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final HostSet hosts = new HostSet();
+    private final HttpConnectionAsync refusing = new HttpConnectionAsync(new HttpConnection.Builder()
+            .host(new HostDescription("127.0.0.1", 8529)).useSsl(false).responseSizeLimit(1024)
+            .contentType(Protocol.HTTP_JSON).build(), 1, null, 1024, null, null, false, null) {
+        @Override
+        public CompletableFuture<Response> execute(final Request request) {
+            attempts.incrementAndGet();
+            final CompletableFuture<Response> result = new CompletableFuture<>();
+            result.completeExceptionally(new ConnectException("Connection refused"));
+            return result;
+        }
+    };
+
+    private final HostResolver resolver = new HostResolver() {
+        @Override
+        public HostSet resolve(final Service service, final boolean initial, final boolean closeConnections) {
+            return hosts;
+        }
+
+        @Override
+        public void init(final C8ExecutorSync executor, final C8Serialization arangoSerialization) {
+        }
+    };
+
+    @After
+    public void close() throws IOException {
+        refusing.close();
+    }
+
+    private ConnectionPool pool() {
+        return new ConnectionPool() {
+            @Override
+            public Connection createConnection(final HostDescription host) {
+                return refusing;
+            }
+
+            @Override
+            public Connection connection() {
+                return refusing;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    @Test
+    public void completeIfAllHostsFail() throws Exception {
+        hosts.addHost(new HostImpl(pool(), new HostDescription("127.0.0.1", 8529)));
+        hosts.addHost(new HostImpl(pool(), new HostDescription("127.0.0.2", 8529)));
+        final HttpCommunicationAsync communication = new HttpCommunicationAsync(
+                Collections.singletonMap(Service.C8DB, new FallbackHostHandler(resolver, Service.C8DB)));
+        final CompletableFuture<Response> response = communication
+                .execute(new Request("t", "db", RequestType.GET, "/_api/version"), null, Service.C8DB);
+        try {
+            response.get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (final ExecutionException e) {
+            // the fallback handler gives up after trying every host a few times
+            assertThat(e.getCause(), is(instanceOf(C8DBException.class)));
+            assertThat(attempts.get(), is(6));
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.http;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Map;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Test;
+
+import com.c8db.entity.CursorEntity;
+
+/**
+ *
+ */
+public class HttpHeaderMapTest {
+
+    private static HttpResponse response() {
+        final HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.addHeader("Content-Type", "application/json");
+        response.addHeader("Content-Length", "42");
+        response.addHeader("X-C8-Endpoint", "host1");
+        response.addHeader("X-C8-Endpoint", "host2");
+        return response;
+    }
+
+    @Test
+    public void lookup() {
+        final HttpResponse response = response();
+        final Map<String, String> meta = new HttpHeaderMap(response);
+        assertThat(meta.get("content-type"), is("application/json"));
+        assertThat(meta.get("X-C8-Endpoint"), is("host2"));
+        assertThat(meta.containsKey("Content-Length"), is(true));
+        assertThat(meta.containsKey("Location"), is(false));
+        assertThat(meta.get("Location"), is(nullValue()));
+        // not copied yet
+        response.addHeader("Location", "/");
+        assertThat(meta.get("Location"), is("/"));
+    }
+
+    @Test
+    public void copyOnIteration() {
+        final HttpResponse response = response();
+        final Map<String, String> meta = new HttpHeaderMap(response);
+        assertThat(meta.size(), is(3));
+        response.addHeader("Location", "/");
+        assertThat(meta.containsKey("Location"), is(false));
+        assertThat(meta.get("x-c8-endpoint"), is("host2"));
+    }
+
+    @Test
+    public void modify() {
+        final HttpResponse response = response();
+        final Map<String, String> meta = new HttpHeaderMap(response);
+        meta.put("Location", "/");
+        meta.remove("content-length");
+        assertThat(meta.size(), is(3));
+        assertThat(meta.get("Location"), is("/"));
+        assertThat(response.containsHeader("Location"), is(false));
+        assertThat(response.containsHeader("Content-Length"), is(true));
+    }
+
+    @Test
+    public void cursorMeta() {
+        final CursorEntity cursor = new CursorEntity();
+        cursor.setMeta(new HttpHeaderMap(response()));
+        assertThat(cursor.getMeta().containsKey("Content-Length"), is(false));
+        assertThat(cursor.getMeta().get("Content-Type"), is("application/json"));
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.http;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.c8db.Protocol;
+import com.c8db.SecretProvider;
+import com.c8db.internal.SecretProviderContext;
+
+/**
+ *
+ */
+public class JwtTokenManagerTest {
+
+    private static String jwt(final long exp, final int n) {
+        final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(("{\"exp\":" + exp + ",\"n\":" + n + "}").getBytes(StandardCharsets.UTF_8))
+                + ".signature";
+    }
+
+    private static class CountingSecretProvider implements SecretProvider {
+
+        private final AtomicInteger fetches = new AtomicInteger();
+        private final long lifetime;
+        private final CountDownLatch release;
+
+        CountingSecretProvider(final long lifetime, final CountDownLatch release) {
+            this.lifetime = lifetime;
+            this.release = release;
+        }
+
+        @Override
+        public void init(final SecretProviderContext context) {
+        }
+
+        @Override
+        public String fetchSecret(final String tenant, final String user) {
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return jwt((System.currentTimeMillis() + lifetime) / 1000L, fetches.incrementAndGet());
+        }
+    }
+
+    private static JwtTokenManager manager(final SecretProvider secretProvider) {
+        return new JwtTokenManager(secretProvider, "root", "", null, false, null, null, null, Protocol.HTTP_JSON,
+                null);
+    }
+
+    @Test
+    public void expiresAt() {
+        assertThat(JwtTokenManager.expiresAt(jwt(1700000000L, 1)), is(1700000000000L));
+        assertThat(JwtTokenManager.expiresAt("no-jwt"), is(-1L));
+        assertThat(JwtTokenManager.expiresAt("a.%%%.c"), is(-1L));
+    }
+
+    @Test
+    public void concurrentFetchesAreCollapsed() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountingSecretProvider secretProvider = new CountingSecretProvider(3600L * 1000L, release);
+        final JwtTokenManager manager = manager(secretProvider);
+        final ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            final List<Future<String>> tokens = new ArrayList<Future<String>>();
+            for (int i = 0; i < 16; i++) {
+                tokens.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        return manager.token("tenant", "root");
+                    }
+                }));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            final String first = tokens.get(0).get();
+            for (final Future<String> token : tokens) {
+                assertThat(token.get(), is(first));
+            }
+            assertThat(secretProvider.fetches.get(), is(1));
+            assertThat(manager.cached("tenant", "root"), is(first));
+            assertThat(manager.cached("other", "root"), is(nullValue()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void refreshRejectedTokenOnce() {
+        final CountingSecretProvider secretProvider = new CountingSecretProvider(3600L * 1000L,
+                new CountDownLatch(0));
+        final JwtTokenManager manager = manager(secretProvider);
+        final String rejected = manager.token("tenant", "root");
+        final String refreshed = manager.refresh("tenant", "root", rejected);
+        assertThat(refreshed, is(not(rejected)));
+        assertThat(manager.refresh("tenant", "root", rejected), is(refreshed));
+        assertThat(secretProvider.fetches.get(), is(2));
+    }
+
+    @Test
+    public void refreshAheadOfExpiry() throws Exception {
+        final CountingSecretProvider secretProvider = new CountingSecretProvider(7000L, new CountDownLatch(0));
+        final JwtTokenManager manager = manager(secretProvider);
+        manager.retain();
+        try {
+            final String first = manager.token("tenant", "root");
+            manager.cached("tenant", "root");
+            Thread.sleep(4000L);
+            assertThat(secretProvider.fetches.get(), is(2));
+            assertThat(manager.cached("tenant", "root"), is(not(first)));
+        } finally {
+            manager.release();
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.http;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.apache.http.entity.ContentType;
+import org.junit.Test;
+
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackParser;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.ValueType;
+
+/**
+ *
+ */
+public class VPackJsonEntityTest {
+
+    private static final VPackParser PARSER = new VPackParser.Builder().build();
+
+    @Test
+    public void writeLikeToString() throws IOException {
+        assertSameJson(PARSER.fromJson("{\"_key\":\"a/b\",\"n\":null,\"t\":true,\"f\":false,\"i\":-3,\"l\":1234567890123,"
+                + "\"d\":0.25,\"s\":\"\\\"quoted\\\"\\n\\u0001 ä€\",\"a\":[1,[2,{}],null,\"x\"],\"o\":{\"p\":{}}}"));
+        assertSameJson(PARSER.fromJson("[]"));
+        assertSameJson(PARSER.fromJson("\"value\""));
+        final VPackBuilder builder = new VPackBuilder();
+        builder.add(ValueType.OBJECT);
+        builder.add("u", BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE));
+        builder.add("date", new Date(1500000000000L));
+        builder.add("min", Long.MIN_VALUE);
+        builder.close();
+        assertSameJson(builder.slice());
+    }
+
+    @Test
+    public void writeSliceInsideBuffer() throws IOException {
+        final VPackSlice array = PARSER.fromJson("[{\"a\":1},{\"b\":[2,3]}]");
+        assertSameJson(array.get(1));
+    }
+
+    @Test
+    public void repeatable() throws IOException {
+        final VPackJsonEntity entity = new VPackJsonEntity(PARSER.fromJson("{\"a\":\"b\"}"),
+            ContentType.APPLICATION_JSON);
+        assertThat(write(entity), is(write(entity)));
+        assertThat(entity.isRepeatable(), is(true));
+    }
+
+    @Test
+    public void encodeOnce() throws IOException {
+        final VPackSlice slice = PARSER.fromJson("{\"a\":\"b\"}");
+        final VPackJsonEntity entity = new VPackJsonEntity(slice, ContentType.APPLICATION_JSON);
+        final long length = entity.getContentLength();
+        // later changes of the buffer are not seen by the written body
+        Arrays.fill(slice.getBuffer(), (byte) 0);
+        assertThat(new String(write(entity), StandardCharsets.UTF_8), is("{\"a\":\"b\"}"));
+        assertThat(entity.getContentLength(), is(length));
+    }
+
+    private static void assertSameJson(final VPackSlice slice) throws IOException {
+        final VPackJsonEntity entity = new VPackJsonEntity(slice, ContentType.APPLICATION_JSON);
+        final byte[] expected = slice.toString().getBytes(StandardCharsets.UTF_8);
+        final byte[] written = write(entity);
+        assertThat(new String(written, StandardCharsets.UTF_8), is(slice.toString()));
+        assertThat(entity.getContentLength(), is((long) expected.length));
+    }
+
+    private static byte[] write(final VPackJsonEntity entity) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entity.writeTo(out);
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.net;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.c8db.Service;
+import com.c8db.internal.C8ExecutorSync;
+import com.c8db.util.C8Serialization;
+
+/**
+ *
+ */
+public class HostHandlerConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int ITERATIONS = 3000;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void dirtyReadRoutesOutcomeToSelectingHandler() throws Exception {
+        final Host master = new HostImpl(null, new HostDescription("127.0.0.1", 8529));
+        final Host follower = new HostImpl(null, new HostDescription("127.0.0.2", 8529));
+        final RecordingHostHandler masterHandler = new RecordingHostHandler(master);
+        final RecordingHostHandler followerHandler = new RecordingHostHandler(follower);
+        final HostHandler handler = new DirtyReadHostHandler(masterHandler, followerHandler);
+
+        run(new Callable<Void>() {
+            @Override
+            public Void call() {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    final boolean dirty = ThreadLocalRandom.current().nextBoolean();
+                    final HostHandle handle = new HostHandle();
+                    final Host host = handler.get(handle, dirty ? AccessType.DIRTY_READ : AccessType.WRITE);
+                    assertThat(host, is(dirty ? follower : master));
+                    Thread.yield();
+                    if (i % 2 == 0) {
+                        handler.fail(handle);
+                    } else {
+                        handler.success(handle);
+                    }
+                }
+                return null;
+            }
+        });
+
+        assertThat(masterHandler.misrouted.get(), is(0));
+        assertThat(followerHandler.misrouted.get(), is(0));
+        assertThat(masterHandler.outcomes.get() + followerHandler.outcomes.get(), is(THREADS * ITERATIONS));
+    }
+
+    @Test
+    public void roundRobinSpreadsEvenly() throws Exception {
+        final HostSet hosts = new HostSet();
+        for (int i = 0; i < 4; i++) {
+            hosts.addHost(new HostImpl(null, new HostDescription("127.0.0." + (i + 1), 8529)));
+        }
+        final HostHandler handler = new RoundRobinHostHandler(resolver(hosts), Service.C8DB);
+        final List<Host> list = hosts.getHostsList();
+        final AtomicInteger[] counts = new AtomicInteger[list.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new AtomicInteger();
+        }
+
+        run(new Callable<Void>() {
+            @Override
+            public Void call() {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    final HostHandle handle = new HostHandle();
+                    final Host host = handler.get(handle, AccessType.WRITE);
+                    assertThat(handle.getCurrent(), is(host));
+                    assertThat(handle.getHost(), is(host.getDescription()));
+                    counts[list.indexOf(host)].incrementAndGet();
+                }
+                return null;
+            }
+        });
+
+        for (final AtomicInteger count : counts) {
+            assertThat(count.get(), is(THREADS * ITERATIONS / counts.length));
+        }
+    }
+
+    @Test
+    public void fallbackMovesOnOnceForConcurrentFailures() throws Exception {
+        final HostSet hosts = new HostSet();
+        final Host first = new HostImpl(null, new HostDescription("127.0.0.1", 8529));
+        final Host second = new HostImpl(null, new HostDescription("127.0.0.2", 8529));
+        hosts.addHost(first);
+        hosts.addHost(second);
+        hosts.addHost(new HostImpl(null, new HostDescription("127.0.0.3", 8529)));
+        final HostHandler handler = new FallbackHostHandler(resolver(hosts), Service.C8DB);
+        final CountDownLatch selected = new CountDownLatch(THREADS);
+
+        run(new Callable<Void>() {
+            @Override
+            public Void call() throws InterruptedException {
+                final HostHandle handle = new HostHandle();
+                assertThat(handler.get(handle, AccessType.WRITE), is(first));
+                selected.countDown();
+                selected.await();
+                handler.fail(handle);
+                assertThat(handler.get(handle, AccessType.WRITE), is(second));
+                return null;
+            }
+        });
+    }
+
+    @Test
+    public void readHostSetWhileChanging() throws Exception {
+        final HostSet hosts = new HostSet();
+        hosts.addHost(new HostImpl(null, new HostDescription("127.0.0.1", 8529)));
+        final AtomicInteger added = new AtomicInteger();
+
+        run(new Callable<Void>() {
+            @Override
+            public Void call() {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    if (i % 100 == 0) {
+                        hosts.addHost(new HostImpl(null, new HostDescription("10.0.0.1", added.incrementAndGet())));
+                    }
+                    int size = 0;
+                    for (final Host host : hosts.getHostsList()) {
+                        size += host.getDescription().getPort() > 0 ? 1 : 0;
+                    }
+                    assertThat(size > 0, is(true));
+                }
+                return null;
+            }
+        });
+
+        assertThat(hosts.getHostsList().size() > 1, is(true));
+    }
+
+    private void run(final Callable<Void> task) throws Exception {
+        final List<Future<Void>> futures = new ArrayList<Future<Void>>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(task));
+        }
+        for (final Future<Void> future : futures) {
+            // rethrows assertion errors of the workers
+            future.get();
+        }
+    }
+
+    private static HostResolver resolver(final HostSet hosts) {
+        return new HostResolver() {
+            @Override
+            public HostSet resolve(final Service service, final boolean initial, final boolean closeConnections) {
+                return hosts;
+            }
+
+            @Override
+            public void init(final C8ExecutorSync executor, final C8Serialization arangoSerialization) {
+            }
+        };
+    }
+
+    private static class RecordingHostHandler implements HostHandler {
+
+        private final Host host;
+        private final AtomicInteger outcomes = new AtomicInteger();
+        private final AtomicInteger misrouted = new AtomicInteger();
+
+        RecordingHostHandler(final Host host) {
+            this.host = host;
+        }
+
+        @Override
+        public Host get(final HostHandle hostHandle, final AccessType accessType) {
+            hostHandle.setCurrent(host);
+            return host;
+        }
+
+        @Override
+        public void success(final HostHandle hostHandle) {
+            record(hostHandle);
+        }
+
+        @Override
+        public void fail(final HostHandle hostHandle) {
+            record(hostHandle);
+        }
+
+        private void record(final HostHandle hostHandle) {
+            outcomes.incrementAndGet();
+            if (hostHandle.getCurrent() != host) {
+                misrouted.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void reset(final HostHandle hostHandle) {
+        }
+
+        @Override
+        public void confirm() {
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+
+        @Override
+        public void closeCurrentOnError(final HostHandle hostHandle) {
+        }
+    }
+
+}
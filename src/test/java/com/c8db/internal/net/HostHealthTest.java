@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.net;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import com.c8db.C8DBException;
+import com.c8db.Service;
+import com.c8db.internal.C8ExecutorSync;
+import com.c8db.util.C8Serialization;
+
+/**
+ *
+ */
+public class HostHealthTest {
+
+    @Test
+    public void openAfterConsecutiveFailures() {
+        final HostHealth health = new HostHealth();
+        for (int i = 0; i < 4; i++) {
+            health.record(health.begin(), new IOException());
+        }
+        assertThat(health.getState(), is(HostHealth.State.CLOSED));
+        health.record(health.begin(), new IOException());
+        assertThat(health.getState(), is(HostHealth.State.OPEN));
+        assertThat(health.isAvailable(), is(false));
+        assertThat(health.acquireProbe(), is(false));
+    }
+
+    @Test
+    public void openOnErrorRate() {
+        final HostHealth health = new HostHealth();
+        for (int i = 0; i < 5; i++) {
+            health.success(1000L);
+            health.failure();
+        }
+        assertThat(health.getState(), is(HostHealth.State.OPEN));
+    }
+
+    @Test
+    public void clientErrorsDoNotCount() {
+        final HostHealth health = new HostHealth();
+        for (int i = 0; i < 10; i++) {
+            health.record(health.begin(), new C8DBException("not found", 404));
+        }
+        assertThat(health.getState(), is(HostHealth.State.CLOSED));
+        health.record(health.begin(), new C8DBException("unavailable", 503));
+        assertThat(health.getLatency() >= 0, is(true));
+    }
+
+    @Test
+    public void singleProbeAfterEjection() throws InterruptedException {
+        final HostHealth health = new HostHealth(50L);
+        open(health);
+        Thread.sleep(100L);
+        assertThat(health.acquireProbe(), is(true));
+        assertThat(health.getState(), is(HostHealth.State.HALF_OPEN));
+        assertThat(health.isAvailable(), is(false));
+        assertThat(health.acquireProbe(), is(false));
+
+        health.failure();
+        assertThat(health.getState(), is(HostHealth.State.OPEN));
+        Thread.sleep(150L);
+        assertThat(health.acquireProbe(), is(true));
+        health.success(1000L);
+        assertThat(health.getState(), is(HostHealth.State.CLOSED));
+        assertThat(health.acquireProbe(), is(true));
+    }
+
+    @Test
+    public void evaluatingKeepsProbe() throws InterruptedException {
+        final HostHealth health = new HostHealth(50L);
+        open(health);
+        Thread.sleep(100L);
+        assertThat(health.isAvailable(), is(true));
+        assertThat(health.isAvailable(), is(true));
+        assertThat(health.getState(), is(HostHealth.State.OPEN));
+        assertThat(health.acquireProbe(), is(true));
+        assertThat(health.getState(), is(HostHealth.State.HALF_OPEN));
+    }
+
+    @Test
+    public void roundRobinSkipsEjectedHost() {
+        final Host host0 = new HostImpl(null, new HostDescription("127.0.0.1", 8529));
+        final Host host1 = new HostImpl(null, new HostDescription("127.0.0.2", 8529));
+        final HostSet set = new HostSet();
+        set.addHost(host0);
+        set.addHost(host1);
+        final HostHandler handler = new RoundRobinHostHandler(new HostResolver() {
+            @Override
+            public HostSet resolve(final Service service, final boolean initial, final boolean closeConnections) {
+                return set;
+            }
+
+            @Override
+            public void init(final C8ExecutorSync executor, final C8Serialization arangoSerialization) {
+            }
+        }, Service.C8DB);
+
+        open(host0.getHealth());
+        for (int i = 0; i < 4; i++) {
+            assertThat(handler.get(new HostHandle(), null), is(host1));
+        }
+        open(host1.getHealth());
+        // all hosts are ejected, keep on trying instead of failing
+        assertThat(handler.get(new HostHandle(), null), is(host0));
+    }
+
+    private static void open(final HostHealth health) {
+        while (health.getState() != HostHealth.State.OPEN) {
+            health.failure();
+        }
+    }
+
+}
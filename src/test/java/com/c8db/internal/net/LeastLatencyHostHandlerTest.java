@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.net;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.c8db.Service;
+import com.c8db.internal.C8ExecutorSync;
+import com.c8db.util.C8Serialization;
+
+/**
+ *
+ */
+public class LeastLatencyHostHandlerTest {
+
+    private final Host fast = new HostImpl(null, new HostDescription("127.0.0.1", 8529));
+    private final Host slow = new HostImpl(null, new HostDescription("127.0.0.2", 8529));
+    private final HostSet hosts = new HostSet();
+
+    private final HostResolver resolver = new HostResolver() {
+        @Override
+        public HostSet resolve(final Service service, final boolean initial, final boolean closeConnections) {
+            return hosts;
+        }
+
+        @Override
+        public void init(final C8ExecutorSync executor, final C8Serialization arangoSerialization) {
+        }
+    };
+
+    @Test
+    public void preferFasterHost() {
+        hosts.addHost(fast);
+        hosts.addHost(slow);
+        fast.getHealth().success(1000000L);
+        slow.getHealth().success(100000000L);
+        final HostHandler handler = new LeastLatencyHostHandler(resolver, Service.C8DB);
+        for (int i = 0; i < 100; i++) {
+            assertThat(handler.get(new HostHandle(), null), is(fast));
+        }
+    }
+
+    @Test
+    public void avoidOverloadedHost() {
+        hosts.addHost(fast);
+        hosts.addHost(slow);
+        fast.getHealth().success(1000000L);
+        slow.getHealth().success(5000000L);
+        for (int i = 0; i < 10; i++) {
+            fast.getHealth().begin();
+        }
+        final HostHandler handler = new LeastLatencyHostHandler(resolver, Service.C8DB);
+        assertThat(handler.get(new HostHandle(), null), is(slow));
+    }
+
+    @Test
+    public void measureUnknownHosts() {
+        hosts.addHost(fast);
+        hosts.addHost(slow);
+        fast.getHealth().success(1000000L);
+        final HostHandler handler = new LeastLatencyHostHandler(resolver, Service.C8DB);
+        assertThat(handler.get(new HostHandle(), null), is(slow));
+    }
+
+    @Test
+    public void skipEjectedHost() {
+        hosts.addHost(fast);
+        hosts.addHost(slow);
+        fast.getHealth().success(1000000L);
+        slow.getHealth().success(100000000L);
+        while (fast.getHealth().getState() != HostHealth.State.OPEN) {
+            fast.getHealth().failure();
+        }
+        final HostHandler handler = new LeastLatencyHostHandler(resolver, Service.C8DB);
+        assertThat(handler.get(new HostHandle(), null), is(slow));
+    }
+
+    @Test
+    public void spreadOverEqualHosts() {
+        final Host third = new HostImpl(null, new HostDescription("127.0.0.3", 8529));
+        hosts.addHost(fast);
+        hosts.addHost(slow);
+        hosts.addHost(third);
+        final HostHandler handler = new LeastLatencyHostHandler(resolver, Service.C8DB);
+        int first = 0;
+        for (int i = 0; i < 300; i++) {
+            if (handler.get(new HostHandle(), null) == fast) {
+                first++;
+            }
+        }
+        assertThat(first, is(greaterThan(30)));
+    }
+
+    @Test
+    public void probeOnlyPickedHost() throws InterruptedException {
+        final Host host0 = new HostImpl(null, new HostDescription("127.0.0.4", 8529), new HostHealth(50L));
+        final Host host1 = new HostImpl(null, new HostDescription("127.0.0.5", 8529), new HostHealth(50L));
+        hosts.addHost(host0);
+        hosts.addHost(host1);
+        for (final Host host : new Host[] { host0, host1 }) {
+            while (host.getHealth().getState() != HostHealth.State.OPEN) {
+                host.getHealth().failure();
+            }
+        }
+        Thread.sleep(100L);
+        final HostHandler handler = new LeastLatencyHostHandler(resolver, Service.C8DB);
+        final Host picked = handler.get(new HostHandle(), null);
+        final Host other = picked == host0 ? host1 : host0;
+        assertThat(picked.getHealth().getState(), is(HostHealth.State.HALF_OPEN));
+        assertThat(other.getHealth().getState(), is(HostHealth.State.OPEN));
+        assertThat(handler.get(new HostHandle(), null), is(other));
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.util;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ *
+ */
+public class ChunkedBufferTest {
+
+    private static byte[] bytes(final ChunkedBuffer buffer) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        buffer.writeTo(out);
+        return out.toByteArray();
+    }
+
+    @Test
+    public void writeAcrossChunks() throws IOException {
+        final byte[] expected = new byte[ChunkedBuffer.CHUNK_SIZE * 2 + 10];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (byte) i;
+        }
+        final ChunkedBuffer buffer = new ChunkedBuffer();
+        buffer.write(expected[0]);
+        buffer.write(expected, 1, ChunkedBuffer.CHUNK_SIZE);
+        buffer.write(expected, ChunkedBuffer.CHUNK_SIZE + 1, expected.length - ChunkedBuffer.CHUNK_SIZE - 1);
+        assertThat(buffer.length(), is((long) expected.length));
+        assertThat(Arrays.equals(bytes(buffer), expected), is(true));
+        assertThat(Arrays.equals(bytes(buffer), expected), is(true));
+    }
+
+    @Test
+    public void fullChunk() throws IOException {
+        final ChunkedBuffer buffer = new ChunkedBuffer();
+        buffer.write(new byte[ChunkedBuffer.CHUNK_SIZE], 0, ChunkedBuffer.CHUNK_SIZE);
+        assertThat(bytes(buffer).length, is(ChunkedBuffer.CHUNK_SIZE));
+    }
+
+    @Test
+    public void reuseReleasedChunks() throws IOException {
+        final ChunkedBuffer buffer = new ChunkedBuffer();
+        buffer.write(new byte[] { 1, 2, 3 }, 0, 3);
+        buffer.release();
+        assertThat(buffer.length(), is(0L));
+        assertThat(bytes(buffer).length, is(0));
+        buffer.write(4);
+        assertThat(bytes(buffer), is(new byte[] { 4 }));
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.util;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+/**
+ *
+ */
+public class DriverExecutorTest {
+
+    @Test
+    public void runOnDaemonThreads() throws InterruptedException {
+        final DriverExecutor executor = new DriverExecutor(2);
+        try {
+            final AtomicReference<Thread> worker = new AtomicReference<Thread>();
+            final CountDownLatch done = new CountDownLatch(1);
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    worker.set(Thread.currentThread());
+                    done.countDown();
+                }
+            });
+            assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+            assertThat(worker.get().isDaemon(), is(true));
+            assertThat(worker.get().getName().startsWith("c8db-worker-"), is(true));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void runOnCallerWhenBusy() throws InterruptedException {
+        final DriverExecutor executor = new DriverExecutor(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        release.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            final AtomicReference<Thread> runner = new AtomicReference<Thread>();
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    runner.set(Thread.currentThread());
+                }
+            });
+            assertThat(runner.get(), is(Thread.currentThread()));
+            assertThat(executor.getPoolSize(), is(1));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void rejectAfterShutdown() {
+        final DriverExecutor executor = new DriverExecutor(1);
+        executor.shutdown();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+    }
+
+}
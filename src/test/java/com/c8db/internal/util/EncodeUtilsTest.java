@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.util;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.http.NameValuePair;
+import org.apache.http.client.utils.URLEncodedUtils;
+import org.apache.http.message.BasicNameValuePair;
+import org.junit.Test;
+
+import com.c8db.velocystream.Request;
+import com.c8db.velocystream.RequestType;
+
+/**
+ *
+ */
+public class EncodeUtilsTest {
+
+    private static final List<String> VALUES = Arrays.asList("", "users", "_api", "key-1_a.b", "a b", "a+b", "a%b",
+            "!'()*~", "\u00fcber", "a?b=c&d", "#", "\u20ac", "\ud83d\ude00", "100%");
+
+    private static String encodeURL(final String value) throws UnsupportedEncodingException {
+        return URLEncoder.encode(value, "UTF-8").replaceAll("\\+", "%20").replaceAll("\\%21", "!")
+                .replaceAll("\\%27", "'").replaceAll("\\%28", "(").replaceAll("\\%29", ")").replaceAll("\\%7E", "~");
+    }
+
+    private static String encodePath(final String... params) throws UnsupportedEncodingException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                sb.append("/");
+            }
+            sb.append(params[i].contains("/") ? encodePath(params[i].split("/")) : encodeURL(params[i]));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void encodeURL() throws UnsupportedEncodingException {
+        for (final String value : VALUES) {
+            assertThat(EncodeUtils.encodeURL(value), is(encodeURL(value)));
+        }
+        final String name = "users";
+        assertThat(EncodeUtils.encodeURL(name), is(sameInstance(name)));
+    }
+
+    @Test
+    public void encodePath() throws UnsupportedEncodingException {
+        final List<String[]> paths = new ArrayList<String[]>();
+        paths.add(new String[] { "/_api/document", "users/1" });
+        paths.add(new String[] { "/_api/document", "users/a b" });
+        paths.add(new String[] { "/_api/document/", "users", "k/" });
+        paths.add(new String[] { "/_api/collection", "a//b", "properties" });
+        paths.add(new String[] { "/" });
+        for (final String value : VALUES) {
+            paths.add(new String[] { "/_api/document", value, value + "/" + value });
+        }
+        for (final String[] path : paths) {
+            assertThat(EncodeUtils.encodePath(path), is(encodePath(path)));
+        }
+    }
+
+    @Test
+    public void buildUrl() throws UnsupportedEncodingException {
+        final Request request = new Request("t", "db", RequestType.GET, "/_api/document/users/1");
+        final Map<String, String> params = new LinkedHashMap<String, String>();
+        for (final String value : VALUES) {
+            params.put("p" + value, value);
+        }
+        params.put("none", null);
+        for (final Map.Entry<String, String> param : params.entrySet()) {
+            request.putQueryParam(param.getKey(), param.getValue());
+        }
+        final List<NameValuePair> pairs = new ArrayList<NameValuePair>();
+        for (final Map.Entry<String, String> param : request.getQueryParam().entrySet()) {
+            pairs.add(new BasicNameValuePair(param.getKey(), param.getValue()));
+        }
+        assertThat(RequestUtils.buildUrl("http://h:1", request, true), is("http://h:1/_tenant/t/_fabric/db"
+                + "/_api/document/users/1?" + URLEncodedUtils.format(pairs, "utf-8")));
+        assertThat(RequestUtils.buildUrl("http://h:1", new Request("t", "db", RequestType.GET, "/_api/x"), false),
+                is("http://h:1/_fabric/db/_api/x"));
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.util;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.arangodb.velocypack.VPackParser;
+import com.arangodb.velocypack.VPackSlice;
+
+/**
+ *
+ */
+public class JsonVPackDecoderTest {
+
+    private static final String JSON = "{\"result\":[{\"_key\":\"1\",\"a\":1,\"b\":1.5,\"c\":true,\"d\":null,"
+            + "\"e\":{\"f\":[1,\"x\",false,{}]},\"g\":[]},{\"_key\":\"2\",\"h\":\"\\u00e4\\n\"}],"
+            + "\"hasMore\":false,\"count\":-12345678901,\"error\":false,\"code\":201}";
+
+    private static VPackSlice decode(final String json, final boolean includeNullValues) throws IOException {
+        return JsonVPackDecoder.decode(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                includeNullValues);
+    }
+
+    private static byte[] bytes(final VPackSlice slice) {
+        final byte[] bytes = new byte[slice.getByteSize()];
+        System.arraycopy(slice.getBuffer(), slice.getStart(), bytes, 0, bytes.length);
+        return bytes;
+    }
+
+    @Test
+    public void sameAsParser() throws IOException {
+        final VPackParser parser = new VPackParser.Builder().build();
+        assertThat(bytes(decode(JSON, true)), is(bytes(parser.fromJson(JSON, true))));
+        assertThat(bytes(decode(JSON, false)), is(bytes(parser.fromJson(JSON, false))));
+    }
+
+    @Test
+    public void primitive() throws IOException {
+        assertThat(decode("\"abc\"", true).getAsString(), is("abc"));
+        assertThat(decode("42", true).getAsLong(), is(42L));
+    }
+
+    @Test
+    public void empty() throws IOException {
+        assertThat(decode("", true), is(nullValue()));
+    }
+
+    @Test(expected = IOException.class)
+    public void invalid() throws IOException {
+        decode("<html>Bad Gateway</html>", true);
+    }
+
+}
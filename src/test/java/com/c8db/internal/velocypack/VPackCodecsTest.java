@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.velocypack;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.arangodb.velocypack.VPack;
+import com.arangodb.velocypack.VPackAnnotationFieldNaming;
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackSerializationContext;
+import com.arangodb.velocypack.VPackSerializer;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.annotations.Expose;
+import com.arangodb.velocypack.annotations.SerializedName;
+import com.arangodb.velocypack.exception.VPackException;
+import com.c8db.entity.BaseDocument;
+import com.c8db.entity.DocumentField;
+
+/**
+ *
+ */
+public class VPackCodecsTest {
+
+    public enum Color {
+        RED, GREEN
+    }
+
+    public static class Child {
+        private String name;
+        private int size;
+
+        public Child() {
+            super();
+        }
+    }
+
+    public static class SpecialChild extends Child {
+        private boolean special;
+
+        public SpecialChild() {
+            super();
+        }
+    }
+
+    public static class Pojo {
+        @DocumentField(DocumentField.Type.KEY)
+        private String key;
+        @SerializedName("renamed")
+        private String name;
+        @Expose(serialize = false)
+        private String readOnly;
+        private transient String ignored;
+        private int count;
+        private long total;
+        private double ratio;
+        private boolean active;
+        private Integer boxed;
+        private Color color;
+        private Child child;
+        private List<String> tags;
+        private Map<String, Object> properties;
+
+        public Pojo() {
+            super();
+        }
+    }
+
+    public static class Generic<T> {
+        private T value;
+
+        public Generic() {
+            super();
+        }
+    }
+
+    private final VPack.Builder builder = new VPack.Builder();
+    private final VPackCodecs.Setup setup = new VPackCodecs.Setup(builder).registerModule(new VPackDriverModule());
+
+    private VPack vpack(final boolean serializeNullValues) {
+        return builder.serializeNullValues(serializeNullValues).build();
+    }
+
+    private static Pojo pojo() {
+        final Pojo pojo = new Pojo();
+        pojo.key = "1";
+        pojo.name = "name";
+        pojo.readOnly = "readOnly";
+        pojo.ignored = "ignored";
+        pojo.count = 2;
+        pojo.total = 3L;
+        pojo.ratio = 0.5;
+        pojo.active = true;
+        pojo.color = Color.GREEN;
+        pojo.child = new Child();
+        pojo.child.name = "child";
+        pojo.child.size = 4;
+        pojo.tags = Arrays.asList("a", "b");
+        pojo.properties = Collections.<String, Object> singletonMap("p", 1L);
+        return pojo;
+    }
+
+    @Test
+    public void serializeLikeVPack() {
+        for (final boolean serializeNullValues : new boolean[] { false, true }) {
+            final VPack vpack = vpack(serializeNullValues);
+            final VPackCodecs codecs = setup.codecs(vpack, serializeNullValues);
+            final Pojo pojo = pojo();
+            assertThat(codecs.serialize(pojo), is(vpack.serialize(pojo)));
+            final Pojo empty = new Pojo();
+            assertThat(codecs.serialize(empty), is(vpack.serialize(empty)));
+        }
+    }
+
+    @Test
+    public void serializeSubclassWithTypeHint() {
+        final VPack vpack = vpack(false);
+        final Pojo pojo = pojo();
+        final SpecialChild child = new SpecialChild();
+        child.special = true;
+        pojo.child = child;
+        final VPackSlice slice = setup.codecs(vpack, false).serialize(pojo);
+        assertThat(slice, is(vpack.serialize(pojo)));
+        assertThat(slice.get("child").get("_class").getAsString(), is(SpecialChild.class.getName()));
+    }
+
+    @Test
+    public void deserializeLikeVPack() {
+        final VPack vpack = vpack(false);
+        final VPackCodecs.PojoCodec<Pojo> codec = setup.codecs(vpack, false).codec(Pojo.class);
+        assertThat(codec, is(notNullValue()));
+        final Pojo pojo = codec.deserialize(vpack.serialize(pojo()));
+        assertThat(pojo.key, is("1"));
+        assertThat(pojo.name, is("name"));
+        assertThat(pojo.readOnly, is(nullValue()));
+        assertThat(pojo.ignored, is(nullValue()));
+        assertThat(pojo.count, is(2));
+        assertThat(pojo.total, is(3L));
+        assertThat(pojo.ratio, is(0.5));
+        assertThat(pojo.active, is(true));
+        assertThat(pojo.boxed, is(nullValue()));
+        assertThat(pojo.color, is(Color.GREEN));
+        assertThat(pojo.child.name, is("child"));
+        assertThat(pojo.child.size, is(4));
+        assertThat(pojo.tags, is(Arrays.asList("a", "b")));
+        assertThat(pojo.properties.get("p"), is((Object) 1L));
+    }
+
+    @Test
+    public void deserializeTypeHint() {
+        final VPack vpack = vpack(false);
+        final Pojo pojo = pojo();
+        final SpecialChild child = new SpecialChild();
+        child.special = true;
+        pojo.child = child;
+        final Pojo result = setup.codecs(vpack, false).codec(Pojo.class).deserialize(vpack.serialize(pojo));
+        assertThat(result.child instanceof SpecialChild, is(true));
+        assertThat(((SpecialChild) result.child).special, is(true));
+    }
+
+    @Test
+    public void leaveRegisteredAndGenericTypesToVPack() {
+        final VPackCodecs codecs = setup.codecs(vpack(false), false);
+        assertThat(codecs.codec(BaseDocument.class), is(nullValue()));
+        assertThat(codecs.codec(String.class), is(nullValue()));
+        assertThat(codecs.codec(Generic.class), is(nullValue()));
+        assertThat(codecs.serialize(new BaseDocument("1")), is(nullValue()));
+    }
+
+    @Test
+    public void leaveClassesRegisteredThroughSetupToVPack() {
+        setup.registerSerializer(Child.class, new VPackSerializer<Child>() {
+            @Override
+            public void serialize(final VPackBuilder builder, final String attribute, final Child value,
+                    final VPackSerializationContext context) throws VPackException {
+                builder.add(attribute, value.name);
+            }
+        });
+        final VPack vpack = vpack(false);
+        final VPackCodecs codecs = setup.codecs(vpack, false);
+        assertThat(codecs.codec(Child.class), is(nullValue()));
+        final Pojo pojo = pojo();
+        final VPackSlice slice = codecs.serialize(pojo);
+        assertThat(slice, is(vpack.serialize(pojo)));
+        assertThat(slice.get("child").getAsString(), is("child"));
+    }
+
+    @Test
+    public void fieldNamingThroughSetup() {
+        setup.annotationFieldNaming(DocumentField.class, new VPackAnnotationFieldNaming<DocumentField>() {
+            @Override
+            public String name(final DocumentField annotation) {
+                return "id";
+            }
+        });
+        final VPack vpack = vpack(false);
+        final Pojo pojo = pojo();
+        final VPackSlice slice = setup.codecs(vpack, false).serialize(pojo);
+        assertThat(slice, is(vpack.serialize(pojo)));
+        assertThat(slice.get("id").getAsString(), is("1"));
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.internal.velocystream.internal;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.ValueType;
+
+/**
+ *
+ */
+public class ChunkStoreTest {
+
+    @Test
+    public void poolSizeClasses() {
+        final ChunkBufferPool pool = new ChunkBufferPool();
+        assertThat(pool.acquire(1).length, is(4096));
+        assertThat(pool.acquire(4097).length, is(8192));
+        assertThat(pool.acquire(2 * 1024 * 1024).length, is(2 * 1024 * 1024));
+    }
+
+    @Test
+    public void poolReusesReleasedBuffers() {
+        final ChunkBufferPool pool = new ChunkBufferPool(1);
+        final byte[] first = pool.acquire(5000);
+        final byte[] second = pool.acquire(5000);
+        pool.release(first);
+        pool.release(second);
+        assertThat(pool.acquire(6000), is(sameInstance(first)));
+        assertThat(pool.acquire(6000), is(not(sameInstance(second))));
+    }
+
+    @Test
+    public void reassembleChunks() throws Exception {
+        final byte[] message = message();
+        final ChunkBufferPool pool = new ChunkBufferPool();
+        final MessageStore messageStore = new MessageStore();
+        final CompletableFuture<Message> future = messageStore.register(1L);
+        final ChunkStore chunkStore = new ChunkStore(messageStore, pool);
+
+        final int split = message.length / 2;
+        final Chunk first = new Chunk(1L, 0, 2, message.length, 0, split);
+        final Chunk second = new Chunk(1L, 1, 2, -1L, split, message.length - split);
+        for (final Chunk chunk : new Chunk[] { first, second }) {
+            final ByteBuffer buffer = chunkStore.storeChunk(chunk);
+            buffer.put(message, chunk.getContentOffset(), chunk.getContentLength());
+            chunkStore.checkCompleteness(chunk.getMessageId());
+        }
+
+        final Message received = future.get();
+        assertThat(received.getHead().get("head").getAsString(), is("value"));
+        assertThat(received.getBody(), is(notNullValue()));
+        assertThat(received.getBody().get("body").getAsInt(), is(42));
+
+        final byte[] buffer = received.getHead().getBuffer();
+        received.release();
+        assertThat(pool.acquire(message.length), is(sameInstance(buffer)));
+    }
+
+    @Test
+    public void releaseUnconsumedMessage() {
+        final byte[] message = message();
+        final ChunkBufferPool pool = new ChunkBufferPool();
+        final ChunkStore chunkStore = new ChunkStore(new MessageStore(), pool);
+
+        final Chunk chunk = new Chunk(1L, 0, 1, -1L, 0, message.length);
+        final ByteBuffer buffer = chunkStore.storeChunk(chunk);
+        buffer.put(message);
+        chunkStore.checkCompleteness(chunk.getMessageId());
+
+        assertThat(pool.acquire(message.length), is(sameInstance(buffer.array())));
+    }
+
+    private static byte[] message() {
+        final VPackSlice head = new VPackBuilder().add(ValueType.OBJECT).add("head", "value").close().slice();
+        final VPackSlice body = new VPackBuilder().add(ValueType.OBJECT).add("body", 42).close().slice();
+        final byte[] message = new byte[head.getByteSize() + body.getByteSize()];
+        System.arraycopy(head.getBuffer(), head.getStart(), message, 0, head.getByteSize());
+        System.arraycopy(body.getBuffer(), body.getStart(), message, head.getByteSize(), body.getByteSize());
+        return message;
+    }
+
+}
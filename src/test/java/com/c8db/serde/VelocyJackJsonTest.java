@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.serde;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.arangodb.velocypack.VPackSlice;
+import com.c8db.VelocyJack;
+import com.c8db.entity.BaseDocument;
+import com.c8db.util.C8Serializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ *
+ */
+public class VelocyJackJsonTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static class Address {
+        private String street;
+        private int zip;
+
+        public Address() {
+            super();
+        }
+    }
+
+    public static class Customer {
+        private String name;
+        private Double score;
+        private Date created;
+        private List<String> tags;
+        private Address address;
+
+        public Customer() {
+            super();
+        }
+    }
+
+    private static Customer customer() {
+        final Customer customer = new Customer();
+        customer.name = "Jane / Doe";
+        customer.created = new Date(1600000000000L);
+        customer.tags = Arrays.asList("a", "b");
+        customer.address = new Address();
+        customer.address.street = "Main Street 1";
+        customer.address.zip = 12345;
+        return customer;
+    }
+
+    private static String json(final VelocyJack jack, final Object value, final boolean serializeNullValues) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        jack.serializeJson(value, new C8Serializer.Options().serializeNullValues(serializeNullValues), out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void assertSameJson(final String actual, final String expected) throws IOException {
+        assertThat(MAPPER.readTree(actual), is(MAPPER.readTree(expected)));
+    }
+
+    @Test
+    public void serializeLikeVPack() throws IOException {
+        final VelocyJack jack = new VelocyJack();
+        for (final boolean serializeNullValues : new boolean[] { false, true }) {
+            final VPackSlice vpack = jack.serialize(customer(),
+                    new C8Serializer.Options().serializeNullValues(serializeNullValues));
+            assertSameJson(json(jack, customer(), serializeNullValues), vpack.toString());
+        }
+    }
+
+    @Test
+    public void serializeBaseDocument() throws IOException {
+        final VelocyJack jack = new VelocyJack();
+        final BaseDocument document = new BaseDocument("k");
+        document.addAttribute("value", 1.5);
+        document.addAttribute("nested", customer());
+        assertSameJson(json(jack, document, false), jack.serialize(document).toString());
+    }
+
+    @Test
+    public void deserializeLikeVPack() {
+        final VelocyJack jack = new VelocyJack();
+        final VPackSlice vpack = jack.serialize(customer());
+        final Customer expected = jack.deserialize(vpack, Customer.class);
+        final Customer actual = jack.deserializeJson(vpack.toString().getBytes(StandardCharsets.UTF_8),
+                Customer.class);
+        assertThat(actual.name, is(expected.name));
+        assertThat(actual.created, is(expected.created));
+        assertThat(actual.tags, is(expected.tags));
+        assertThat(actual.address.street, is(expected.address.street));
+        assertThat(actual.address.zip, is(expected.address.zip));
+    }
+
+    @Test
+    public void deserializeBaseDocument() {
+        final VelocyJack jack = new VelocyJack();
+        final BaseDocument document = jack.deserializeJson(
+                "{\"_key\":\"k\",\"_id\":\"c/k\",\"_rev\":\"1\",\"v\":2}".getBytes(StandardCharsets.UTF_8),
+                BaseDocument.class);
+        assertThat(document.getKey(), is("k"));
+        assertThat(document.getId(), is("c/k"));
+        assertThat(document.getRevision(), is("1"));
+        assertThat(document.getAttribute("v"), is((Object) 2));
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022 Macrometa Corp All rights reserved
+ */
+
+package com.c8db.util;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.c8db.MetricsListener;
+import com.c8db.Service;
+import com.c8db.velocystream.RequestType;
+
+/**
+ *
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketBounds() {
+        for (long value = 0L; value < 100000L; value++) {
+            final int index = LatencyHistogram.index(value);
+            final long highest = LatencyHistogram.highestValue(index);
+            assertThat(highest, is(greaterThanOrEqualTo(value)));
+            assertThat((double) highest, is(lessThanOrEqualTo(value * 1.04 + 1.0)));
+            assertThat(LatencyHistogram.index(highest), is(index));
+        }
+        assertThat(LatencyHistogram.highestValue(LatencyHistogram.index(Long.MAX_VALUE)), is(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void percentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1L; i <= 1000L; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertThat(histogram.getCount(), is(1000L));
+        assertThat(histogram.getMax(), is(1000000L));
+        assertThat(histogram.getMean(), is(500500.0));
+        assertWithin(histogram.getPercentile(50.0), 500000L);
+        assertWithin(histogram.getPercentile(99.0), 990000L);
+        assertThat(histogram.getPercentile(100.0), is(1000000L));
+        assertThat(new LatencyHistogram().getPercentile(99.0), is(0L));
+    }
+
+    @Test
+    public void recordConcurrently() throws InterruptedException {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 10000; i++) {
+                        histogram.record(i);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        assertThat(histogram.getCount(), is(80000L));
+        assertThat(histogram.getMax(), is(9999L));
+    }
+
+    @Test
+    public void aggregateByEndpoint() {
+        final HistogramMetricsListener metrics = new HistogramMetricsListener();
+        final MetricsListener listener = metrics;
+        listener.onRequest(Service.C8DB, RequestType.GET, "/_api/document/{}/{}", 200, 1000L, 0L, 50L);
+        listener.onRequest(Service.C8DB, RequestType.GET, "/_api/document/{}/{}", 404, 3000L, 0L, 20L);
+        listener.onRequest(Service.C8DB, RequestType.POST, "/_api/document/{}", 0, 5000L, 100L, 0L);
+        listener.onRetry(Service.C8DB, RequestType.POST, "/_api/document/{}");
+        listener.onRedirect(Service.C8STREAMS);
+        listener.onAuthRefresh(Service.C8DB);
+        // two hosts
+        listener.onConnectionPool(Service.C8DB, 1, 1, 20);
+        listener.onConnectionPool(Service.C8DB, 1, 2, 20);
+        listener.onConnectionPool(Service.C8DB, 1, 1, 20);
+        listener.onConnectionPool(Service.C8DB, -1, 1, 20);
+        listener.onConnectionPool(Service.C8DB, -1, 0, 20);
+        listener.onCursorBatch(100, true);
+        listener.onCursorBatch(20, false);
+
+        assertThat(metrics.getEndpoints().size(), is(2));
+        final HistogramMetricsListener.Endpoint get = metrics.getEndpoint(Service.C8DB, RequestType.GET,
+            "/_api/document/{}/{}");
+        assertThat(get.getLatency().getCount(), is(2L));
+        assertThat(get.getLatency().getMax(), is(3000L));
+        assertThat(get.getErrors(), is(1L));
+        assertThat(get.getResponseBytes(), is(70L));
+        final HistogramMetricsListener.Endpoint post = metrics.getEndpoint(Service.C8DB, RequestType.POST,
+            "/_api/document/{}");
+        assertThat(post.getErrors(), is(1L));
+        assertThat(post.getRetries(), is(1L));
+        assertThat(post.getRequestBytes(), is(100L));
+        assertThat(metrics.getRedirects(Service.C8STREAMS), is(1L));
+        assertThat(metrics.getRedirects(Service.C8DB), is(0L));
+        assertThat(metrics.getAuthRefreshes(Service.C8DB), is(1L));
+        assertThat(metrics.getConnectionsInUse(Service.C8DB), is(1));
+        assertThat(metrics.getMaxConnectionsInUse(Service.C8DB), is(3));
+        assertThat(metrics.getMaxConnections(Service.C8DB), is(20));
+        assertThat(metrics.getCursorBatches(), is(2L));
+        assertThat(metrics.getCursorDocuments(), is(120L));
+    }
+
+    private static void assertWithin(final long actual, final long expected) {
+        assertThat(actual, is(greaterThanOrEqualTo(expected)));
+        assertThat((double) actual, is(lessThanOrEqualTo(expected * 1.04)));
+    }
+
+}